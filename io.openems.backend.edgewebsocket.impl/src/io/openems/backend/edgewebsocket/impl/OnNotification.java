@@ -16,6 +16,7 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
 
 import io.openems.backend.metadata.api.Edge;
+import io.openems.backend.timedata.api.TimestampedDataBatch;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.jsonrpc.base.JsonrpcNotification;
@@ -62,7 +63,7 @@ public class OnNotification implements io.openems.common.websocket.OnNotificatio
 			return;
 
 		case TimestampedDataNotification.METHOD:
-			this.handleTimestampedDataNotification(TimestampedDataNotification.from(notification), wsData);
+			this.handleTimestampedDataNotification(notification, wsData);
 			return;
 
 		case SystemLogNotification.METHOD:
@@ -99,16 +100,21 @@ public class OnNotification implements io.openems.common.websocket.OnNotificatio
 	/**
 	 * Handles TimestampedDataNotification.
 	 * 
+	 * <p>
+	 * The params are parsed directly to a column-oriented
+	 * {@link TimestampedDataBatch} instead of a {@link TimestampedDataNotification}
+	 * table.
+	 * 
 	 * @param message the TimestampedDataNotification
 	 * @param wsData  the WebSocket attachment
 	 * @throws OpenemsNamedException on error
 	 */
-	private void handleTimestampedDataNotification(TimestampedDataNotification message, WsData wsData)
+	private void handleTimestampedDataNotification(JsonrpcNotification message, WsData wsData)
 			throws OpenemsNamedException {
 		String edgeId = wsData.assertEdgeId(message);
 
 		try {
-			this.parent.timedata.write(edgeId, message.getData());
+			this.parent.timedata.write(edgeId, TimestampedDataBatch.from(message.getParams()));
 		} catch (IllegalArgumentException e) {
 			e.printStackTrace();
 		}
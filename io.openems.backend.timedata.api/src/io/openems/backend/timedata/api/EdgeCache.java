@@ -1,45 +1,401 @@
 package io.openems.backend.timedata.api;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
 
+import io.openems.backend.timedata.api.TimestampedDataBatch.Column;
+import io.openems.backend.timedata.api.TimestampedDataBatch.Kind;
 import io.openems.common.types.ChannelAddress;
 
+/**
+ * Holds the last known Channel values of one Edge.
+ *
+ * <p>
+ * The values are kept in an immutable {@link Snapshot} with primitive arrays.
+ * Readers - e.g. every UI subscription - take the current Snapshot without any
+ * locking. Writers prepare a new Snapshot with {@link #update()} and publish it
+ * with {@link Update#commit()}.
+ *
+ * <p>
+ * {@link ChannelAddress}es are interned, so that all Edges share the same
+ * instances. The interner only keeps weak references, i.e. addresses that are
+ * not used by any {@link Snapshot} anymore are garbage collected.
+ */
 public class EdgeCache {
 
-	private long timestamp = 0l;
-	private final ConcurrentHashMap<ChannelAddress, JsonElement> channelValueCache = new ConcurrentHashMap<>();
+	/*
+	 * Rough estimates for the memory consumption of one Channel in a Snapshot:
+	 * HashMap entry plus boxed Integer slot, one byte kind, one long value and one
+	 * reference.
+	 */
+	private static final int BYTES_PER_SLOT_ENTRY = 32 + 16 + 8;
+	private static final int BYTES_PER_VALUE = 1 + 8 + 8;
+	private static final int BYTES_PER_SNAPSHOT = 128;
+
+	private static final Interner<ChannelAddress> INTERNER = Interners.newWeakInterner();
+
+	/**
+	 * Gets the shared instance of an equal {@link ChannelAddress}.
+	 *
+	 * @param address the {@link ChannelAddress}
+	 * @return the shared instance
+	 */
+	public static ChannelAddress intern(ChannelAddress address) {
+		return INTERNER.intern(address);
+	}
+
+	/**
+	 * An immutable view on the last known Channel values.
+	 */
+	public static final class Snapshot {
+
+		private static final Snapshot EMPTY = new Snapshot(0L, Collections.emptyMap(), new byte[0], new long[0],
+				null);
+
+		private final long timestamp;
+		private final Map<ChannelAddress, Integer> slots;
+		private final byte[] kinds;
+		private final long[] values;
+		private final JsonElement[] jsons;
+
+		private Snapshot(long timestamp, Map<ChannelAddress, Integer> slots, byte[] kinds, long[] values,
+				JsonElement[] jsons) {
+			this.timestamp = timestamp;
+			this.slots = slots;
+			this.kinds = kinds;
+			this.values = values;
+			this.jsons = jsons;
+		}
+
+		/**
+		 * Gets the timestamp of the last update.
+		 *
+		 * @return the timestamp
+		 */
+		public long getTimestamp() {
+			return this.timestamp;
+		}
+
+		/**
+		 * Gets the number of Channels.
+		 *
+		 * @return the number of Channels
+		 */
+		public int size() {
+			return this.slots.size();
+		}
+
+		/**
+		 * Gets the {@link ChannelAddress}es of all Channels.
+		 *
+		 * @return the {@link ChannelAddress}es
+		 */
+		public Set<ChannelAddress> getAddresses() {
+			return Collections.unmodifiableSet(this.slots.keySet());
+		}
+
+		/**
+		 * Gets the {@link Kind} of the value of a Channel.
+		 *
+		 * @param address the {@link ChannelAddress}
+		 * @return the {@link Kind}; {@link Kind#ABSENT} if the Channel is unknown
+		 */
+		public Kind getKind(ChannelAddress address) {
+			Integer slot = this.slots.get(address);
+			if (slot == null) {
+				return Kind.ABSENT;
+			}
+			return Kind.VALUES[this.kinds[slot]];
+		}
+
+		/**
+		 * Gets the value of a Channel as {@link JsonElement}.
+		 *
+		 * @param address the {@link ChannelAddress}
+		 * @return the value; empty if the Channel is unknown
+		 */
+		public Optional<JsonElement> getValue(ChannelAddress address) {
+			Integer slot = this.slots.get(address);
+			if (slot == null) {
+				return Optional.empty();
+			}
+			return Optional.of(this.toJson(slot));
+		}
+
+		/**
+		 * Copies the value of a Channel to a row of a {@link Column}.
+		 *
+		 * @param address the {@link ChannelAddress}
+		 * @param column  the target {@link Column}
+		 * @param row     the row index
+		 */
+		public void copyTo(ChannelAddress address, Column column, int row) {
+			Integer slot = this.slots.get(address);
+			if (slot == null) {
+				return;
+			}
+			column.set(row, Kind.VALUES[this.kinds[slot]], this.values[slot],
+					this.jsons == null ? null : this.jsons[slot]);
+		}
+
+		private JsonElement toJson(int slot) {
+			switch (Kind.VALUES[this.kinds[slot]]) {
+			case LONG:
+				return new JsonPrimitive(this.values[slot]);
+			case DOUBLE:
+				return new JsonPrimitive(Double.longBitsToDouble(this.values[slot]));
+			case JSON:
+				return this.jsons[slot];
+			case ABSENT:
+			case NULL:
+				break;
+			}
+			return JsonNull.INSTANCE;
+		}
+
+		/**
+		 * Estimates the memory consumption in bytes.
+		 *
+		 * @return the memory consumption in bytes
+		 */
+		public long getEstimatedMemory() {
+			return BYTES_PER_SNAPSHOT + (long) this.slots.size() * BYTES_PER_SLOT_ENTRY
+					+ (long) this.kinds.length * BYTES_PER_VALUE;
+		}
+	}
+
+	/**
+	 * Prepares a new {@link Snapshot}. Copies the current arrays only on the first
+	 * change.
+	 */
+	public final class Update {
+
+		private long timestamp;
+		private Map<ChannelAddress, Integer> slots;
+		private byte[] kinds;
+		private long[] values;
+		private JsonElement[] jsons;
+		private boolean isSlotsCopied = false;
+		private boolean isValuesCopied = false;
+		private final Column parser = new Column(new ChannelAddress("", ""), 1);
+
+		private Update(Snapshot base) {
+			this.timestamp = base.timestamp;
+			this.slots = base.slots;
+			this.kinds = base.kinds;
+			this.values = base.values;
+			this.jsons = base.jsons;
+		}
+
+		/**
+		 * Removes all Channel values.
+		 *
+		 * @return this
+		 */
+		public Update clear() {
+			this.slots = new HashMap<>();
+			this.kinds = new byte[0];
+			this.values = new long[0];
+			this.jsons = null;
+			this.isSlotsCopied = true;
+			this.isValuesCopied = true;
+			return this;
+		}
+
+		/**
+		 * Sets the timestamp.
+		 *
+		 * @param timestamp the timestamp
+		 * @return this
+		 */
+		public Update setTimestamp(long timestamp) {
+			this.timestamp = timestamp;
+			return this;
+		}
+
+		/**
+		 * Sets the value of a Channel.
+		 *
+		 * @param address the {@link ChannelAddress}
+		 * @param value   the value
+		 * @return this
+		 */
+		public Update put(ChannelAddress address, JsonElement value) {
+			// parse to a primitive value if possible
+			this.parser.set(0, value);
+			return this.put(address, this.parser.getKind(0), this.parser.getRawValue(0), value);
+		}
+
+		/**
+		 * Sets the value of a Channel from a row of a {@link Column}.
+		 *
+		 * @param column the {@link Column}
+		 * @param row    the row index
+		 * @return this
+		 */
+		public Update put(Column column, int row) {
+			Kind kind = column.getKind(row);
+			switch (kind) {
+			case LONG:
+			case DOUBLE:
+				return this.put(column.getAddress(), kind, column.getRawValue(row), null);
+			case NULL:
+				return this.put(column.getAddress(), kind, 0, null);
+			case JSON:
+				return this.put(column.getAddress(), kind, 0, column.getJson(row));
+			case ABSENT:
+				break;
+			}
+			return this;
+		}
 
-	public synchronized final Optional<JsonElement> getChannelValue(ChannelAddress address) {
-		return Optional.ofNullable(this.channelValueCache.get(address));
+		private Update put(ChannelAddress address, Kind kind, long value, JsonElement json) {
+			Integer slot = this.slots.get(address);
+			if (slot == null) {
+				if (!this.isSlotsCopied) {
+					this.slots = new HashMap<>(this.slots);
+					this.isSlotsCopied = true;
+				}
+				slot = this.slots.size();
+				this.slots.put(intern(address), slot);
+			}
+			this.ensureCapacity(slot + 1);
+			this.kinds[slot] = (byte) kind.ordinal();
+			this.values[slot] = value;
+			if (kind == Kind.JSON) {
+				if (this.jsons == null) {
+					this.jsons = new JsonElement[this.kinds.length];
+				}
+				this.jsons[slot] = json;
+			} else if (this.jsons != null) {
+				this.jsons[slot] = null;
+			}
+			return this;
+		}
+
+		private void ensureCapacity(int size) {
+			if (!this.isValuesCopied || this.kinds.length < size) {
+				int length = this.kinds.length;
+				if (length < size) {
+					length = Math.max(size, length + (length >> 1) + 1);
+				}
+				this.kinds = Arrays.copyOf(this.kinds, length);
+				this.values = Arrays.copyOf(this.values, length);
+				if (this.jsons != null) {
+					this.jsons = Arrays.copyOf(this.jsons, length);
+				}
+				this.isValuesCopied = true;
+			}
+		}
+
+		/**
+		 * Publishes the new {@link Snapshot}. The {@link Update} must not be used
+		 * afterwards.
+		 */
+		public void commit() {
+			EdgeCache.this.snapshot = new Snapshot(this.timestamp, this.slots, this.kinds, this.values, this.jsons);
+		}
+	}
+
+	private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+	/**
+	 * Gets the current {@link Snapshot}.
+	 *
+	 * @return the {@link Snapshot}
+	 */
+	public final Snapshot getSnapshot() {
+		return this.snapshot;
 	}
 
-	public synchronized final ConcurrentHashMap<ChannelAddress, JsonElement> getChannelCacheEntries() {
-		return this.channelValueCache;
+	/**
+	 * Starts an {@link Update} on the current {@link Snapshot}. Updates of one
+	 * EdgeCache are expected to come from one thread at a time, i.e. the
+	 * websocket connection of the Edge.
+	 *
+	 * @return the {@link Update}
+	 */
+	public Update update() {
+		return new Update(this.snapshot);
+	}
+
+	/**
+	 * Gets the last known value of a Channel.
+	 *
+	 * @param address the Channel-Address
+	 * @return the value; empty if the Channel is unknown
+	 */
+	public final Optional<JsonElement> getChannelValue(ChannelAddress address) {
+		return this.snapshot.getValue(address);
 	}
 
 	/**
-	 * Adds the channel value to the cache
+	 * Gets a copy of all last known values.
+	 *
+	 * @return a map of Channel-Address and value
+	 * @deprecated use {@link #getSnapshot()}
+	 */
+	@Deprecated
+	public final ConcurrentHashMap<ChannelAddress, JsonElement> getChannelCacheEntries() {
+		Snapshot snapshot = this.snapshot;
+		ConcurrentHashMap<ChannelAddress, JsonElement> result = new ConcurrentHashMap<>();
+		for (Entry<ChannelAddress, Integer> entry : snapshot.slots.entrySet()) {
+			result.put(entry.getKey(), snapshot.toJson(entry.getValue()));
+		}
+		return result;
+	}
+
+	/**
+	 * Adds the channel value to the cache. Prefer {@link #update()} for multiple
+	 * values.
 	 *
 	 * @param channel the Channel-Address
-	 * @param value the Value as a JsonElement
+	 * @param value   the Value as a JsonElement
 	 */
 	public synchronized void putToChannelCache(ChannelAddress channel, JsonElement value) {
-		this.channelValueCache.put(channel, value);
+		this.update().put(channel, value).commit();
 	}
 
 	public long getTimestamp() {
-		return timestamp;
+		return this.snapshot.timestamp;
+	}
+
+	public synchronized void setTimestamp(long timestamp) {
+		this.update().setTimestamp(timestamp).commit();
 	}
 
-	public void setTimestamp(long timestamp) {
-		this.timestamp = timestamp;
+	public synchronized void clear() {
+		this.update().clear().commit();
 	}
 
-	public void clear() {
-		this.channelValueCache.clear();
+	/**
+	 * Gets the number of Channels.
+	 *
+	 * @return the number of Channels
+	 */
+	public int size() {
+		return this.snapshot.size();
+	}
+
+	/**
+	 * Estimates the memory consumption in bytes.
+	 *
+	 * @return the memory consumption in bytes
+	 */
+	public long getEstimatedMemory() {
+		return this.snapshot.getEstimatedMemory();
 	}
 
 }
@@ -24,6 +24,21 @@ public interface Timedata extends CommonTimedataService {
 	 */
 	public void write(String edgeId, TreeBasedTable<Long, ChannelAddress, JsonElement> data) throws OpenemsException;
 
+	/**
+	 * Sends the data points to the Timedata service.
+	 * 
+	 * <p>
+	 * Implementations should override this method to work directly on the
+	 * column-oriented data; the default implementation converts it to a table.
+	 * 
+	 * @param edgeId The unique Edge-ID
+	 * @param data   the {@link TimestampedDataBatch}
+	 * @throws OpenemsException on error
+	 */
+	public default void write(String edgeId, TimestampedDataBatch data) throws OpenemsException {
+		this.write(edgeId, data.toTable());
+	}
+
 	/**
 	 * Gets the latest value for the given ChannelAddress.
 	 * 
@@ -0,0 +1,409 @@
+package io.openems.backend.timedata.api;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.google.common.collect.TreeBasedTable;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Holds timestamped data of one Edge in a column-oriented layout.
+ *
+ * <p>
+ * Rows are the timestamps in ascending order; every Channel has one
+ * {@link Column}. Numeric values are stored in a primitive array, so that no
+ * {@link JsonElement} needs to be kept or parsed again per value.
+ *
+ * <p>
+ * This is the compact alternative to a
+ * {@code TreeBasedTable<Long, ChannelAddress, JsonElement>}.
+ */
+public class TimestampedDataBatch {
+
+	/**
+	 * The kind of a value in a {@link Column}.
+	 */
+	public static enum Kind {
+		/**
+		 * No value was sent for this Channel at this timestamp.
+		 */
+		ABSENT, //
+		/**
+		 * A 'null' value was sent.
+		 */
+		NULL, //
+		/**
+		 * An integer value; see {@link Column#getLong(int)}.
+		 */
+		LONG, //
+		/**
+		 * A floating point value; see {@link Column#getDouble(int)}.
+		 */
+		DOUBLE, //
+		/**
+		 * Any other value, e.g. a String or Boolean; see
+		 * {@link Column#getJson(int)}.
+		 */
+		JSON;
+
+		static final Kind[] VALUES = Kind.values();
+	}
+
+	/**
+	 * The values of one Channel.
+	 */
+	public static class Column {
+
+		private final ChannelAddress address;
+		private final String field;
+		private final byte[] kinds;
+		private final long[] values;
+		private JsonElement[] jsons = null;
+
+		Column(ChannelAddress address, int size) {
+			this.address = address;
+			this.field = address.toString();
+			this.kinds = new byte[size];
+			this.values = new long[size];
+		}
+
+		/**
+		 * Gets the {@link ChannelAddress}.
+		 *
+		 * @return the {@link ChannelAddress}
+		 */
+		public ChannelAddress getAddress() {
+			return this.address;
+		}
+
+		/**
+		 * Gets the {@link ChannelAddress} as String.
+		 *
+		 * @return the Channel-Address String
+		 */
+		public String getField() {
+			return this.field;
+		}
+
+		/**
+		 * Gets the {@link Kind} of the value at the given row.
+		 *
+		 * @param row the row index
+		 * @return the {@link Kind}
+		 */
+		public Kind getKind(int row) {
+			return Kind.VALUES[this.kinds[row]];
+		}
+
+		/**
+		 * Is a value - possibly 'null' - available at the given row?.
+		 *
+		 * @param row the row index
+		 * @return true if the {@link Kind} is not {@link Kind#ABSENT}
+		 */
+		public boolean isPresent(int row) {
+			return this.kinds[row] != Kind.ABSENT.ordinal();
+		}
+
+		/**
+		 * Gets the value at the given row. Only valid for {@link Kind#LONG}.
+		 *
+		 * @param row the row index
+		 * @return the value
+		 */
+		public long getLong(int row) {
+			return this.values[row];
+		}
+
+		/**
+		 * Gets the value at the given row. Only valid for {@link Kind#DOUBLE}.
+		 *
+		 * @param row the row index
+		 * @return the value
+		 */
+		public double getDouble(int row) {
+			return Double.longBitsToDouble(this.values[row]);
+		}
+
+		/**
+		 * Gets the raw primitive value at the given row, i.e. the long value or the
+		 * bits of the double value.
+		 *
+		 * @param row the row index
+		 * @return the raw value
+		 */
+		long getRawValue(int row) {
+			return this.values[row];
+		}
+
+		/**
+		 * Sets the raw value at the given row.
+		 *
+		 * @param row   the row index
+		 * @param kind  the {@link Kind}
+		 * @param value the raw primitive value
+		 * @param json  the value for {@link Kind#JSON}
+		 */
+		void set(int row, Kind kind, long value, JsonElement json) {
+			this.kinds[row] = (byte) kind.ordinal();
+			this.values[row] = value;
+			if (kind == Kind.JSON) {
+				if (this.jsons == null) {
+					this.jsons = new JsonElement[this.kinds.length];
+				}
+				this.jsons[row] = json;
+			}
+		}
+
+		/**
+		 * Gets the value at the given row as {@link JsonElement}.
+		 *
+		 * @param row the row index
+		 * @return the value; null for {@link Kind#ABSENT}
+		 */
+		public JsonElement getJson(int row) {
+			switch (this.getKind(row)) {
+			case ABSENT:
+				return null;
+			case NULL:
+				return JsonNull.INSTANCE;
+			case LONG:
+				return new JsonPrimitive(this.getLong(row));
+			case DOUBLE:
+				return new JsonPrimitive(this.getDouble(row));
+			case JSON:
+				return this.jsons[row];
+			}
+			return null;
+		}
+
+		/**
+		 * Sets the value at the given row.
+		 *
+		 * @param row   the row index
+		 * @param value the value; null or {@link JsonNull} for 'null'
+		 */
+		public void set(int row, JsonElement value) {
+			if (value == null || value.isJsonNull()) {
+				this.kinds[row] = (byte) Kind.NULL.ordinal();
+				return;
+			}
+			if (value.isJsonPrimitive() && ((JsonPrimitive) value).isNumber()) {
+				String string = value.getAsString();
+				if (isIntegerString(string)) {
+					try {
+						this.values[row] = Long.parseLong(string);
+						this.kinds[row] = (byte) Kind.LONG.ordinal();
+						return;
+					} catch (NumberFormatException e) {
+						// out of range
+					}
+				}
+				try {
+					this.values[row] = Double.doubleToRawLongBits(Double.parseDouble(string));
+					this.kinds[row] = (byte) Kind.DOUBLE.ordinal();
+					return;
+				} catch (NumberFormatException e) {
+					// handle as JSON
+				}
+			}
+			if (this.jsons == null) {
+				this.jsons = new JsonElement[this.kinds.length];
+			}
+			this.jsons[row] = value;
+			this.kinds[row] = (byte) Kind.JSON.ordinal();
+		}
+
+		/**
+		 * Copies the value of one row to another row.
+		 *
+		 * @param fromRow the source row index
+		 * @param toRow   the target row index
+		 */
+		public void copy(int fromRow, int toRow) {
+			this.kinds[toRow] = this.kinds[fromRow];
+			this.values[toRow] = this.values[fromRow];
+			if (this.jsons != null) {
+				this.jsons[toRow] = this.jsons[fromRow];
+			}
+		}
+
+		private static boolean isIntegerString(String string) {
+			int length = string.length();
+			if (length == 0 || length > 19) {
+				return false;
+			}
+			for (int i = 0; i < length; i++) {
+				char c = string.charAt(i);
+				if ((c < '0' || c > '9') && !(i == 0 && c == '-' && length > 1)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Parses the params of a 'timestampedData' JSON-RPC Notification.
+	 *
+	 * <pre>
+	 * {
+	 *   [timestamp: epoch in milliseconds]: {
+	 *     [channelAddress]: String | Number
+	 *   }
+	 * }
+	 * </pre>
+	 *
+	 * @param params the params {@link JsonObject}
+	 * @return the {@link TimestampedDataBatch}
+	 * @throws OpenemsNamedException on error
+	 */
+	public static TimestampedDataBatch from(JsonObject params) throws OpenemsNamedException {
+		List<Entry<Long, JsonObject>> rows = new ArrayList<>(params.size());
+		for (Entry<String, JsonElement> entry : params.entrySet()) {
+			rows.add(new SimpleImmutableEntry<>(Long.parseLong(entry.getKey()),
+					JsonUtils.getAsJsonObject(entry.getValue())));
+		}
+		rows.sort(Entry.comparingByKey());
+
+		long[] timestamps = new long[rows.size()];
+		for (int row = 0; row < timestamps.length; row++) {
+			timestamps[row] = rows.get(row).getKey();
+		}
+		TimestampedDataBatch result = new TimestampedDataBatch(timestamps);
+		Map<String, Column> columnsByField = new LinkedHashMap<>();
+		for (int row = 0; row < timestamps.length; row++) {
+			for (Entry<String, JsonElement> entry : rows.get(row).getValue().entrySet()) {
+				Column column = columnsByField.get(entry.getKey());
+				if (column == null) {
+					column = result.getOrCreateColumn(ChannelAddress.fromString(entry.getKey()));
+					columnsByField.put(entry.getKey(), column);
+				}
+				column.set(row, entry.getValue());
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Converts a table of timestamp, Channel-Address and value.
+	 *
+	 * @param data the table
+	 * @return the {@link TimestampedDataBatch}
+	 */
+	public static TimestampedDataBatch from(TreeBasedTable<Long, ChannelAddress, JsonElement> data) {
+		long[] timestamps = new long[data.rowKeySet().size()];
+		int row = 0;
+		for (Long timestamp : data.rowKeySet()) {
+			timestamps[row++] = timestamp;
+		}
+		TimestampedDataBatch result = new TimestampedDataBatch(timestamps);
+		row = 0;
+		for (Map<ChannelAddress, JsonElement> values : data.rowMap().values()) {
+			for (Entry<ChannelAddress, JsonElement> entry : values.entrySet()) {
+				result.getOrCreateColumn(entry.getKey()).set(row, entry.getValue());
+			}
+			row++;
+		}
+		return result;
+	}
+
+	private final long[] timestamps;
+	private final Map<ChannelAddress, Column> columns = new LinkedHashMap<>();
+
+	/**
+	 * Creates an empty {@link TimestampedDataBatch}.
+	 *
+	 * @param timestamps the timestamps in ascending order
+	 */
+	public TimestampedDataBatch(long[] timestamps) {
+		this.timestamps = timestamps;
+	}
+
+	/**
+	 * Gets the number of rows.
+	 *
+	 * @return the number of rows
+	 */
+	public int size() {
+		return this.timestamps.length;
+	}
+
+	/**
+	 * Gets the timestamp of the given row.
+	 *
+	 * @param row the row index
+	 * @return the timestamp
+	 */
+	public long getTimestamp(int row) {
+		return this.timestamps[row];
+	}
+
+	/**
+	 * Gets all {@link Column}s.
+	 *
+	 * @return the {@link Column}s
+	 */
+	public Collection<Column> getColumns() {
+		return Collections.unmodifiableCollection(this.columns.values());
+	}
+
+	/**
+	 * Gets the {@link Column} of the given Channel.
+	 *
+	 * @param address the {@link ChannelAddress}
+	 * @return the {@link Column}; or null
+	 */
+	public Column getColumn(ChannelAddress address) {
+		return this.columns.get(address);
+	}
+
+	/**
+	 * Gets the {@link Column} of the given Channel; creates an empty one if it does
+	 * not exist.
+	 *
+	 * @param address the {@link ChannelAddress}
+	 * @return the {@link Column}
+	 */
+	public Column getOrCreateColumn(ChannelAddress address) {
+		return this.columns.computeIfAbsent(address, a -> new Column(a, this.timestamps.length));
+	}
+
+	/**
+	 * Converts this batch to a table of timestamp, Channel-Address and value.
+	 *
+	 * @return the table
+	 */
+	public TreeBasedTable<Long, ChannelAddress, JsonElement> toTable() {
+		TreeBasedTable<Long, ChannelAddress, JsonElement> result = TreeBasedTable.create();
+		for (Column column : this.columns.values()) {
+			for (int row = 0; row < this.timestamps.length; row++) {
+				if (column.isPresent(row)) {
+					result.put(this.timestamps[row], column.getAddress(), column.getJson(row));
+				}
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return "TimestampedDataBatch [timestamps=" + Arrays.toString(this.timestamps) + ", channels="
+				+ this.columns.keySet() + "]";
+	}
+
+}
@@ -0,0 +1,85 @@
+package io.openems.backend.timedata.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.backend.timedata.api.TimestampedDataBatch.Column;
+import io.openems.backend.timedata.api.TimestampedDataBatch.Kind;
+import io.openems.common.types.ChannelAddress;
+
+public class EdgeCacheTest {
+
+	private static final ChannelAddress ESS_SOC = new ChannelAddress("ess0", "Soc");
+	private static final ChannelAddress METER_POWER = new ChannelAddress("meter0", "ActivePower");
+	private static final ChannelAddress META_VERSION = new ChannelAddress("_meta", "Version");
+
+	@Test
+	public void testSnapshot() {
+		EdgeCache cache = new EdgeCache();
+		cache.update() //
+				.setTimestamp(1000) //
+				.put(ESS_SOC, new JsonPrimitive(50)) //
+				.put(METER_POWER, new JsonPrimitive(1.5)) //
+				.put(META_VERSION, new JsonPrimitive("2020.1.0")) //
+				.commit();
+
+		EdgeCache.Snapshot first = cache.getSnapshot();
+		assertEquals(1000, first.getTimestamp());
+		assertEquals(3, first.size());
+		assertEquals(Kind.LONG, first.getKind(ESS_SOC));
+		assertEquals(Kind.DOUBLE, first.getKind(METER_POWER));
+		assertEquals(Kind.JSON, first.getKind(META_VERSION));
+		assertEquals(new JsonPrimitive(50L), first.getValue(ESS_SOC).get());
+		assertEquals(new JsonPrimitive("2020.1.0"), first.getValue(META_VERSION).get());
+
+		// an Update does not change an existing Snapshot
+		cache.update() //
+				.setTimestamp(2000) //
+				.put(ESS_SOC, new JsonPrimitive(51)) //
+				.put(METER_POWER, JsonNull.INSTANCE) //
+				.commit();
+		assertEquals(new JsonPrimitive(50L), first.getValue(ESS_SOC).get());
+		assertEquals(new JsonPrimitive(51L), cache.getChannelValue(ESS_SOC).get());
+		assertEquals(JsonNull.INSTANCE, cache.getChannelValue(METER_POWER).get());
+		assertEquals(2000, cache.getTimestamp());
+
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertFalse(cache.getChannelValue(ESS_SOC).isPresent());
+		assertTrue(first.getAddresses().contains(ESS_SOC));
+	}
+
+	@Test
+	public void testColumn() {
+		TimestampedDataBatch batch = new TimestampedDataBatch(new long[] { 1000, 2000 });
+		Column column = batch.getOrCreateColumn(ESS_SOC);
+		column.set(0, new JsonPrimitive(42));
+
+		EdgeCache cache = new EdgeCache();
+		cache.update().put(column, 0).put(column, 1).commit();
+		assertEquals(1, cache.size());
+
+		cache.getSnapshot().copyTo(ESS_SOC, column, 1);
+		assertEquals(Kind.LONG, column.getKind(1));
+		assertEquals(42L, column.getLong(1));
+	}
+
+	@Test
+	public void testIntern() {
+		EdgeCache cache1 = new EdgeCache();
+		EdgeCache cache2 = new EdgeCache();
+		cache1.putToChannelCache(new ChannelAddress("ess0", "ActivePower"), new JsonPrimitive(1));
+		cache2.putToChannelCache(new ChannelAddress("ess0", "ActivePower"), new JsonPrimitive(2));
+
+		assertSame(cache1.getSnapshot().getAddresses().iterator().next(),
+				cache2.getSnapshot().getAddresses().iterator().next());
+	}
+
+}
@@ -0,0 +1,80 @@
+package io.openems.backend.timedata.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import com.google.common.collect.TreeBasedTable;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.backend.timedata.api.TimestampedDataBatch.Column;
+import io.openems.backend.timedata.api.TimestampedDataBatch.Kind;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.utils.JsonUtils;
+
+public class TimestampedDataBatchTest {
+
+	private static final ChannelAddress ESS_SOC = new ChannelAddress("ess0", "Soc");
+	private static final ChannelAddress METER_POWER = new ChannelAddress("meter0", "ActivePower");
+	private static final ChannelAddress META_VERSION = new ChannelAddress("_meta", "Version");
+
+	@Test
+	public void testFromJson() throws OpenemsNamedException {
+		TimestampedDataBatch batch = TimestampedDataBatch.from(JsonUtils.buildJsonObject() //
+				.add("2000", JsonUtils.buildJsonObject() //
+						.addProperty("ess0/Soc", 51) //
+						.addProperty("meter0/ActivePower", 1.5) //
+						.build()) //
+				.add("1000", JsonUtils.buildJsonObject() //
+						.addProperty("ess0/Soc", 50) //
+						.add("meter0/ActivePower", JsonNull.INSTANCE) //
+						.addProperty("_meta/Version", "2020.1.0") //
+						.build()) //
+				.build());
+
+		// sorted by timestamp
+		assertEquals(2, batch.size());
+		assertEquals(1000, batch.getTimestamp(0));
+		assertEquals(2000, batch.getTimestamp(1));
+
+		Column soc = batch.getColumn(ESS_SOC);
+		assertEquals(Kind.LONG, soc.getKind(0));
+		assertEquals(50, soc.getLong(0));
+		assertEquals(51, soc.getLong(1));
+
+		Column power = batch.getColumn(METER_POWER);
+		assertEquals(Kind.NULL, power.getKind(0));
+		assertEquals(Kind.DOUBLE, power.getKind(1));
+		assertEquals(1.5, power.getDouble(1), 0);
+
+		Column version = batch.getColumn(META_VERSION);
+		assertEquals(new JsonPrimitive("2020.1.0"), version.getJson(0));
+		assertFalse(version.isPresent(1));
+		assertNull(version.getJson(1));
+	}
+
+	@Test
+	public void testTable() {
+		TreeBasedTable<Long, ChannelAddress, JsonElement> table = TreeBasedTable.create();
+		table.put(1000L, ESS_SOC, new JsonPrimitive(50));
+		table.put(2000L, METER_POWER, new JsonPrimitive(-100));
+
+		TimestampedDataBatch batch = TimestampedDataBatch.from(table);
+		assertEquals(Kind.ABSENT, batch.getColumn(ESS_SOC).getKind(1));
+
+		// copy a value
+		batch.getColumn(ESS_SOC).copy(0, 1);
+		assertEquals(50, batch.getColumn(ESS_SOC).getLong(1));
+
+		TreeBasedTable<Long, ChannelAddress, JsonElement> result = batch.toTable();
+		assertEquals(new JsonPrimitive(50L), result.get(2000L, ESS_SOC));
+		assertEquals(new JsonPrimitive(-100L), result.get(2000L, METER_POWER));
+		assertNull(result.get(1000L, METER_POWER));
+	}
+
+}
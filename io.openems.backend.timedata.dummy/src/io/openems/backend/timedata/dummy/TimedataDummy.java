@@ -1,13 +1,13 @@
 package io.openems.backend.timedata.dummy;
 
 import java.time.ZonedDateTime;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -32,7 +32,7 @@ import io.openems.common.types.ChannelAddress;
 public class TimedataDummy extends AbstractOpenemsBackendComponent implements Timedata {
 
 	private final Logger log = LoggerFactory.getLogger(TimedataDummy.class);
-	private final Map<String, EdgeCache> edgeCacheMap = new HashMap<>();
+	private final ConcurrentHashMap<String, EdgeCache> edgeCacheMap = new ConcurrentHashMap<>();
 
 	public TimedataDummy() {
 		super("Timedata.Dummy");
@@ -60,11 +60,7 @@ public class TimedataDummy extends AbstractOpenemsBackendComponent implements Ti
 	@Override
 	public void write(String edgeId, TreeBasedTable<Long, ChannelAddress, JsonElement> data) throws OpenemsException {
 		// get existing or create new EdgeCache
-		EdgeCache edgeCache = this.edgeCacheMap.get(edgeId);
-		if (edgeCache == null) {
-			edgeCache = new EdgeCache();
-			this.edgeCacheMap.put(edgeId, edgeCache);
-		}
+		EdgeCache edgeCache = this.edgeCacheMap.computeIfAbsent(edgeId, e -> new EdgeCache());
 
 		// Prepare data table. Takes entries starting with eldest timestamp (ascending
 		// order)
@@ -78,9 +74,11 @@ public class TimedataDummy extends AbstractOpenemsBackendComponent implements Ti
 			if (timestamp < cacheTimestamp) {
 				// incoming data is older than cache -> do not apply cache
 			} else {
-				// incoming data is more recent than cache
+				// incoming data is more recent than cache; apply the whole row at once
+				EdgeCache.Update update = edgeCache.update();
+
 				// update cache timestamp
-				edgeCache.setTimestamp(timestamp);
+				update.setTimestamp(timestamp);
 
 				if (timestamp < cacheTimestamp + 5 * 60 * 1000) {
 					// cache is valid (not elder than 5 minutes)
@@ -91,15 +89,14 @@ public class TimedataDummy extends AbstractOpenemsBackendComponent implements Ti
 						this.logInfo(this.log, "Edge [" + edgeId + "]: invalidate cache. This timestamp [" + timestamp
 								+ "]. Cache timestamp [" + cacheTimestamp + "]");
 					}
-					edgeCache.clear();
+					update.clear();
 				}
 
 				// add incoming data to cache (this replaces already existing cache values)
 				for (Entry<ChannelAddress, JsonElement> channelEntry : channels.entrySet()) {
-					ChannelAddress channel = channelEntry.getKey();
-					JsonElement value = channelEntry.getValue();
-					edgeCache.putToChannelCache(channel, value);
+					update.put(channelEntry.getKey(), channelEntry.getValue());
 				}
+				update.commit();
 			}
 		}
 	}
@@ -1,13 +1,15 @@
 package io.openems.backend.timedata.influx;
 
 import java.time.ZonedDateTime;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.regex.Matcher;
@@ -35,6 +37,9 @@ import io.openems.backend.metadata.api.Edge;
 import io.openems.backend.metadata.api.Metadata;
 import io.openems.backend.timedata.api.EdgeCache;
 import io.openems.backend.timedata.api.Timedata;
+import io.openems.backend.timedata.api.TimestampedDataBatch;
+import io.openems.backend.timedata.api.TimestampedDataBatch.Column;
+import io.openems.backend.timedata.api.TimestampedDataBatch.Kind;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.types.ChannelAddress;
@@ -50,11 +55,17 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 
 	private static final Pattern NAME_NUMBER_PATTERN = Pattern.compile("[^0-9]+([0-9]+)$");
 
+	/**
+	 * Interval for printing statistics about the {@link EdgeCache}s.
+	 */
+	private static final int DEBUG_LOG_INTERVAL_MINUTES = 10;
+
 	private final Logger log = LoggerFactory.getLogger(Influx.class);
-	private final Map<String, EdgeCache> edgeCacheMap = new HashMap<>();
+	private final ConcurrentHashMap<String, EdgeCache> edgeCacheMap = new ConcurrentHashMap<>();
 	private final FieldTypeConflictHandler fieldTypeConflictHandler;
 
 	private InfluxConnector influxConnector = null;
+	private ScheduledExecutorService debugLogExecutor = null;
 
 	public Influx() {
 		super("Timedata.InfluxDB");
@@ -89,75 +100,150 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 										+ StringUtils.toShortString(failedPoints.toString(), 100));
 					}
 				});
+
+		this.debugLogExecutor = Executors.newSingleThreadScheduledExecutor();
+		this.debugLogExecutor.scheduleWithFixedDelay(this::debugLog, DEBUG_LOG_INTERVAL_MINUTES,
+				DEBUG_LOG_INTERVAL_MINUTES, TimeUnit.MINUTES);
 	}
 
 	@Deactivate
 	void deactivate() {
 		this.logInfo(this.log, "Deactivate");
+		if (this.debugLogExecutor != null) {
+			this.debugLogExecutor.shutdownNow();
+		}
 		if (this.influxConnector != null) {
 			this.influxConnector.deactivate();
 		}
 	}
 
+	/**
+	 * Prints statistics about the {@link EdgeCache}s.
+	 */
+	private void debugLog() {
+		int edges = 0;
+		long channels = 0;
+		long memory = 0;
+		for (EdgeCache edgeCache : this.edgeCacheMap.values()) {
+			EdgeCache.Snapshot snapshot = edgeCache.getSnapshot();
+			edges++;
+			channels += snapshot.size();
+			memory += snapshot.getEstimatedMemory();
+		}
+		this.logInfo(this.log, "EdgeCache. " //
+				+ "Edges [" + edges + "] " //
+				+ "Channels [" + channels + "] " //
+				+ "Estimated Memory [" + memory / 1024 + " kB]");
+	}
+
 	@Override
 	public void write(String edgeId, TreeBasedTable<Long, ChannelAddress, JsonElement> data) throws OpenemsException {
+		this.write(edgeId, TimestampedDataBatch.from(data));
+	}
+
+	@Override
+	public void write(String edgeId, TimestampedDataBatch data) throws OpenemsException {
 		// parse the numeric EdgeId
 		int influxEdgeId = Influx.parseNumberFromName(edgeId);
 
 		// get existing or create new DeviceCache
-		EdgeCache edgeCache = this.edgeCacheMap.get(edgeId);
-		if (edgeCache == null) {
-			edgeCache = new EdgeCache();
-			this.edgeCacheMap.put(edgeId, edgeCache);
+		EdgeCache edgeCache = this.edgeCacheMap.computeIfAbsent(edgeId, e -> new EdgeCache());
+
+		// Fill missing values from the cache
+		this.applyEdgeCache(edgeId, influxEdgeId, edgeCache, data);
+
+		// Write data to default location
+		this.writeData(influxEdgeId, data);
+	}
+
+	/**
+	 * Fills values that are missing in the data with the last known values and
+	 * updates the cache.
+	 * 
+	 * <p>
+	 * Takes rows starting with eldest timestamp (ascending order). Within the data
+	 * the last known value of a Channel is the value of a previous row, so the
+	 * cache itself is only read for the first rows and updated once at the end.
+	 * 
+	 * @param edgeId       the Edge-ID
+	 * @param influxEdgeId the unique, numeric identifier of the Edge
+	 * @param edgeCache    the {@link EdgeCache}
+	 * @param data         the data
+	 */
+	protected void applyEdgeCache(String edgeId, int influxEdgeId, EdgeCache edgeCache, TimestampedDataBatch data) {
+		// add Columns for cached Channels that are missing in the data
+		EdgeCache.Snapshot snapshot = edgeCache.getSnapshot();
+		for (ChannelAddress channel : snapshot.getAddresses()) {
+			data.getOrCreateColumn(channel);
 		}
+		Column[] columns = data.getColumns().toArray(new Column[0]);
+		// the row with the last known value per Column; -1 for none
+		int[] lastRows = new int[columns.length];
+		Arrays.fill(lastRows, -1);
 
-		/*
-		 * Prepare data table. Takes entries starting with eldest timestamp (ascending
-		 * order)
-		 */
-		for (Entry<Long, Map<ChannelAddress, JsonElement>> entry : data.rowMap().entrySet()) {
-			Long timestamp = entry.getKey();
+		long cacheTimestamp = snapshot.getTimestamp();
+		boolean isCacheCleared = false;
+		boolean isCacheUpdated = false;
+		for (int row = 0; row < data.size(); row++) {
+			long timestamp = data.getTimestamp(row);
 
 			// Check if cache is valid (it is not elder than 5 minutes compared to this
 			// timestamp)
-			long cacheTimestamp = edgeCache.getTimestamp();
 			if (timestamp < cacheTimestamp) {
 				// incoming data is older than cache -> do not apply cache
+				continue;
+			}
 
-			} else {
-				// incoming data is more recent than cache
-				if (timestamp < cacheTimestamp + 5 * 60 * 1000) {
-					// cache is valid (not elder than 5 minutes)
-					for (Entry<ChannelAddress, JsonElement> cacheEntry : edgeCache.getChannelCacheEntries()
-							.entrySet()) {
-						ChannelAddress channel = cacheEntry.getKey();
-						// check if there is a current value for this timestamp + channel
-						JsonElement existingValue = data.get(timestamp, channel);
-						if (existingValue == null) {
-							// if not -> add cache data to write data
-							data.put(timestamp, channel, cacheEntry.getValue());
-						}
+			// incoming data is more recent than cache
+			if (timestamp < cacheTimestamp + 5 * 60 * 1000) {
+				// cache is valid (not elder than 5 minutes)
+				for (int i = 0; i < columns.length; i++) {
+					Column column = columns[i];
+					if (column.isPresent(row)) {
+						continue;
 					}
-				} else {
-					// cache is not anymore valid (elder than 5 minutes)
-					if (cacheTimestamp != 0L) {
-						this.logInfo(this.log, "Edge [" + edgeId + "]: invalidate cache for influxId [" + influxEdgeId
-								+ "]. This timestamp [" + timestamp + "]. Cache timestamp [" + cacheTimestamp + "]");
+					// if there is no current value for this timestamp + channel -> add cache data
+					if (lastRows[i] != -1) {
+						column.copy(lastRows[i], row);
+					} else if (!isCacheCleared) {
+						snapshot.copyTo(column.getAddress(), column, row);
 					}
-					// clear cache
-					edgeCache.clear();
 				}
+			} else {
+				// cache is not anymore valid (elder than 5 minutes)
+				if (cacheTimestamp != 0L) {
+					this.logInfo(this.log, "Edge [" + edgeId + "]: invalidate cache for influxId [" + influxEdgeId
+							+ "]. This timestamp [" + timestamp + "]. Cache timestamp [" + cacheTimestamp + "]");
+				}
+				// clear cache
+				isCacheCleared = true;
+				Arrays.fill(lastRows, -1);
+			}
 
-				// update cache
-				edgeCache.setTimestamp(timestamp);
-				for (Entry<ChannelAddress, JsonElement> channelEntry : entry.getValue().entrySet()) {
-					edgeCache.putToChannelCache(channelEntry.getKey(), channelEntry.getValue());
+			// update cache
+			cacheTimestamp = timestamp;
+			isCacheUpdated = true;
+			for (int i = 0; i < columns.length; i++) {
+				if (columns[i].isPresent(row)) {
+					lastRows[i] = row;
 				}
 			}
 		}
 
-		// Write data to default location
-		this.writeData(influxEdgeId, data);
+		if (!isCacheUpdated) {
+			return;
+		}
+		EdgeCache.Update update = edgeCache.update();
+		if (isCacheCleared) {
+			update.clear();
+		}
+		update.setTimestamp(cacheTimestamp);
+		for (int i = 0; i < columns.length; i++) {
+			if (lastRows[i] != -1) {
+				update.put(columns[i], lastRows[i]);
+			}
+		}
+		update.commit();
 	}
 
 	/**
@@ -167,29 +253,16 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 	 * @param data         the data
 	 * @throws OpenemsException on error
 	 */
-	private void writeData(int influxEdgeId, TreeBasedTable<Long, ChannelAddress, JsonElement> data)
-			throws OpenemsException {
-		Set<Entry<Long, Map<ChannelAddress, JsonElement>>> dataEntries = data.rowMap().entrySet();
-		if (dataEntries.isEmpty()) {
-			// no data to write
-			return;
-		}
-
-		for (Entry<Long, Map<ChannelAddress, JsonElement>> dataEntry : dataEntries) {
-			Set<Entry<ChannelAddress, JsonElement>> channelEntries = dataEntry.getValue().entrySet();
-			if (channelEntries.isEmpty()) {
-				// no points to add
-				continue;
-			}
-
-			Long timestamp = dataEntry.getKey();
+	private void writeData(int influxEdgeId, TimestampedDataBatch data) throws OpenemsException {
+		Collection<Column> columns = data.getColumns();
+		for (int row = 0; row < data.size(); row++) {
 			// this builds an InfluxDB record ("point") for a given timestamp
 			Point.Builder builder = Point //
 					.measurement(InfluxConnector.MEASUREMENT) //
 					.tag(InfluxConstants.TAG, String.valueOf(influxEdgeId)) //
-					.time(timestamp, TimeUnit.MILLISECONDS);
-			for (Entry<ChannelAddress, JsonElement> channelEntry : channelEntries) {
-				this.addValue(builder, channelEntry.getKey().toString(), channelEntry.getValue());
+					.time(data.getTimestamp(row), TimeUnit.MILLISECONDS);
+			for (Column column : columns) {
+				this.addValue(builder, column, row);
 			}
 			if (builder.hasFields()) {
 				this.influxConnector.write(builder.build());
@@ -238,13 +311,45 @@ public class Influx extends AbstractOpenemsBackendComponent implements Timedata
 		return this.influxConnector.queryHistoricEnergyPerPeriod(influxEdgeId, fromDate, toDate, channels, resolution);
 	}
 
+	/**
+	 * Adds the value of a Column in the correct data format for InfluxDB.
+	 *
+	 * @param builder the Influx PointBuilder
+	 * @param column  the {@link Column}
+	 * @param row     the row index
+	 */
+	private void addValue(Builder builder, Column column, int row) {
+		Kind kind = column.getKind(row);
+		if (kind == Kind.ABSENT || kind == Kind.NULL) {
+			// do not add
+			return;
+		}
+		String field = column.getField();
+		BiConsumer<Builder, JsonElement> handler = this.fieldTypeConflictHandler.getHandler(field);
+		if (handler != null) {
+			// special case handling
+			handler.accept(builder, column.getJson(row));
+			return;
+		}
+		switch (kind) {
+		case LONG:
+			builder.addField(field, column.getLong(row));
+			break;
+		case DOUBLE:
+			builder.addField(field, column.getDouble(row));
+			break;
+		default:
+			this.addValue(builder, field, column.getJson(row));
+			break;
+		}
+	}
+
 	/**
 	 * Adds the value in the correct data format for InfluxDB.
 	 *
 	 * @param builder the Influx PointBuilder
 	 * @param field   the field name
 	 * @param element the value
-	 * @return
 	 */
 	private void addValue(Builder builder, String field, JsonElement element) {
 		if (element == null || element.isJsonNull()) {
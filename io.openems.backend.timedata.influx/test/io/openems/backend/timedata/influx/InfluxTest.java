@@ -0,0 +1,122 @@
+package io.openems.backend.timedata.influx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.backend.timedata.api.EdgeCache;
+import io.openems.backend.timedata.api.TimestampedDataBatch;
+import io.openems.backend.timedata.api.TimestampedDataBatch.Column;
+import io.openems.backend.timedata.api.TimestampedDataBatch.Kind;
+import io.openems.common.types.ChannelAddress;
+
+public class InfluxTest {
+
+	private static final ChannelAddress ESS_SOC = new ChannelAddress("ess0", "Soc");
+	private static final ChannelAddress METER_POWER = new ChannelAddress("meter0", "ActivePower");
+	private static final ChannelAddress META_VERSION = new ChannelAddress("_meta", "Version");
+	private static final ChannelAddress ESS_STATE = new ChannelAddress("ess0", "State");
+
+	private static final long FIVE_MINUTES = 5 * 60 * 1000;
+
+	@Test
+	public void testForwardFill() {
+		EdgeCache cache = new EdgeCache();
+		cache.update() //
+				.setTimestamp(1000) //
+				.put(ESS_SOC, new JsonPrimitive(50)) //
+				.put(METER_POWER, new JsonPrimitive(1.5)) //
+				.put(META_VERSION, new JsonPrimitive("2020.1.0")) //
+				.put(ESS_STATE, JsonNull.INSTANCE) //
+				.commit();
+
+		TimestampedDataBatch data = new TimestampedDataBatch(new long[] { 2000, 3000 });
+		data.getOrCreateColumn(ESS_SOC).set(0, new JsonPrimitive(51));
+		data.getOrCreateColumn(METER_POWER).set(1, new JsonPrimitive(2.5));
+
+		new Influx().applyEdgeCache("edge0", 0, cache, data);
+
+		// first row: missing values are taken from the cache, keeping their Kind
+		Column soc = data.getColumn(ESS_SOC);
+		Column power = data.getColumn(METER_POWER);
+		Column version = data.getColumn(META_VERSION);
+		Column state = data.getColumn(ESS_STATE);
+		assertEquals(Kind.LONG, soc.getKind(0));
+		assertEquals(51, soc.getLong(0));
+		assertEquals(Kind.DOUBLE, power.getKind(0));
+		assertEquals(1.5, power.getDouble(0), 0);
+		assertEquals(Kind.JSON, version.getKind(0));
+		assertEquals(new JsonPrimitive("2020.1.0"), version.getJson(0));
+		assertEquals(Kind.NULL, state.getKind(0));
+
+		// second row: missing values are taken from the previous row
+		assertEquals(Kind.LONG, soc.getKind(1));
+		assertEquals(51, soc.getLong(1));
+		assertEquals(2.5, power.getDouble(1), 0);
+		assertEquals(new JsonPrimitive("2020.1.0"), version.getJson(1));
+		assertEquals(Kind.NULL, state.getKind(1));
+
+		// the cache holds the values of the last row
+		EdgeCache.Snapshot snapshot = cache.getSnapshot();
+		assertEquals(3000, snapshot.getTimestamp());
+		assertEquals(new JsonPrimitive(51L), snapshot.getValue(ESS_SOC).get());
+		assertEquals(Kind.DOUBLE, snapshot.getKind(METER_POWER));
+		assertEquals(new JsonPrimitive(2.5), snapshot.getValue(METER_POWER).get());
+		assertEquals(Kind.JSON, snapshot.getKind(META_VERSION));
+		assertEquals(Kind.NULL, snapshot.getKind(ESS_STATE));
+	}
+
+	@Test
+	public void testInvalidCache() {
+		EdgeCache cache = new EdgeCache();
+		cache.update() //
+				.setTimestamp(1000) //
+				.put(ESS_SOC, new JsonPrimitive(50)) //
+				.commit();
+
+		long timestamp = 1000 + FIVE_MINUTES;
+		TimestampedDataBatch data = new TimestampedDataBatch(new long[] { timestamp, timestamp + 1000 });
+		data.getOrCreateColumn(METER_POWER).set(0, new JsonPrimitive(1));
+
+		new Influx().applyEdgeCache("edge0", 0, cache, data);
+
+		// the cache is too old and is not applied
+		Column soc = data.getColumn(ESS_SOC);
+		assertEquals(Kind.ABSENT, soc.getKind(0));
+		assertEquals(Kind.ABSENT, soc.getKind(1));
+
+		// values within the data are still filled
+		Column power = data.getColumn(METER_POWER);
+		assertEquals(Kind.LONG, power.getKind(1));
+		assertEquals(1, power.getLong(1));
+
+		// the cache is cleared and holds only the new values
+		assertEquals(timestamp + 1000, cache.getTimestamp());
+		assertFalse(cache.getChannelValue(ESS_SOC).isPresent());
+		assertEquals(new JsonPrimitive(1L), cache.getChannelValue(METER_POWER).get());
+	}
+
+	@Test
+	public void testOlderData() {
+		EdgeCache cache = new EdgeCache();
+		cache.update() //
+				.setTimestamp(10000) //
+				.put(ESS_SOC, new JsonPrimitive(50)) //
+				.commit();
+
+		TimestampedDataBatch data = new TimestampedDataBatch(new long[] { 5000 });
+		data.getOrCreateColumn(METER_POWER).set(0, new JsonPrimitive(1));
+
+		new Influx().applyEdgeCache("edge0", 0, cache, data);
+
+		// data that is older than the cache is neither filled nor cached
+		assertEquals(Kind.ABSENT, data.getColumn(ESS_SOC).getKind(0));
+		assertEquals(10000, cache.getTimestamp());
+		assertFalse(cache.getChannelValue(METER_POWER).isPresent());
+	}
+
+}
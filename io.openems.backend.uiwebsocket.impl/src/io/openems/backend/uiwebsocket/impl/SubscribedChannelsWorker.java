@@ -21,6 +21,15 @@ public class SubscribedChannelsWorker extends io.openems.common.websocket.Subscr
 		this.edgeId = edgeId;
 	}
 
+	@Override
+	protected Object getBatchKey() {
+		if (this.edgeId == null) {
+			return this;
+		}
+		// all sessions subscribed to the same Edge share the EdgeCache lookups
+		return this.edgeId;
+	}
+
 	@Override
 	protected JsonElement getChannelValue(ChannelAddress channelAddress) {
 		if (this.edgeId == null) {
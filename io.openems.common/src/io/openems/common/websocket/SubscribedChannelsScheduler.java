@@ -0,0 +1,167 @@
+package io.openems.common.websocket;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.java_websocket.WebSocket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonElement;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.notification.CurrentDataNotification;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Drives all {@link SubscribedChannelsWorker}s of this JVM from one single
+ * scheduler thread.
+ *
+ * <p>
+ * Instead of holding one thread per websocket session, every worker registers
+ * here. Once per {@link #UPDATE_INTERVAL_IN_SECONDS} all registered workers are
+ * grouped by their {@link SubscribedChannelsWorker#getBatchKey()}; the values
+ * of the union of all subscribed channels of a group are resolved only once and
+ * then distributed to every worker of the group.
+ *
+ * <p>
+ * The scheduler thread is started when the first worker registers and is
+ * released again after the last worker was disposed.
+ */
+public class SubscribedChannelsScheduler {
+
+	public static final int UPDATE_INTERVAL_IN_SECONDS = 2;
+
+	private static final int KEEP_ALIVE_TIME_IN_SECONDS = 10;
+
+	private static final SubscribedChannelsScheduler INSTANCE = new SubscribedChannelsScheduler();
+
+	/**
+	 * Gets the shared {@link SubscribedChannelsScheduler} instance.
+	 *
+	 * @return the instance
+	 */
+	public static SubscribedChannelsScheduler getInstance() {
+		return INSTANCE;
+	}
+
+	private final Logger log = LoggerFactory.getLogger(SubscribedChannelsScheduler.class);
+
+	/**
+	 * Holds all workers with active subscriptions.
+	 */
+	private final Set<SubscribedChannelsWorker> workers = ConcurrentHashMap.newKeySet();
+
+	private final ScheduledThreadPoolExecutor executor;
+
+	/**
+	 * Holds the scheduled tick task; null if there is no registered worker.
+	 */
+	private ScheduledFuture<?> future = null;
+
+	protected SubscribedChannelsScheduler() {
+		this.executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+			Thread thread = new Thread(runnable, "OpenEMS-SubscribedChannelsScheduler");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.executor.setKeepAliveTime(KEEP_ALIVE_TIME_IN_SECONDS, TimeUnit.SECONDS);
+		this.executor.allowCoreThreadTimeOut(true);
+		this.executor.setRemoveOnCancelPolicy(true);
+	}
+
+	/**
+	 * Registers a {@link SubscribedChannelsWorker}. Current data is sent once
+	 * immediately and then on every tick.
+	 *
+	 * @param worker the {@link SubscribedChannelsWorker}
+	 */
+	public synchronized void register(SubscribedChannelsWorker worker) {
+		this.workers.add(worker);
+		this.executor.execute(() -> this.process(Collections.singletonList(worker)));
+		if (this.future == null) {
+			this.future = this.executor.scheduleWithFixedDelay(this::tick, UPDATE_INTERVAL_IN_SECONDS,
+					UPDATE_INTERVAL_IN_SECONDS, TimeUnit.SECONDS);
+		}
+	}
+
+	/**
+	 * Unregisters a {@link SubscribedChannelsWorker}.
+	 *
+	 * @param worker the {@link SubscribedChannelsWorker}
+	 */
+	public synchronized void unregister(SubscribedChannelsWorker worker) {
+		this.workers.remove(worker);
+		if (this.workers.isEmpty() && this.future != null) {
+			this.future.cancel(false);
+			this.future = null;
+		}
+	}
+
+	/**
+	 * Gets the number of registered workers.
+	 *
+	 * @return the number of workers
+	 */
+	public int getNumberOfWorkers() {
+		return this.workers.size();
+	}
+
+	/**
+	 * This task is executed regularly. Sends data to all registered workers.
+	 */
+	private void tick() {
+		Map<Object, List<SubscribedChannelsWorker>> batches = new LinkedHashMap<>();
+		for (SubscribedChannelsWorker worker : this.workers) {
+			batches.computeIfAbsent(worker.getBatchKey(), key -> new ArrayList<>()).add(worker);
+		}
+		for (List<SubscribedChannelsWorker> batch : batches.values()) {
+			try {
+				this.process(batch);
+			} catch (RuntimeException e) {
+				this.log.warn("Unable to process SubscribedChannels: " + e.getClass().getSimpleName() + ": "
+						+ e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Resolves the channel values for a batch of workers that share the same
+	 * batch key and sends one CurrentDataNotification per worker.
+	 *
+	 * @param batch the workers
+	 */
+	protected void process(List<SubscribedChannelsWorker> batch) {
+		Map<ChannelAddress, JsonElement> values = new HashMap<>();
+		for (SubscribedChannelsWorker worker : batch) {
+			WebSocket ws = worker.wsData.getWebsocket();
+			if (ws == null || !ws.isOpen()) {
+				// disconnected; stop worker
+				worker.dispose();
+				continue;
+			}
+
+			CurrentDataNotification currentData = new CurrentDataNotification();
+			for (ChannelAddress channel : worker.getChannels()) {
+				JsonElement value = values.computeIfAbsent(channel, worker::getChannelValue);
+				currentData.add(channel, value);
+			}
+
+			try {
+				worker.wsData.send(worker.getJsonRpcNotification(currentData));
+			} catch (OpenemsException e) {
+				this.log.warn("Unable to send SubscribedChannels: " + e.getMessage());
+			}
+		}
+	}
+
+}
@@ -1,20 +1,11 @@
 package io.openems.common.websocket;
 
-import java.util.Optional;
+import java.util.Collections;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
-
-import org.java_websocket.WebSocket;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import com.google.gson.JsonElement;
 
-import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.jsonrpc.base.JsonrpcNotification;
 import io.openems.common.jsonrpc.notification.CurrentDataNotification;
 import io.openems.common.jsonrpc.request.SubscribeChannelsRequest;
@@ -23,30 +14,28 @@ import io.openems.common.types.ChannelAddress;
 
 public abstract class SubscribedChannelsWorker {
 
-	protected final static int UPDATE_INTERVAL_IN_SECONDS = 2;
-
-	private final Logger log = LoggerFactory.getLogger(SubscribedChannelsWorker.class);
+	protected final static int UPDATE_INTERVAL_IN_SECONDS = SubscribedChannelsScheduler.UPDATE_INTERVAL_IN_SECONDS;
 
 	/**
-	 * Executor for subscriptions task
+	 * Scheduler for subscriptions task
 	 */
-	private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(1);
+	private final SubscribedChannelsScheduler scheduler;
 
 	/**
 	 * Holds subscribed channels
 	 */
-	private final TreeSet<ChannelAddress> channels = new TreeSet<>();
-
-	/**
-	 * Holds the scheduled task for currentData
-	 */
-	private Optional<ScheduledFuture<?>> futureOpt = Optional.empty();
+	private volatile Set<ChannelAddress> channels = Collections.emptySet();
 
 	protected final WsData wsData;
 
 	private int lastRequestCount = Integer.MIN_VALUE;
 
 	public SubscribedChannelsWorker(WsData wsData) {
+		this(SubscribedChannelsScheduler.getInstance(), wsData);
+	}
+
+	protected SubscribedChannelsWorker(SubscribedChannelsScheduler scheduler, WsData wsData) {
+		this.scheduler = scheduler;
 		this.wsData = wsData;
 	}
 
@@ -69,60 +58,45 @@ public abstract class SubscribedChannelsWorker {
 	 * @param channels Set of ChannelAddresses
 	 */
 	private synchronized void setChannels(Set<ChannelAddress> channels) {
-		// stop current thread
-		if (this.futureOpt.isPresent()) {
-			this.futureOpt.get().cancel(true);
-			this.futureOpt = Optional.empty();
-		}
-
-		// clear existing channels
-		this.channels.clear();
-
 		// set new channels
-		this.channels.addAll(channels);
-
-		if (!channels.isEmpty()) {
-			// registered channels -> create new thread
-			this.futureOpt = Optional.of(this.executor.scheduleWithFixedDelay(() -> {
-				/*
-				 * This task is executed regularly. Sends data to Websocket.
-				 */
-				WebSocket ws = this.wsData.getWebsocket();
-				if (ws == null || !ws.isOpen()) {
-					// disconnected; stop worker
-					this.dispose();
-					return;
-				}
-
-				try {
-					this.wsData.send(this.getJsonRpcNotification(this.getCurrentData()));
-				} catch (OpenemsException e) {
-					this.log.warn("Unable to send SubscribedChannels: " + e.getMessage());
-				}
-
-			}, 0, UPDATE_INTERVAL_IN_SECONDS, TimeUnit.SECONDS));
+		this.channels = Collections.unmodifiableSet(new TreeSet<>(channels));
+
+		if (channels.isEmpty()) {
+			// no registered channels -> stop updates
+			this.scheduler.unregister(this);
+		} else {
+			// registered channels -> (re)register at scheduler
+			this.scheduler.register(this);
 		}
 	}
 
 	public void dispose() {
 		// unsubscribe regular task
-		if (this.futureOpt.isPresent()) {
-			futureOpt.get().cancel(true);
-		}
+		this.scheduler.unregister(this);
 	}
 
 	/**
-	 * Gets a JSON-RPC Notification with all subscribed channels data
-	 *
-	 * @return
+	 * Gets the subscribed Channels.
+	 * 
+	 * @return an unmodifiable Set of ChannelAddresses
 	 */
-	private CurrentDataNotification getCurrentData() {
-		CurrentDataNotification result = new CurrentDataNotification();
-		for (ChannelAddress channel : this.channels) {
-			JsonElement value = this.getChannelValue(channel);
-			result.add(channel, value);
-		}
-		return result;
+	protected Set<ChannelAddress> getChannels() {
+		return this.channels;
+	}
+
+	/**
+	 * Gets the key that is used by {@link SubscribedChannelsScheduler} to batch
+	 * workers. All workers with an equal key have to return the same values for
+	 * {@link #getChannelValue(ChannelAddress)}; channel values are then resolved
+	 * only once per key and update interval.
+	 * 
+	 * <p>
+	 * Defaults to this instance, i.e. no batching.
+	 * 
+	 * @return the batch key
+	 */
+	protected Object getBatchKey() {
+		return this;
 	}
 
 	protected abstract JsonElement getChannelValue(ChannelAddress channelAddress);
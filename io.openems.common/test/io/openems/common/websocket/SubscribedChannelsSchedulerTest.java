@@ -0,0 +1,125 @@
+package io.openems.common.websocket;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.java_websocket.WebSocket;
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.jsonrpc.base.JsonrpcNotification;
+import io.openems.common.jsonrpc.notification.CurrentDataNotification;
+import io.openems.common.jsonrpc.request.SubscribeChannelsRequest;
+import io.openems.common.session.Role;
+import io.openems.common.types.ChannelAddress;
+
+public class SubscribedChannelsSchedulerTest {
+
+	private static final ChannelAddress SUM_SOC = new ChannelAddress("_sum", "EssSoc");
+	private static final ChannelAddress SUM_GRID = new ChannelAddress("_sum", "GridActivePower");
+
+	private static class DummyWsData extends WsData {
+
+		private final List<String> sent = Collections.synchronizedList(new ArrayList<>());
+		private boolean open = true;
+
+		public DummyWsData() {
+			this.setWebsocket((WebSocket) Proxy.newProxyInstance(WebSocket.class.getClassLoader(),
+					new Class<?>[] { WebSocket.class }, (proxy, method, args) -> {
+						switch (method.getName()) {
+						case "isOpen":
+							return this.open;
+						case "send":
+							this.sent.add((String) args[0]);
+							return null;
+						default:
+							return null;
+						}
+					}));
+		}
+
+		@Override
+		public String toString() {
+			return "DummyWsData";
+		}
+	}
+
+	private static class DummyWorker extends SubscribedChannelsWorker {
+
+		private final String batchKey;
+		private final AtomicInteger lookups;
+
+		public DummyWorker(SubscribedChannelsScheduler scheduler, WsData wsData, String batchKey,
+				AtomicInteger lookups) {
+			super(scheduler, wsData);
+			this.batchKey = batchKey;
+			this.lookups = lookups;
+		}
+
+		@Override
+		protected Object getBatchKey() {
+			return this.batchKey;
+		}
+
+		@Override
+		protected JsonElement getChannelValue(ChannelAddress channelAddress) {
+			this.lookups.incrementAndGet();
+			return new JsonPrimitive(42);
+		}
+
+		@Override
+		protected JsonrpcNotification getJsonRpcNotification(CurrentDataNotification currentData) {
+			return currentData;
+		}
+	}
+
+	private static SubscribeChannelsRequest createRequest(ChannelAddress... channels) {
+		SubscribeChannelsRequest result = new SubscribeChannelsRequest(0);
+		result.getChannels().addAll(Arrays.asList(channels));
+		return result;
+	}
+
+	@Test
+	public void testBatch() throws Exception {
+		SubscribedChannelsScheduler scheduler = new SubscribedChannelsScheduler();
+		AtomicInteger lookups = new AtomicInteger();
+		DummyWsData wsData1 = new DummyWsData();
+		DummyWsData wsData2 = new DummyWsData();
+		DummyWorker worker1 = new DummyWorker(scheduler, wsData1, "edge0", lookups);
+		DummyWorker worker2 = new DummyWorker(scheduler, wsData2, "edge0", lookups);
+
+		worker1.handleSubscribeChannelsRequest(Role.GUEST, createRequest(SUM_SOC, SUM_GRID));
+		worker2.handleSubscribeChannelsRequest(Role.GUEST, createRequest(SUM_SOC));
+		assertEquals(2, scheduler.getNumberOfWorkers());
+
+		// wait for the initial updates that are sent on subscribe
+		for (int i = 0; i < 100 && (wsData1.sent.isEmpty() || wsData2.sent.isEmpty()); i++) {
+			Thread.sleep(10);
+		}
+
+		int lookupsBefore = lookups.get();
+		int sentBefore = wsData1.sent.size() + wsData2.sent.size();
+		scheduler.process(Arrays.asList(worker1, worker2));
+
+		// each Channel is resolved only once per batch
+		assertEquals(2, lookups.get() - lookupsBefore);
+		assertEquals(2, wsData1.sent.size() + wsData2.sent.size() - sentBefore);
+
+		// closed websockets are disposed
+		wsData2.open = false;
+		scheduler.process(Arrays.asList(worker1, worker2));
+		assertEquals(1, scheduler.getNumberOfWorkers());
+
+		worker1.dispose();
+		assertEquals(0, scheduler.getNumberOfWorkers());
+	}
+
+}
@@ -72,6 +72,8 @@ public class BmwBatteryImpl extends AbstractOpenemsModbusComponent
 
 	private static final Integer OPEN_CONTACTORS = 0;
 	private static final Integer CLOSE_CONTACTORS = 4;
+	// Temperatures change slowly; read them every 10 seconds instead of every Cycle
+	private static final long TEMPERATURE_POLLING_INTERVAL = 10_000;
 
 	private State state = State.UNDEFINED;
 
@@ -406,17 +408,20 @@ public class BmwBatteryImpl extends AbstractOpenemsModbusComponent
 								.m(Battery.ChannelId.CURRENT, ElementToChannelConverter.SCALE_FACTOR_3) //
 								.build()), //
 				new FC4ReadInputRegistersTask(1030, Priority.HIGH, //
-						m(BMWChannelId.AVERAGE_TEMPERATURE, new UnsignedWordElement(1030))), //
+						m(BMWChannelId.AVERAGE_TEMPERATURE, new UnsignedWordElement(1030))) //
+								.pollingInterval(TEMPERATURE_POLLING_INTERVAL), //
 				new FC4ReadInputRegistersTask(1031, Priority.HIGH, //
 						m(new UnsignedWordElement(1031)) //
 								.m(BMWChannelId.MINIMUM_TEMPERATURE, ElementToChannelConverter.DIRECT_1_TO_1) //
 								.m(Battery.ChannelId.MIN_CELL_TEMPERATURE, ElementToChannelConverter.DIRECT_1_TO_1) //
-								.build()), //
+								.build()) //
+								.pollingInterval(TEMPERATURE_POLLING_INTERVAL), //
 				new FC4ReadInputRegistersTask(1032, Priority.HIGH, //
 						m(new UnsignedWordElement(1032)) //
 								.m(BMWChannelId.MAXIMUM_TEMPERATURE, ElementToChannelConverter.DIRECT_1_TO_1) //
 								.m(Battery.ChannelId.MAX_CELL_TEMPERATURE, ElementToChannelConverter.DIRECT_1_TO_1) //
-								.build()), //
+								.build()) //
+								.pollingInterval(TEMPERATURE_POLLING_INTERVAL), //
 				new FC4ReadInputRegistersTask(1033, Priority.HIGH,
 						m(Battery.ChannelId.MIN_CELL_VOLTAGE, new UnsignedWordElement(1033)), //
 						m(Battery.ChannelId.MAX_CELL_VOLTAGE, new UnsignedWordElement(1034)), //
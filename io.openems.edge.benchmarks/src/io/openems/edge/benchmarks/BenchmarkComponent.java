@@ -0,0 +1,64 @@
+package io.openems.edge.benchmarks;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.OpenemsComponent;
+
+/**
+ * A minimal {@link OpenemsComponent} with a fixed number of Integer Channels,
+ * used as load for the benchmarks.
+ */
+public class BenchmarkComponent extends AbstractOpenemsComponent implements OpenemsComponent {
+
+	public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
+		VALUE_0(Doc.of(OpenemsType.INTEGER)), //
+		VALUE_1(Doc.of(OpenemsType.INTEGER)), //
+		VALUE_2(Doc.of(OpenemsType.INTEGER)), //
+		VALUE_3(Doc.of(OpenemsType.INTEGER)), //
+		VALUE_4(Doc.of(OpenemsType.INTEGER)), //
+		VALUE_5(Doc.of(OpenemsType.INTEGER)), //
+		VALUE_6(Doc.of(OpenemsType.INTEGER)), //
+		VALUE_7(Doc.of(OpenemsType.INTEGER)), //
+		VALUE_8(Doc.of(OpenemsType.INTEGER)), //
+		VALUE_9(Doc.of(OpenemsType.INTEGER));
+
+		private final Doc doc;
+
+		private ChannelId(Doc doc) {
+			this.doc = doc;
+		}
+
+		@Override
+		public Doc doc() {
+			return this.doc;
+		}
+	}
+
+	public BenchmarkComponent(String id) {
+		super(//
+				OpenemsComponent.ChannelId.values(), //
+				ChannelId.values() //
+		);
+		for (Channel<?> channel : this.channels()) {
+			channel.nextProcessImage();
+		}
+		super.activate(null, id, "", true);
+	}
+
+	/**
+	 * Sets the next value of the first 'count' {@link ChannelId}s, as a device
+	 * driver would do for updated registers.
+	 * 
+	 * @param count the number of Channels to update
+	 * @param value the value
+	 */
+	public void update(int count, int value) {
+		ChannelId[] channelIds = ChannelId.values();
+		for (int i = 0; i < count && i < channelIds.length; i++) {
+			this.channel(channelIds[i]).setNextValue(value);
+		}
+	}
+
+}
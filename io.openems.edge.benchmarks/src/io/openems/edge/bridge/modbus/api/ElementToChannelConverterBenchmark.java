@@ -0,0 +1,39 @@
+package io.openems.edge.bridge.modbus.api;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks single and chained {@link ElementToChannelConverter}s.
+ */
+@State(Scope.Thread)
+public class ElementToChannelConverterBenchmark {
+
+	private static final ElementToChannelConverter SCALE_FACTOR_1_AND_INVERT_IF_TRUE = ElementToChannelConverter
+			.SCALE_FACTOR_1_AND_INVERT_IF_TRUE(true);
+
+	private int value = 0;
+
+	@Benchmark
+	public Object direct() {
+		return ElementToChannelConverter.DIRECT_1_TO_1.elementToChannel(this.value++);
+	}
+
+	@Benchmark
+	public Object scaleFactor() {
+		return ElementToChannelConverter.SCALE_FACTOR_2.elementToChannel(this.value++);
+	}
+
+	@Benchmark
+	public Object chainOfTwo() {
+		return SCALE_FACTOR_1_AND_INVERT_IF_TRUE.elementToChannel(this.value++);
+	}
+
+	@Benchmark
+	public Object chainOfThree() {
+		return ElementToChannelConverter.SCALE_FACTOR_2_AND_KEEP_NEGATIVE_AND_INVERT
+				.elementToChannel(this.value++ - 1000);
+	}
+
+}
@@ -0,0 +1,65 @@
+package io.openems.edge.bridge.modbus.api.task;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.ghgande.j2mod.modbus.procimg.InputRegister;
+import com.ghgande.j2mod.modbus.procimg.SimpleInputRegister;
+
+import io.openems.edge.bridge.modbus.api.element.AbstractModbusElement;
+import io.openems.edge.bridge.modbus.api.element.SignedDoublewordElement;
+import io.openems.edge.bridge.modbus.api.element.UnsignedWordElement;
+import io.openems.edge.common.taskmanager.Priority;
+
+/**
+ * Benchmarks filling the elements of a Read-Task from a large register
+ * response.
+ */
+@State(Scope.Thread)
+public class FillElementsBenchmark {
+
+	/**
+	 * Number of registers in the response; 125 is the maximum of one Modbus
+	 * request.
+	 */
+	@Param({ "10", "60", "125" })
+	public int noOfRegisters;
+
+	private FC3ReadRegistersTask wordTask;
+	private FC3ReadRegistersTask doublewordTask;
+	private InputRegister[] response;
+
+	@Setup
+	public void setup() {
+		AbstractModbusElement<?>[] words = new AbstractModbusElement<?>[this.noOfRegisters];
+		for (int i = 0; i < this.noOfRegisters; i++) {
+			words[i] = new UnsignedWordElement(i);
+		}
+		this.wordTask = new FC3ReadRegistersTask(0, Priority.HIGH, words);
+
+		AbstractModbusElement<?>[] doublewords = new AbstractModbusElement<?>[this.noOfRegisters / 2];
+		for (int i = 0; i < this.noOfRegisters / 2; i++) {
+			doublewords[i] = new SignedDoublewordElement(i * 2);
+		}
+		this.doublewordTask = new FC3ReadRegistersTask(0, Priority.HIGH, doublewords);
+
+		this.response = new InputRegister[this.noOfRegisters];
+		for (int i = 0; i < this.noOfRegisters; i++) {
+			this.response[i] = new SimpleInputRegister(i);
+		}
+	}
+
+	@Benchmark
+	public void fillWordElements() {
+		this.wordTask.fillElements(this.response);
+	}
+
+	@Benchmark
+	public void fillDoublewordElements() {
+		this.doublewordTask.fillElements(this.response);
+	}
+
+}
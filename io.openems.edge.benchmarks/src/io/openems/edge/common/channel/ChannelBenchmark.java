@@ -0,0 +1,45 @@
+package io.openems.edge.common.channel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.openems.edge.benchmarks.BenchmarkComponent;
+import io.openems.edge.common.channel.value.Value;
+
+/**
+ * Benchmarks setting values of a Channel and switching it to the next process
+ * image.
+ */
+@State(Scope.Thread)
+public class ChannelBenchmark {
+
+	private IntegerReadChannel channel;
+	private int value = 0;
+
+	@Setup
+	public void setup() {
+		BenchmarkComponent component = new BenchmarkComponent("component0");
+		this.channel = component.channel(BenchmarkComponent.ChannelId.VALUE_0);
+	}
+
+	@Benchmark
+	public void setNextValue() {
+		this.channel.setNextValue(this.value++);
+	}
+
+	@Benchmark
+	public Value<Integer> setNextValueAndNextProcessImage() {
+		this.channel.setNextValue(this.value++);
+		this.channel.nextProcessImage();
+		return this.channel.value();
+	}
+
+	@Benchmark
+	public Value<Integer> nextProcessImageWithoutNewValue() {
+		this.channel.nextProcessImage();
+		return this.channel.value();
+	}
+
+}
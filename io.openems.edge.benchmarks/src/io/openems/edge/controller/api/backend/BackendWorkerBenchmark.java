@@ -0,0 +1,55 @@
+package io.openems.edge.controller.api.backend;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.openems.edge.benchmarks.BenchmarkComponent;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.test.DummyComponentManager;
+
+/**
+ * Benchmarks collecting the Channel values of all Components into the sliding
+ * values of the {@link BackendWorker}.
+ */
+@State(Scope.Thread)
+public class BackendWorkerBenchmark {
+
+	@Param({ "10", "100", "500" })
+	public int noOfComponents;
+
+	private final List<BenchmarkComponent> components = new ArrayList<>();
+	private BackendWorker worker;
+	private int value = 0;
+
+	@Setup
+	public void setup() {
+		DummyComponentManager componentManager = new DummyComponentManager();
+		for (int i = 0; i < this.noOfComponents; i++) {
+			BenchmarkComponent component = new BenchmarkComponent("component" + i);
+			this.components.add(component);
+			componentManager.addComponent(component);
+		}
+		BackendApiImpl parent = new BackendApiImpl();
+		parent.componentManager = componentManager;
+		this.worker = new BackendWorker(parent);
+	}
+
+	@Benchmark
+	public void updateData() {
+		int value = this.value++;
+		for (BenchmarkComponent component : this.components) {
+			component.update(BenchmarkComponent.ChannelId.values().length, value);
+			for (Channel<?> channel : component.channels()) {
+				channel.nextProcessImage();
+			}
+		}
+		this.worker.updateData();
+	}
+
+}
@@ -0,0 +1,117 @@
+package io.openems.edge.core.cycle;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventAdmin;
+
+import io.openems.edge.benchmarks.BenchmarkComponent;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.sum.DummySum;
+import io.openems.edge.common.test.DummyComponentManager;
+import io.openems.edge.controller.test.DummyController;
+import io.openems.edge.scheduler.api.Scheduler;
+
+/**
+ * Benchmarks one run of the {@link CycleWorker} with a number of Components
+ * that update some of their Channels on every Cycle.
+ */
+@State(Scope.Thread)
+public class CycleWorkerBenchmark {
+
+	private static final int NO_OF_CONTROLLERS = 10;
+
+	private static class BenchmarkScheduler extends AbstractOpenemsComponent implements Scheduler {
+
+		private final LinkedHashSet<String> controllers;
+
+		public BenchmarkScheduler(LinkedHashSet<String> controllers) {
+			super(//
+					OpenemsComponent.ChannelId.values(), //
+					Scheduler.ChannelId.values() //
+			);
+			for (Channel<?> channel : this.channels()) {
+				channel.nextProcessImage();
+			}
+			super.activate(null, "scheduler0", "", true);
+			this.controllers = controllers;
+		}
+
+		@Override
+		public LinkedHashSet<String> getControllers() {
+			return this.controllers;
+		}
+	}
+
+	@Param({ "10", "100", "500" })
+	public int noOfComponents;
+
+	@Param({ "1", "10" })
+	public int updatedChannelsPerComponent;
+
+	@Param({ "false", "true" })
+	public boolean parallelProcessImage;
+
+	private final List<BenchmarkComponent> components = new ArrayList<>();
+	private CycleWorker worker;
+	private int value = 0;
+
+	@Setup
+	public void setup() {
+		DummyComponentManager componentManager = new DummyComponentManager();
+		for (int i = 0; i < this.noOfComponents; i++) {
+			BenchmarkComponent component = new BenchmarkComponent("component" + i);
+			this.components.add(component);
+			componentManager.addComponent(component);
+		}
+		LinkedHashSet<String> controllerIds = new LinkedHashSet<>();
+		for (int i = 0; i < NO_OF_CONTROLLERS; i++) {
+			DummyController controller = new DummyController("ctrl" + i);
+			controllerIds.add(controller.id());
+			componentManager.addComponent(controller);
+		}
+
+		boolean parallelProcessImage = this.parallelProcessImage;
+		CycleImpl cycle = new CycleImpl() {
+			@Override
+			protected boolean isParallelProcessImage() {
+				return parallelProcessImage;
+			}
+		};
+		cycle.eventAdmin = new EventAdmin() {
+
+			@Override
+			public void postEvent(Event event) {
+				// ignore
+			}
+
+			@Override
+			public void sendEvent(Event event) {
+				// ignore
+			}
+		};
+		cycle.sumComponent = new DummySum();
+		cycle.componentManager = componentManager;
+		cycle.schedulers.add(new BenchmarkScheduler(controllerIds));
+		this.worker = new CycleWorker(cycle);
+	}
+
+	@Benchmark
+	public void forever() {
+		int value = this.value++;
+		for (BenchmarkComponent component : this.components) {
+			component.update(this.updatedChannelsPerComponent, value);
+		}
+		this.worker.forever();
+	}
+
+}
@@ -0,0 +1,65 @@
+package io.openems.edge.ess.core.power;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.ess.power.api.Constraint;
+import io.openems.edge.ess.power.api.LinearCoefficient;
+import io.openems.edge.ess.power.api.Phase;
+import io.openems.edge.ess.power.api.Pwr;
+import io.openems.edge.ess.power.api.Relationship;
+import io.openems.edge.ess.power.api.SolverStrategy;
+import io.openems.edge.ess.test.DummyManagedSymmetricEss;
+import io.openems.edge.ess.test.DummyPower;
+
+/**
+ * Benchmarks one Cycle of the Power {@link Solver} with a number of symmetric
+ * Inverters and a total active and reactive power setpoint.
+ */
+@State(Scope.Thread)
+public class SolverBenchmark {
+
+	@Param({ "1", "2", "4", "8", "16", "32" })
+	public int noOfInverters;
+
+	@Param({ "OPTIMIZE_BY_MOVING_TOWARDS_TARGET", "OPTIMIZE_BY_KEEPING_ALL_EQUAL" })
+	public SolverStrategy strategy;
+
+	private Data data;
+	private Solver solver;
+	private int setpoint = 0;
+
+	@Setup
+	public void setup() {
+		this.data = new Data();
+		this.data.setSymmetricMode(true);
+		DummyPower power = new DummyPower();
+		for (int i = 0; i < this.noOfInverters; i++) {
+			this.data.addEss(new DummyManagedSymmetricEss("ess" + i, power) //
+					.withAllowedChargePower(-10000) //
+					.withAllowedDischargePower(10000) //
+					.withMaxApparentPower(10000) //
+					.withSoc(20 + i * 60 / this.noOfInverters));
+		}
+		this.solver = new Solver(this.data);
+	}
+
+	@Benchmark
+	public void solve() throws OpenemsException {
+		// vary the setpoint so that the Solver cannot rely on the last solution
+		int activePower = (this.setpoint++ % 20 - 10) * 500 * this.noOfInverters;
+		LinearCoefficient[] coefficients = new LinearCoefficient[this.noOfInverters];
+		for (int i = 0; i < this.noOfInverters; i++) {
+			coefficients[i] = new LinearCoefficient(this.data.getCoefficient("ess" + i, Phase.ALL, Pwr.ACTIVE), 1);
+			this.data.addSimpleConstraint("benchmark", "ess" + i, Phase.ALL, Pwr.REACTIVE, Relationship.EQUALS, 0);
+		}
+		this.data.addConstraint(new Constraint("benchmark", coefficients, Relationship.EQUALS, activePower));
+		this.solver.solve(this.strategy);
+		this.data.initializeCycle();
+	}
+
+}
@@ -2,6 +2,8 @@ package io.openems.edge.bridge.modbus;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
@@ -38,12 +40,27 @@ import io.openems.edge.common.event.EdgeEventConstants;
 public class BridgeModbusTcpImpl extends AbstractModbusBridge
 		implements BridgeModbus, BridgeModbusTcp, OpenemsComponent, EventHandler {
 
+	/**
+	 * Key of the connection that is shared by all Unit-IDs.
+	 */
+	private static final int SHARED_CONNECTION = -1;
+
 	/**
 	 * The configured IP address.
 	 */
 	private InetAddress ipAddress = null;
 	private int port;
 
+	/**
+	 * The pipelined connection; null if pipelining is disabled.
+	 */
+	private ModbusTcpPipeline pipeline = null;
+
+	/**
+	 * Use a separate connection per Unit-ID?.
+	 */
+	private boolean connectionPerUnitId = false;
+
 	public BridgeModbusTcpImpl() {
 		super(//
 				OpenemsComponent.ChannelId.values(), //
@@ -55,53 +72,108 @@ public class BridgeModbusTcpImpl extends AbstractModbusBridge
 	@Activate
 	protected void activate(ComponentContext context, ConfigTcp config) throws UnknownHostException {
 		super.activate(context, config.id(), config.alias(), config.enabled(), config.logVerbosity(),
-				config.invalidateElementsAfterReadErrors());
+				config.invalidateElementsAfterReadErrors(), config.coalesceReadsMaxGap());
 		this.setIpAddress(InetAddress.getByName(config.ip()));
 		this.port = config.port();
+		this.connectionPerUnitId = config.connectionPerUnitId();
+		if (config.maxRequestsInFlight() > 1) {
+			this.pipeline = new ModbusTcpPipeline("Modbus-Pipeline-" + config.id(), this.getIpAddress(), this.port,
+					AbstractModbusBridge.DEFAULT_TIMEOUT, config.maxRequestsInFlight());
+		}
 	}
 
 	@Deactivate
 	protected void deactivate() {
 		super.deactivate();
+		ModbusTcpPipeline pipeline = this.pipeline;
+		if (pipeline != null) {
+			pipeline.close();
+		}
+	}
+
+	@Override
+	public int getMaxConcurrentReadTasks() {
+		ModbusTcpPipeline pipeline = this.pipeline;
+		if (pipeline != null) {
+			return pipeline.getWindow();
+		}
+		return 1;
 	}
 
 	@Override
-	public void closeModbusConnection() {
-		if (this._connection != null) {
-			this._connection.close();
-			this._connection = null;
+	public synchronized void closeModbusConnection() {
+		if (this.pipeline != null) {
+			// A failed Task does not affect the other requests in flight; broken
+			// connections are closed by the pipeline itself
+			return;
+		}
+		for (TCPMasterConnection connection : this._connections.values()) {
+			connection.close();
+		}
+		this._connections.clear();
+	}
+
+	@Override
+	public synchronized void closeModbusConnection(int unitId) {
+		if (this.pipeline != null) {
+			return;
+		}
+		TCPMasterConnection connection = this._connections.remove(this.getConnectionKey(unitId));
+		if (connection != null) {
+			connection.close();
 		}
 	}
 
 	@Override
 	public ModbusTransaction getNewModbusTransaction() throws OpenemsException {
-		TCPMasterConnection connection = this.getModbusConnection();
+		return this.getNewModbusTransaction(SHARED_CONNECTION);
+	}
+
+	@Override
+	public ModbusTransaction getNewModbusTransaction(int unitId) throws OpenemsException {
+		ModbusTcpPipeline pipeline = this.pipeline;
+		if (pipeline != null) {
+			return pipeline.createTransaction();
+		}
+		TCPMasterConnection connection = this.getModbusConnection(this.getConnectionKey(unitId));
 		ModbusTCPTransaction transaction = new ModbusTCPTransaction(connection);
 		transaction.setRetries(AbstractModbusBridge.DEFAULT_RETRIES);
 		return transaction;
 	}
 
-	private TCPMasterConnection _connection = null;
+	/**
+	 * Open connections by Unit-ID; only {@link #SHARED_CONNECTION} if
+	 * 'connectionPerUnitId' is disabled.
+	 */
+	private final Map<Integer, TCPMasterConnection> _connections = new HashMap<>();
+
+	private int getConnectionKey(int unitId) {
+		if (this.connectionPerUnitId) {
+			return unitId;
+		}
+		return SHARED_CONNECTION;
+	}
 
-	private synchronized TCPMasterConnection getModbusConnection() throws OpenemsException {
-		if (this._connection == null) {
+	private synchronized TCPMasterConnection getModbusConnection(int key) throws OpenemsException {
+		TCPMasterConnection connection = this._connections.get(key);
+		if (connection == null) {
 			/*
 			 * create new connection
 			 */
-			TCPMasterConnection connection = new TCPMasterConnection(this.getIpAddress());
+			connection = new TCPMasterConnection(this.getIpAddress());
 			connection.setPort(this.port);
-			this._connection = connection;
+			this._connections.put(key, connection);
 		}
-		if (!this._connection.isConnected()) {
+		if (!connection.isConnected()) {
 			try {
-				this._connection.connect();
+				connection.connect();
 			} catch (Exception e) {
 				throw new OpenemsException(
 						"Connection to [" + this.getIpAddress().getHostAddress() + "] failed: " + e.getMessage());
 			}
-			this._connection.getModbusTransport().setTimeout(AbstractModbusBridge.DEFAULT_TIMEOUT);
+			connection.getModbusTransport().setTimeout(AbstractModbusBridge.DEFAULT_TIMEOUT);
 		}
-		return this._connection;
+		return connection;
 	}
 
 	public InetAddress getIpAddress() {
@@ -42,5 +42,8 @@ import io.openems.edge.bridge.modbus.api.Stopbit;
 	@AttributeDefinition(name = "Invalidate elements after how many read Errors?", description = "Increase this value if modbus read errors happen frequently.")
 	int invalidateElementsAfterReadErrors() default 1;
 
+	@AttributeDefinition(name = "Coalesce reads with gaps of up to how many registers?", description = "Merge Read-Tasks on the same Unit-ID into combined requests, reading up to this many unused registers in between. Set to -1 to disable.")
+	int coalesceReadsMaxGap() default -1;
+
 	String webconsole_configurationFactory_nameHint() default "Bridge Modbus/RTU Serial [{id}]";
 }
\ No newline at end of file
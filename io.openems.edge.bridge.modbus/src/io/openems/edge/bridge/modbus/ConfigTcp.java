@@ -33,5 +33,14 @@ import io.openems.edge.bridge.modbus.api.LogVerbosity;
 	@AttributeDefinition(name = "Invalidate elements after how many read Errors?", description = "Increase this value if modbus read errors happen frequently.")
 	int invalidateElementsAfterReadErrors() default 1;
 
+	@AttributeDefinition(name = "Coalesce reads with gaps of up to how many registers?", description = "Merge Read-Tasks on the same Unit-ID into combined requests, reading up to this many unused registers in between. Set to -1 to disable.")
+	int coalesceReadsMaxGap() default -1;
+
+	@AttributeDefinition(name = "Max. requests in flight", description = "Send up to this many read requests without waiting for the previous responses; responses are matched by transaction ID. Set to 1 to disable pipelining.")
+	int maxRequestsInFlight() default 1;
+
+	@AttributeDefinition(name = "Separate connection per Unit-ID?", description = "Use one connection per Unit-ID, e.g. for Modbus/TCP gateways, so that reconnecting to a defective slave does not interrupt the others. Not used if pipelining is enabled.")
+	boolean connectionPerUnitId() default false;
+
 	String webconsole_configurationFactory_nameHint() default "Bridge Modbus/TCP [{id}]";
 }
\ No newline at end of file
@@ -0,0 +1,255 @@
+package io.openems.edge.bridge.modbus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.ghgande.j2mod.modbus.ModbusException;
+import com.ghgande.j2mod.modbus.ModbusIOException;
+import com.ghgande.j2mod.modbus.ModbusSlaveException;
+import com.ghgande.j2mod.modbus.io.ModbusTransaction;
+import com.ghgande.j2mod.modbus.msg.ExceptionResponse;
+import com.ghgande.j2mod.modbus.msg.ModbusRequest;
+import com.ghgande.j2mod.modbus.msg.ModbusResponse;
+
+/**
+ * A Modbus/TCP connection that allows multiple requests in flight at the same
+ * time.
+ *
+ * <p>
+ * Every request gets its own MBAP transaction identifier. A reader thread
+ * receives the responses in whatever order the device (or gateway) sends them
+ * and hands each to the waiting request by transaction identifier. A request
+ * that times out does not affect other requests; its late response is
+ * discarded. Only I/O errors on the socket fail all in-flight requests and
+ * close the connection, which is re-established with the next request.
+ */
+class ModbusTcpPipeline {
+
+	private static final int MBAP_HEADER_LENGTH = 7;
+
+	private final String name;
+	private final InetAddress ipAddress;
+	private final int port;
+	private final int timeout;
+	private final int window;
+	private final Semaphore windowSemaphore;
+
+	private final Map<Integer, CompletableFuture<ModbusResponse>> pending = new ConcurrentHashMap<>();
+
+	private Socket socket = null;
+	private OutputStream out = null;
+	private int nextTransactionId = 0;
+
+	/**
+	 * Creates a {@link ModbusTcpPipeline}.
+	 *
+	 * @param name      the name of the reader thread
+	 * @param ipAddress the IP address of the device
+	 * @param port      the port of the device
+	 * @param timeout   the timeout per request in [ms]
+	 * @param window    the maximum number of requests in flight
+	 */
+	public ModbusTcpPipeline(String name, InetAddress ipAddress, int port, int timeout, int window) {
+		this.name = name;
+		this.ipAddress = ipAddress;
+		this.port = port;
+		this.timeout = timeout;
+		this.window = window;
+		this.windowSemaphore = new Semaphore(window, true);
+	}
+
+	/**
+	 * Gets the maximum number of requests in flight.
+	 *
+	 * @return the window size
+	 */
+	public int getWindow() {
+		return this.window;
+	}
+
+	/**
+	 * Creates a new {@link ModbusTransaction} that is executed on this pipeline.
+	 *
+	 * @return the {@link ModbusTransaction}
+	 */
+	public ModbusTransaction createTransaction() {
+		return new ModbusTransaction() {
+
+			@Override
+			public void execute() throws ModbusException {
+				this.response = ModbusTcpPipeline.this.execute(this.request);
+			}
+		};
+	}
+
+	/**
+	 * Sends a request and waits for its response. Blocks while the window of
+	 * in-flight requests is exhausted.
+	 *
+	 * @param request the {@link ModbusRequest}
+	 * @return the {@link ModbusResponse}
+	 * @throws ModbusException on error, timeout or exception response
+	 */
+	public ModbusResponse execute(ModbusRequest request) throws ModbusException {
+		try {
+			this.windowSemaphore.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ModbusIOException("Interrupted while waiting for a free pipeline slot");
+		}
+		try {
+			CompletableFuture<ModbusResponse> future = new CompletableFuture<>();
+			int transactionId = this.send(request, future);
+
+			ModbusResponse response;
+			try {
+				response = future.get(this.timeout, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				throw new ModbusIOException("No response for transaction [" + transactionId + "] within ["
+						+ this.timeout + "ms]");
+			} catch (ExecutionException e) {
+				throw new ModbusIOException(e.getCause().getMessage(), e.getCause());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new ModbusIOException("Interrupted while waiting for transaction [" + transactionId + "]");
+			} finally {
+				this.pending.remove(transactionId);
+			}
+
+			if (response instanceof ExceptionResponse) {
+				throw new ModbusSlaveException(((ExceptionResponse) response).getExceptionCode());
+			}
+			return response;
+
+		} finally {
+			this.windowSemaphore.release();
+		}
+	}
+
+	/**
+	 * Closes the connection and fails all in-flight requests.
+	 */
+	public synchronized void close() {
+		if (this.socket != null) {
+			this.close(this.socket, new IOException("Connection closed"));
+		}
+	}
+
+	private synchronized int send(ModbusRequest request, CompletableFuture<ModbusResponse> future)
+			throws ModbusIOException {
+		int transactionId = this.nextTransactionId;
+		this.nextTransactionId = (this.nextTransactionId + 1) & 0xFFFF;
+		byte[] data = request.getMessage();
+		if (data == null) {
+			data = new byte[0];
+		}
+
+		ByteArrayOutputStream frame = new ByteArrayOutputStream(MBAP_HEADER_LENGTH + 1 + data.length);
+		try (DataOutputStream dout = new DataOutputStream(frame)) {
+			dout.writeShort(transactionId);
+			dout.writeShort(0); // Modbus protocol
+			dout.writeShort(data.length + 2); // Unit-ID + function code + data
+			dout.writeByte(request.getUnitID());
+			dout.writeByte(request.getFunctionCode());
+			dout.write(data);
+		} catch (IOException e) {
+			throw new ModbusIOException("Unable to serialize request: " + e.getMessage(), e);
+		}
+
+		this.pending.put(transactionId, future);
+		try {
+			if (this.socket == null) {
+				this.connect();
+			}
+			this.out.write(frame.toByteArray());
+			this.out.flush();
+		} catch (IOException e) {
+			this.pending.remove(transactionId);
+			if (this.socket != null) {
+				this.close(this.socket, e);
+			}
+			throw new ModbusIOException("Connection to [" + this.ipAddress.getHostAddress() + ":" + this.port
+					+ "] failed: " + e.getMessage(), e);
+		}
+		return transactionId;
+	}
+
+	private void connect() throws IOException {
+		Socket socket = new Socket();
+		socket.connect(new InetSocketAddress(this.ipAddress, this.port), this.timeout);
+		socket.setTcpNoDelay(true);
+		this.socket = socket;
+		this.out = socket.getOutputStream();
+		Thread reader = new Thread(() -> this.read(socket), this.name);
+		reader.setDaemon(true);
+		reader.start();
+	}
+
+	/**
+	 * Receives responses until the socket is closed.
+	 *
+	 * @param socket the socket
+	 */
+	private void read(Socket socket) {
+		try (DataInputStream in = new DataInputStream(socket.getInputStream())) {
+			while (true) {
+				int transactionId = in.readUnsignedShort();
+				in.readUnsignedShort(); // protocol
+				int length = in.readUnsignedShort();
+				int unitId = in.readUnsignedByte();
+				int functionCode = in.readUnsignedByte();
+				if (length < 2) {
+					throw new IOException("Invalid MBAP length [" + length + "]");
+				}
+				byte[] data = new byte[length - 2];
+				in.readFully(data);
+
+				ModbusResponse response = ModbusResponse.createModbusResponse(functionCode);
+				response.setHeadless();
+				response.readData(new DataInputStream(new ByteArrayInputStream(data)));
+				response.setTransactionID(transactionId);
+				response.setUnitID(unitId);
+
+				CompletableFuture<ModbusResponse> future = this.pending.remove(transactionId);
+				if (future != null) {
+					future.complete(response);
+				}
+			}
+		} catch (IOException e) {
+			this.close(socket, e);
+		}
+	}
+
+	private synchronized void close(Socket socket, IOException cause) {
+		if (this.socket != socket) {
+			// already closed
+			return;
+		}
+		this.socket = null;
+		this.out = null;
+		try {
+			socket.close();
+		} catch (IOException e) {
+			// ignore
+		}
+		for (CompletableFuture<ModbusResponse> future : this.pending.values()) {
+			future.completeExceptionally(cause);
+		}
+		this.pending.clear();
+	}
+
+}
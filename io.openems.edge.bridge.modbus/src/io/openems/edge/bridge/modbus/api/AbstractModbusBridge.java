@@ -34,6 +34,7 @@ public abstract class AbstractModbusBridge extends AbstractOpenemsComponent impl
 
 	private LogVerbosity logVerbosity = LogVerbosity.NONE;
 	private int invalidateElementsAfterReadErrors = 1;
+	private int coalesceReadsMaxGap = -1;
 
 	// private final Logger log =
 	// LoggerFactory.getLogger(AbstractModbusBridge.class);
@@ -45,10 +46,11 @@ public abstract class AbstractModbusBridge extends AbstractOpenemsComponent impl
 	}
 
 	protected void activate(ComponentContext context, String id, String alias, boolean enabled,
-			LogVerbosity logVerbosity, int invalidateElementsAfterReadErrors) {
+			LogVerbosity logVerbosity, int invalidateElementsAfterReadErrors, int coalesceReadsMaxGap) {
 		super.activate(context, id, alias, enabled);
 		this.logVerbosity = logVerbosity;
 		this.invalidateElementsAfterReadErrors = invalidateElementsAfterReadErrors;
+		this.coalesceReadsMaxGap = coalesceReadsMaxGap;
 		if (this.isEnabled()) {
 			this.worker.activate(id);
 		}
@@ -102,11 +104,36 @@ public abstract class AbstractModbusBridge extends AbstractOpenemsComponent impl
 	 */
 	public abstract ModbusTransaction getNewModbusTransaction() throws OpenemsException;
 
+	/**
+	 * Creates a new Modbus Transaction on an open Modbus connection for the given
+	 * Unit-ID.
+	 * 
+	 * <p>
+	 * Bridges that use separate connections per Unit-ID override this method; by
+	 * default all Unit-IDs share one connection.
+	 * 
+	 * @param unitId the Unit-ID
+	 * @return the Modbus Transaction
+	 * @throws OpenemsException on error
+	 */
+	public ModbusTransaction getNewModbusTransaction(int unitId) throws OpenemsException {
+		return this.getNewModbusTransaction();
+	}
+
 	/**
 	 * Closes the Modbus connection.
 	 */
 	public abstract void closeModbusConnection();
 
+	/**
+	 * Closes the Modbus connection that is used for the given Unit-ID.
+	 * 
+	 * @param unitId the Unit-ID
+	 */
+	public void closeModbusConnection(int unitId) {
+		this.closeModbusConnection();
+	}
+
 	public LogVerbosity getLogVerbosity() {
 		return logVerbosity;
 	}
@@ -134,4 +161,23 @@ public abstract class AbstractModbusBridge extends AbstractOpenemsComponent impl
 	public int invalidateElementsAfterReadErrors() {
 		return this.invalidateElementsAfterReadErrors;
 	}
+
+	/**
+	 * Gets the maximum number of Read-Tasks that may be executed concurrently,
+	 * e.g. because the connection supports multiple requests in flight.
+	 * 
+	 * @return value; 1 for strictly sequential execution
+	 */
+	public int getMaxConcurrentReadTasks() {
+		return 1;
+	}
+
+	/**
+	 * Up to how many unused registers should be bridged when merging Read-Tasks?.
+	 * 
+	 * @return value; negative if Read-Tasks should not be merged
+	 */
+	public int getCoalesceReadsMaxGap() {
+		return this.coalesceReadsMaxGap;
+	}
 }
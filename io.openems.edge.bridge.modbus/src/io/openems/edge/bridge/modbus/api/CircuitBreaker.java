@@ -0,0 +1,122 @@
+package io.openems.edge.bridge.modbus.api;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps track of Modbus slaves - identified by their Component-ID - that failed
+ * to respond.
+ *
+ * <p>
+ * After a failure the circuit of a slave is {@link State#OPEN} and no Tasks are
+ * executed for it until a backoff time has passed. Then the circuit is
+ * {@link State#HALF_OPEN} and a single Task is executed as a probe: on success
+ * the circuit is {@link State#CLOSED} again; on failure it opens with doubled
+ * backoff time, up to a maximum.
+ */
+class CircuitBreaker {
+
+	public enum State {
+		/**
+		 * The slave works; execute all Tasks.
+		 */
+		CLOSED, //
+		/**
+		 * The slave failed recently; do not execute any Task.
+		 */
+		OPEN, //
+		/**
+		 * The backoff time is over; execute one Task as a probe.
+		 */
+		HALF_OPEN;
+	}
+
+	private static class Entry {
+		private final long backoff;
+		private final long openUntil;
+
+		private Entry(long backoff, long openUntil) {
+			this.backoff = backoff;
+			this.openUntil = openUntil;
+		}
+	}
+
+	private final long initialBackoff;
+	private final long maxBackoff;
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a {@link CircuitBreaker}.
+	 *
+	 * @param initialBackoff the backoff time after the first failure in [ms]
+	 * @param maxBackoff     the maximum backoff time in [ms]
+	 */
+	public CircuitBreaker(long initialBackoff, long maxBackoff) {
+		this.initialBackoff = initialBackoff;
+		this.maxBackoff = Math.max(initialBackoff, maxBackoff);
+	}
+
+	/**
+	 * Gets the {@link State} of the circuit of a slave.
+	 *
+	 * @param componentId the Component-ID
+	 * @param now         the current time in [ms]
+	 * @return the {@link State}
+	 */
+	public State getState(String componentId, long now) {
+		Entry entry = this.entries.get(componentId);
+		if (entry == null) {
+			return State.CLOSED;
+		}
+		if (now < entry.openUntil) {
+			return State.OPEN;
+		}
+		return State.HALF_OPEN;
+	}
+
+	/**
+	 * Gets the current backoff time of a slave.
+	 *
+	 * @param componentId the Component-ID
+	 * @return the backoff time in [ms]; 0 if the circuit is closed
+	 */
+	public long getBackoff(String componentId) {
+		Entry entry = this.entries.get(componentId);
+		if (entry == null) {
+			return 0;
+		}
+		return entry.backoff;
+	}
+
+	/**
+	 * Announces a successful execution of a Task of a slave.
+	 *
+	 * @param componentId the Component-ID
+	 */
+	public void onSuccess(String componentId) {
+		this.entries.remove(componentId);
+	}
+
+	/**
+	 * Announces a failed execution of a Task of a slave.
+	 *
+	 * @param componentId the Component-ID
+	 * @param now         the current time in [ms]
+	 */
+	public void onFailure(String componentId, long now) {
+		this.entries.compute(componentId, (id, entry) -> {
+			long backoff;
+			if (entry == null) {
+				backoff = this.initialBackoff;
+			} else if (now >= entry.openUntil) {
+				// the probe failed
+				backoff = Math.min(entry.backoff * 2, this.maxBackoff);
+			} else {
+				// another Task that was already planned failed
+				backoff = entry.backoff;
+			}
+			return new Entry(backoff, now + backoff);
+		});
+	}
+
+}
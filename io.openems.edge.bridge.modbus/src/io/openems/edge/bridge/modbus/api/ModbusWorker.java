@@ -3,12 +3,14 @@ package io.openems.edge.bridge.modbus.api;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Deque;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map.Entry;
-import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
 
@@ -21,11 +23,13 @@ import com.google.common.collect.Multimap;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.worker.AbstractImmediateWorker;
 import io.openems.edge.bridge.modbus.api.element.ModbusElement;
+import io.openems.edge.bridge.modbus.api.task.CoalescedReadTask;
 import io.openems.edge.bridge.modbus.api.task.ReadTask;
 import io.openems.edge.bridge.modbus.api.task.Task;
 import io.openems.edge.bridge.modbus.api.task.WaitTask;
 import io.openems.edge.bridge.modbus.api.task.WriteTask;
 import io.openems.edge.common.taskmanager.MetaTasksManager;
+import io.openems.edge.common.taskmanager.PollingSchedule;
 import io.openems.edge.common.taskmanager.Priority;
 
 /**
@@ -41,6 +45,9 @@ import io.openems.edge.common.taskmanager.Priority;
 public class ModbusWorker extends AbstractImmediateWorker {
 
 	private static final long TASK_DURATION_BUFFER = 50;
+	// Backoff for defective Components in [ms]
+	private static final long CIRCUIT_BREAKER_INITIAL_BACKOFF = 1_000;
+	private static final long CIRCUIT_BREAKER_MAX_BACKOFF = 60_000;
 
 	private final Logger log = LoggerFactory.getLogger(ModbusWorker.class);
 	// Measures the Cycle-Length between two consecutive BeforeProcessImage events
@@ -48,13 +55,19 @@ public class ModbusWorker extends AbstractImmediateWorker {
 	private final LinkedBlockingDeque<Task> tasksQueue = new LinkedBlockingDeque<>();
 	private final MetaTasksManager<ReadTask> readTasksManager = new MetaTasksManager<>();
 	private final MetaTasksManager<WriteTask> writeTasksManager = new MetaTasksManager<>();
+	private final ReadTaskPlanner readTaskPlanner = new ReadTaskPlanner();
 	// Holds source Component-IDs that are known to have errors.
-	private final Set<String> defectiveComponents = new HashSet<>();
+	private final CircuitBreaker circuitBreaker = new CircuitBreaker(CIRCUIT_BREAKER_INITIAL_BACKOFF,
+			CIRCUIT_BREAKER_MAX_BACKOFF);
 	private final AbstractModbusBridge parent;
 
 	// The measured duration between BeforeProcessImage event and ExecuteWrite event
 	private long durationBetweenBeforeProcessImageTillExecuteWrite = 0;
 
+	// Executes Read-Tasks concurrently; null if Read-Tasks are executed sequentially
+	private ExecutorService readTasksExecutor = null;
+	private int readTasksExecutorSize = 1;
+
 	protected ModbusWorker(AbstractModbusBridge parent) {
 		this.parent = parent;
 	}
@@ -78,12 +91,7 @@ public class ModbusWorker extends AbstractImmediateWorker {
 		}
 
 		// Collect the next read-tasks
-		List<ReadTask> nextReadTasks = new ArrayList<>();
-		ReadTask lowPriorityTask = this.getOneLowPriorityReadTask();
-		if (lowPriorityTask != null) {
-			nextReadTasks.add(lowPriorityTask);
-		}
-		nextReadTasks.addAll(this.getAllHighPriorityReadTasks());
+		List<ReadTask> nextReadTasks = this.getNextReadTasks();
 		long readTasksDuration = 0;
 		for (ReadTask task : nextReadTasks) {
 			readTasksDuration += task.getExecuteDuration();
@@ -164,9 +172,129 @@ public class ModbusWorker extends AbstractImmediateWorker {
 		}
 	}
 
+	@Override
+	public void deactivate() {
+		super.deactivate();
+		if (this.readTasksExecutor != null) {
+			this.readTasksExecutor.shutdownNow();
+			this.readTasksExecutor = null;
+		}
+	}
+
 	@Override
 	protected void forever() throws InterruptedException {
 		Task task = this.tasksQueue.takeLast();
+		int maxConcurrentReadTasks = this.parent.getMaxConcurrentReadTasks();
+		if (maxConcurrentReadTasks > 1 && task instanceof ReadTask) {
+			// Collect consecutive Read-Tasks and execute them concurrently
+			List<Task> tasks = new ArrayList<>(maxConcurrentReadTasks);
+			tasks.add(task);
+			while (tasks.size() < maxConcurrentReadTasks) {
+				Task next = this.tasksQueue.pollLast();
+				if (next == null) {
+					break;
+				}
+				if (!(next instanceof ReadTask)) {
+					this.tasksQueue.offerLast(next);
+					break;
+				}
+				tasks.add(next);
+			}
+			if (tasks.size() > 1) {
+				this.executeConcurrently(tasks, maxConcurrentReadTasks);
+				return;
+			}
+		}
+		this.dispatch(task);
+	}
+
+	/**
+	 * Executes the given Tasks concurrently and waits for all of them to finish.
+	 * 
+	 * @param tasks    the Tasks
+	 * @param poolSize the number of threads
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	private void executeConcurrently(List<Task> tasks, int poolSize) throws InterruptedException {
+		if (this.readTasksExecutor == null || this.readTasksExecutorSize != poolSize) {
+			if (this.readTasksExecutor != null) {
+				this.readTasksExecutor.shutdown();
+			}
+			this.readTasksExecutor = Executors.newFixedThreadPool(poolSize);
+			this.readTasksExecutorSize = poolSize;
+		}
+		List<Future<?>> futures = new ArrayList<>(tasks.size());
+		for (Task task : tasks) {
+			futures.add(this.readTasksExecutor.submit(() -> this.dispatch(task)));
+		}
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (ExecutionException e) {
+				this.parent.logWarn(this.log, "Error while executing Task: " + e.getCause().getClass().getSimpleName()
+						+ ": " + e.getCause().getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Executes a {@link Task}, handling {@link CoalescedReadTask}s.
+	 * 
+	 * @param task the {@link Task}
+	 */
+	private void dispatch(Task task) {
+		if (task instanceof CoalescedReadTask) {
+			this.execute((CoalescedReadTask) task);
+		} else {
+			this.execute(task);
+		}
+	}
+
+	/**
+	 * Executes a {@link CoalescedReadTask}. On error the original tasks are
+	 * executed one by one, skipping the tasks of Components that are known to be
+	 * defective.
+	 * 
+	 * @param task the {@link CoalescedReadTask}
+	 */
+	private void execute(CoalescedReadTask task) {
+		try {
+			task.execute(this.parent);
+
+			for (ReadTask subTask : task.getTasks()) {
+				this.circuitBreaker.onSuccess(subTask.getParent().id());
+			}
+			this.parent._setSlaveCommunicationFailed(false);
+			return;
+
+		} catch (OpenemsException e) {
+			this.parent.logWarn(this.log, task.toString() + " execution failed: " + e.getMessage()
+					+ ". Falling back to single Read-Tasks.");
+		}
+
+		boolean subTasksSucceeded = true;
+		for (ReadTask subTask : task.getTasks()) {
+			if (this.isCircuitOpen(subTask)) {
+				// e.g. the previous sub-task of the same Component failed
+				this.invalidateElements(subTask);
+				subTasksSucceeded = false;
+				continue;
+			}
+			subTasksSucceeded &= this.execute(subTask);
+		}
+		if (subTasksSucceeded) {
+			// every single task succeeded -> the device rejects the combined request
+			this.readTaskPlanner.markFailed(task);
+		}
+	}
+
+	/**
+	 * Executes a {@link Task}.
+	 * 
+	 * @param task the {@link Task}
+	 * @return true on success
+	 */
+	private boolean execute(Task task) {
 		try {
 			// execute the task
 			int noOfExecutedSubTasks = task.execute(this.parent);
@@ -175,28 +303,45 @@ public class ModbusWorker extends AbstractImmediateWorker {
 				// no exception & at least one sub-task executed -> remove this component from
 				// erroneous list and set the CommunicationFailedChannel to false
 				if (task.getParent() != null) {
-					this.defectiveComponents.remove(task.getParent().id());
+					this.circuitBreaker.onSuccess(task.getParent().id());
 				}
 
 				this.parent._setSlaveCommunicationFailed(false);
 			}
+			return true;
 
 		} catch (OpenemsException e) {
 			this.parent.logWarn(this.log, task.toString() + " execution failed: " + e.getMessage());
 
 			// mark this component as erroneous
 			if (task.getParent() != null) {
-				this.defectiveComponents.add(task.getParent().id());
+				this.circuitBreaker.onFailure(task.getParent().id(), System.currentTimeMillis());
 			}
 
 			// set the CommunicationFailedChannel to true
 			this.parent._setSlaveCommunicationFailed(true);
 
 			// invalidate elements of this task
-			for (ModbusElement<?> element : task.getElements()) {
-				element.invalidate(this.parent);
-			}
+			this.invalidateElements(task);
+			return false;
+		}
+	}
+
+	/**
+	 * Gets the Read-Tasks for the next Cycle: one Task with priority Low or Once
+	 * and all due Tasks with priority High.
+	 * 
+	 * @return a list of ReadTasks
+	 */
+	protected List<ReadTask> getNextReadTasks() {
+		List<ReadTask> result = new ArrayList<>();
+		ReadTask lowPriorityTask = this.getOneLowPriorityReadTask();
+		if (lowPriorityTask != null) {
+			result.add(lowPriorityTask);
 		}
+		result.addAll(this.readTaskPlanner.plan(this.getAllHighPriorityReadTasks(),
+				this.parent.getCoalesceReadsMaxGap()));
+		return result;
 	}
 
 	/**
@@ -208,20 +353,33 @@ public class ModbusWorker extends AbstractImmediateWorker {
 		// Get next Priority ONCE task
 		ReadTask oncePriorityTask = this.readTasksManager.getOneTask(Priority.ONCE);
 		if (oncePriorityTask != null && !oncePriorityTask.hasBeenExecuted()) {
-			return oncePriorityTask;
+			return this.isCircuitOpen(oncePriorityTask) ? null : oncePriorityTask;
 
 		} else {
 			// No more Priority ONCE tasks available -> add Priority LOW task
 			ReadTask lowPriorityTask = this.readTasksManager.getOneTask(Priority.LOW);
 			if (lowPriorityTask != null) {
-				return lowPriorityTask;
+				return this.isCircuitOpen(lowPriorityTask) ? null : lowPriorityTask;
 			}
 		}
 		return null;
 	}
 
 	/**
-	 * Gets all the High-Priority Read-Tasks.
+	 * Is the Component of the given Task known to be defective and still within
+	 * its backoff time?.
+	 * 
+	 * @param task the Task
+	 * @return true if the Task should not be executed
+	 */
+	private boolean isCircuitOpen(Task task) {
+		return task.getParent() != null && this.circuitBreaker.getState(task.getParent().id(),
+				System.currentTimeMillis()) == CircuitBreaker.State.OPEN;
+	}
+
+	/**
+	 * Gets all the High-Priority Read-Tasks that are due according to their
+	 * {@link PollingSchedule}.
 	 * 
 	 * <p>
 	 * This checks if a device is listed as defective and - if it is - adds only one
@@ -230,8 +388,16 @@ public class ModbusWorker extends AbstractImmediateWorker {
 	 * @return a list of ReadTasks
 	 */
 	private List<ReadTask> getAllHighPriorityReadTasks() {
-		Multimap<String, ReadTask> tasks = this.readTasksManager.getAllTasksBySourceId(Priority.HIGH);
-		return this.filterDefectiveComponents(tasks);
+		long now = System.currentTimeMillis();
+		Multimap<String, ReadTask> tasks = this.readTasksManager.getDueTasksBySourceId(Priority.HIGH, now);
+		List<ReadTask> result = this.filterDefectiveComponents(tasks);
+		for (ReadTask task : result) {
+			PollingSchedule schedule = task.getPollingSchedule();
+			if (schedule != null) {
+				schedule.onPlanned(now);
+			}
+		}
+		return result;
 	}
 
 	/**
@@ -250,33 +416,63 @@ public class ModbusWorker extends AbstractImmediateWorker {
 
 	/**
 	 * Filters a Multimap with Tasks by Component-ID. For Components that are known
-	 * to be defective, only one task is added; otherwise all tasks are added to the
-	 * result. The idea is to not execute tasks that are known to fail.
+	 * to be defective, no task is added while their backoff time is running and
+	 * only one task - as a probe - afterwards; otherwise all tasks are added to the
+	 * result. The idea is to not execute tasks that are known to fail, as every
+	 * one of them blocks the bridge until it runs into its timeout.
+	 * 
+	 * <p>
+	 * The elements of skipped Read-Tasks are invalidated as if the Task failed.
 	 * 
 	 * @param <T>   the Task type
 	 * @param tasks Tasks by Component-ID
 	 * @return a list of filtered tasks
 	 */
 	private <T extends Task> List<T> filterDefectiveComponents(Multimap<String, T> tasks) {
+		long now = System.currentTimeMillis();
 		List<T> result = new ArrayList<>();
 		for (Entry<String, Collection<T>> entry : tasks.asMap().entrySet()) {
 			String componentId = entry.getKey();
 
-			if (this.defectiveComponents.contains(componentId)) {
-				// Component is known to be erroneous -> add only one Task
+			switch (this.circuitBreaker.getState(componentId, now)) {
+			case CLOSED:
+				// Component is ok. Add all tasks.
+				result.addAll(entry.getValue());
+				break;
+
+			case HALF_OPEN:
+				// Component is known to be erroneous, but backoff time is over -> add only one
+				// Task
 				Iterator<T> iterator = entry.getValue().iterator();
 				if (iterator.hasNext()) {
 					result.add(iterator.next());
 				}
+				break;
 
-			} else {
-				// Component is ok. All all tasks.
-				result.addAll(entry.getValue());
+			case OPEN:
+				// Component is known to be erroneous -> add no Task
+				for (T task : entry.getValue()) {
+					if (task instanceof ReadTask) {
+						this.invalidateElements(task);
+					}
+				}
+				break;
 			}
 		}
 		return result;
 	}
 
+	/**
+	 * Invalidates the elements of a {@link Task}.
+	 * 
+	 * @param task the {@link Task}
+	 */
+	private void invalidateElements(Task task) {
+		for (ModbusElement<?> element : task.getElements()) {
+			element.invalidate(this.parent);
+		}
+	}
+
 	/**
 	 * Adds the protocol.
 	 * 
@@ -0,0 +1,187 @@
+package io.openems.edge.bridge.modbus.api;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.openems.edge.bridge.modbus.api.task.AbstractReadInputRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.CoalescedReadTask;
+import io.openems.edge.bridge.modbus.api.task.FC3ReadRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.FC4ReadInputRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.ReadTask;
+
+/**
+ * Plans the Read-Tasks of one Cycle: merges {@link FC3ReadRegistersTask}s and
+ * {@link FC4ReadInputRegistersTask}s with the same Unit-ID and function code -
+ * possibly from different Components - into {@link CoalescedReadTask}s of up to
+ * {@link #MAX_LENGTH} registers.
+ *
+ * <p>
+ * Gaps of up to 'maxGap' registers between tasks are bridged, i.e. read and
+ * discarded. Merges that failed while the original tasks succeeded - e.g.
+ * because a bridged register is not readable on the device - are remembered and
+ * not planned again.
+ */
+class ReadTaskPlanner {
+
+	/**
+	 * Maximum number of registers in one read request as defined by the Modbus
+	 * specification.
+	 */
+	public static final int MAX_LENGTH = 125;
+
+	/**
+	 * Keeps the {@link CoalescedReadTask}s of the last plan, so that their
+	 * measured execution duration is available for the next plan.
+	 */
+	private Map<TasksKey, CoalescedReadTask> coalescedTasks = new HashMap<>();
+
+	private final Set<TasksKey> failedKeys = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Plans the given Read-Tasks.
+	 *
+	 * @param tasks  the Read-Tasks
+	 * @param maxGap the maximum number of unused registers between two merged
+	 *               tasks; a negative value disables merging
+	 * @return the planned Read-Tasks in the order of their first original task
+	 */
+	public List<ReadTask> plan(List<ReadTask> tasks, int maxGap) {
+		if (maxGap < 0) {
+			this.coalescedTasks.clear();
+			return tasks;
+		}
+
+		// Group mergeable tasks by Unit-ID and function code
+		Map<String, List<AbstractReadInputRegistersTask>> groups = new LinkedHashMap<>();
+		for (ReadTask task : tasks) {
+			if (!(task instanceof FC3ReadRegistersTask || task instanceof FC4ReadInputRegistersTask)
+					|| task.getParent() == null) {
+				continue;
+			}
+			String key = task.getParent().getUnitId() + "/" + (task instanceof FC3ReadRegistersTask ? "FC3" : "FC4");
+			groups.computeIfAbsent(key, k -> new ArrayList<>()).add((AbstractReadInputRegistersTask) task);
+		}
+
+		// Maps an original task to its replacement; null if it is replaced by the
+		// replacement of another task
+		Map<ReadTask, ReadTask> replacements = new IdentityHashMap<>();
+		Map<TasksKey, CoalescedReadTask> coalescedTasks = new HashMap<>();
+		for (List<AbstractReadInputRegistersTask> group : groups.values()) {
+			group.sort(Comparator.comparingInt(AbstractReadInputRegistersTask::getStartAddress));
+			List<AbstractReadInputRegistersTask> run = new ArrayList<>();
+			int runStart = 0;
+			int runEnd = 0;
+			for (AbstractReadInputRegistersTask task : group) {
+				int end = task.getStartAddress() + task.getLength();
+				if (!run.isEmpty() && task.getStartAddress() <= runEnd + maxGap
+						&& Math.max(runEnd, end) - runStart <= MAX_LENGTH) {
+					run.add(task);
+					runEnd = Math.max(runEnd, end);
+					continue;
+				}
+				this.addRun(run, replacements, coalescedTasks);
+				run = new ArrayList<>();
+				run.add(task);
+				runStart = task.getStartAddress();
+				runEnd = end;
+			}
+			this.addRun(run, replacements, coalescedTasks);
+		}
+		this.coalescedTasks = coalescedTasks;
+
+		List<ReadTask> result = new ArrayList<>(tasks.size());
+		for (ReadTask task : tasks) {
+			if (!replacements.containsKey(task)) {
+				result.add(task);
+			} else if (replacements.get(task) != null) {
+				result.add(replacements.get(task));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Remembers that the given {@link CoalescedReadTask} failed while its original
+	 * tasks succeeded. Its original tasks are not merged this way again.
+	 *
+	 * @param task the {@link CoalescedReadTask}
+	 */
+	public void markFailed(CoalescedReadTask task) {
+		this.failedKeys.add(new TasksKey(task.getTasks()));
+	}
+
+	private void addRun(List<AbstractReadInputRegistersTask> run, Map<ReadTask, ReadTask> replacements,
+			Map<TasksKey, CoalescedReadTask> coalescedTasks) {
+		if (run.size() < 2) {
+			return;
+		}
+		TasksKey key = new TasksKey(run);
+		if (this.failedKeys.contains(key)) {
+			return;
+		}
+		CoalescedReadTask coalesced = this.coalescedTasks.get(key);
+		if (coalesced == null) {
+			coalesced = new CoalescedReadTask(run);
+		}
+		coalescedTasks.put(key, coalesced);
+
+		// the replacement takes the position of the first original task
+		boolean isFirst = true;
+		for (AbstractReadInputRegistersTask task : run) {
+			replacements.put(task, isFirst ? coalesced : null);
+			isFirst = false;
+		}
+	}
+
+	/**
+	 * Identifies a combination of tasks by the task instances, i.e. compares the
+	 * tasks by identity and not by {@link Object#equals(Object)}.
+	 */
+	private static final class TasksKey {
+
+		private final AbstractReadInputRegistersTask[] tasks;
+		private final int hashCode;
+
+		private TasksKey(List<AbstractReadInputRegistersTask> tasks) {
+			this.tasks = tasks.toArray(new AbstractReadInputRegistersTask[tasks.size()]);
+			int hashCode = 1;
+			for (AbstractReadInputRegistersTask task : this.tasks) {
+				hashCode = 31 * hashCode + System.identityHashCode(task);
+			}
+			this.hashCode = hashCode;
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof TasksKey)) {
+				return false;
+			}
+			TasksKey other = (TasksKey) obj;
+			if (this.tasks.length != other.tasks.length) {
+				return false;
+			}
+			for (int i = 0; i < this.tasks.length; i++) {
+				if (this.tasks[i] != other.tasks[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+}
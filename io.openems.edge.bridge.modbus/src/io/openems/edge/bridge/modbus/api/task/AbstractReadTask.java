@@ -15,6 +15,7 @@ import io.openems.common.exceptions.OpenemsException;
 import io.openems.edge.bridge.modbus.api.AbstractModbusBridge;
 import io.openems.edge.bridge.modbus.api.element.AbstractModbusElement;
 import io.openems.edge.bridge.modbus.api.element.ModbusElement;
+import io.openems.edge.common.taskmanager.PollingSchedule;
 import io.openems.edge.common.taskmanager.Priority;
 
 /**
@@ -28,11 +29,43 @@ public abstract class AbstractReadTask<T> extends AbstractTask implements ReadTa
 
 	private final Priority priority;
 
+	private PollingSchedule pollingSchedule = null;
+
 	public AbstractReadTask(int startAddress, Priority priority, AbstractModbusElement<?>... elements) {
 		super(startAddress, elements);
 		this.priority = priority;
 	}
 
+	/**
+	 * Executes this Task with {@link Priority#HIGH} at most once per interval
+	 * instead of on every Cycle.
+	 * 
+	 * @param interval the interval in [ms]
+	 * @return myself
+	 */
+	public AbstractReadTask<T> pollingInterval(long interval) {
+		this.pollingSchedule = PollingSchedule.every(interval);
+		return this;
+	}
+
+	/**
+	 * Executes this Task with {@link Priority#HIGH} at most once per interval and
+	 * backs off up to 'maxInterval' while the read registers do not change.
+	 * 
+	 * @param interval    the base interval in [ms]
+	 * @param maxInterval the maximum interval in [ms]
+	 * @return myself
+	 */
+	public AbstractReadTask<T> adaptivePollingInterval(long interval, long maxInterval) {
+		this.pollingSchedule = PollingSchedule.adaptive(interval, maxInterval);
+		return this;
+	}
+
+	@Override
+	public PollingSchedule getPollingSchedule() {
+		return this.pollingSchedule;
+	}
+
 	public int _execute(AbstractModbusBridge bridge) throws OpenemsException {
 		T[] response;
 		try {
@@ -45,7 +78,7 @@ public abstract class AbstractReadTask<T> extends AbstractTask implements ReadTa
 			/*
 			 * Second try: with new connection
 			 */
-			bridge.closeModbusConnection();
+			bridge.closeModbusConnection(this.getParent().getUnitId());
 			try {
 				response = this.readElements(bridge);
 
@@ -55,20 +88,61 @@ public abstract class AbstractReadTask<T> extends AbstractTask implements ReadTa
 						elem.invalidate(bridge);
 					}
 				}
+				if (this.pollingSchedule != null) {
+					this.pollingSchedule.onFailed();
+				}
 				throw new OpenemsException("Transaction failed: " + e.getMessage(), e2);
 			}
 		}
 
 		// Verify response length
 		if (response.length < getLength()) {
+			if (this.pollingSchedule != null) {
+				this.pollingSchedule.onFailed();
+			}
 			throw new OpenemsException(
 					"Received message is too short. Expected [" + getLength() + "], got [" + response.length + "]");
 		}
 
-		this.fillElements(response);
+		this.applyResponse(response);
 		return 1;
 	}
 
+	/**
+	 * Fills the elements with the response and updates the
+	 * {@link PollingSchedule}.
+	 * 
+	 * @param response the response
+	 */
+	protected void applyResponse(T[] response) {
+		this.fillElements(response);
+		if (this.pollingSchedule != null) {
+			this.pollingSchedule.onExecuted(contentHash(response));
+		}
+	}
+
+	/**
+	 * Calculates a hash of the raw values of a response.
+	 * 
+	 * @param response the response
+	 * @return the hash
+	 */
+	private static int contentHash(Object[] response) {
+		int result = 1;
+		for (Object value : response) {
+			int hash;
+			if (value instanceof InputRegister) {
+				hash = ((InputRegister) value).getValue();
+			} else if (value != null) {
+				hash = value.hashCode();
+			} else {
+				hash = 0;
+			}
+			result = 31 * result + hash;
+		}
+		return result;
+	}
+
 	protected T[] readElements(AbstractModbusBridge bridge) throws OpenemsException, ModbusException {
 		ModbusRequest request = this.getRequest();
 		int unitId = this.getParent().getUnitId();
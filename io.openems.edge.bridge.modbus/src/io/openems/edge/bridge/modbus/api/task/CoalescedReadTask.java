@@ -0,0 +1,194 @@
+package io.openems.edge.bridge.modbus.api.task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.ghgande.j2mod.modbus.ModbusException;
+import com.ghgande.j2mod.modbus.msg.ModbusRequest;
+import com.ghgande.j2mod.modbus.msg.ModbusResponse;
+import com.ghgande.j2mod.modbus.msg.ReadInputRegistersRequest;
+import com.ghgande.j2mod.modbus.msg.ReadMultipleRegistersRequest;
+import com.ghgande.j2mod.modbus.procimg.InputRegister;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.bridge.modbus.api.AbstractModbusBridge;
+import io.openems.edge.bridge.modbus.api.AbstractOpenemsModbusComponent;
+import io.openems.edge.bridge.modbus.api.element.ModbusElement;
+import io.openems.edge.common.taskmanager.Priority;
+
+/**
+ * Combines multiple {@link FC3ReadRegistersTask}s or
+ * {@link FC4ReadInputRegistersTask}s on the same Unit-ID into one single read
+ * request.
+ *
+ * <p>
+ * The request covers the range from the lowest start address to the highest
+ * end address of all combined tasks, including registers in between that are
+ * not used by any task. The response is split up and handed to the original
+ * tasks, which fill their elements as if they had been executed on their own.
+ *
+ * <p>
+ * In contrast to the original tasks there is no second try with a new
+ * connection. On error the {@link io.openems.edge.bridge.modbus.api.ModbusWorker}
+ * falls back to executing the original tasks one by one.
+ */
+public class CoalescedReadTask implements ReadTask {
+
+	private final Logger log = LoggerFactory.getLogger(CoalescedReadTask.class);
+
+	private final List<AbstractReadInputRegistersTask> tasks;
+	private final int startAddress;
+	private final int length;
+	private final ModbusElement<?>[] elements;
+
+	private boolean hasBeenExecutedSuccessfully = false;
+	private long lastExecuteDuration;
+
+	/**
+	 * Creates a {@link CoalescedReadTask}.
+	 *
+	 * @param tasks the tasks; all of the same type, with the same parent Unit-ID
+	 */
+	public CoalescedReadTask(List<AbstractReadInputRegistersTask> tasks) {
+		this.tasks = Collections.unmodifiableList(new ArrayList<>(tasks));
+		int startAddress = Integer.MAX_VALUE;
+		int endAddress = 0;
+		long lastExecuteDuration = 0;
+		List<ModbusElement<?>> elements = new ArrayList<>();
+		for (AbstractReadInputRegistersTask task : tasks) {
+			startAddress = Math.min(startAddress, task.getStartAddress());
+			endAddress = Math.max(endAddress, task.getStartAddress() + task.getLength());
+			lastExecuteDuration = Math.max(lastExecuteDuration, task.getExecuteDuration());
+			elements.addAll(Arrays.asList(task.getElements()));
+		}
+		this.startAddress = startAddress;
+		this.length = endAddress - startAddress;
+		this.elements = elements.toArray(new ModbusElement<?>[elements.size()]);
+		// initialize with the slowest of the combined tasks
+		this.lastExecuteDuration = lastExecuteDuration;
+	}
+
+	/**
+	 * Gets the original tasks.
+	 *
+	 * @return the tasks
+	 */
+	public List<AbstractReadInputRegistersTask> getTasks() {
+		return this.tasks;
+	}
+
+	@Override
+	public synchronized <T> int execute(AbstractModbusBridge bridge) throws OpenemsException {
+		long start = System.nanoTime();
+		try {
+			AbstractReadInputRegistersTask first = this.tasks.get(0);
+			InputRegister[] response;
+			try {
+				response = first.handleResponse(
+						Utils.getResponse(this.getRequest(), first.getParent().getUnitId(), bridge));
+			} catch (ModbusException e) {
+				throw new OpenemsException("Transaction failed: " + e.getMessage(), e);
+			}
+
+			// Verify response length
+			if (response.length < this.length) {
+				throw new OpenemsException("Received message is too short. Expected [" + this.length + "], got ["
+						+ response.length + "]");
+			}
+
+			switch (bridge.getLogVerbosity()) {
+			case READS_AND_WRITES:
+				bridge.logInfo(this.log, this.toString() + ": " + Utils.toBitString(response));
+				break;
+			case WRITES:
+			case NONE:
+				break;
+			}
+
+			for (AbstractReadInputRegistersTask task : this.tasks) {
+				int offset = task.getStartAddress() - this.startAddress;
+				task.applyResponse(Arrays.copyOfRange(response, offset, offset + task.getLength()));
+			}
+			this.hasBeenExecutedSuccessfully = true;
+			return this.tasks.size();
+
+		} finally {
+			this.lastExecuteDuration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		}
+	}
+
+	private ModbusRequest getRequest() {
+		if (this.tasks.get(0) instanceof FC4ReadInputRegistersTask) {
+			return new ReadInputRegistersRequest(this.startAddress, this.length);
+		} else {
+			return new ReadMultipleRegistersRequest(this.startAddress, this.length);
+		}
+	}
+
+	@Override
+	public ModbusElement<?>[] getElements() {
+		return this.elements;
+	}
+
+	@Override
+	public int getStartAddress() {
+		return this.startAddress;
+	}
+
+	@Override
+	public int getLength() {
+		return this.length;
+	}
+
+	@Override
+	public void setParent(AbstractOpenemsModbusComponent parent) {
+		// the parents are defined by the original tasks
+	}
+
+	/**
+	 * Gets the parent of the first original task.
+	 *
+	 * @return the parent
+	 */
+	@Override
+	public AbstractOpenemsModbusComponent getParent() {
+		return this.tasks.get(0).getParent();
+	}
+
+	@Override
+	public void deactivate() {
+		// the original tasks are deactivated by their ModbusProtocol
+	}
+
+	@Override
+	public boolean hasBeenExecuted() {
+		return this.hasBeenExecutedSuccessfully;
+	}
+
+	@Override
+	public long getExecuteDuration() {
+		return this.lastExecuteDuration;
+	}
+
+	@Override
+	public Priority getPriority() {
+		return this.tasks.get(0).getPriority();
+	}
+
+	@Override
+	public String toString() {
+		AbstractOpenemsModbusComponent parent = this.getParent();
+		return "Coalesced" + this.tasks.get(0).getActiondescription() //
+				+ " [unitid=" + parent.getUnitId() //
+				+ ";ref=" + this.startAddress + "/0x" + Integer.toHexString(this.startAddress) //
+				+ ";length=" + this.length //
+				+ ";tasks=" + this.tasks.size() + "]";
+	}
+
+}
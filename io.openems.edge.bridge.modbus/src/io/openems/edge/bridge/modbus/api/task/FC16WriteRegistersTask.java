@@ -72,7 +72,7 @@ public class FC16WriteRegistersTask extends AbstractTask implements WriteTask {
 				/*
 				 * Second try: with new connection
 				 */
-				bridge.closeModbusConnection();
+				bridge.closeModbusConnection(this.getParent().getUnitId());
 				try {
 					this.writeMultipleRegisters(bridge, this.getParent().getUnitId(), write.startAddress,
 							write.getRegisters());
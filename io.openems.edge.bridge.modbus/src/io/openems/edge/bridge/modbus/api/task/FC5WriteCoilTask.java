@@ -46,7 +46,7 @@ public class FC5WriteCoilTask extends AbstractTask implements WriteTask {
 					/*
 					 * Second try: with new connection
 					 */
-					bridge.closeModbusConnection();
+					bridge.closeModbusConnection(this.getParent().getUnitId());
 					try {
 						this.writeCoil(bridge, this.getParent().getUnitId(), this.getStartAddress(), value);
 						noOfWrittenCoils = 1;
@@ -51,7 +51,7 @@ public class FC6WriteRegisterTask extends AbstractTask implements WriteTask {
 						/*
 						 * Second try: with new connection
 						 */
-						bridge.closeModbusConnection();
+						bridge.closeModbusConnection(this.getParent().getUnitId());
 						try {
 							this.writeSingleRegister(bridge, this.getParent().getUnitId(), this.getStartAddress(),
 									register);
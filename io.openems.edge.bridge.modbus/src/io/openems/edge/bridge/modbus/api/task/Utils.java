@@ -36,7 +36,7 @@ public class Utils {
 	public static ModbusResponse getResponse(ModbusRequest request, int unitId, AbstractModbusBridge bridge)
 			throws OpenemsException, ModbusException {
 		request.setUnitID(unitId);
-		ModbusTransaction transaction = bridge.getNewModbusTransaction();
+		ModbusTransaction transaction = bridge.getNewModbusTransaction(unitId);
 		transaction.setRequest(request);
 		transaction.execute();
 		ModbusResponse response = transaction.getResponse();
@@ -0,0 +1,131 @@
+package io.openems.edge.bridge.modbus;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Test;
+
+import com.ghgande.j2mod.modbus.ModbusSlaveException;
+import com.ghgande.j2mod.modbus.msg.ReadMultipleRegistersRequest;
+import com.ghgande.j2mod.modbus.msg.ReadMultipleRegistersResponse;
+
+public class ModbusTcpPipelineTest {
+
+	private static final int TIMEOUT = 2000;
+
+	private static class Request {
+		private final int transactionId;
+		private final int unitId;
+		private final int reference;
+
+		private Request(int transactionId, int unitId, int reference) {
+			this.transactionId = transactionId;
+			this.unitId = unitId;
+			this.reference = reference;
+		}
+	}
+
+	/**
+	 * Receives two requests and answers them in reverse order. The value of the
+	 * register is its address; a request to address 0 gets an exception response.
+	 * 
+	 * @param server the {@link ServerSocket}
+	 */
+	private static void serveReversed(ServerSocket server) {
+		try (Socket socket = server.accept(); //
+				DataInputStream in = new DataInputStream(socket.getInputStream()); //
+				DataOutputStream out = new DataOutputStream(socket.getOutputStream())) {
+			List<Request> requests = new ArrayList<>();
+			while (requests.size() < 2) {
+				int transactionId = in.readUnsignedShort();
+				in.readUnsignedShort(); // protocol
+				in.readUnsignedShort(); // length
+				int unitId = in.readUnsignedByte();
+				in.readUnsignedByte(); // function code
+				int reference = in.readUnsignedShort();
+				in.readUnsignedShort(); // word count
+				requests.add(new Request(transactionId, unitId, reference));
+			}
+			for (int i = requests.size() - 1; i >= 0; i--) {
+				Request request = requests.get(i);
+				out.writeShort(request.transactionId);
+				out.writeShort(0);
+				if (request.reference == 0) {
+					out.writeShort(3);
+					out.writeByte(request.unitId);
+					out.writeByte(0x83);
+					out.writeByte(2); // illegal data address
+				} else {
+					out.writeShort(5);
+					out.writeByte(request.unitId);
+					out.writeByte(3);
+					out.writeByte(2); // byte count
+					out.writeShort(request.reference);
+				}
+			}
+			out.flush();
+			// wait for the client to close the connection
+			in.read();
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+
+	private static CompletableFuture<Object> read(ModbusTcpPipeline pipeline, int reference) {
+		return CompletableFuture.supplyAsync(() -> {
+			ReadMultipleRegistersRequest request = new ReadMultipleRegistersRequest(reference, 1);
+			request.setUnitID(1);
+			try {
+				return ((ReadMultipleRegistersResponse) pipeline.execute(request)).getRegisterValue(0);
+			} catch (Exception e) {
+				return e;
+			}
+		});
+	}
+
+	@Test
+	public void testResponsesAreMatchedByTransactionId() throws Exception {
+		try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+			CompletableFuture.runAsync(() -> serveReversed(server));
+			ModbusTcpPipeline pipeline = new ModbusTcpPipeline("test", InetAddress.getLoopbackAddress(),
+					server.getLocalPort(), TIMEOUT, 2);
+
+			CompletableFuture<Object> first = read(pipeline, 100);
+			CompletableFuture<Object> second = read(pipeline, 200);
+			assertEquals(100, first.get());
+			assertEquals(200, second.get());
+			pipeline.close();
+		}
+	}
+
+	@Test
+	public void testExceptionResponseIsIsolated() throws Exception {
+		try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+			CompletableFuture.runAsync(() -> serveReversed(server));
+			ModbusTcpPipeline pipeline = new ModbusTcpPipeline("test", InetAddress.getLoopbackAddress(),
+					server.getLocalPort(), TIMEOUT, 2);
+
+			CompletableFuture<Object> failing = read(pipeline, 0);
+			CompletableFuture<Object> ok = read(pipeline, 300);
+			Object result = failing.get();
+			if (!(result instanceof ModbusSlaveException)) {
+				fail("Expected ModbusSlaveException, got [" + result + "]");
+			}
+			assertTrue(((ModbusSlaveException) result).isType(2));
+			assertEquals(300, ok.get());
+			pipeline.close();
+		}
+	}
+
+}
@@ -12,6 +12,9 @@ public class MyConfigTcp extends AbstractComponentConfig implements ConfigTcp {
 		public int port;
 		public LogVerbosity logVerbosity;
 		public int invalidateElementsAfterReadErrors;
+		public int coalesceReadsMaxGap = -1;
+		public int maxRequestsInFlight = 1;
+		public boolean connectionPerUnitId = false;
 
 		private Builder() {
 		}
@@ -41,6 +44,21 @@ public class MyConfigTcp extends AbstractComponentConfig implements ConfigTcp {
 			return this;
 		}
 
+		public Builder setCoalesceReadsMaxGap(int coalesceReadsMaxGap) {
+			this.coalesceReadsMaxGap = coalesceReadsMaxGap;
+			return this;
+		}
+
+		public Builder setMaxRequestsInFlight(int maxRequestsInFlight) {
+			this.maxRequestsInFlight = maxRequestsInFlight;
+			return this;
+		}
+
+		public Builder setConnectionPerUnitId(boolean connectionPerUnitId) {
+			this.connectionPerUnitId = connectionPerUnitId;
+			return this;
+		}
+
 		public MyConfigTcp build() {
 			return new MyConfigTcp(this);
 		}
@@ -82,4 +100,19 @@ public class MyConfigTcp extends AbstractComponentConfig implements ConfigTcp {
 		return this.builder.invalidateElementsAfterReadErrors;
 	}
 
+	@Override
+	public int coalesceReadsMaxGap() {
+		return this.builder.coalesceReadsMaxGap;
+	}
+
+	@Override
+	public int maxRequestsInFlight() {
+		return this.builder.maxRequestsInFlight;
+	}
+
+	@Override
+	public boolean connectionPerUnitId() {
+		return this.builder.connectionPerUnitId;
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package io.openems.edge.bridge.modbus.api;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import io.openems.edge.bridge.modbus.api.CircuitBreaker.State;
+
+public class CircuitBreakerTest {
+
+	private static final String METER = "meter0";
+	private static final String INVERTER = "pvInverter0";
+
+	@Test
+	public void testBackoff() {
+		CircuitBreaker breaker = new CircuitBreaker(1000, 4000);
+		assertEquals(State.CLOSED, breaker.getState(METER, 0));
+
+		// First failure opens the circuit
+		breaker.onFailure(METER, 0);
+		assertEquals(State.OPEN, breaker.getState(METER, 0));
+		assertEquals(State.OPEN, breaker.getState(METER, 999));
+		assertEquals(State.HALF_OPEN, breaker.getState(METER, 1000));
+		assertEquals(State.CLOSED, breaker.getState(INVERTER, 1000));
+
+		// Other planned Tasks fail within the backoff time -> backoff is unchanged
+		breaker.onFailure(METER, 500);
+		assertEquals(1000, breaker.getBackoff(METER));
+		assertEquals(State.HALF_OPEN, breaker.getState(METER, 1500));
+
+		// Failed probes double the backoff time up to the maximum
+		breaker.onFailure(METER, 1500);
+		assertEquals(2000, breaker.getBackoff(METER));
+		assertEquals(State.OPEN, breaker.getState(METER, 3499));
+		assertEquals(State.HALF_OPEN, breaker.getState(METER, 3500));
+		breaker.onFailure(METER, 3500);
+		assertEquals(4000, breaker.getBackoff(METER));
+		breaker.onFailure(METER, 7500);
+		assertEquals(4000, breaker.getBackoff(METER));
+
+		// Successful probe closes the circuit
+		breaker.onSuccess(METER);
+		assertEquals(State.CLOSED, breaker.getState(METER, 11500));
+		assertEquals(0, breaker.getBackoff(METER));
+
+		// ...and starts again with initial backoff time
+		breaker.onFailure(METER, 12000);
+		assertEquals(1000, breaker.getBackoff(METER));
+	}
+
+}
@@ -0,0 +1,83 @@
+package io.openems.edge.bridge.modbus.api;
+
+import static org.junit.Assert.assertEquals;
+
+import java.net.InetAddress;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.ghgande.j2mod.modbus.io.ModbusTransaction;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.bridge.modbus.api.element.UnsignedWordElement;
+import io.openems.edge.bridge.modbus.api.task.FC3ReadRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.ReadTask;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.taskmanager.Priority;
+
+public class ModbusWorkerTest {
+
+	private static class DummyModbusBridge extends AbstractModbusBridge implements BridgeModbusTcp {
+
+		public DummyModbusBridge() {
+			super(//
+					OpenemsComponent.ChannelId.values(), //
+					BridgeModbus.ChannelId.values(), //
+					BridgeModbusTcp.ChannelId.values() //
+			);
+		}
+
+		@Override
+		public InetAddress getIpAddress() {
+			return null;
+		}
+
+		@Override
+		public ModbusTransaction getNewModbusTransaction() throws OpenemsException {
+			throw new OpenemsException("Not connected");
+		}
+
+		@Override
+		public void closeModbusConnection() {
+		}
+
+	}
+
+	private static class DummyModbusComponent extends AbstractOpenemsModbusComponent {
+
+		public DummyModbusComponent() {
+			super(OpenemsComponent.ChannelId.values());
+		}
+
+		@Override
+		public Integer getUnitId() {
+			return 1;
+		}
+
+		@Override
+		protected ModbusProtocol defineModbusProtocol() {
+			return null;
+		}
+	}
+
+	@Test
+	public void testPollingInterval() throws OpenemsException {
+		ReadTask everyCycle = new FC3ReadRegistersTask(0, Priority.HIGH, //
+				new UnsignedWordElement(0));
+		ReadTask slow = new FC3ReadRegistersTask(10, Priority.HIGH, //
+				new UnsignedWordElement(10)) //
+						.pollingInterval(60_000);
+
+		ModbusWorker worker = new ModbusWorker(new DummyModbusBridge());
+		worker.addProtocol("component0", new ModbusProtocol(new DummyModbusComponent(), everyCycle, slow));
+
+		// both Tasks are due on the first Cycle; the most overdue one first
+		assertEquals(Arrays.asList(slow, everyCycle), worker.getNextReadTasks());
+
+		// afterwards the slow Task waits for its interval
+		assertEquals(Arrays.asList(everyCycle), worker.getNextReadTasks());
+		assertEquals(Arrays.asList(everyCycle), worker.getNextReadTasks());
+	}
+
+}
@@ -0,0 +1,95 @@
+package io.openems.edge.bridge.modbus.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.openems.edge.bridge.modbus.api.element.DummyRegisterElement;
+import io.openems.edge.bridge.modbus.api.element.UnsignedWordElement;
+import io.openems.edge.bridge.modbus.api.task.AbstractTask;
+import io.openems.edge.bridge.modbus.api.task.CoalescedReadTask;
+import io.openems.edge.bridge.modbus.api.task.FC3ReadRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.FC4ReadInputRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.ReadTask;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.taskmanager.Priority;
+
+public class ReadTaskPlannerTest {
+
+	private static class DummyModbusComponent extends AbstractOpenemsModbusComponent {
+
+		private final int unitId;
+
+		public DummyModbusComponent(int unitId) {
+			super(OpenemsComponent.ChannelId.values());
+			this.unitId = unitId;
+		}
+
+		@Override
+		public Integer getUnitId() {
+			return this.unitId;
+		}
+
+		@Override
+		protected ModbusProtocol defineModbusProtocol() {
+			return null;
+		}
+	}
+
+	private static <T extends AbstractTask> T withParent(T task, AbstractOpenemsModbusComponent parent) {
+		task.setParent(parent);
+		return task;
+	}
+
+	@Test
+	public void testPlan() {
+		DummyModbusComponent unit1a = new DummyModbusComponent(1);
+		DummyModbusComponent unit1b = new DummyModbusComponent(1);
+		DummyModbusComponent unit2 = new DummyModbusComponent(2);
+
+		ReadTask t1 = withParent(new FC3ReadRegistersTask(0, Priority.HIGH, //
+				new UnsignedWordElement(0), //
+				new UnsignedWordElement(1)), unit1a);
+		ReadTask t2 = withParent(new FC4ReadInputRegistersTask(0, Priority.HIGH, //
+				new UnsignedWordElement(0)), unit1a);
+		ReadTask t3 = withParent(new FC3ReadRegistersTask(4, Priority.HIGH, //
+				new UnsignedWordElement(4)), unit1b); // gap of 2 registers to t1
+		ReadTask t4 = withParent(new FC3ReadRegistersTask(3, Priority.HIGH, //
+				new UnsignedWordElement(3)), unit2); // other Unit-ID
+		ReadTask t5 = withParent(new FC3ReadRegistersTask(6, Priority.HIGH, //
+				new DummyRegisterElement(6, 129)), unit1a); // exceeds MAX_LENGTH
+		List<ReadTask> tasks = Arrays.asList(t1, t2, t3, t4, t5);
+
+		ReadTaskPlanner planner = new ReadTaskPlanner();
+
+		// Disabled
+		assertEquals(tasks, planner.plan(tasks, -1));
+
+		// Gap too big
+		assertEquals(tasks, planner.plan(tasks, 1));
+
+		// Merge t1 and t3
+		List<ReadTask> plan = planner.plan(tasks, 2);
+		assertEquals(4, plan.size());
+		assertTrue(plan.get(0) instanceof CoalescedReadTask);
+		CoalescedReadTask coalesced = (CoalescedReadTask) plan.get(0);
+		assertEquals(Arrays.asList(t1, t3), coalesced.getTasks());
+		assertEquals(0, coalesced.getStartAddress());
+		assertEquals(5, coalesced.getLength());
+		assertEquals(3, coalesced.getElements().length);
+		assertEquals(Arrays.asList(coalesced, t2, t4, t5), plan);
+
+		// Same CoalescedReadTask is reused
+		assertSame(coalesced, planner.plan(tasks, 2).get(0));
+
+		// Failed merges are not planned again
+		planner.markFailed(coalesced);
+		assertEquals(tasks, planner.plan(tasks, 2));
+	}
+
+}
@@ -0,0 +1,19 @@
+package io.openems.edge.common.channel;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregation of past values of a {@link Channel}.
+ * 
+ * @see Channel#getPastValuesAggregate(LocalDateTime, Aggregation)
+ */
+public enum Aggregation {
+	/**
+	 * The average of all values.
+	 */
+	AVERAGE,
+	/**
+	 * The maximum of all values.
+	 */
+	MAXIMUM;
+}
@@ -1,6 +1,7 @@
 package io.openems.edge.common.channel;
 
 import java.time.LocalDateTime;
+import java.util.OptionalDouble;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -163,6 +164,21 @@ public interface Channel<T> {
 	// TODO this should be a ZonedDateTime
 	public CircularTreeMap<LocalDateTime, Value<T>> getPastValues();
 
+	/**
+	 * Aggregates the past values for this Channel, that were recorded after the
+	 * given time.
+	 * 
+	 * <p>
+	 * Undefined values are ignored; Boolean values are aggregated as 1 or 0 and
+	 * String values as 0. Other than {@link #getPastValues()} this does not create
+	 * any {@link Value} objects.
+	 * 
+	 * @param after       only values recorded after this time are aggregated
+	 * @param aggregation the {@link Aggregation}
+	 * @return the aggregated value; empty if there is no defined value
+	 */
+	public OptionalDouble getPastValuesAggregate(LocalDateTime after, Aggregation aggregation);
+
 	/**
 	 * Add an onUpdate callback. It is called, after the active value was updated by
 	 * nextProcessImage().
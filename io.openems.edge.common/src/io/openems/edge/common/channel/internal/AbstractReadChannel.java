@@ -3,6 +3,7 @@ package io.openems.edge.common.channel.internal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
+import java.util.OptionalDouble;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -14,10 +15,12 @@ import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.function.ThrowingConsumer;
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Aggregation;
 import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.channel.ChannelId;
 import io.openems.edge.common.channel.WriteChannel;
 import io.openems.edge.common.channel.value.Value;
+import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.type.CircularTreeMap;
 
@@ -25,7 +28,7 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 
 	/**
 	 * Holds the number of past values for this Channel that are kept in the
-	 * 'pastValues' variable.
+	 * 'pastValues' buffer.
 	 */
 	public static final int NO_OF_PAST_VALUES = 100;
 
@@ -39,17 +42,24 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 	private final List<Consumer<Value<T>>> onUpdateCallbacks = new CopyOnWriteArrayList<>();
 	private final List<Consumer<Value<T>>> onSetNextValueCallbacks = new CopyOnWriteArrayList<>();
 	private final List<BiConsumer<Value<T>, Value<T>>> onChangeCallbacks = new CopyOnWriteArrayList<>();
-	private final CircularTreeMap<LocalDateTime, Value<T>> pastValues = new CircularTreeMap<>(NO_OF_PAST_VALUES);
+	private final PastValuesBuffer<T> pastValues;
 
 	private volatile Value<T> nextValue = null;
 	private volatile Value<T> activeValue = null;
 
+	/**
+	 * Is this Channel registered at its parent Component for the next process
+	 * image switch?
+	 */
+	private volatile boolean isDirty = false;
+
 	protected AbstractReadChannel(OpenemsType type, OpenemsComponent parent, ChannelId channelId, D channelDoc,
 			T initialValue) {
 		this.type = type;
 		this.parent = parent;
 		this.channelId = channelId;
 		this.channelDoc = channelDoc;
+		this.pastValues = new PastValuesBuffer<>(this, type, NO_OF_PAST_VALUES);
 		this.nextValue = new Value<T>(this, null);
 		this.activeValue = new Value<T>(this, null);
 
@@ -106,21 +116,49 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 
 	@Override
 	public void nextProcessImage() {
+		// reset before reading 'nextValue', so that no concurrent update gets lost
+		this.isDirty = false;
 		Value<T> oldValue = this.activeValue;
+		Value<T> activeValue = this.nextValue;
 		final boolean valueHasChanged;
-		if (oldValue == null && this.nextValue == null) {
+		if (oldValue == null && activeValue == null) {
 			valueHasChanged = false;
-		} else if (oldValue == null || this.nextValue == null) {
+		} else if (oldValue == null || activeValue == null) {
 			valueHasChanged = true;
 		} else {
-			valueHasChanged = !Objects.equals(oldValue.get(), this.nextValue.get());
+			valueHasChanged = !Objects.equals(oldValue.get(), activeValue.get());
+		}
+		this.activeValue = activeValue;
+		for (Consumer<Value<T>> callback : this.onUpdateCallbacks) {
+			callback.accept(activeValue);
 		}
-		this.activeValue = this.nextValue;
-		this.onUpdateCallbacks.forEach(callback -> callback.accept(this.activeValue));
 		if (valueHasChanged) {
-			this.onChangeCallbacks.forEach(callback -> callback.accept(oldValue, this.activeValue));
+			for (BiConsumer<Value<T>, Value<T>> callback : this.onChangeCallbacks) {
+				callback.accept(oldValue, activeValue);
+			}
+		}
+		if (activeValue != oldValue) {
+			// the same Value would only replace the latest entry
+			this.pastValues.add(activeValue);
+		}
+		if (!this.onUpdateCallbacks.isEmpty()) {
+			// onUpdate-Callbacks are expected to be called on every process image switch
+			this.markDirty();
+		}
+	}
+
+	/**
+	 * Registers this Channel at its parent Component for the next process image
+	 * switch.
+	 */
+	private void markDirty() {
+		if (this.isDirty) {
+			return;
+		}
+		this.isDirty = true;
+		if (this.parent instanceof AbstractOpenemsComponent) {
+			((AbstractOpenemsComponent) this.parent)._addDirtyChannel(this);
 		}
-		this.pastValues.put(this.activeValue.getTimestamp(), this.activeValue);
 	}
 
 	@Override
@@ -141,6 +179,7 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 	@Deprecated
 	public void _setNextValue(T value) {
 		this.nextValue = new Value<T>(this, value);
+		this.markDirty();
 		if (this.channelDoc.isDebug()) {
 			this.log.info("Next value for [" + this.address() + "]: " + this.nextValue.asString());
 		}
@@ -176,6 +215,7 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 	@Override
 	public Consumer<Value<T>> onUpdate(Consumer<Value<T>> callback) {
 		this.onUpdateCallbacks.add(callback);
+		this.markDirty();
 		return callback;
 	}
 
@@ -259,10 +299,19 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 	/**
 	 * Gets the past values for this Channel.
 	 * 
+	 * <p>
+	 * Past values are stored in primitive ring buffers; the map is created on
+	 * demand.
+	 * 
 	 * @return a map of recording time and historic value at that time
 	 */
 	@Override
 	public CircularTreeMap<LocalDateTime, Value<T>> getPastValues() {
-		return this.pastValues;
+		return this.pastValues.asMap();
+	}
+
+	@Override
+	public OptionalDouble getPastValuesAggregate(LocalDateTime after, Aggregation aggregation) {
+		return this.pastValues.aggregate(after, aggregation);
 	}
 }
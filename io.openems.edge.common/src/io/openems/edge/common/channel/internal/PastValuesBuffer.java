@@ -0,0 +1,271 @@
+package io.openems.edge.common.channel.internal;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.OptionalDouble;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Aggregation;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.value.Value;
+import io.openems.edge.common.type.CircularTreeMap;
+
+/**
+ * Holds the past values of a Channel in primitive ring buffers.
+ *
+ * <p>
+ * Values are stored unboxed in struct-of-arrays form - timestamps in a
+ * long-array, numeric and boolean values in a long- or double-array and a
+ * defined-flag per entry. Only String values - or values that do not match the
+ * type of the Channel - are kept as objects. No {@link Value} or
+ * {@link LocalDateTime} objects are retained; the map view returned by
+ * {@link #asMap()} is created lazily and only if requested;
+ * {@link #aggregate(LocalDateTime, Aggregation)} works without it.
+ *
+ * @param <T> the type of the Channel
+ */
+public class PastValuesBuffer<T> {
+
+	private final Channel<T> channel;
+	private final OpenemsType type;
+	private final int capacity;
+
+	private final long[] timestamps;
+	private final boolean[] defined;
+	private final long[] longValues;
+	private final double[] doubleValues;
+	private Object[] objectValues;
+
+	/**
+	 * Index of the next entry to be written.
+	 */
+	private int head = 0;
+	private int size = 0;
+
+	/**
+	 * Incremented on every modification; used to invalidate the cached map view.
+	 */
+	private int version = 0;
+	private int viewVersion = -1;
+	private CircularTreeMap<LocalDateTime, Value<T>> view = null;
+
+	public PastValuesBuffer(Channel<T> channel, OpenemsType type, int capacity) {
+		this.channel = channel;
+		this.type = type;
+		this.capacity = capacity;
+		this.timestamps = new long[capacity];
+		this.defined = new boolean[capacity];
+		switch (type) {
+		case BOOLEAN:
+		case SHORT:
+		case INTEGER:
+		case LONG:
+			this.longValues = new long[capacity];
+			this.doubleValues = null;
+			this.objectValues = null;
+			break;
+		case FLOAT:
+		case DOUBLE:
+			this.longValues = null;
+			this.doubleValues = new double[capacity];
+			this.objectValues = null;
+			break;
+		case STRING:
+		default:
+			this.longValues = null;
+			this.doubleValues = null;
+			this.objectValues = new Object[capacity];
+			break;
+		}
+	}
+
+	/**
+	 * Adds a value. If the timestamp of the value equals the timestamp of the
+	 * latest entry, the latest entry is replaced.
+	 *
+	 * @param value the {@link Value}
+	 */
+	public synchronized void add(Value<T> value) {
+		long timestamp = toLong(value.getTimestamp());
+		int index;
+		int latest = (this.head - 1 + this.capacity) % this.capacity;
+		if (this.size > 0 && this.timestamps[latest] == timestamp) {
+			index = latest;
+		} else {
+			index = this.head;
+			this.head = (this.head + 1) % this.capacity;
+			if (this.size < this.capacity) {
+				this.size++;
+			}
+		}
+
+		this.timestamps[index] = timestamp;
+		T v = value.get();
+		this.defined[index] = v != null;
+		if (this.objectValues != null) {
+			this.objectValues[index] = null;
+		}
+		if (v == null) {
+			// undefined
+		} else if (this.longValues != null && this.isOfType(v)) {
+			this.longValues[index] = v instanceof Boolean ? ((Boolean) v ? 1 : 0) : ((Number) v).longValue();
+		} else if (this.doubleValues != null && this.isOfType(v)) {
+			this.doubleValues[index] = ((Number) v).doubleValue();
+		} else {
+			if (this.objectValues == null) {
+				this.objectValues = new Object[this.capacity];
+			}
+			this.objectValues[index] = v;
+		}
+		this.version++;
+	}
+
+	/**
+	 * Gets the number of stored values.
+	 *
+	 * @return the size
+	 */
+	public synchronized int size() {
+		return this.size;
+	}
+
+	/**
+	 * Gets the past values as a map of recording time and historic value at that
+	 * time.
+	 *
+	 * <p>
+	 * The map is created on demand and cached until the next value is added.
+	 *
+	 * @return the map
+	 */
+	public synchronized CircularTreeMap<LocalDateTime, Value<T>> asMap() {
+		if (this.view != null && this.viewVersion == this.version) {
+			return this.view;
+		}
+		CircularTreeMap<LocalDateTime, Value<T>> result = new CircularTreeMap<>(this.capacity);
+		int start = (this.head - this.size + this.capacity) % this.capacity;
+		for (int i = 0; i < this.size; i++) {
+			int index = (start + i) % this.capacity;
+			LocalDateTime timestamp = toLocalDateTime(this.timestamps[index]);
+			result.put(timestamp, new Value<T>(this.channel, this.getValue(index), timestamp));
+		}
+		this.view = result;
+		this.viewVersion = this.version;
+		return result;
+	}
+
+	/**
+	 * Aggregates the values that were recorded after the given time, directly on
+	 * the primitive arrays.
+	 *
+	 * @param after       only values recorded after this time are aggregated
+	 * @param aggregation the {@link Aggregation}
+	 * @return the aggregated value; empty if there is no defined value
+	 */
+	public synchronized OptionalDouble aggregate(LocalDateTime after, Aggregation aggregation) {
+		long afterTimestamp = after.equals(LocalDateTime.MIN) ? Long.MIN_VALUE : toLong(after);
+		double result = 0;
+		int count = 0;
+		// iterate from the latest entry backwards till the given time is reached
+		for (int i = 0; i < this.size; i++) {
+			int index = (this.head - 1 - i + 2 * this.capacity) % this.capacity;
+			if (this.timestamps[index] <= afterTimestamp) {
+				break;
+			}
+			if (!this.defined[index]) {
+				continue;
+			}
+			double value = this.getDoubleValue(index);
+			switch (aggregation) {
+			case AVERAGE:
+				result += value;
+				break;
+			case MAXIMUM:
+				result = count == 0 ? value : Math.max(result, value);
+				break;
+			}
+			count++;
+		}
+		if (count == 0) {
+			return OptionalDouble.empty();
+		}
+		if (aggregation == Aggregation.AVERAGE) {
+			result /= count;
+		}
+		return OptionalDouble.of(result);
+	}
+
+	private double getDoubleValue(int index) {
+		if (this.objectValues != null && this.objectValues[index] != null) {
+			Object value = this.objectValues[index];
+			if (value instanceof Number) {
+				return ((Number) value).doubleValue();
+			} else if (value instanceof Boolean) {
+				return (Boolean) value ? 1 : 0;
+			} else {
+				// e.g. Strings are not supported
+				return 0;
+			}
+		}
+		if (this.longValues != null) {
+			return this.longValues[index];
+		}
+		return this.doubleValues[index];
+	}
+
+	private boolean isOfType(Object value) {
+		switch (this.type) {
+		case BOOLEAN:
+			return value instanceof Boolean;
+		case SHORT:
+			return value instanceof Short;
+		case INTEGER:
+			return value instanceof Integer;
+		case LONG:
+			return value instanceof Long;
+		case FLOAT:
+			return value instanceof Float;
+		case DOUBLE:
+			return value instanceof Double;
+		case STRING:
+		default:
+			return false;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private T getValue(int index) {
+		if (!this.defined[index]) {
+			return null;
+		}
+		if (this.objectValues != null && this.objectValues[index] != null) {
+			return (T) this.objectValues[index];
+		}
+		switch (this.type) {
+		case BOOLEAN:
+			return (T) Boolean.valueOf(this.longValues[index] != 0);
+		case SHORT:
+			return (T) Short.valueOf((short) this.longValues[index]);
+		case INTEGER:
+			return (T) Integer.valueOf((int) this.longValues[index]);
+		case LONG:
+			return (T) Long.valueOf(this.longValues[index]);
+		case FLOAT:
+			return (T) Float.valueOf((float) this.doubleValues[index]);
+		case DOUBLE:
+			return (T) Double.valueOf(this.doubleValues[index]);
+		case STRING:
+		default:
+			return null;
+		}
+	}
+
+	private static long toLong(LocalDateTime timestamp) {
+		return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + timestamp.getNano();
+	}
+
+	private static LocalDateTime toLocalDateTime(long timestamp) {
+		return LocalDateTime.ofEpochSecond(Math.floorDiv(timestamp, 1_000_000_000L),
+				(int) Math.floorMod(timestamp, 1_000_000_000L), ZoneOffset.UTC);
+	}
+}
@@ -1,11 +1,12 @@
 package io.openems.edge.common.component;
 
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Dictionary;
 import java.util.Enumeration;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.osgi.service.component.ComponentConstants;
@@ -47,9 +48,17 @@ public abstract class AbstractOpenemsComponent implements OpenemsComponent {
 
 	/**
 	 * Holds all Channels by their Channel-ID String representation (in
-	 * CaseFormat.UPPER_CAMEL)
+	 * CaseFormat.UPPER_CAMEL). Channels may be added or removed at runtime, so
+	 * {@link #channels()} must be safe to iterate concurrently.
 	 */
-	private final Map<String, Channel<?>> channels = Collections.synchronizedMap(new HashMap<>());
+	private final Map<String, Channel<?>> channels = new ConcurrentHashMap<>();
+
+	/**
+	 * Holds the Channels that need to be switched to the next process image, i.e.
+	 * Channels whose next value was set since the last switch.
+	 */
+	private Set<Channel<?>> dirtyChannels = new HashSet<>();
+	private final Object dirtyChannelsLock = new Object();
 
 	private String id = null;
 	private String alias = null;
@@ -292,12 +301,11 @@ public abstract class AbstractOpenemsComponent implements OpenemsComponent {
 			throw new NullPointerException(
 					"Trying to add 'null' Channel. Hint: Check for missing handling of Enum value.");
 		}
-		if (this.channels.containsKey(channel.channelId().id())) {
+		// Add Channel to channels list
+		if (this.channels.putIfAbsent(channel.channelId().id(), channel) != null) {
 			throw new IllegalArgumentException(
 					"Duplicated Channel-ID [" + channel.channelId().id() + "] for Component [" + this.id + "]");
 		}
-		// Add Channel to channels list
-		this.channels.put(channel.channelId().id(), channel);
 		// Handle StateChannels
 		if (channel instanceof StateChannel) {
 			this.getStateChannel().addChannel((StateChannel) channel);
@@ -398,6 +406,36 @@ public abstract class AbstractOpenemsComponent implements OpenemsComponent {
 		return this.channels.values();
 	}
 
+	/**
+	 * Registers a Channel for the next process image switch. Internal method. Do
+	 * not call directly.
+	 * 
+	 * @param channel the Channel
+	 */
+	public void _addDirtyChannel(Channel<?> channel) {
+		synchronized (this.dirtyChannelsLock) {
+			this.dirtyChannels.add(channel);
+		}
+	}
+
+	/**
+	 * Gets the Channels that need to be switched to the next process image and
+	 * resets the registry. Internal method. Do not call directly.
+	 * 
+	 * <p>
+	 * Channels that are registered while the result is processed are collected
+	 * for the following process image switch.
+	 * 
+	 * @return the Channels
+	 */
+	public Set<Channel<?>> _getAndResetDirtyChannels() {
+		synchronized (this.dirtyChannelsLock) {
+			Set<Channel<?>> result = this.dirtyChannels;
+			this.dirtyChannels = new HashSet<>(result.size() * 2);
+			return result;
+		}
+	}
+
 	/**
 	 * Log a debug message including the Component ID.
 	 * 
@@ -1,6 +1,8 @@
 package io.openems.edge.common.component;
 
 import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import io.openems.common.OpenemsConstants;
@@ -20,6 +22,23 @@ import io.openems.edge.common.jsonapi.JsonApi;
  */
 public interface ComponentManager extends OpenemsComponent, JsonApi, ClockProvider {
 
+	/**
+	 * Listens for changes of the enabled OpenEMS-Components.
+	 */
+	@FunctionalInterface
+	public interface ComponentListener {
+
+		/**
+		 * Called after an OpenEMS-Component was added to or removed from the enabled
+		 * Components.
+		 * 
+		 * @param component the OpenEMS-Component
+		 * @param added     true if the Component was added; false if it was removed
+		 */
+		public void onChange(OpenemsComponent component, boolean added);
+
+	}
+
 	public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
 		CONFIG_NOT_ACTIVATED(Doc.of(Level.WARNING) //
 				.text("A configured OpenEMS Component was not activated")), //
@@ -181,6 +200,57 @@ public interface ComponentManager extends OpenemsComponent, JsonApi, ClockProvid
 	 */
 	public List<OpenemsComponent> getAllComponents();
 
+	/**
+	 * Gets all enabled OpenEMS-Components that implement the given type, e.g. a
+	 * Nature like {@code SymmetricEss}.
+	 * 
+	 * <p>
+	 * The returned List must not be modified. Implementations may return the same
+	 * List instance until the enabled Components change.
+	 * 
+	 * @param <T>   the type
+	 * @param clazz the Class of the type
+	 * @return a List of OpenEMS-Components
+	 */
+	@SuppressWarnings("unchecked")
+	public default <T> List<T> getEnabledComponentsOfType(Class<T> clazz) {
+		List<T> result = new ArrayList<>();
+		for (OpenemsComponent component : this.getEnabledComponents()) {
+			if (clazz.isInstance(component)) {
+				result.add((T) component);
+			}
+		}
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * Gets the version of the enabled OpenEMS-Components. The version changes
+	 * whenever a Component is enabled or disabled; callers can use it to cache
+	 * results that are derived from {@link #getEnabledComponents()}.
+	 * 
+	 * @return the version
+	 */
+	public long getComponentsVersion();
+
+	/**
+	 * Adds a {@link ComponentListener}.
+	 * 
+	 * <p>
+	 * The listener is called immediately for every currently enabled Component and
+	 * afterwards for every change, so that no change gets lost in between. Calls
+	 * are serialized with the changes; listeners must return quickly.
+	 * 
+	 * @param listener the {@link ComponentListener}
+	 */
+	public void addComponentListener(ComponentListener listener);
+
+	/**
+	 * Removes a {@link ComponentListener}.
+	 * 
+	 * @param listener the {@link ComponentListener}
+	 */
+	public void removeComponentListener(ComponentListener listener);
+
 	/**
 	 * Gets a OpenEMS-Component by its Component-ID. The Component is guaranteed to
 	 * be enabled.
@@ -4,4 +4,14 @@ public interface ManagedTask {
 
 	public Priority getPriority();
 
+	/**
+	 * Gets the {@link PollingSchedule} of a Task with {@link Priority#HIGH}.
+	 * 
+	 * @return the {@link PollingSchedule}; null if the Task should be executed on
+	 *         every Cycle
+	 */
+	public default PollingSchedule getPollingSchedule() {
+		return null;
+	}
+
 }
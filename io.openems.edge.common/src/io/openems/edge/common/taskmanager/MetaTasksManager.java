@@ -1,7 +1,10 @@
 package io.openems.edge.common.taskmanager;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Queue;
@@ -95,6 +98,39 @@ public class MetaTasksManager<T extends ManagedTask> {
 		return result;
 	}
 
+	/**
+	 * Gets all Tasks with the given Priority that are due at the given time by
+	 * their Source-ID.
+	 * 
+	 * <p>
+	 * Tasks without {@link PollingSchedule} are always due. Per Source-ID the
+	 * Tasks are sorted by deadline, i.e. the most overdue Tasks come first. Call
+	 * {@link PollingSchedule#onPlanned(long)} for the Tasks that actually get
+	 * executed.
+	 * 
+	 * @param priority the priority
+	 * @param now      the current time in [ms]
+	 * @return a list of tasks
+	 */
+	public Multimap<String, T> getDueTasksBySourceId(Priority priority, long now) {
+		Multimap<String, T> result = ArrayListMultimap.create();
+		for (Entry<String, TasksManager<T>> entry : this.tasksManagers.entries()) {
+			List<T> tasks = new ArrayList<>();
+			for (T task : entry.getValue().getAllTasks(priority)) {
+				PollingSchedule schedule = task.getPollingSchedule();
+				if (schedule == null || schedule.isDue(now)) {
+					tasks.add(task);
+				}
+			}
+			tasks.sort(Comparator.comparingLong((T task) -> {
+				PollingSchedule schedule = task.getPollingSchedule();
+				return schedule == null ? now : Math.min(now, schedule.getNextDeadline());
+			}));
+			result.putAll(entry.getKey(), tasks);
+		}
+		return result;
+	}
+
 	/**
 	 * Gets all Tasks with by their Source-ID.
 	 * 
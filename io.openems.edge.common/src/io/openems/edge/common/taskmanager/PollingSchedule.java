@@ -0,0 +1,131 @@
+package io.openems.edge.common.taskmanager;
+
+/**
+ * Defines in which interval a {@link ManagedTask} with {@link Priority#HIGH}
+ * should be executed.
+ *
+ * <p>
+ * A fixed schedule executes the Task at most once per interval. An adaptive
+ * schedule additionally doubles the interval - up to a maximum - every time the
+ * content read by the Task did not change since the previous execution, and
+ * falls back to the base interval as soon as the content changes or the
+ * execution fails.
+ *
+ * <p>
+ * Deadlines are calculated from the time the Task was planned for execution,
+ * so that a Task with an interval that is a multiple of the Cycle-Time is
+ * executed on every n-th Cycle.
+ */
+public class PollingSchedule {
+
+	/**
+	 * Creates a fixed {@link PollingSchedule}.
+	 *
+	 * @param interval the interval in [ms]
+	 * @return the {@link PollingSchedule}
+	 */
+	public static PollingSchedule every(long interval) {
+		return new PollingSchedule(interval, interval);
+	}
+
+	/**
+	 * Creates an adaptive {@link PollingSchedule}.
+	 *
+	 * @param interval    the base interval in [ms]; must be positive
+	 * @param maxInterval the maximum interval in [ms]
+	 * @return the {@link PollingSchedule}
+	 */
+	public static PollingSchedule adaptive(long interval, long maxInterval) {
+		if (interval <= 0) {
+			throw new IllegalArgumentException("Adaptive polling requires a positive base interval");
+		}
+		return new PollingSchedule(interval, Math.max(interval, maxInterval));
+	}
+
+	private final long interval;
+	private final long maxInterval;
+
+	private long currentInterval;
+	private long lastPlanned = Long.MIN_VALUE;
+	private long nextDeadline = Long.MIN_VALUE;
+	private boolean hasContentHash = false;
+	private int lastContentHash = 0;
+
+	private PollingSchedule(long interval, long maxInterval) {
+		this.interval = Math.max(0, interval);
+		this.maxInterval = maxInterval;
+		this.currentInterval = this.interval;
+	}
+
+	/**
+	 * Is the Task due at the given time?.
+	 *
+	 * @param now the current time in [ms]
+	 * @return true if due
+	 */
+	public synchronized boolean isDue(long now) {
+		return now >= this.nextDeadline;
+	}
+
+	/**
+	 * Gets the next deadline.
+	 *
+	 * @return the deadline in [ms]; {@link Long#MIN_VALUE} if the Task was never
+	 *         planned
+	 */
+	public synchronized long getNextDeadline() {
+		return this.nextDeadline;
+	}
+
+	/**
+	 * Gets the current - possibly backed off - interval.
+	 *
+	 * @return the interval in [ms]
+	 */
+	public synchronized long getCurrentInterval() {
+		return this.currentInterval;
+	}
+
+	/**
+	 * Announces that the Task was planned for execution.
+	 *
+	 * @param now the current time in [ms]
+	 */
+	public synchronized void onPlanned(long now) {
+		this.lastPlanned = now;
+		this.nextDeadline = now + this.currentInterval;
+	}
+
+	/**
+	 * Announces a successful execution of the Task.
+	 *
+	 * @param contentHash a hash of the raw content read by the Task
+	 */
+	public synchronized void onExecuted(int contentHash) {
+		if (this.maxInterval > this.interval && this.hasContentHash && this.lastContentHash == contentHash) {
+			// content did not change -> back off
+			this.currentInterval = Math.min(this.currentInterval * 2, this.maxInterval);
+		} else {
+			this.currentInterval = this.interval;
+		}
+		this.hasContentHash = true;
+		this.lastContentHash = contentHash;
+		this.updateDeadline();
+	}
+
+	/**
+	 * Announces a failed execution of the Task.
+	 */
+	public synchronized void onFailed() {
+		this.currentInterval = this.interval;
+		this.hasContentHash = false;
+		this.updateDeadline();
+	}
+
+	private void updateDeadline() {
+		if (this.lastPlanned != Long.MIN_VALUE) {
+			this.nextDeadline = this.lastPlanned + this.currentInterval;
+		}
+	}
+
+}
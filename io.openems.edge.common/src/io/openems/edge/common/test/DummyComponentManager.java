@@ -6,6 +6,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.osgi.service.component.ComponentContext;
 
@@ -25,6 +26,8 @@ import io.openems.edge.common.component.OpenemsComponent;
 public class DummyComponentManager implements ComponentManager {
 
 	private final List<OpenemsComponent> components = new ArrayList<>();
+	private final List<ComponentListener> listeners = new CopyOnWriteArrayList<>();
+	private long componentsVersion = 0;
 	private final Clock clock;
 
 	public DummyComponentManager() {
@@ -53,10 +56,32 @@ public class DummyComponentManager implements ComponentManager {
 	public DummyComponentManager addComponent(OpenemsComponent component) {
 		if (component != this) {
 			this.components.add(component);
+			this.componentsVersion++;
+			for (ComponentListener listener : this.listeners) {
+				listener.onChange(component, true);
+			}
 		}
 		return this;
 	}
 
+	@Override
+	public long getComponentsVersion() {
+		return this.componentsVersion;
+	}
+
+	@Override
+	public void addComponentListener(ComponentListener listener) {
+		this.listeners.add(listener);
+		for (OpenemsComponent component : this.components) {
+			listener.onChange(component, true);
+		}
+	}
+
+	@Override
+	public void removeComponentListener(ComponentListener listener) {
+		this.listeners.remove(listener);
+	}
+
 	@Override
 	public EdgeConfig getEdgeConfig() {
 		return new EdgeConfig();
@@ -1,35 +1,56 @@
 package io.openems.edge.common.type.slidingvalue;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.Collectors;
-
 import io.openems.common.types.OpenemsType;
 
-public abstract class AbstractNumberSlidingValue<T> extends SlidingValue<T> {
-
-	protected final List<T> values = new ArrayList<>();
+/**
+ * Calculates the average of numeric values.
+ * 
+ * <p>
+ * Values are not stored; subclasses only keep the sum in a primitive field, so
+ * adding a value never allocates.
+ * 
+ * @param <T> the type of the Value
+ */
+public abstract class AbstractNumberSlidingValue<T extends Number> extends SlidingValue<T> {
+
+	/**
+	 * The number of values that were added since the last reset.
+	 */
+	protected long count = 0;
 
 	protected AbstractNumberSlidingValue(OpenemsType type) {
 		super(type);
 	}
 
 	@Override
-	public synchronized void addValue(T value) {
-		if (value != null) {
-			this.values.add(value);
+	public synchronized void addValue(T value, int times) {
+		if (value != null && times > 0) {
+			this.addToSum(value, times);
+			this.count += times;
 		}
 	}
 
+	/**
+	 * Adds a value to the sum.
+	 * 
+	 * @param value the value; never null
+	 * @param times the number of samples; always positive
+	 */
+	protected abstract void addToSum(T value, int times);
+
+	/**
+	 * Resets the sum.
+	 */
+	protected abstract void resetSum();
+
 	@Override
 	protected synchronized void resetValues() {
-		this.values.clear();
+		this.count = 0;
+		this.resetSum();
 	}
 
 	@Override
 	public String toString() {
-		return this.values.stream() //
-				.map(Object::toString) //
-				.collect(Collectors.joining(","));
+		return this.getSlidingValue().map(String::valueOf).orElse("");
 	}
 }
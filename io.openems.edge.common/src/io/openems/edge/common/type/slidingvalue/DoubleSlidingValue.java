@@ -1,26 +1,32 @@
 package io.openems.edge.common.type.slidingvalue;
 
 import java.util.Optional;
-import java.util.OptionalDouble;
 
 import io.openems.common.types.OpenemsType;
 
 public class DoubleSlidingValue extends AbstractNumberSlidingValue<Double> {
 
+	private double sum = 0;
+
 	public DoubleSlidingValue() {
 		super(OpenemsType.DOUBLE);
 	}
 
 	@Override
-	protected Optional<Double> getSlidingValue() {
-		OptionalDouble result = this.values.stream() //
-				.mapToDouble(Double::doubleValue) //
-				.average();
-		if (result.isPresent()) {
-			return Optional.of(result.getAsDouble());
-		} else {
+	protected void addToSum(Double value, int times) {
+		this.sum += value.doubleValue() * times;
+	}
+
+	@Override
+	protected void resetSum() {
+		this.sum = 0;
+	}
+
+	@Override
+	protected synchronized Optional<Double> getSlidingValue() {
+		if (this.count == 0) {
 			return Optional.empty();
 		}
+		return Optional.of(this.sum / this.count);
 	}
-
 }
@@ -1,31 +1,37 @@
 package io.openems.edge.common.type.slidingvalue;
 
 import java.util.Optional;
-import java.util.OptionalDouble;
 
 import io.openems.common.types.OpenemsType;
 
 public class FloatSlidingValue extends AbstractNumberSlidingValue<Float> {
 
+	private double sum = 0;
+
 	public FloatSlidingValue() {
 		super(OpenemsType.FLOAT);
 	}
 
 	@Override
-	protected Optional<Float> getSlidingValue() {
-		OptionalDouble result = this.values.stream() //
-				.mapToDouble(Float::doubleValue) //
-				.average();
-		if (result.isPresent()) {
-			double value = result.getAsDouble();
-			if (value < Float.MIN_VALUE || value > Float.MAX_VALUE) {
-				return Optional.empty();
-			} else {
-				return Optional.of((float) value);
-			}
-		} else {
+	protected void addToSum(Float value, int times) {
+		this.sum += value.doubleValue() * times;
+	}
+
+	@Override
+	protected void resetSum() {
+		this.sum = 0;
+	}
+
+	@Override
+	protected synchronized Optional<Float> getSlidingValue() {
+		if (this.count == 0) {
+			return Optional.empty();
+		}
+		double value = this.sum / this.count;
+		if (value < Float.MIN_VALUE || value > Float.MAX_VALUE) {
 			return Optional.empty();
+		} else {
+			return Optional.of((float) value);
 		}
 	}
-
 }
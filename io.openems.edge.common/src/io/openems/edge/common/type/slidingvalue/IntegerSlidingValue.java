@@ -1,31 +1,38 @@
 package io.openems.edge.common.type.slidingvalue;
 
 import java.util.Optional;
-import java.util.OptionalDouble;
 
 import io.openems.common.types.OpenemsType;
 
 public class IntegerSlidingValue extends AbstractNumberSlidingValue<Integer> {
 
+	private long sum = 0;
+
 	public IntegerSlidingValue() {
 		super(OpenemsType.INTEGER);
 	}
 
 	@Override
-	protected Optional<Integer> getSlidingValue() {
-		OptionalDouble result = this.values.stream() //
-				.mapToInt(Integer::intValue) //
-				.average();
-		if (result.isPresent()) {
-			double doubleValue = result.getAsDouble();
-			long value = Math.round(doubleValue);
-			if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
-				return Optional.empty();
-			} else {
-				return Optional.of((int) value);
-			}
-		} else {
+	protected void addToSum(Integer value, int times) {
+		this.sum += (long) value.intValue() * times;
+	}
+
+	@Override
+	protected void resetSum() {
+		this.sum = 0;
+	}
+
+	@Override
+	protected synchronized Optional<Integer> getSlidingValue() {
+		if (this.count == 0) {
 			return Optional.empty();
 		}
+		double doubleValue = (double) this.sum / this.count;
+		long value = Math.round(doubleValue);
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+			return Optional.empty();
+		} else {
+			return Optional.of((int) value);
+		}
 	}
 }
@@ -13,17 +13,19 @@ public class LatestSlidingValue extends SlidingValue<Object> {
 	}
 
 	@Override
-	public synchronized void addValue(Object value) {
-		this.value = value;
+	public synchronized void addValue(Object value, int times) {
+		if (times > 0) {
+			this.value = value;
+		}
 	}
 
 	@Override
-	protected Optional<Object> getSlidingValue() {
+	protected synchronized Optional<Object> getSlidingValue() {
 		return Optional.ofNullable(this.value);
 	}
 
 	@Override
-	protected void resetValues() {
+	protected synchronized void resetValues() {
 		this.value = null;
 	}
 
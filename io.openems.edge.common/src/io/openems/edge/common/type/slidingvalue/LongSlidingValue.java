@@ -1,26 +1,33 @@
 package io.openems.edge.common.type.slidingvalue;
 
 import java.util.Optional;
-import java.util.OptionalDouble;
 
 import io.openems.common.types.OpenemsType;
 
 public class LongSlidingValue extends AbstractNumberSlidingValue<Long> {
 
+	private long sum = 0;
+
 	public LongSlidingValue() {
 		super(OpenemsType.LONG);
 	}
 
 	@Override
-	protected Optional<Long> getSlidingValue() {
-		OptionalDouble result = this.values.stream() //
-				.mapToLong(Long::longValue) //
-				.average();
-		if (result.isPresent()) {
-			double doubleValue = result.getAsDouble();
-			return Optional.of(Math.round(doubleValue));
-		} else {
+	protected void addToSum(Long value, int times) {
+		this.sum += value.longValue() * times;
+	}
+
+	@Override
+	protected void resetSum() {
+		this.sum = 0;
+	}
+
+	@Override
+	protected synchronized Optional<Long> getSlidingValue() {
+		if (this.count == 0) {
 			return Optional.empty();
 		}
+		double doubleValue = (double) this.sum / this.count;
+		return Optional.of(Math.round(doubleValue));
 	}
 }
@@ -1,31 +1,38 @@
 package io.openems.edge.common.type.slidingvalue;
 
 import java.util.Optional;
-import java.util.OptionalDouble;
 
 import io.openems.common.types.OpenemsType;
 
 public class ShortSlidingValue extends AbstractNumberSlidingValue<Short> {
 
+	private long sum = 0;
+
 	public ShortSlidingValue() {
 		super(OpenemsType.SHORT);
 	}
 
 	@Override
-	protected Optional<Short> getSlidingValue() {
-		OptionalDouble result = this.values.stream() //
-				.mapToInt(Short::intValue) //
-				.average();
-		if (result.isPresent()) {
-			double doubleValue = result.getAsDouble();
-			long value = Math.round(doubleValue);
-			if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
-				return Optional.empty();
-			} else {
-				return Optional.of((short) value);
-			}
-		} else {
+	protected void addToSum(Short value, int times) {
+		this.sum += (long) value.shortValue() * times;
+	}
+
+	@Override
+	protected void resetSum() {
+		this.sum = 0;
+	}
+
+	@Override
+	protected synchronized Optional<Short> getSlidingValue() {
+		if (this.count == 0) {
 			return Optional.empty();
 		}
+		double doubleValue = (double) this.sum / this.count;
+		long value = Math.round(doubleValue);
+		if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+			return Optional.empty();
+		} else {
+			return Optional.of((short) value);
+		}
 	}
 }
@@ -35,7 +35,18 @@ public abstract class SlidingValue<T> {
 	 * 
 	 * @param value the value
 	 */
-	public abstract void addValue(T value);
+	public void addValue(T value) {
+		this.addValue(value, 1);
+	}
+
+	/**
+	 * Adds a value that was valid for several samples, e.g. for several Cycles.
+	 * This is equivalent to calling {@link #addValue(Object)} 'times' times.
+	 * 
+	 * @param value the value
+	 * @param times the number of samples; nothing is added if it is not positive
+	 */
+	public abstract void addValue(T value, int times);
 
 	/**
 	 * Gets the sliding value, e.g. the average of all values.
@@ -0,0 +1,88 @@
+package io.openems.edge.common.channel.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.OptionalDouble;
+
+import org.junit.Test;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Aggregation;
+import io.openems.edge.common.channel.value.Value;
+import io.openems.edge.common.type.CircularTreeMap;
+
+public class PastValuesBufferTest {
+
+	private static final LocalDateTime START = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+	@Test
+	public void testInteger() {
+		PastValuesBuffer<Integer> buffer = new PastValuesBuffer<>(null, OpenemsType.INTEGER, 3);
+		for (int i = 0; i < 5; i++) {
+			buffer.add(new Value<Integer>(null, i == 3 ? null : i, START.plusSeconds(i)));
+		}
+		assertEquals(3, buffer.size());
+
+		CircularTreeMap<LocalDateTime, Value<Integer>> map = buffer.asMap();
+		Iterator<Value<Integer>> values = map.values().iterator();
+		Value<Integer> value = values.next();
+		assertEquals(START.plusSeconds(2), value.getTimestamp());
+		assertEquals(Integer.valueOf(2), value.get());
+		assertNull(values.next().get());
+		assertEquals(Integer.valueOf(4), values.next().get());
+		assertFalse(values.hasNext());
+
+		// map is cached till next value is added
+		assertSame(map, buffer.asMap());
+
+		// same timestamp replaces latest entry
+		buffer.add(new Value<Integer>(null, 5, START.plusSeconds(4)));
+		assertEquals(3, buffer.size());
+		assertEquals(Integer.valueOf(5), buffer.asMap().lastEntry().getValue().get());
+	}
+
+	@Test
+	public void testOtherTypes() {
+		PastValuesBuffer<Boolean> booleans = new PastValuesBuffer<>(null, OpenemsType.BOOLEAN, 10);
+		booleans.add(new Value<Boolean>(null, true, START));
+		assertEquals(Boolean.TRUE, booleans.asMap().firstEntry().getValue().get());
+
+		PastValuesBuffer<Float> floats = new PastValuesBuffer<>(null, OpenemsType.FLOAT, 10);
+		floats.add(new Value<Float>(null, 1.5F, START));
+		assertEquals(Float.valueOf(1.5F), floats.asMap().firstEntry().getValue().get());
+
+		PastValuesBuffer<String> strings = new PastValuesBuffer<>(null, OpenemsType.STRING, 10);
+		strings.add(new Value<String>(null, "foo", START));
+		assertEquals("foo", strings.asMap().firstEntry().getValue().get());
+	}
+
+	@Test
+	public void testAggregate() {
+		PastValuesBuffer<Integer> buffer = new PastValuesBuffer<>(null, OpenemsType.INTEGER, 3);
+		assertEquals(OptionalDouble.empty(), buffer.aggregate(LocalDateTime.MIN, Aggregation.AVERAGE));
+		for (int i = 0; i < 5; i++) {
+			buffer.add(new Value<Integer>(null, i == 3 ? null : i, START.plusSeconds(i)));
+		}
+		// only the last three values are kept; null is ignored
+		assertEquals(OptionalDouble.of(3), buffer.aggregate(LocalDateTime.MIN, Aggregation.AVERAGE));
+		assertEquals(OptionalDouble.of(4), buffer.aggregate(LocalDateTime.MIN, Aggregation.MAXIMUM));
+		// only values after the given time
+		assertEquals(OptionalDouble.of(4), buffer.aggregate(START.plusSeconds(2), Aggregation.AVERAGE));
+		assertEquals(OptionalDouble.empty(), buffer.aggregate(START.plusSeconds(4), Aggregation.AVERAGE));
+
+		PastValuesBuffer<Boolean> booleans = new PastValuesBuffer<>(null, OpenemsType.BOOLEAN, 10);
+		booleans.add(new Value<Boolean>(null, true, START));
+		booleans.add(new Value<Boolean>(null, false, START.plusSeconds(1)));
+		assertEquals(OptionalDouble.of(0.5), booleans.aggregate(LocalDateTime.MIN, Aggregation.AVERAGE));
+
+		PastValuesBuffer<String> strings = new PastValuesBuffer<>(null, OpenemsType.STRING, 10);
+		strings.add(new Value<String>(null, "foo", START));
+		assertEquals(OptionalDouble.of(0), strings.aggregate(LocalDateTime.MIN, Aggregation.MAXIMUM));
+	}
+
+}
@@ -0,0 +1,68 @@
+package io.openems.edge.common.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+
+import org.junit.Test;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.Doc;
+
+public class AbstractOpenemsComponentTest {
+
+	private static enum TestChannelId implements io.openems.edge.common.channel.ChannelId {
+		FOO(Doc.of(OpenemsType.INTEGER)), //
+		BAR(Doc.of(OpenemsType.INTEGER));
+
+		private final Doc doc;
+
+		private TestChannelId(Doc doc) {
+			this.doc = doc;
+		}
+
+		@Override
+		public Doc doc() {
+			return this.doc;
+		}
+	}
+
+	private static class DummyComponent extends AbstractOpenemsComponent {
+
+		public DummyComponent() {
+			super(TestChannelId.values());
+		}
+
+	}
+
+	@Test
+	public void testDirtyChannels() {
+		DummyComponent component = new DummyComponent();
+		Channel<Integer> foo = component.channel(TestChannelId.FOO);
+		Channel<Integer> bar = component.channel(TestChannelId.BAR);
+		component._getAndResetDirtyChannels().forEach(Channel::nextProcessImage);
+
+		// Only Channels with a new value are registered
+		foo.setNextValue(1);
+		foo.setNextValue(2);
+		Set<Channel<?>> dirty = component._getAndResetDirtyChannels();
+		assertEquals(1, dirty.size());
+		assertTrue(dirty.contains(foo));
+		dirty.forEach(Channel::nextProcessImage);
+		assertEquals(2, (int) foo.value().get());
+		assertTrue(component._getAndResetDirtyChannels().isEmpty());
+
+		// Channels with onUpdate-Callbacks are switched on every process image
+		bar.onUpdate(value -> {
+		});
+		for (int i = 0; i < 3; i++) {
+			dirty = component._getAndResetDirtyChannels();
+			assertEquals(1, dirty.size());
+			assertTrue(dirty.contains(bar));
+			dirty.forEach(Channel::nextProcessImage);
+		}
+	}
+
+}
@@ -0,0 +1,120 @@
+package io.openems.edge.common.taskmanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class PollingScheduleTest {
+
+	private class Task implements ManagedTask {
+
+		private final PollingSchedule pollingSchedule;
+
+		public Task(PollingSchedule pollingSchedule) {
+			this.pollingSchedule = pollingSchedule;
+		}
+
+		@Override
+		public Priority getPriority() {
+			return Priority.HIGH;
+		}
+
+		@Override
+		public PollingSchedule getPollingSchedule() {
+			return this.pollingSchedule;
+		}
+
+	}
+
+	@Test
+	public void testFixed() {
+		PollingSchedule s = PollingSchedule.every(3000);
+		assertTrue(s.isDue(0));
+		s.onPlanned(0);
+		s.onExecuted(1);
+		assertFalse(s.isDue(1000));
+		assertFalse(s.isDue(2999));
+		assertTrue(s.isDue(3000));
+
+		// fixed schedule never backs off
+		s.onPlanned(3000);
+		s.onExecuted(1);
+		assertEquals(3000, s.getCurrentInterval());
+		assertTrue(s.isDue(6000));
+	}
+
+	@Test
+	public void testAdaptive() {
+		PollingSchedule s = PollingSchedule.adaptive(1000, 5000);
+		s.onPlanned(0);
+		s.onExecuted(42);
+		assertEquals(1000, s.getCurrentInterval());
+
+		// unchanged content -> back off up to the maximum
+		s.onPlanned(1000);
+		s.onExecuted(42);
+		assertEquals(2000, s.getCurrentInterval());
+		assertEquals(3000, s.getNextDeadline());
+		s.onPlanned(3000);
+		s.onExecuted(42);
+		assertEquals(4000, s.getCurrentInterval());
+		s.onPlanned(7000);
+		s.onExecuted(42);
+		assertEquals(5000, s.getCurrentInterval());
+		assertFalse(s.isDue(11999));
+		assertTrue(s.isDue(12000));
+
+		// changed content -> back to the base interval
+		s.onPlanned(12000);
+		s.onExecuted(43);
+		assertEquals(1000, s.getCurrentInterval());
+		assertTrue(s.isDue(13000));
+
+		// failure -> back to the base interval
+		s.onPlanned(13000);
+		s.onExecuted(43);
+		assertEquals(2000, s.getCurrentInterval());
+		s.onFailed();
+		assertEquals(1000, s.getCurrentInterval());
+		assertEquals(14000, s.getNextDeadline());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAdaptiveRequiresInterval() {
+		PollingSchedule.adaptive(0, 5000);
+	}
+
+	@Test
+	public void testGetDueTasksBySourceId() {
+		Task always = new Task(null);
+		Task slow = new Task(PollingSchedule.every(10000));
+		Task fast = new Task(PollingSchedule.every(1000));
+
+		MetaTasksManager<Task> m = new MetaTasksManager<>();
+		m.addTasksManager("component0", new TasksManager<Task>(always, slow, fast));
+
+		// all Tasks are due initially
+		assertEquals(3, m.getDueTasksBySourceId(Priority.HIGH, 0).size());
+		slow.getPollingSchedule().onPlanned(0);
+		fast.getPollingSchedule().onPlanned(0);
+
+		List<Task> due = new ArrayList<>(m.getDueTasksBySourceId(Priority.HIGH, 1000).get("component0"));
+		assertEquals(2, due.size());
+		assertTrue(due.contains(always));
+		assertTrue(due.contains(fast));
+
+		// the most overdue Task comes first
+		fast.getPollingSchedule().onPlanned(1000);
+		due = new ArrayList<>(m.getDueTasksBySourceId(Priority.HIGH, 11000).get("component0"));
+		assertEquals(3, due.size());
+		assertEquals(fast, due.get(0));
+		assertEquals(slow, due.get(1));
+		assertEquals(always, due.get(2));
+	}
+
+}
@@ -52,6 +52,8 @@ public class BackendApiImpl extends AbstractOpenemsComponent
 		implements BackendApi, Controller, OpenemsComponent, PaxAppender, EventHandler {
 
 	protected static final int DEFAULT_NO_OF_CYCLES = 10;
+	protected static final int DEFAULT_SPOOL_MAX_SIZE = 100; // [MB]
+	protected static final int DEFAULT_SPOOL_REPLAY_RATE = 10;
 	protected static final String COMPONENT_NAME = "Controller.Api.Backend";
 
 	protected final BackendWorker worker = new BackendWorker(this);
@@ -62,6 +64,8 @@ public class BackendApiImpl extends AbstractOpenemsComponent
 
 	protected WebsocketClient websocket = null;
 	protected int noOfCycles = DEFAULT_NO_OF_CYCLES; // default, is going to be overwritten by config
+	protected int spoolMaxSize = DEFAULT_SPOOL_MAX_SIZE;
+	protected int spoolReplayRate = DEFAULT_SPOOL_REPLAY_RATE;
 	protected boolean debug = false;
 
 	// Used for SubscribeSystemLogRequests
@@ -86,6 +90,8 @@ public class BackendApiImpl extends AbstractOpenemsComponent
 	void activate(ComponentContext context, Config config) {
 		super.activate(context, config.id(), config.alias(), config.enabled());
 		this.noOfCycles = config.noOfCycles();
+		this.spoolMaxSize = config.spoolMaxSize();
+		this.spoolReplayRate = config.spoolReplayRate();
 		this.debug = config.debug();
 
 		if (!this.isEnabled()) {
@@ -0,0 +1,296 @@
+package io.openems.edge.controller.api.backend;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent, append-only spool for messages that could not be sent to OpenEMS
+ * Backend.
+ *
+ * <p>
+ * Messages are stored in memory-mapped segment files of
+ * {@link #SEGMENT_SIZE} bytes within the given directory. Segments are named by
+ * an increasing sequence number; as messages are appended in the order they
+ * were created, replaying segments and records in sequence order replays the
+ * messages in timestamp order. Each record has the format:
+ *
+ * <pre>
+ * [int length][long timestamp][int crc32][length bytes UTF-8 message]
+ * </pre>
+ *
+ * <p>
+ * A length of zero marks the end of the written data of a segment; a negative
+ * length marks a record that was already sent successfully. Segments that were
+ * fully sent are deleted. If the total size of all segments exceeds the
+ * configured maximum, the oldest segments are dropped.
+ */
+class BackendSpool {
+
+	protected static final int SEGMENT_SIZE = 4 * 1024 * 1024;
+
+	private static final String FILE_SUFFIX = ".spool";
+	private static final int HEADER_SIZE = 16;
+
+	private final Logger log = LoggerFactory.getLogger(BackendSpool.class);
+
+	private final Path directory;
+	private final long maxSize;
+
+	/**
+	 * Holds the Segments, sorted by sequence number.
+	 */
+	private final TreeMap<Long, Segment> segments = new TreeMap<>();
+
+	/**
+	 * The Segment that is currently appended to; possibly null.
+	 */
+	private Segment writeSegment = null;
+
+	private static class Segment {
+		private final long sequence;
+		private final Path path;
+		private final long size;
+		private MappedByteBuffer buffer = null;
+		private int readPosition = 0;
+		private int writePosition = 0;
+
+		private Segment(long sequence, Path path, long size) {
+			this.sequence = sequence;
+			this.path = path;
+			this.size = size;
+		}
+
+		private MappedByteBuffer getBuffer() throws IOException {
+			if (this.buffer == null) {
+				try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ,
+						StandardOpenOption.WRITE)) {
+					this.buffer = channel.map(MapMode.READ_WRITE, 0, this.size);
+				}
+			}
+			return this.buffer;
+		}
+	}
+
+	/**
+	 * Opens the spool in the given directory. Existing segments are kept for
+	 * replay.
+	 *
+	 * @param directory the spool directory; created if it does not exist
+	 * @param maxSize   the maximum total size of all segments in bytes
+	 * @throws IOException on error
+	 */
+	public BackendSpool(Path directory, long maxSize) throws IOException {
+		this.directory = directory;
+		this.maxSize = maxSize;
+		Files.createDirectories(directory);
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+			for (Path path : stream) {
+				String fileName = path.getFileName().toString();
+				long sequence;
+				try {
+					sequence = Long.parseLong(fileName.substring(0, fileName.length() - FILE_SUFFIX.length()));
+				} catch (NumberFormatException e) {
+					this.log.warn("Ignoring unknown spool file [" + path + "]");
+					continue;
+				}
+				this.segments.put(sequence, new Segment(sequence, path, Files.size(path)));
+			}
+		}
+		if (!this.segments.isEmpty()) {
+			this.log.info("Found [" + this.segments.size() + "] spool segments in [" + directory + "]");
+		}
+	}
+
+	/**
+	 * Appends a message to the spool.
+	 *
+	 * @param timestamp the timestamp of the message in epoch milliseconds
+	 * @param message   the serialized message
+	 * @throws IOException on error
+	 */
+	public synchronized void append(long timestamp, String message) throws IOException {
+		byte[] payload = message.getBytes(StandardCharsets.UTF_8);
+		int recordSize = HEADER_SIZE + payload.length;
+		Segment segment = this.writeSegment;
+		if (segment == null || segment.size - segment.writePosition < recordSize) {
+			segment = this.createSegment(Math.max(SEGMENT_SIZE, recordSize));
+		}
+
+		MappedByteBuffer buffer = segment.getBuffer();
+		int position = segment.writePosition;
+		buffer.putLong(position + 4, timestamp);
+		buffer.putInt(position + 12, crc(timestamp, payload));
+		ByteBuffer target = buffer.duplicate();
+		target.position(position + HEADER_SIZE);
+		target.put(payload);
+		// length is written last, so an interrupted write is seen as end of segment
+		buffer.putInt(position, payload.length);
+		segment.writePosition += recordSize;
+	}
+
+	/**
+	 * Replays spooled messages in the order they were appended.
+	 *
+	 * <p>
+	 * Stops at the first message that could not be sent.
+	 *
+	 * @param maxMessages the maximum number of messages to replay
+	 * @param sender      sends a message; returns true on success
+	 * @return the number of replayed messages
+	 */
+	public synchronized int replay(int maxMessages, Predicate<String> sender) {
+		int sent = 0;
+		while (sent < maxMessages && !this.segments.isEmpty()) {
+			Segment segment = this.segments.firstEntry().getValue();
+			MappedByteBuffer buffer;
+			try {
+				buffer = segment.getBuffer();
+			} catch (IOException e) {
+				this.log.warn("Unable to read spool segment [" + segment.path + "]: " + e.getMessage());
+				this.deleteSegment(segment);
+				continue;
+			}
+
+			int position = segment.readPosition;
+			int length = position + HEADER_SIZE > segment.size ? 0 : buffer.getInt(position);
+			if (length == 0 || position + HEADER_SIZE + Math.abs((long) length) > segment.size) {
+				// End of Segment
+				if (segment == this.writeSegment) {
+					break;
+				}
+				this.deleteSegment(segment);
+				continue;
+			}
+
+			if (length < 0) {
+				// already sent
+				segment.readPosition += HEADER_SIZE - length;
+				continue;
+			}
+
+			long timestamp = buffer.getLong(position + 4);
+			int crc = buffer.getInt(position + 12);
+			byte[] payload = new byte[length];
+			ByteBuffer source = buffer.duplicate();
+			source.position(position + HEADER_SIZE);
+			source.get(payload);
+
+			if (crc != crc(timestamp, payload)) {
+				this.log.warn("Dropping corrupted spool record [" + segment.path + ":" + position + "]");
+			} else if (!sender.test(new String(payload, StandardCharsets.UTF_8))) {
+				break;
+			} else {
+				sent++;
+			}
+			buffer.putInt(position, -length);
+			segment.readPosition += HEADER_SIZE + length;
+		}
+		return sent;
+	}
+
+	/**
+	 * Checks whether the spool is empty.
+	 *
+	 * @return true if there is no message left for replay
+	 */
+	public synchronized boolean isEmpty() {
+		if (this.segments.isEmpty()) {
+			return true;
+		}
+		if (this.segments.size() > 1) {
+			return false;
+		}
+		Segment segment = this.segments.firstEntry().getValue();
+		return segment == this.writeSegment && segment.readPosition == segment.writePosition;
+	}
+
+	/**
+	 * Gets the total size of all segments in bytes.
+	 *
+	 * @return the size
+	 */
+	public synchronized long getSize() {
+		long size = 0;
+		for (Segment segment : this.segments.values()) {
+			size += segment.size;
+		}
+		return size;
+	}
+
+	/**
+	 * Flushes all pending writes to disk and releases the write segment.
+	 */
+	public synchronized void close() {
+		if (this.writeSegment != null && this.writeSegment.buffer != null) {
+			this.writeSegment.buffer.force();
+		}
+		this.writeSegment = null;
+		for (Segment segment : this.segments.values()) {
+			segment.buffer = null;
+		}
+	}
+
+	private Segment createSegment(int size) throws IOException {
+		if (this.writeSegment != null && this.writeSegment.buffer != null) {
+			this.writeSegment.buffer.force();
+		}
+		long sequence = this.segments.isEmpty() ? 0 : this.segments.lastKey() + 1;
+		Path path = this.directory.resolve(String.format("%020d", sequence) + FILE_SUFFIX);
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+				StandardOpenOption.WRITE)) {
+			Segment segment = new Segment(sequence, path, size);
+			segment.buffer = channel.map(MapMode.READ_WRITE, 0, size);
+			this.segments.put(sequence, segment);
+			this.writeSegment = segment;
+		}
+		this.applyMaxSize();
+		return this.writeSegment;
+	}
+
+	/**
+	 * Drops the oldest segments while the total size exceeds the maximum size.
+	 */
+	private void applyMaxSize() {
+		long size = this.getSize();
+		while (size > this.maxSize && this.segments.size() > 1) {
+			Entry<Long, Segment> oldest = this.segments.firstEntry();
+			this.log.warn("Spool exceeds maximum size of [" + this.maxSize + "] bytes. Dropping segment ["
+					+ oldest.getValue().path + "]");
+			size -= oldest.getValue().size;
+			this.deleteSegment(oldest.getValue());
+		}
+	}
+
+	private void deleteSegment(Segment segment) {
+		this.segments.remove(segment.sequence);
+		segment.buffer = null;
+		try {
+			Files.deleteIfExists(segment.path);
+		} catch (IOException e) {
+			this.log.warn("Unable to delete spool segment [" + segment.path + "]: " + e.getMessage());
+		}
+	}
+
+	private static int crc(long timestamp, byte[] payload) {
+		CRC32 crc = new CRC32();
+		crc.update(ByteBuffer.allocate(8).putLong(timestamp).array());
+		crc.update(payload);
+		return (int) crc.getValue();
+	}
+
+}
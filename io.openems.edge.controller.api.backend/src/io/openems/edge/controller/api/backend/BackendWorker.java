@@ -1,37 +1,43 @@
 package io.openems.edge.controller.api.backend;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.google.common.collect.EvictingQueue;
 import com.google.gson.JsonElement;
 
+import io.openems.common.OpenemsConstants;
 import io.openems.common.channel.AccessMode;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.jsonrpc.base.JsonrpcMessage;
 import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
 import io.openems.common.types.ChannelAddress;
-import io.openems.common.types.OpenemsType;
 import io.openems.common.worker.AbstractCycleWorker;
-import io.openems.edge.common.channel.EnumReadChannel;
-import io.openems.edge.common.type.slidingvalue.DoubleSlidingValue;
-import io.openems.edge.common.type.slidingvalue.FloatSlidingValue;
-import io.openems.edge.common.type.slidingvalue.IntegerSlidingValue;
-import io.openems.edge.common.type.slidingvalue.LatestSlidingValue;
-import io.openems.edge.common.type.slidingvalue.LongSlidingValue;
-import io.openems.edge.common.type.slidingvalue.ShortSlidingValue;
-import io.openems.edge.common.type.slidingvalue.SlidingValue;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.ComponentManager;
+import io.openems.edge.common.component.OpenemsComponent;
 
 class BackendWorker extends AbstractCycleWorker {
 
 	private static final int MAX_CACHED_MESSAGES = 1000;
+	private static final String SPOOL_PATH = "backend-spool";
 
-	// private final Logger log = LoggerFactory.getLogger(BackendWorker.class);
+	private final Logger log = LoggerFactory.getLogger(BackendWorker.class);
 
 	private final BackendApiImpl parent;
 
@@ -41,12 +47,21 @@ class BackendWorker extends AbstractCycleWorker {
 	// Holds an current NoOfCycles
 	private Optional<Integer> increasedNoOfCycles = Optional.empty();
 
-	// Current values
-	private final ConcurrentHashMap<ChannelAddress, SlidingValue<?>> data = new ConcurrentHashMap<>();
+	// Current values; only accessed by the worker thread
+	private final Map<OpenemsComponent, ComponentSlots> slots = new IdentityHashMap<>();
+	private final List<ChannelSlot> removedSlots = new ArrayList<>();
+	private long componentsVersion = -1;
+
+	// Number of samples, i.e. calls of updateData(); written by the worker thread,
+	// read by the onChange-listeners of the ChannelSlots
+	private volatile long samples = 0;
 
-	// Unsent queue (FIFO)
+	// Unsent queue (FIFO); used if the persistent spool is disabled
 	private EvictingQueue<JsonrpcMessage> unsent = EvictingQueue.create(MAX_CACHED_MESSAGES);
 
+	// Persistent spool for unsent messages; null if disabled
+	private BackendSpool spool = null;
+
 	// By default the worker reads and sends only changed values. If this variable
 	// is set to 'false', it sends all values once.
 	private final AtomicBoolean sendChangedValuesOnly = new AtomicBoolean(false);
@@ -57,12 +72,31 @@ class BackendWorker extends AbstractCycleWorker {
 
 	@Override
 	public void activate(String name) {
+		if (this.parent.spoolMaxSize > 0) {
+			try {
+				this.spool = new BackendSpool(Paths.get(OpenemsConstants.getOpenemsDataDir(), SPOOL_PATH, name),
+						this.parent.spoolMaxSize * 1024L * 1024L);
+			} catch (IOException e) {
+				this.parent.logWarn(this.log,
+						"Unable to open spool. Caching unsent data in memory only: " + e.getMessage());
+			}
+		}
 		super.activate(name);
 	}
 
 	@Override
 	public void deactivate() {
 		super.deactivate();
+		for (ComponentSlots componentSlots : this.slots.values()) {
+			componentSlots.slots.values().forEach(ChannelSlot::unregister);
+		}
+		this.slots.clear();
+		this.removedSlots.clear();
+		this.componentsVersion = -1;
+		BackendSpool spool = this.spool;
+		if (spool != null) {
+			spool.close();
+		}
 	}
 
 	/**
@@ -94,23 +128,20 @@ class BackendWorker extends AbstractCycleWorker {
 		// resets the mode to 'send changed values only'
 		boolean sendChangedValuesOnly = this.sendChangedValuesOnly.getAndSet(true);
 
+		// Pick up Channels that were added at runtime
+		this.updateChannels();
+
 		// Prepare message values
 		Map<ChannelAddress, JsonElement> sendValues = new HashMap<>();
-
-		if (sendChangedValuesOnly) {
-			// Only Changed Values
-			for (Entry<ChannelAddress, SlidingValue<?>> entry : this.data.entrySet()) {
-				JsonElement changedValueOrNull = entry.getValue().getChangedValueOrNull();
-				if (changedValueOrNull != null) {
-					sendValues.put(entry.getKey(), changedValueOrNull);
-				}
-			}
-		} else {
-			// All Values
-			for (Entry<ChannelAddress, SlidingValue<?>> entry : this.data.entrySet()) {
-				sendValues.put(entry.getKey(), entry.getValue().getValue());
+		for (ComponentSlots componentSlots : this.slots.values()) {
+			for (ChannelSlot slot : componentSlots.slots.values()) {
+				this.addSendValue(sendValues, slot, sendChangedValuesOnly);
 			}
 		}
+		for (ChannelSlot slot : this.removedSlots) {
+			this.addSendValue(sendValues, slot, sendChangedValuesOnly);
+		}
+		this.removedSlots.clear();
 
 		boolean canSendFromCache;
 
@@ -136,7 +167,7 @@ class BackendWorker extends AbstractCycleWorker {
 				this.increaseNoOfCycles();
 
 				// cache data for later
-				this.unsent.add(message);
+				this.cache(timestamp, message);
 			}
 
 			canSendFromCache = wasSent;
@@ -144,6 +175,11 @@ class BackendWorker extends AbstractCycleWorker {
 			canSendFromCache = true;
 		}
 
+		// send from spool
+		if (canSendFromCache && this.spool != null && !this.spool.isEmpty()) {
+			this.spool.replay(this.parent.spoolReplayRate, this::sendCached);
+		}
+
 		// send from cache
 		if (canSendFromCache && !this.unsent.isEmpty()) {
 			for (Iterator<JsonrpcMessage> iterator = this.unsent.iterator(); iterator.hasNext();) {
@@ -157,80 +193,162 @@ class BackendWorker extends AbstractCycleWorker {
 		}
 	}
 
+	private void addSendValue(Map<ChannelAddress, JsonElement> sendValues, ChannelSlot slot,
+			boolean sendChangedValuesOnly) {
+		if (sendChangedValuesOnly) {
+			// Only Changed Values
+			JsonElement changedValueOrNull = slot.getChangedValueOrNull();
+			if (changedValueOrNull != null) {
+				sendValues.put(slot.getAddress(), changedValueOrNull);
+			}
+		} else {
+			// All Values
+			sendValues.put(slot.getAddress(), slot.getValue());
+		}
+	}
+
 	/**
-	 * Cycles through all Channels and updates the value.
+	 * Caches an unsent message; in the persistent spool if available, otherwise
+	 * in memory.
+	 * 
+	 * @param timestamp the timestamp of the message
+	 * @param message   the message
 	 */
-	private void updateData() {
-		this.parent.componentManager.getEnabledComponents().parallelStream() //
-				.filter(c -> c.isEnabled()) //
-				.flatMap(component -> component.channels().parallelStream()) //
-				.filter(channel -> // Ignore WRITE_ONLY Channels
-				channel.channelDoc().getAccessMode() == AccessMode.READ_ONLY
-						|| channel.channelDoc().getAccessMode() == AccessMode.READ_WRITE)
-				.forEach(channel -> {
-					ChannelAddress address = channel.address();
-					Object value = channel.value().get();
-
-					// Get existing SlidingValue object or add new one
-					SlidingValue<?> slidingValue = this.data.get(address);
-
-					if (slidingValue == null) {
-						// Create new SlidingValue object
-						if (channel instanceof EnumReadChannel) {
-							slidingValue = new LatestSlidingValue(OpenemsType.INTEGER);
-						} else {
-							switch (channel.getType()) {
-							case INTEGER:
-								slidingValue = new IntegerSlidingValue();
-								break;
-							case DOUBLE:
-								slidingValue = new DoubleSlidingValue();
-								break;
-							case FLOAT:
-								slidingValue = new FloatSlidingValue();
-								break;
-							case LONG:
-								slidingValue = new LongSlidingValue();
-								break;
-							case SHORT:
-								slidingValue = new ShortSlidingValue();
-								break;
-							case BOOLEAN:
-							case STRING:
-								slidingValue = new LatestSlidingValue(channel.getType());
-								break;
-							}
-						}
-						this.data.put(address, slidingValue);
-					}
-
-					// Add Value to SlidingValue object
-					if (slidingValue instanceof LatestSlidingValue) {
-						((LatestSlidingValue) slidingValue).addValue(value);
-					} else {
-						switch (channel.getType()) {
-						case INTEGER:
-							((IntegerSlidingValue) slidingValue).addValue((Integer) value);
-							break;
-						case DOUBLE:
-							((DoubleSlidingValue) slidingValue).addValue((Double) value);
-							break;
-						case FLOAT:
-							((FloatSlidingValue) slidingValue).addValue((Float) value);
-							break;
-						case LONG:
-							((LongSlidingValue) slidingValue).addValue((Long) value);
-							break;
-						case SHORT:
-							((ShortSlidingValue) slidingValue).addValue((Short) value);
-							break;
-						case BOOLEAN:
-						case STRING:
-							// already covered as they are of type LatestSlidingValue
-							break;
-						}
-					}
-				});
+	private void cache(long timestamp, JsonrpcMessage message) {
+		if (this.spool != null) {
+			try {
+				this.spool.append(timestamp, message.toString());
+				return;
+			} catch (IOException e) {
+				this.parent.logWarn(this.log, "Unable to write to spool: " + e.getMessage());
+			}
+		}
+		this.unsent.add(message);
+	}
+
+	/**
+	 * Sends a message that was read from the spool.
+	 * 
+	 * @param message the serialized message
+	 * @return true if the message was sent or is invalid and should be dropped
+	 */
+	private boolean sendCached(String message) {
+		JsonrpcMessage cached;
+		try {
+			cached = JsonrpcMessage.from(message);
+		} catch (OpenemsNamedException e) {
+			this.parent.logWarn(this.log, "Dropping invalid message from spool: " + e.getMessage());
+			return true;
+		}
+		return this.parent.websocket.sendMessage(cached);
+	}
+
+	/**
+	 * Counts one sample for all Channels and keeps the {@link ChannelSlot}s in
+	 * sync with the enabled Components.
+	 *
+	 * <p>
+	 * Values are pushed into the {@link ChannelSlot}s by onChange-listeners, so
+	 * this method does not visit any Channel unless the enabled Components
+	 * changed.
+	 */
+	protected void updateData() {
+		ComponentManager componentManager = this.parent.componentManager;
+		long version = componentManager.getComponentsVersion();
+		if (version != this.componentsVersion) {
+			this.componentsVersion = version;
+			this.updateComponents(componentManager.getEnabledComponents());
+		}
+		this.samples++;
+	}
+
+	/**
+	 * Registers {@link ChannelSlot}s for added Components and unregisters the ones
+	 * of removed Components.
+	 *
+	 * @param components the enabled Components
+	 */
+	private void updateComponents(List<OpenemsComponent> components) {
+		Set<OpenemsComponent> enabled = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (OpenemsComponent component : components) {
+			if (component.isEnabled()) {
+				enabled.add(component);
+			}
+		}
+		for (Iterator<Entry<OpenemsComponent, ComponentSlots>> iterator = this.slots.entrySet()
+				.iterator(); iterator.hasNext();) {
+			Entry<OpenemsComponent, ComponentSlots> entry = iterator.next();
+			if (!enabled.contains(entry.getKey())) {
+				// keep the Slots until their last values were sent
+				for (ChannelSlot slot : entry.getValue().slots.values()) {
+					slot.unregister();
+					this.removedSlots.add(slot);
+				}
+				iterator.remove();
+			}
+		}
+		for (OpenemsComponent component : enabled) {
+			this.slots.computeIfAbsent(component, c -> new ComponentSlots()).update(component);
+		}
+	}
+
+	/**
+	 * Registers {@link ChannelSlot}s for Channels that were added to already
+	 * known Components after their activation and unregisters the ones of removed
+	 * Channels.
+	 */
+	private void updateChannels() {
+		for (Entry<OpenemsComponent, ComponentSlots> entry : this.slots.entrySet()) {
+			entry.getValue().update(entry.getKey());
+		}
+	}
+
+	/**
+	 * Holds the {@link ChannelSlot}s of one Component.
+	 */
+	private class ComponentSlots {
+		// the slots of the readable Channels
+		private final Map<Channel<?>, ChannelSlot> slots = new IdentityHashMap<>();
+		// all known Channels, including WRITE_ONLY Channels
+		private final Set<Channel<?>> channels = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		private void update(OpenemsComponent component) {
+			Set<Channel<?>> channels = Collections.newSetFromMap(new IdentityHashMap<>());
+			channels.addAll(component.channels());
+			if (channels.equals(this.channels)) {
+				return;
+			}
+			for (Iterator<Channel<?>> iterator = this.channels.iterator(); iterator.hasNext();) {
+				Channel<?> channel = iterator.next();
+				if (channels.contains(channel)) {
+					continue;
+				}
+				iterator.remove();
+				ChannelSlot slot = this.slots.remove(channel);
+				if (slot != null) {
+					// keep the Slot until its last value was sent
+					slot.unregister();
+					BackendWorker.this.removedSlots.add(slot);
+				}
+			}
+			for (Channel<?> channel : channels) {
+				if (!this.channels.add(channel)) {
+					continue;
+				}
+				AccessMode accessMode = channel.channelDoc().getAccessMode();
+				if (accessMode != AccessMode.READ_ONLY && accessMode != AccessMode.READ_WRITE) {
+					// Ignore WRITE_ONLY Channels
+					continue;
+				}
+				ChannelSlot slot = new ChannelSlot(channel, BackendWorker.this::getSamples);
+				slot.register();
+				this.slots.put(channel, slot);
+			}
+		}
+	}
+
+	private long getSamples() {
+		return this.samples;
 	}
 
 	/**
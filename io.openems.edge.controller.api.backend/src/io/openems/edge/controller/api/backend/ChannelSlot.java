@@ -0,0 +1,146 @@
+package io.openems.edge.controller.api.backend;
+
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+import com.google.gson.JsonElement;
+
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.EnumReadChannel;
+import io.openems.edge.common.channel.value.Value;
+import io.openems.edge.common.type.slidingvalue.DoubleSlidingValue;
+import io.openems.edge.common.type.slidingvalue.FloatSlidingValue;
+import io.openems.edge.common.type.slidingvalue.IntegerSlidingValue;
+import io.openems.edge.common.type.slidingvalue.LatestSlidingValue;
+import io.openems.edge.common.type.slidingvalue.LongSlidingValue;
+import io.openems.edge.common.type.slidingvalue.ShortSlidingValue;
+import io.openems.edge.common.type.slidingvalue.SlidingValue;
+
+/**
+ * Binds a readable {@link Channel} to its {@link SlidingValue}.
+ *
+ * <p>
+ * The slot listens for changes of the Channel value. A value is added to the
+ * SlidingValue only when it is replaced or when the SlidingValue is read,
+ * weighted by the number of samples it was valid for. Unchanged Channels
+ * therefore cost nothing per Cycle.
+ */
+class ChannelSlot {
+
+	private final ChannelAddress address;
+	private final Channel<?> channel;
+	private final SlidingValue<Object> slidingValue;
+	private final LongSupplier samples;
+	private final BiConsumer<Value<Object>, Value<Object>> onChange;
+
+	// the current value of the Channel and the sample since when it is valid
+	private Object value;
+	private long since;
+
+	@SuppressWarnings("unchecked")
+	protected ChannelSlot(Channel<?> channel, LongSupplier samples) {
+		this.address = channel.address();
+		this.channel = channel;
+		this.slidingValue = (SlidingValue<Object>) createSlidingValue(channel);
+		this.samples = samples;
+		this.onChange = (oldValue, newValue) -> {
+			this.setValue(newValue.get());
+		};
+	}
+
+	/**
+	 * Starts listening to the Channel.
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized void register() {
+		// Register before reading the current value, so that no change gets lost.
+		// The listener waits for this lock.
+		((Channel<Object>) this.channel).onChange(this.onChange);
+		this.value = this.channel.value().get();
+		this.since = this.samples.getAsLong();
+	}
+
+	private static SlidingValue<?> createSlidingValue(Channel<?> channel) {
+		if (channel instanceof EnumReadChannel) {
+			return new LatestSlidingValue(OpenemsType.INTEGER);
+		}
+		switch (channel.getType()) {
+		case INTEGER:
+			return new IntegerSlidingValue();
+		case DOUBLE:
+			return new DoubleSlidingValue();
+		case FLOAT:
+			return new FloatSlidingValue();
+		case LONG:
+			return new LongSlidingValue();
+		case SHORT:
+			return new ShortSlidingValue();
+		case BOOLEAN:
+		case STRING:
+		default:
+			return new LatestSlidingValue(channel.getType());
+		}
+	}
+
+	/**
+	 * Gets the {@link ChannelAddress}.
+	 *
+	 * @return the {@link ChannelAddress}
+	 */
+	public ChannelAddress getAddress() {
+		return this.address;
+	}
+
+	/**
+	 * Replaces the current value; the previous value is added to the
+	 * {@link SlidingValue} for all samples since it was set.
+	 *
+	 * @param value the new value
+	 */
+	private synchronized void setValue(Object value) {
+		this.flush();
+		this.value = value;
+	}
+
+	private void flush() {
+		long samples = this.samples.getAsLong();
+		if (samples > this.since) {
+			this.slidingValue.addValue(this.value, (int) Math.min(samples - this.since, Integer.MAX_VALUE));
+			this.since = samples;
+		}
+	}
+
+	/**
+	 * Gets the value as a JsonElement if it changed. Resets the values.
+	 *
+	 * @return the value; or null if it had not changed
+	 * @see SlidingValue#getChangedValueOrNull()
+	 */
+	public synchronized JsonElement getChangedValueOrNull() {
+		this.flush();
+		return this.slidingValue.getChangedValueOrNull();
+	}
+
+	/**
+	 * Gets the value as a JsonElement. Resets the values.
+	 *
+	 * @return the value
+	 * @see SlidingValue#getValue()
+	 */
+	public synchronized JsonElement getValue() {
+		this.flush();
+		return this.slidingValue.getValue();
+	}
+
+	/**
+	 * Stops listening to the Channel. Samples after this call do not count.
+	 */
+	public synchronized void unregister() {
+		this.channel.removeOnChangeCallback(this.onChange);
+		this.flush();
+		this.value = null;
+	}
+
+}
@@ -29,6 +29,12 @@ import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 	@AttributeDefinition(name = "No. of Cycles", description = "How many Cycles till data is sent to OpenEMS Backend.")
 	int noOfCycles() default BackendApiImpl.DEFAULT_NO_OF_CYCLES;
 
+	@AttributeDefinition(name = "Max. Spool Size [MB]", description = "Maximum size of the persistent spool for data that could not be sent to OpenEMS Backend. Set to '0' to cache data in memory only.")
+	int spoolMaxSize() default BackendApiImpl.DEFAULT_SPOOL_MAX_SIZE;
+
+	@AttributeDefinition(name = "Spool Replay Rate", description = "How many cached messages are sent per Cycle after the connection to OpenEMS Backend was restored.")
+	int spoolReplayRate() default BackendApiImpl.DEFAULT_SPOOL_REPLAY_RATE;
+
 	@AttributeDefinition(name = "Proxy Address", description = "The IP address or hostname of the proxy server.")
 	String proxyAddress() default "";
 
@@ -0,0 +1,69 @@
+package io.openems.edge.controller.api.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BackendSpoolTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testReplayInOrder() throws Exception {
+		Path directory = this.folder.getRoot().toPath();
+		BackendSpool spool = new BackendSpool(directory, Long.MAX_VALUE);
+		assertTrue(spool.isEmpty());
+
+		spool.append(1000, "one");
+		spool.append(2000, "two");
+		spool.append(3000, "three");
+		assertFalse(spool.isEmpty());
+
+		// Sending fails -> nothing is replayed
+		assertEquals(0, spool.replay(10, message -> false));
+
+		// Replay is limited by rate
+		List<String> sent = new ArrayList<>();
+		assertEquals(2, spool.replay(2, sent::add));
+		assertEquals(Arrays.asList("one", "two"), sent);
+
+		// Survives restart; already sent records are skipped
+		spool.close();
+		spool = new BackendSpool(directory, Long.MAX_VALUE);
+		spool.append(4000, "four");
+		assertEquals(2, spool.replay(10, sent::add));
+		assertEquals(Arrays.asList("one", "two", "three", "four"), sent);
+		assertTrue(spool.isEmpty());
+	}
+
+	@Test
+	public void testMaxSize() throws Exception {
+		Path directory = this.folder.getRoot().toPath();
+		BackendSpool spool = new BackendSpool(directory, BackendSpool.SEGMENT_SIZE);
+
+		char[] chars = new char[BackendSpool.SEGMENT_SIZE / 2];
+		Arrays.fill(chars, 'x');
+		String large = new String(chars);
+		spool.append(1000, "first" + large);
+		spool.append(2000, "second" + large); // does not fit -> second segment
+		spool.append(3000, "third");
+
+		// Oldest segment was dropped
+		assertEquals(BackendSpool.SEGMENT_SIZE, spool.getSize());
+		List<String> sent = new ArrayList<>();
+		assertEquals(2, spool.replay(10, sent::add));
+		assertTrue(sent.get(0).startsWith("second"));
+		assertEquals("third", sent.get(1));
+	}
+
+}
@@ -0,0 +1,83 @@
+package io.openems.edge.controller.api.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.OpenemsComponent;
+
+public class ChannelSlotTest {
+
+	private static class DummyComponent extends AbstractOpenemsComponent {
+
+		public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
+			POWER(Doc.of(OpenemsType.INTEGER));
+
+			private final Doc doc;
+
+			private ChannelId(Doc doc) {
+				this.doc = doc;
+			}
+
+			@Override
+			public Doc doc() {
+				return this.doc;
+			}
+		}
+
+		public DummyComponent() {
+			super(//
+					OpenemsComponent.ChannelId.values(), //
+					ChannelId.values() //
+			);
+			super.activate(null, "dummy0", "", true);
+		}
+	}
+
+	@Test
+	public void test() {
+		DummyComponent component = new DummyComponent();
+		Channel<Integer> channel = component.channel(DummyComponent.ChannelId.POWER);
+		AtomicLong samples = new AtomicLong();
+		ChannelSlot slot = new ChannelSlot(channel, samples::get);
+		slot.register();
+		assertEquals(new ChannelAddress("dummy0", "Power"), slot.getAddress());
+
+		// 1000 for three samples, 2000 for one sample
+		channel.setNextValue(1000);
+		channel.nextProcessImage();
+		samples.addAndGet(3);
+		channel.setNextValue(2000);
+		channel.nextProcessImage();
+		samples.incrementAndGet();
+		assertEquals(new JsonPrimitive(1250), slot.getChangedValueOrNull());
+
+		// unchanged value is valid for the following samples
+		samples.addAndGet(10);
+		assertEquals(new JsonPrimitive(2000), slot.getChangedValueOrNull());
+		samples.addAndGet(10);
+		assertNull(slot.getChangedValueOrNull());
+		samples.incrementAndGet();
+		assertEquals(new JsonPrimitive(2000), slot.getValue());
+
+		// no samples after unregister -> value is reset once
+		slot.unregister();
+		channel.setNextValue(5000);
+		channel.nextProcessImage();
+		samples.addAndGet(10);
+		assertEquals(JsonNull.INSTANCE, slot.getChangedValueOrNull());
+		assertNull(slot.getChangedValueOrNull());
+	}
+
+}
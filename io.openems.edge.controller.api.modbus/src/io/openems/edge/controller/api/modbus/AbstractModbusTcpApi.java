@@ -1,12 +1,14 @@
 package io.openems.edge.controller.api.modbus;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.osgi.service.cm.ConfigurationAdmin;
 import org.osgi.service.component.ComponentContext;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,6 +26,7 @@ import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.channel.WriteChannel;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.event.EdgeEventConstants;
 import io.openems.edge.common.jsonapi.JsonApi;
 import io.openems.edge.common.meta.Meta;
 import io.openems.edge.common.modbusslave.ModbusRecord;
@@ -43,7 +46,7 @@ import io.openems.edge.controller.api.modbus.jsonrpc.GetModbusProtocolRequest;
 import io.openems.edge.controller.api.modbus.jsonrpc.GetModbusProtocolResponse;
 
 public abstract class AbstractModbusTcpApi extends AbstractOpenemsComponent
-		implements ModbusTcpApi, Controller, OpenemsComponent, JsonApi {
+		implements ModbusTcpApi, Controller, OpenemsComponent, JsonApi, EventHandler {
 
 	public static final int UNIT_ID = 1;
 	public static final int DEFAULT_PORT = 502;
@@ -73,7 +76,8 @@ public abstract class AbstractModbusTcpApi extends AbstractOpenemsComponent
 		this._components.put(component.id(), component);
 	}
 
-	private volatile Map<String, ModbusSlave> _components = new HashMap<>();
+	// Components are added by OSGi and read by the Modbus-Server threads
+	private final Map<String, ModbusSlave> _components = new ConcurrentHashMap<>();
 
 	public AbstractModbusTcpApi(String implementationName,
 			io.openems.edge.common.channel.ChannelId[] firstInitialChannelIds,
@@ -109,6 +113,7 @@ public abstract class AbstractModbusTcpApi extends AbstractOpenemsComponent
 
 		// Initialize Modbus Records
 		this.initializeModbusRecords(metaComponent, componentIds);
+		this.processImage.initialize();
 
 		// Start Modbus-Server
 		this.startApiWorker.activate(id);
@@ -294,6 +299,18 @@ public abstract class AbstractModbusTcpApi extends AbstractOpenemsComponent
 		this.apiWorker.run();
 	}
 
+	@Override
+	public void handleEvent(Event event) {
+		if (!this.isEnabled()) {
+			return;
+		}
+		switch (event.getTopic()) {
+		case EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE:
+			this.processImage.updateSnapshot();
+			break;
+		}
+	}
+
 	@Override
 	protected void logDebug(Logger log, String message) {
 		super.logDebug(log, message);
@@ -1,6 +1,11 @@
 package io.openems.edge.controller.api.modbus;
 
+import java.util.Arrays;
+import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,96 +26,227 @@ import io.openems.edge.common.modbusslave.ModbusRecord;
 
 /**
  * This implementation answers Modbus-TCP Slave requests.
+ *
+ * <p>
+ * All Records are encoded once per Cycle into an immutable {@link Snapshot}
+ * (see {@link #updateSnapshot()}), which is published by swapping an atomic
+ * reference. Read requests only validate the requested range against the static
+ * {@link Layout} and wrap the words of the current Snapshot; they neither lock
+ * nor encode. Writes are forwarded to the Records on a separate, synchronized path.
  */
 public class MyProcessImage implements ProcessImage {
 
+	/**
+	 * The static layout of the Records, indexed by Modbus address.
+	 */
+	private static class Layout {
+		// per address: the index of the Record in 'records'; -1 if undefined
+		private final int[] recordIndex;
+		// per address: the word index within the Record
+		private final int[] wordIndex;
+		private final ModbusRecord[] records;
+		private final int[] startAddresses;
+
+		private Layout(SortedMap<Integer, ModbusRecord> records) {
+			int length = 0;
+			if (!records.isEmpty()) {
+				int lastAddress = records.lastKey();
+				length = lastAddress + records.get(lastAddress).getType().getWords();
+			}
+			this.recordIndex = new int[length];
+			this.wordIndex = new int[length];
+			Arrays.fill(this.recordIndex, -1);
+			this.records = new ModbusRecord[records.size()];
+			this.startAddresses = new int[records.size()];
+			int r = 0;
+			for (Entry<Integer, ModbusRecord> entry : records.entrySet()) {
+				int address = entry.getKey();
+				ModbusRecord record = entry.getValue();
+				this.records[r] = record;
+				this.startAddresses[r] = address;
+				for (int j = 0; j < record.getType().getWords() && address + j < length; j++) {
+					this.recordIndex[address + j] = r;
+					this.wordIndex[address + j] = j;
+				}
+				r++;
+			}
+		}
+
+		private boolean isRecordStart(int address) {
+			return address >= 0 && address < this.recordIndex.length && this.recordIndex[address] != -1
+					&& this.wordIndex[address] == 0;
+		}
+
+		private int getWords(int address) {
+			return this.records[this.recordIndex[address]].getType().getWords();
+		}
+	}
+
+	/**
+	 * The encoded values of all Records of one Cycle.
+	 */
+	private static class Snapshot {
+		private final Layout layout;
+		// per address; zero if undefined
+		private final short[] words;
+
+		private Snapshot(Layout layout, short[] words) {
+			this.layout = layout;
+			this.words = words;
+		}
+	}
+
 	private final Logger log = LoggerFactory.getLogger(MyProcessImage.class);
 
 	protected final AbstractModbusTcpApi parent;
 
+	private final Object writeLock = new Object();
+	private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+	private volatile Layout layout = new Layout(new TreeMap<>());
+
 	protected MyProcessImage(AbstractModbusTcpApi parent) {
 		this.parent = parent;
 	}
 
+	/**
+	 * Initializes the layout from the Records of the parent. Must be called after
+	 * all Records were added.
+	 */
+	protected void initialize() {
+		this.layout = new Layout(this.parent.records);
+		this.snapshot.set(null);
+	}
+
+	/**
+	 * Encodes all Records into a new {@link Snapshot} and publishes it. This is
+	 * called once per Cycle after the process image switch, i.e. when Channel
+	 * values may have changed.
+	 */
+	protected void updateSnapshot() {
+		this.snapshot.set(this.encode(this.layout));
+	}
+
+	private Snapshot encode(Layout layout) {
+		short[] words = new short[layout.recordIndex.length];
+		// Components are resolved per Snapshot, as they may be added after
+		// initialization; Records of one Component are mostly consecutive
+		ModbusRecord previous = null;
+		OpenemsComponent component = null;
+		for (int r = 0; r < layout.records.length; r++) {
+			ModbusRecord record = layout.records[r];
+			if (previous == null || !Objects.equals(previous.getComponentId(), record.getComponentId())) {
+				component = this.getComponent(record);
+			}
+			previous = record;
+			int address = layout.startAddresses[r];
+			byte[] value = record.getValue(component);
+			for (int j = 0; j < value.length / 2 && address + j < words.length; j++) {
+				words[address + j] = (short) ((value[j * 2] & 0xff) << 8 | (value[j * 2 + 1] & 0xff));
+			}
+		}
+		return new Snapshot(layout, words);
+	}
+
+	private OpenemsComponent getComponent(ModbusRecord record) {
+		if (record.getComponentId() == null) {
+			return null;
+		}
+		return this.parent.getComponent(record.getComponentId());
+	}
+
+	private Snapshot getSnapshot() {
+		Snapshot snapshot = this.snapshot.get();
+		if (snapshot == null) {
+			// no Cycle since initialization
+			this.snapshot.compareAndSet(null, this.encode(this.layout));
+			snapshot = this.snapshot.get();
+		}
+		return snapshot;
+	}
+
 	@Override
-	public synchronized InputRegister[] getInputRegisterRange(int offset, int count) throws MyIllegalAddressException {
+	public InputRegister[] getInputRegisterRange(int offset, int count) throws MyIllegalAddressException {
 		this.parent.logDebug(this.log, "Reading Input Registers. Address [" + offset + "] Count [" + count + "].");
-		Register[] registers = this.getRegisterRange(offset, count);
-		Register[] result = new Register[registers.length];
-		for (int i = 0; i < registers.length; i++) {
-			result[i] = registers[i];
+		Snapshot snapshot = this.getSnapshot();
+		this.validateRange(snapshot.layout, offset, count);
+		InputRegister[] result = new InputRegister[count];
+		for (int i = 0; i < count; i++) {
+			result[i] = new MyRegister(this, offset + i, snapshot.words[offset + i]);
 		}
 		return result;
 	}
 
 	@Override
-	public synchronized Register[] getRegisterRange(int offset, int count) throws MyIllegalAddressException {
+	public Register[] getRegisterRange(int offset, int count) throws MyIllegalAddressException {
 		this.parent.logDebug(this.log, "Reading Registers. Address [" + offset + "] Count [" + count + "].");
-		SortedMap<Integer, ModbusRecord> records = this.parent.records.subMap(offset, offset + count);
+		Snapshot snapshot = this.getSnapshot();
+		this.validateRange(snapshot.layout, offset, count);
 		Register[] result = new Register[count];
-		for (int i = 0; i < count;) {
-			// Get record for modbus address
-			int ref = i + offset;
-			ModbusRecord record = records.get(ref);
-			if (record == null) {
-				throw new MyIllegalAddressException(this, "Record for Modbus address [" + ref + "] is undefined.");
-			}
-
-			// Get Registers from Record
-			Register[] registers = this.getRecordValueRegisters(record);
-
-			// make sure this Record fits
-			if (result.length < i + registers.length) {
-				throw new MyIllegalAddressException(this,
-						"Record for Modbus address [" + ref + "] does not fit in Result.");
-			}
-			for (int j = 0; j < registers.length; j++) {
-				result[i + j] = registers[j];
-			}
-
-			// increase i by word length
-			i += registers.length;
+		for (int i = 0; i < count; i++) {
+			result[i] = new MyRegister(this, offset + i, snapshot.words[offset + i]);
 		}
 		return result;
 	}
 
 	@Override
-	public synchronized Register getRegister(int ref) throws MyIllegalAddressException {
+	public Register getRegister(int ref) throws MyIllegalAddressException {
 		this.parent.logDebug(this.log, "Get Register. Address [" + ref + "].");
-		ModbusRecord record = this.parent.records.get(ref);
-
-		// Get Registers from Record
-		Register[] registers = this.getRecordValueRegisters(record);
+		Snapshot snapshot = this.getSnapshot();
+		if (!snapshot.layout.isRecordStart(ref)) {
+			throw new MyIllegalAddressException(this, "Record for Modbus address [" + ref + "] is undefined.");
+		}
 
 		// make sure this Record requires only one Register/Word
-		if (registers.length > 1) {
+		if (snapshot.layout.getWords(ref) > 1) {
 			throw new MyIllegalAddressException(this,
 					"Record for Modbus address [" + ref + "] requires more than one Register.");
 		}
 
-		return registers[0];
+		return new MyRegister(this, ref, snapshot.words[ref]);
 	}
 
 	/**
-	 * Get value as byte-array and convert it to InputRegisters.
+	 * Makes sure the range starts at a Record and only contains complete
+	 * Records.
 	 * 
-	 * @param record the record
-	 * @return the Register
+	 * @param layout the {@link Layout}
+	 * @param offset the start address
+	 * @param count  the number of words
+	 * @throws MyIllegalAddressException if the range is invalid
 	 */
-	private Register[] getRecordValueRegisters(ModbusRecord record) {
-		MyRegister[] result = new MyRegister[record.getType().getWords()];
-		OpenemsComponent component = this.parent.getComponent(record.getComponentId());
-		byte[] value = record.getValue(component);
-		for (int j = 0; j < value.length / 2; j++) {
-			result[j] = new MyRegister(j, value[j * 2], value[j * 2 + 1], //
-					/*
-					 * On Set-Value event:
-					 */
-					(register) -> {
-						record.writeValue(component, register.getIndex(), register.getByte1(), register.getByte2());
-					});
+	private void validateRange(Layout layout, int offset, int count) throws MyIllegalAddressException {
+		for (int ref = offset; ref < offset + count;) {
+			if (!layout.isRecordStart(ref)) {
+				throw new MyIllegalAddressException(this, "Record for Modbus address [" + ref + "] is undefined.");
+			}
+			int words = layout.getWords(ref);
+			if (ref + words > offset + count) {
+				throw new MyIllegalAddressException(this,
+						"Record for Modbus address [" + ref + "] does not fit in Result.");
+			}
+			ref += words;
+		}
+	}
+
+	/**
+	 * Writes one word to the Record at the given address.
+	 * 
+	 * @param address the Modbus address
+	 * @param byte1   the first byte
+	 * @param byte2   the second byte
+	 */
+	protected void writeRegister(int address, byte byte1, byte byte2) {
+		Layout layout = this.layout;
+		if (address < 0 || address >= layout.recordIndex.length || layout.recordIndex[address] == -1) {
+			this.parent.logWarn(this.log, "Unable to write to undefined Modbus address [" + address + "].");
+			return;
+		}
+		ModbusRecord record = layout.records[layout.recordIndex[address]];
+		OpenemsComponent component = this.getComponent(record);
+		synchronized (this.writeLock) {
+			// Records buffer the words of multi-word values
+			record.writeValue(component, layout.wordIndex[address], byte1, byte2);
 		}
-		return result;
 	}
 
 	/**********************************************
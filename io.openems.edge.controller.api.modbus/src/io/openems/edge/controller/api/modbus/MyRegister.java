@@ -1,42 +1,30 @@
 package io.openems.edge.controller.api.modbus;
 
-import java.util.function.Consumer;
-
 import com.ghgande.j2mod.modbus.procimg.Register;
 
 /**
- * Largely copied from
- * {@link com.ghgande.j2mod.modbus.procimg.SynchronizedAbstractRegister}.
+ * One word of a {@link MyProcessImage} snapshot.
+ *
+ * <p>
+ * The value is immutable; it is encoded once per Cycle. Calls to one of the
+ * setValue-methods do not modify the snapshot but are forwarded to the
+ * {@link MyProcessImage} which writes to the Channel.
  */
 public class MyRegister implements Register {
 
-	private final int index;
-	private final Consumer<MyRegister> onSetCallback;
-	private byte byte1;
-	private byte byte2;
-
-	public MyRegister(int index, byte byte1, byte byte2, Consumer<MyRegister> callback) {
-		this.index = index;
-		this.byte1 = byte1;
-		this.byte2 = byte2;
-		this.onSetCallback = callback;
-	}
-
-	protected int getIndex() {
-		return this.index;
-	}
-
-	protected byte getByte1() {
-		return this.byte1;
-	}
+	private final MyProcessImage processImage;
+	private final int address;
+	private final short value;
 
-	protected byte getByte2() {
-		return this.byte2;
+	public MyRegister(MyProcessImage processImage, int address, short value) {
+		this.processImage = processImage;
+		this.address = address;
+		this.value = value;
 	}
 
 	@Override
 	public int getValue() {
-		return ((this.byte1 & 0xff) << 8 | (this.byte2 & 0xff));
+		return this.value & 0xffff;
 	}
 
 	@Override
@@ -46,18 +34,16 @@ public class MyRegister implements Register {
 
 	@Override
 	public short toShort() {
-		return (short) this.getValue();
+		return this.value;
 	}
 
 	@Override
 	public byte[] toBytes() {
-		return new byte[] { this.byte1, this.byte2 };
+		return new byte[] { (byte) (this.value >> 8), (byte) this.value };
 	}
 
 	protected void setValue(byte byte1, byte byte2) {
-		this.byte1 = byte1;
-		this.byte2 = byte2;
-		this.onSetCallback.accept(this);
+		this.processImage.writeRegister(this.address, byte1, byte2);
 	}
 
 	@Override
@@ -66,7 +52,7 @@ public class MyRegister implements Register {
 	}
 
 	@Override
-	public final synchronized void setValue(short s) {
+	public final void setValue(short s) {
 		this.setValue((byte) (0xff & (s >> 8)), (byte) (0xff & s));
 	}
 
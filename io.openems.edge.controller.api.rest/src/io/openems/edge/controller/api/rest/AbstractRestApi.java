@@ -7,6 +7,8 @@ import org.eclipse.jetty.server.ConnectionLimit;
 import org.eclipse.jetty.server.Server;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,6 +18,7 @@ import io.openems.common.exceptions.OpenemsException;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.event.EdgeEventConstants;
 import io.openems.edge.common.user.UserService;
 import io.openems.edge.controller.api.Controller;
 import io.openems.edge.controller.api.common.ApiWorker;
@@ -23,11 +26,18 @@ import io.openems.edge.controller.api.rest.readonly.RestApiReadOnlyImpl;
 import io.openems.edge.timedata.api.Timedata;
 
 public abstract class AbstractRestApi extends AbstractOpenemsComponent
-		implements RestApi, Controller, OpenemsComponent {
+		implements RestApi, Controller, OpenemsComponent, EventHandler {
 
 	public static final boolean DEFAULT_DEBUG_MODE = true;
 
+	/**
+	 * Maximum number of concurrent connections for regular requests.
+	 */
+	private static final int MAX_CONNECTIONS = 5;
+
 	protected final ApiWorker apiWorker = new ApiWorker();
+	protected final ChannelResolver channelResolver = new ChannelResolver();
+	protected final ChannelStream channelStream = new ChannelStream();
 
 	private final Logger log = LoggerFactory.getLogger(RestApiReadOnlyImpl.class);
 	private final String implementationName;
@@ -60,7 +70,9 @@ public abstract class AbstractRestApi extends AbstractOpenemsComponent
 			this.server = new Server(port);
 			this.server.setHandler(new RestHandler(this));
 			this.server.addBean(new AcceptRateLimit(10, 5, TimeUnit.SECONDS, this.server));
-			this.server.addBean(new ConnectionLimit(5, this.server));
+			// Streams have a limit of their own and do not take the connections of
+			// regular requests
+			this.server.addBean(new ConnectionLimit(MAX_CONNECTIONS + ChannelStream.MAX_CLIENTS, this.server));
 			this.server.start();
 			this.logInfo(this.log, this.implementationName + " started on port [" + port + "].");
 			this._setUnableToStart(false);
@@ -75,6 +87,7 @@ public abstract class AbstractRestApi extends AbstractOpenemsComponent
 	@Deactivate
 	protected void deactivate() {
 		super.deactivate();
+		this.channelStream.deactivate();
 		if (this.server != null) {
 			try {
 				this.server.stop();
@@ -89,6 +102,18 @@ public abstract class AbstractRestApi extends AbstractOpenemsComponent
 		this.apiWorker.run();
 	}
 
+	@Override
+	public void handleEvent(Event event) {
+		if (!this.isEnabled()) {
+			return;
+		}
+		switch (event.getTopic()) {
+		case EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE:
+			this.channelStream.update();
+			break;
+		}
+	}
+
 	@Override
 	protected void logInfo(Logger log, String message) {
 		super.logInfo(log, message);
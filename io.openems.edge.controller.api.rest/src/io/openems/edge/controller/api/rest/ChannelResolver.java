@@ -0,0 +1,119 @@
+package io.openems.edge.controller.api.rest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.ComponentManager;
+import io.openems.edge.common.component.OpenemsComponent;
+
+/**
+ * Resolves Channel addresses that may contain regular expressions, e.g.
+ * "ess0/(Soc|ActivePower)" or ".*&#47;ActivePower".
+ *
+ * <p>
+ * Compiled {@link Pattern}s are cached per pattern string. The resolved
+ * Channels are cached as well and are reused until the enabled Components
+ * change (see {@link ComponentManager#getComponentsVersion()}).
+ */
+public class ChannelResolver {
+
+	private static final int MAX_CACHED_PATTERNS = 100;
+
+	private static final Pattern REGEX_CHARACTERS = Pattern.compile("[.*+?^$|()\\[\\]{}\\\\]");
+
+	private static class Resolved {
+		private final long version;
+		private final List<Channel<?>> channels;
+
+		private Resolved(long version, List<Channel<?>> channels) {
+			this.version = version;
+			this.channels = channels;
+		}
+	}
+
+	private final Map<String, Pattern> patterns = new ConcurrentHashMap<>();
+	private final Map<String, Resolved> resolved = new ConcurrentHashMap<>();
+
+	/**
+	 * Is the given Component-ID or Channel-ID a regular expression?.
+	 *
+	 * @param id the Component-ID or Channel-ID
+	 * @return true if it contains characters with a special meaning in regular
+	 *         expressions
+	 */
+	public static boolean isPattern(String id) {
+		return REGEX_CHARACTERS.matcher(id).find();
+	}
+
+	/**
+	 * Resolves all Channels of enabled Components that match the given patterns.
+	 *
+	 * @param componentManager the {@link ComponentManager}
+	 * @param componentPattern the Component-ID or a regular expression
+	 * @param channelPattern   the Channel-ID or a regular expression
+	 * @return an unmodifiable List of Channels, sorted by Component and Channel
+	 * @throws OpenemsNamedException on invalid pattern
+	 */
+	public List<Channel<?>> resolve(ComponentManager componentManager, String componentPattern,
+			String channelPattern) throws OpenemsNamedException {
+		String key = componentPattern + "/" + channelPattern;
+		long version = componentManager.getComponentsVersion();
+		Resolved result = this.resolved.get(key);
+		if (result != null && result.version == version) {
+			return result.channels;
+		}
+
+		Pattern component = this.getPattern(componentPattern);
+		Pattern channel = this.getPattern(channelPattern);
+		List<Channel<?>> channels = new ArrayList<>();
+		for (OpenemsComponent c : componentManager.getEnabledComponents()) {
+			if (!component.matcher(c.id()).matches()) {
+				continue;
+			}
+			for (Channel<?> ch : c.channels()) {
+				if (channel.matcher(ch.channelId().id()).matches()) {
+					channels.add(ch);
+				}
+			}
+		}
+		channels.sort((c1, c2) -> {
+			int result1 = c1.getComponent().id().compareTo(c2.getComponent().id());
+			if (result1 != 0) {
+				return result1;
+			}
+			return c1.channelId().id().compareTo(c2.channelId().id());
+		});
+		result = new Resolved(version, Collections.unmodifiableList(channels));
+		if (this.resolved.size() >= MAX_CACHED_PATTERNS) {
+			this.resolved.clear();
+		}
+		this.resolved.put(key, result);
+		return result.channels;
+	}
+
+	private Pattern getPattern(String pattern) throws OpenemsException {
+		Pattern result = this.patterns.get(pattern);
+		if (result != null) {
+			return result;
+		}
+		try {
+			result = Pattern.compile(pattern);
+		} catch (PatternSyntaxException e) {
+			throw new OpenemsException("Invalid pattern [" + pattern + "]: " + e.getDescription());
+		}
+		if (this.patterns.size() >= MAX_CACHED_PATTERNS) {
+			this.patterns.clear();
+		}
+		this.patterns.put(pattern, result);
+		return result;
+	}
+
+}
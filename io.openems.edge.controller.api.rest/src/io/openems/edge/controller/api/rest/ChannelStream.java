@@ -0,0 +1,231 @@
+package io.openems.edge.controller.api.rest;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import io.openems.edge.common.channel.Channel;
+
+/**
+ * Publishes the values of all Channels that are subscribed by Server-Sent-Events
+ * clients.
+ *
+ * <p>
+ * Once per Cycle {@link #update()} reads the values of the union of all
+ * subscribed Channels into one shared {@link Snapshot} and hands it to every
+ * {@link Client}. Clients only pick the values of their own Channels, so no
+ * client reads a Channel itself and no client needs a thread of its own.
+ */
+public class ChannelStream {
+
+	/**
+	 * Maximum number of concurrently connected {@link Client}s.
+	 */
+	public static final int MAX_CLIENTS = 10;
+
+	/**
+	 * A client of the {@link ChannelStream}.
+	 *
+	 * <p>
+	 * Methods are called by {@link ChannelStream#update()} outside of any lock of
+	 * the {@link ChannelStream}.
+	 */
+	public static interface Client {
+
+		/**
+		 * Called once per Cycle before the {@link Snapshot} is built, e.g. to update
+		 * the subscribed Channels.
+		 */
+		public void refresh();
+
+		/**
+		 * Sends the values of a new {@link Snapshot}.
+		 *
+		 * @param snapshot the {@link Snapshot}
+		 */
+		public void send(Snapshot snapshot);
+
+		/**
+		 * Closes the connection; called on deactivation.
+		 */
+		public void close();
+	}
+
+	/**
+	 * The values of all subscribed Channels of one Cycle.
+	 */
+	public static class Snapshot {
+		private final long number;
+		private final Map<Channel<?>, JsonElement> values;
+		private final Map<Channel<?>, JsonElement> changedValues;
+
+		private Snapshot(long number, Map<Channel<?>, JsonElement> values,
+				Map<Channel<?>, JsonElement> changedValues) {
+			this.number = number;
+			this.values = values;
+			this.changedValues = changedValues;
+		}
+
+		/**
+		 * Gets the number of this Snapshot; increases by one per Cycle.
+		 *
+		 * @return the number
+		 */
+		public long getNumber() {
+			return this.number;
+		}
+
+		/**
+		 * Builds the message for a client.
+		 *
+		 * @param channels the Channels of the client
+		 * @param previous the number of the previous Snapshot that was sent to the
+		 *                 client; all values are added if it is not the direct
+		 *                 predecessor of this Snapshot
+		 * @return a JsonObject of Channel-Address to value; empty if nothing changed
+		 */
+		public JsonObject getValues(Collection<Channel<?>> channels, long previous) {
+			Map<Channel<?>, JsonElement> source = previous == this.number - 1 ? this.changedValues : this.values;
+			JsonObject result = new JsonObject();
+			for (Channel<?> channel : channels) {
+				JsonElement value = source.get(channel);
+				if (value != null) {
+					result.add(channel.address().toString(), value);
+				}
+			}
+			return result;
+		}
+	}
+
+	// Subscribed Channels with their number of subscriptions; guarded by 'this'
+	private final Map<Channel<?>, Integer> subscriptions = new IdentityHashMap<>();
+
+	// guarded by 'this'
+	private final Set<Client> clients = new LinkedHashSet<>();
+	private Snapshot snapshot = new Snapshot(0, new HashMap<>(), new HashMap<>());
+	private boolean isDeactivated = false;
+
+	/**
+	 * Adds a {@link Client}.
+	 *
+	 * @param client the {@link Client}
+	 * @return false if there are already {@link #MAX_CLIENTS} Clients or the
+	 *         stream is deactivated
+	 */
+	public synchronized boolean addClient(Client client) {
+		if (this.isDeactivated || this.clients.size() >= MAX_CLIENTS) {
+			return false;
+		}
+		return this.clients.add(client);
+	}
+
+	/**
+	 * Removes a {@link Client}.
+	 *
+	 * @param client the {@link Client}
+	 */
+	public synchronized void removeClient(Client client) {
+		this.clients.remove(client);
+	}
+
+	/**
+	 * Subscribes Channels. Every call must be followed by a call to
+	 * {@link #unsubscribe(Collection)} with the same Channels.
+	 *
+	 * @param channels the Channels
+	 */
+	public synchronized void subscribe(Collection<Channel<?>> channels) {
+		for (Channel<?> channel : channels) {
+			this.subscriptions.merge(channel, 1, Integer::sum);
+		}
+	}
+
+	/**
+	 * Unsubscribes Channels.
+	 *
+	 * @param channels the Channels
+	 */
+	public synchronized void unsubscribe(Collection<Channel<?>> channels) {
+		for (Channel<?> channel : channels) {
+			this.subscriptions.computeIfPresent(channel, (c, count) -> count > 1 ? count - 1 : null);
+		}
+	}
+
+	/**
+	 * Reads the values of all subscribed Channels into a new {@link Snapshot} and
+	 * sends it to all {@link Client}s. Called once per Cycle after the process
+	 * image switch.
+	 */
+	public void update() {
+		Client[] clients;
+		synchronized (this) {
+			if (this.clients.isEmpty() && this.snapshot.values.isEmpty()) {
+				// nobody is listening
+				return;
+			}
+			clients = this.clients.toArray(new Client[this.clients.size()]);
+		}
+		for (Client client : clients) {
+			client.refresh();
+		}
+
+		Map<Channel<?>, JsonElement> previousValues;
+		long number;
+		Channel<?>[] channels;
+		synchronized (this) {
+			previousValues = this.snapshot.values;
+			number = this.snapshot.number;
+			channels = this.subscriptions.keySet().toArray(new Channel<?>[this.subscriptions.size()]);
+		}
+
+		Map<Channel<?>, JsonElement> values = new IdentityHashMap<>(channels.length);
+		Map<Channel<?>, JsonElement> changedValues = new IdentityHashMap<>();
+		for (Channel<?> channel : channels) {
+			JsonElement value = channel.value().asJson();
+			values.put(channel, value);
+			if (!value.equals(previousValues.get(channel))) {
+				changedValues.put(channel, value);
+			}
+		}
+
+		Snapshot snapshot = new Snapshot(number + 1, values, changedValues);
+		synchronized (this) {
+			this.snapshot = snapshot;
+		}
+		for (Client client : clients) {
+			client.send(snapshot);
+		}
+	}
+
+	/**
+	 * Gets the number of {@link Client}s.
+	 *
+	 * @return the number of Clients
+	 */
+	public synchronized int getNumberOfClients() {
+		return this.clients.size();
+	}
+
+	/**
+	 * Closes all {@link Client}s.
+	 */
+	public void deactivate() {
+		Client[] clients;
+		synchronized (this) {
+			this.isDeactivated = true;
+			clients = this.clients.toArray(new Client[this.clients.size()]);
+			this.clients.clear();
+			this.subscriptions.clear();
+		}
+		for (Client client : clients) {
+			client.close();
+		}
+	}
+
+}
@@ -0,0 +1,191 @@
+package io.openems.edge.controller.api.rest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.ComponentManager;
+
+/**
+ * One Server-Sent-Events connection of the REST-Api.
+ *
+ * <p>
+ * The request is handled asynchronously, i.e. it does not keep a thread of the
+ * server. Messages are written from {@link ChannelStream#update()} with
+ * non-blocking writes; if the client is too slow to receive a message, it is
+ * skipped and the next message contains all values again.
+ *
+ * <p>
+ * The Channel patterns are resolved again whenever the enabled Components
+ * change (see {@link ComponentManager#getComponentsVersion()}).
+ */
+class ChannelStreamClient implements ChannelStream.Client, AsyncListener, WriteListener {
+
+	/**
+	 * Send a comment if there was no data for this time in [ms], so that idle
+	 * connections are not closed.
+	 */
+	private static final long HEARTBEAT = 10_000;
+
+	private final Logger log = LoggerFactory.getLogger(ChannelStreamClient.class);
+
+	private final AbstractRestApi parent;
+	private final String componentPattern;
+	private final String channelPattern;
+
+	// guarded by 'this'
+	private AsyncContext async = null;
+	private ServletOutputStream out = null;
+	private List<Channel<?>> channels = Collections.emptyList();
+	private long version;
+	private long sent = -1; // send all values with the first message
+	private long lastWrite = 0;
+	private boolean isClosed = false;
+
+	public ChannelStreamClient(AbstractRestApi parent, String componentPattern, String channelPattern,
+			List<Channel<?>> channels, long version) {
+		this.parent = parent;
+		this.componentPattern = componentPattern;
+		this.channelPattern = channelPattern;
+		this.channels = channels;
+		this.version = version;
+	}
+
+	/**
+	 * Starts sending messages.
+	 *
+	 * @param async the {@link AsyncContext} of the request
+	 * @throws IOException on error
+	 */
+	public synchronized void start(AsyncContext async) throws IOException {
+		this.async = async;
+		this.out = async.getResponse().getOutputStream();
+		async.addListener(this);
+		this.out.setWriteListener(this);
+		this.parent.channelStream.subscribe(this.channels);
+	}
+
+	@Override
+	public synchronized void refresh() {
+		if (this.out == null || this.isClosed) {
+			return;
+		}
+		ComponentManager componentManager = this.parent.getComponentManager();
+		long version = componentManager.getComponentsVersion();
+		if (version == this.version) {
+			return;
+		}
+		List<Channel<?>> channels;
+		try {
+			channels = this.parent.channelResolver.resolve(componentManager, this.componentPattern,
+					this.channelPattern);
+		} catch (OpenemsNamedException e) {
+			this.parent.logWarn(this.log, "Unable to resolve [" + this.componentPattern + "/" + this.channelPattern
+					+ "]: " + e.getMessage());
+			channels = Collections.emptyList();
+		}
+		this.parent.channelStream.unsubscribe(this.channels);
+		this.parent.channelStream.subscribe(channels);
+		this.channels = channels;
+		this.version = version;
+		this.sent = -1;
+	}
+
+	@Override
+	public synchronized void send(ChannelStream.Snapshot snapshot) {
+		if (this.out == null || this.isClosed) {
+			return;
+		}
+		JsonObject values = snapshot.getValues(this.channels, this.sent);
+		String message;
+		long now = System.currentTimeMillis();
+		if (values.size() != 0) {
+			message = "data: " + values.toString() + "\n\n";
+		} else if (now - this.lastWrite >= HEARTBEAT) {
+			message = ":\n\n";
+		} else {
+			this.sent = snapshot.getNumber();
+			return;
+		}
+		try {
+			if (!this.out.isReady()) {
+				// client is too slow; send all values with the next message
+				this.sent = -1;
+				return;
+			}
+			this.out.write(message.getBytes(StandardCharsets.UTF_8));
+			if (this.out.isReady()) {
+				this.out.flush();
+			}
+			this.sent = snapshot.getNumber();
+			this.lastWrite = now;
+		} catch (IOException | IllegalStateException e) {
+			// client disconnected
+			this.close();
+		}
+	}
+
+	@Override
+	public synchronized void close() {
+		if (this.isClosed) {
+			return;
+		}
+		this.isClosed = true;
+		this.parent.channelStream.removeClient(this);
+		if (this.out != null) {
+			this.parent.channelStream.unsubscribe(this.channels);
+		}
+		if (this.async != null) {
+			try {
+				this.async.complete();
+			} catch (IllegalStateException e) {
+				// already completed
+			}
+		}
+	}
+
+	@Override
+	public void onWritePossible() {
+		// messages are written once per Cycle
+	}
+
+	@Override
+	public void onError(Throwable t) {
+		this.close();
+	}
+
+	@Override
+	public void onComplete(AsyncEvent event) {
+		this.close();
+	}
+
+	@Override
+	public void onTimeout(AsyncEvent event) {
+		this.close();
+	}
+
+	@Override
+	public void onError(AsyncEvent event) {
+		this.close();
+	}
+
+	@Override
+	public void onStartAsync(AsyncEvent event) {
+		// not used
+	}
+
+}
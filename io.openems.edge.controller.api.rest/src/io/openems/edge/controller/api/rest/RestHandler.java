@@ -4,6 +4,7 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.Base64;
@@ -17,6 +18,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
+import javax.servlet.AsyncContext;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -26,6 +28,7 @@ import org.eclipse.jetty.server.handler.AbstractHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
@@ -171,6 +174,9 @@ public class RestHandler extends AbstractHandler {
 		case "channel":
 			return this.handleChannel(user, remainingTargets, baseRequest, request, response);
 
+		case "stream":
+			return this.handleStream(user, remainingTargets, baseRequest, request, response);
+
 		default:
 			throw new OpenemsException("Unhandled REST target [" + thisTarget + "]");
 		}
@@ -188,6 +194,10 @@ public class RestHandler extends AbstractHandler {
 		// call handler methods
 		switch (request.getMethod()) {
 		case "GET":
+			if (ChannelResolver.isPattern(channelAddress.getComponentId())
+					|| ChannelResolver.isPattern(channelAddress.getChannelId())) {
+				return this.handleGetPattern(user, channelAddress, baseRequest, request, response);
+			}
 			return this.handleGet(user, channelAddress, baseRequest, request, response);
 
 		case "POST":
@@ -248,6 +258,90 @@ public class RestHandler extends AbstractHandler {
 		return this.sendOkResponse(baseRequest, response, j);
 	}
 
+	/**
+	 * Handles HTTP GET request with a regular expression for Component-ID and/or
+	 * Channel-ID.
+	 * 
+	 * @param user        the User
+	 * @param pattern     the ChannelAddress with regular expressions
+	 * @param baseRequest the HTTP GET base-request
+	 * @param request     the HTTP GET request
+	 * @param response    the result to be returned
+	 * @return false if ok response was not sent
+	 * @throws OpenemsNamedException on error
+	 */
+	private boolean handleGetPattern(User user, ChannelAddress pattern, Request baseRequest,
+			HttpServletRequest request, HttpServletResponse response) throws OpenemsNamedException {
+		user.assertRoleIsAtLeast("HTTP GET", Role.GUEST);
+
+		List<Channel<?>> channels = this.parent.channelResolver.resolve(this.parent.getComponentManager(),
+				pattern.getComponentId(), pattern.getChannelId());
+
+		JsonArray j = new JsonArray();
+		for (Channel<?> channel : channels) {
+			JsonObject jChannel = new JsonObject();
+			jChannel.addProperty("address", channel.address().toString());
+			jChannel.add("value", channel.value().asJson());
+			jChannel.addProperty("type", channel.channelDoc().getType().toString().toLowerCase());
+			jChannel.addProperty("writable", channel instanceof WriteChannel<?>);
+			j.add(jChannel);
+		}
+		if (this.parent.isDebugModeEnabled()) {
+			this.parent.logInfo(this.log, "REST call by User [" + user.getName() + "]: GET Channels [" + pattern
+					+ "] matched [" + channels.size() + "]");
+		}
+
+		return this.sendOkResponse(baseRequest, response, j);
+	}
+
+	private boolean handleStream(User user, List<String> targets, Request baseRequest, HttpServletRequest request,
+			HttpServletResponse response) throws IOException, OpenemsNamedException {
+		if (targets.size() != 2) {
+			throw new OpenemsException("Missing arguments to handle Stream");
+		}
+		if (!request.getMethod().equals("GET")) {
+			throw new OpenemsException("Unhandled REST Stream request method [" + request.getMethod() + "]");
+		}
+		user.assertRoleIsAtLeast("HTTP GET", Role.GUEST);
+
+		long version = this.parent.getComponentManager().getComponentsVersion();
+		List<Channel<?>> channels = this.parent.channelResolver.resolve(this.parent.getComponentManager(),
+				targets.get(0), targets.get(1));
+		if (channels.isEmpty()) {
+			this.parent.logWarn(this.log, "No Channel matches [" + targets.get(0) + "/" + targets.get(1) + "]");
+			response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+			return false;
+		}
+		if (this.parent.isDebugModeEnabled()) {
+			this.parent.logInfo(this.log, "REST call by User [" + user.getName() + "]: Stream Channels ["
+					+ targets.get(0) + "/" + targets.get(1) + "] matched [" + channels.size() + "]");
+		}
+
+		baseRequest.setHandled(true);
+		ChannelStreamClient client = new ChannelStreamClient(this.parent, targets.get(0), targets.get(1), channels,
+				version);
+		if (!this.parent.channelStream.addClient(client)) {
+			this.parent.logWarn(this.log, "Unable to open Stream: too many clients");
+			response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+			return true;
+		}
+
+		// the connection is kept open without keeping this thread
+		AsyncContext async = request.startAsync();
+		async.setTimeout(0);
+		response.setContentType("text/event-stream");
+		response.setCharacterEncoding("UTF-8");
+		response.setHeader("Cache-Control", "no-cache");
+		response.setStatus(HttpServletResponse.SC_OK);
+		try {
+			client.start(async);
+		} catch (IOException | RuntimeException e) {
+			client.close();
+			throw e;
+		}
+		return true;
+	}
+
 	private void sendErrorResponse(Request baseRequest, HttpServletResponse response, UUID jsonrpcId, Throwable ex) {
 		try {
 			response.setContentType("application/json");
@@ -267,7 +361,7 @@ public class RestHandler extends AbstractHandler {
 		}
 	}
 
-	private boolean sendOkResponse(Request baseRequest, HttpServletResponse response, JsonObject data)
+	private boolean sendOkResponse(Request baseRequest, HttpServletResponse response, JsonElement data)
 			throws OpenemsException {
 		try {
 			response.setContentType("application/json");
@@ -9,12 +9,15 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.annotations.ReferencePolicy;
 import org.osgi.service.component.annotations.ReferencePolicyOption;
+import org.osgi.service.event.EventConstants;
+import org.osgi.service.event.EventHandler;
 import org.osgi.service.metatype.annotations.Designate;
 
 import io.openems.common.channel.AccessMode;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.event.EdgeEventConstants;
 import io.openems.edge.common.user.UserService;
 import io.openems.edge.controller.api.Controller;
 import io.openems.edge.controller.api.rest.AbstractRestApi;
@@ -25,9 +28,10 @@ import io.openems.edge.timedata.api.Timedata;
 @Component(//
 		name = "Controller.Api.Rest.ReadWrite", //
 		immediate = true, //
-		configurationPolicy = ConfigurationPolicy.REQUIRE)
+		configurationPolicy = ConfigurationPolicy.REQUIRE, //
+		property = EventConstants.EVENT_TOPIC + "=" + EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE)
 public class RestApiReadWriteImpl extends AbstractRestApi
-		implements RestApiReadWrite, RestApi, Controller, OpenemsComponent {
+		implements RestApiReadWrite, RestApi, Controller, OpenemsComponent, EventHandler {
 
 	@Reference
 	protected ComponentManager componentManager;
@@ -0,0 +1,80 @@
+package io.openems.edge.controller.api.rest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.sum.DummySum;
+import io.openems.edge.common.test.DummyComponentManager;
+
+public class ChannelResolverTest {
+
+	private static class DummyComponent extends AbstractOpenemsComponent implements OpenemsComponent {
+
+		public DummyComponent(String id) {
+			super(OpenemsComponent.ChannelId.values());
+			super.activate(null, id, "", true);
+		}
+	}
+
+	@Test
+	public void testIsPattern() {
+		assertFalse(ChannelResolver.isPattern("ess0"));
+		assertFalse(ChannelResolver.isPattern("_sum"));
+		assertFalse(ChannelResolver.isPattern("ActivePowerL1"));
+		assertTrue(ChannelResolver.isPattern("meter.*"));
+		assertTrue(ChannelResolver.isPattern("(Soc|ActivePower)"));
+		assertTrue(ChannelResolver.isPattern("ess[0-9]"));
+	}
+
+	@Test
+	public void testResolve() throws Exception {
+		DummyComponentManager componentManager = new DummyComponentManager() //
+				.addComponent(new DummySum()) //
+				.addComponent(new DummyComponent("ess1"));
+		ChannelResolver resolver = new ChannelResolver();
+
+		// plain address
+		List<Channel<?>> channels = resolver.resolve(componentManager, "_sum", "EssSoc");
+		assertEquals(1, channels.size());
+		assertEquals("_sum/EssSoc", channels.get(0).address().toString());
+
+		// pattern; sorted by Component and Channel
+		channels = resolver.resolve(componentManager, "_sum", "(GridActivePower|EssSoc)");
+		assertEquals(2, channels.size());
+		assertEquals("_sum/EssSoc", channels.get(0).address().toString());
+		assertEquals("_sum/GridActivePower", channels.get(1).address().toString());
+
+		// cached while the Components do not change
+		channels = resolver.resolve(componentManager, "ess.*", "State");
+		assertEquals(1, channels.size());
+		assertSame(channels, resolver.resolve(componentManager, "ess.*", "State"));
+
+		// resolved again after a change
+		componentManager.addComponent(new DummyComponent("ess0"));
+		List<Channel<?>> changed = resolver.resolve(componentManager, "ess.*", "State");
+		assertNotSame(channels, changed);
+		assertEquals(2, changed.size());
+		assertEquals("ess0/State", changed.get(0).address().toString());
+		assertEquals("ess1/State", changed.get(1).address().toString());
+
+		// no match
+		assertTrue(resolver.resolve(componentManager, "meter.*", "State").isEmpty());
+	}
+
+	@Test(expected = OpenemsException.class)
+	public void testInvalidPattern() throws Exception {
+		new ChannelResolver().resolve(new DummyComponentManager(), "ess(", "State");
+	}
+
+}
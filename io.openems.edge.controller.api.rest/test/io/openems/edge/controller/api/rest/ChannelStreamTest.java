@@ -0,0 +1,117 @@
+package io.openems.edge.controller.api.rest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.gson.JsonObject;
+
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.sum.DummySum;
+
+public class ChannelStreamTest {
+
+	private static class DummyClient implements ChannelStream.Client {
+
+		private int refreshs = 0;
+		private ChannelStream.Snapshot snapshot = null;
+		private boolean isClosed = false;
+
+		@Override
+		public void refresh() {
+			this.refreshs++;
+		}
+
+		@Override
+		public void send(ChannelStream.Snapshot snapshot) {
+			this.snapshot = snapshot;
+		}
+
+		@Override
+		public void close() {
+			this.isClosed = true;
+		}
+	}
+
+	private static void nextCycle(DummySum sum, Integer soc, Integer gridActivePower) {
+		sum._setEssSoc(soc);
+		sum._setGridActivePower(gridActivePower);
+		sum.getEssSocChannel().nextProcessImage();
+		sum.getGridActivePowerChannel().nextProcessImage();
+	}
+
+	@Test
+	public void testSnapshots() {
+		DummySum sum = new DummySum();
+		List<Channel<?>> channels = Arrays.asList(sum.getEssSocChannel(), sum.getGridActivePowerChannel());
+		ChannelStream stream = new ChannelStream();
+		DummyClient client = new DummyClient();
+
+		// nobody is listening
+		stream.update();
+		assertNull(client.snapshot);
+
+		assertTrue(stream.addClient(client));
+		stream.subscribe(channels);
+		nextCycle(sum, 50, 1000);
+		stream.update();
+		assertEquals(1, client.refreshs);
+		ChannelStream.Snapshot first = client.snapshot;
+
+		// full values for a new client
+		JsonObject values = first.getValues(channels, -1);
+		assertEquals(50, values.get("_sum/EssSoc").getAsInt());
+		assertEquals(1000, values.get("_sum/GridActivePower").getAsInt());
+
+		// only changed values for the direct successor
+		nextCycle(sum, 50, 1100);
+		stream.update();
+		ChannelStream.Snapshot second = client.snapshot;
+		assertEquals(first.getNumber() + 1, second.getNumber());
+		values = second.getValues(channels, first.getNumber());
+		assertEquals(1, values.size());
+		assertEquals(1100, values.get("_sum/GridActivePower").getAsInt());
+
+		// full values if a Snapshot was skipped
+		nextCycle(sum, 50, 1100);
+		stream.update();
+		assertEquals(0, client.snapshot.getValues(channels, second.getNumber()).size());
+		assertEquals(2, client.snapshot.getValues(channels, first.getNumber()).size());
+
+		// only the Channels of the client
+		assertEquals(1, client.snapshot.getValues(Arrays.asList(sum.getEssSocChannel()), -1).size());
+
+		// unsubscribed Channels are not read anymore
+		stream.unsubscribe(Arrays.asList(sum.getEssSocChannel()));
+		nextCycle(sum, 60, 1100);
+		stream.update();
+		assertFalse(client.snapshot.getValues(channels, -1).has("_sum/EssSoc"));
+	}
+
+	@Test
+	public void testClients() {
+		ChannelStream stream = new ChannelStream();
+		DummyClient[] clients = new DummyClient[ChannelStream.MAX_CLIENTS];
+		for (int i = 0; i < clients.length; i++) {
+			clients[i] = new DummyClient();
+			assertTrue(stream.addClient(clients[i]));
+		}
+		assertFalse(stream.addClient(new DummyClient()));
+
+		stream.removeClient(clients[0]);
+		assertEquals(ChannelStream.MAX_CLIENTS - 1, stream.getNumberOfClients());
+
+		stream.deactivate();
+		assertFalse(clients[0].isClosed);
+		assertTrue(clients[1].isClosed);
+		assertEquals(0, stream.getNumberOfClients());
+		assertFalse(stream.addClient(new DummyClient()));
+	}
+
+}
@@ -19,6 +19,12 @@ public class SubscribedChannelsWorker extends io.openems.common.websocket.Subscr
 		this.parent = parent;
 	}
 
+	@Override
+	protected Object getBatchKey() {
+		// all sessions of this Websocket-Api read from the same ComponentManager
+		return this.parent;
+	}
+
 	@Override
 	protected JsonElement getChannelValue(ChannelAddress channelAddress) {
 		try {
@@ -0,0 +1,169 @@
+package io.openems.edge.core.componentmanager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.openems.edge.common.component.ComponentManager.ComponentListener;
+import io.openems.edge.common.component.OpenemsComponent;
+
+/**
+ * Indexes a set of OpenEMS-Components by Component-ID and by type.
+ *
+ * <p>
+ * The index is an immutable snapshot that is replaced on every change.
+ * Changes only happen when a Component is bound or unbound by OSGi, while
+ * lookups happen many times per Cycle; readers therefore never lock and never
+ * copy. Lists by type are built lazily on first request and are kept until
+ * the next change.
+ *
+ * <p>
+ * {@link ComponentListener}s are called while holding the lock of the index,
+ * so that they see the changes in order and none between the initial call and
+ * the first change.
+ */
+public class ComponentIndex {
+
+	private static class Snapshot {
+		private final long version;
+		private final List<OpenemsComponent> components;
+		private final Map<String, OpenemsComponent> byId;
+		private final Map<Class<?>, List<?>> byType = new ConcurrentHashMap<>();
+
+		private Snapshot(long version, List<OpenemsComponent> components) {
+			this.version = version;
+			this.components = Collections.unmodifiableList(components);
+			Map<String, OpenemsComponent> byId = new HashMap<>();
+			for (OpenemsComponent component : components) {
+				String id = component.id();
+				if (id != null) {
+					// with duplicated IDs the first Component wins
+					byId.putIfAbsent(id, component);
+				}
+			}
+			this.byId = byId;
+		}
+	}
+
+	private final List<ComponentListener> listeners = new CopyOnWriteArrayList<>();
+
+	private volatile Snapshot snapshot = new Snapshot(0, new ArrayList<>());
+
+	/**
+	 * Adds a Component.
+	 *
+	 * @param component the OpenEMS-Component
+	 */
+	public synchronized void add(OpenemsComponent component) {
+		Snapshot current = this.snapshot;
+		for (OpenemsComponent c : current.components) {
+			if (c == component) {
+				return;
+			}
+		}
+		List<OpenemsComponent> components = new ArrayList<>(current.components.size() + 1);
+		components.addAll(current.components);
+		components.add(component);
+		this.snapshot = new Snapshot(current.version + 1, components);
+		for (ComponentListener listener : this.listeners) {
+			listener.onChange(component, true);
+		}
+	}
+
+	/**
+	 * Removes a Component.
+	 *
+	 * @param component the OpenEMS-Component
+	 */
+	public synchronized void remove(OpenemsComponent component) {
+		Snapshot current = this.snapshot;
+		List<OpenemsComponent> components = new ArrayList<>(current.components.size());
+		for (OpenemsComponent c : current.components) {
+			if (c != component) {
+				components.add(c);
+			}
+		}
+		if (components.size() == current.components.size()) {
+			return;
+		}
+		this.snapshot = new Snapshot(current.version + 1, components);
+		for (ComponentListener listener : this.listeners) {
+			listener.onChange(component, false);
+		}
+	}
+
+	/**
+	 * Gets all Components.
+	 *
+	 * @return an unmodifiable List of OpenEMS-Components
+	 */
+	public List<OpenemsComponent> getComponents() {
+		return this.snapshot.components;
+	}
+
+	/**
+	 * Gets a Component by its Component-ID.
+	 *
+	 * @param componentId the Component-ID
+	 * @return the OpenEMS-Component; null if it is not available
+	 */
+	public OpenemsComponent getComponent(String componentId) {
+		return this.snapshot.byId.get(componentId);
+	}
+
+	/**
+	 * Gets all Components that implement the given type.
+	 *
+	 * @param <T>   the type
+	 * @param clazz the Class of the type
+	 * @return an unmodifiable List of OpenEMS-Components
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> List<T> getComponentsOfType(Class<T> clazz) {
+		Snapshot snapshot = this.snapshot;
+		return (List<T>) snapshot.byType.computeIfAbsent(clazz, c -> {
+			List<T> result = new ArrayList<>();
+			for (OpenemsComponent component : snapshot.components) {
+				if (clazz.isInstance(component)) {
+					result.add((T) component);
+				}
+			}
+			return Collections.unmodifiableList(result);
+		});
+	}
+
+	/**
+	 * Gets the version of this index. The version is increased on every change.
+	 *
+	 * @return the version
+	 */
+	public long getVersion() {
+		return this.snapshot.version;
+	}
+
+	/**
+	 * Adds a {@link ComponentListener} and calls it for every current Component.
+	 *
+	 * @param listener the {@link ComponentListener}
+	 */
+	public synchronized void addListener(ComponentListener listener) {
+		this.listeners.add(listener);
+		for (OpenemsComponent component : this.snapshot.components) {
+			listener.onChange(component, true);
+		}
+	}
+
+	/**
+	 * Removes a {@link ComponentListener}.
+	 *
+	 * @param listener the {@link ComponentListener}
+	 */
+	public void removeListener(ComponentListener listener) {
+		this.listeners.remove(listener);
+	}
+
+}
@@ -5,12 +5,10 @@ import java.time.Clock;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Dictionary;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.InvalidSyntaxException;
@@ -84,17 +82,32 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 	@Reference
 	protected ServiceComponentRuntime serviceComponentRuntime;
 
+	private final ComponentIndex enabledComponents = new ComponentIndex();
+	private final ComponentIndex allComponents = new ComponentIndex();
+
 	@Reference(policy = ReferencePolicy.DYNAMIC, //
 			policyOption = ReferencePolicyOption.GREEDY, //
 			cardinality = ReferenceCardinality.MULTIPLE, //
 			target = "(&(enabled=true)(!(service.factoryPid=Core.ComponentManager)))")
-	private volatile List<OpenemsComponent> enabledComponents = new CopyOnWriteArrayList<>();
+	protected void addEnabledComponent(OpenemsComponent component) {
+		this.enabledComponents.add(component);
+	}
+
+	protected void removeEnabledComponent(OpenemsComponent component) {
+		this.enabledComponents.remove(component);
+	}
 
 	@Reference(policy = ReferencePolicy.DYNAMIC, //
 			policyOption = ReferencePolicyOption.GREEDY, //
 			cardinality = ReferenceCardinality.MULTIPLE, //
 			target = "(!(service.factoryPid=Core.ComponentManager))")
-	private volatile List<OpenemsComponent> allComponents = new CopyOnWriteArrayList<>();
+	protected void addComponent(OpenemsComponent component) {
+		this.allComponents.add(component);
+	}
+
+	protected void removeComponent(OpenemsComponent component) {
+		this.allComponents.remove(component);
+	}
 
 	public ComponentManagerImpl() {
 		super(//
@@ -129,12 +142,59 @@ public class ComponentManagerImpl extends AbstractOpenemsComponent
 
 	@Override
 	public List<OpenemsComponent> getEnabledComponents() {
-		return Collections.unmodifiableList(this.enabledComponents);
+		return this.enabledComponents.getComponents();
 	}
 
 	@Override
 	public List<OpenemsComponent> getAllComponents() {
-		return Collections.unmodifiableList(this.allComponents);
+		return this.allComponents.getComponents();
+	}
+
+	@Override
+	public <T> List<T> getEnabledComponentsOfType(Class<T> clazz) {
+		return this.enabledComponents.getComponentsOfType(clazz);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T extends OpenemsComponent> T getComponent(String componentId) throws OpenemsNamedException {
+		if (componentId.equals(OpenemsConstants.COMPONENT_MANAGER_ID)) {
+			return (T) this;
+		}
+		OpenemsComponent component = this.enabledComponents.getComponent(componentId);
+		if (component == null) {
+			throw OpenemsError.EDGE_NO_COMPONENT_WITH_ID.exception(componentId);
+		}
+		return (T) component;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T extends OpenemsComponent> T getPossiblyDisabledComponent(String componentId)
+			throws OpenemsNamedException {
+		if (componentId.equals(OpenemsConstants.COMPONENT_MANAGER_ID)) {
+			return (T) this;
+		}
+		OpenemsComponent component = this.allComponents.getComponent(componentId);
+		if (component == null) {
+			throw OpenemsError.EDGE_NO_COMPONENT_WITH_ID.exception(componentId);
+		}
+		return (T) component;
+	}
+
+	@Override
+	public long getComponentsVersion() {
+		return this.enabledComponents.getVersion();
+	}
+
+	@Override
+	public void addComponentListener(ComponentListener listener) {
+		this.enabledComponents.addListener(listener);
+	}
+
+	@Override
+	public void removeComponentListener(ComponentListener listener) {
+		this.enabledComponents.removeListener(listener);
 	}
 
 	@Override
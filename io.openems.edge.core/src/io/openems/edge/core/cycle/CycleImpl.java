@@ -1,7 +1,15 @@
 package io.openems.edge.core.cycle;
 
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
 
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
@@ -17,13 +25,29 @@ import org.osgi.service.event.EventAdmin;
 import org.osgi.service.metatype.annotations.Designate;
 import org.slf4j.Logger;
 
+import com.google.common.base.CaseFormat;
+
 import io.openems.common.OpenemsConstants;
+import io.openems.common.channel.Unit;
+import io.openems.common.exceptions.OpenemsError;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.base.JsonrpcRequest;
+import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.common.session.Role;
+import io.openems.common.session.User;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.Doc;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.cycle.Cycle;
+import io.openems.edge.common.jsonapi.JsonApi;
 import io.openems.edge.common.sum.Sum;
+import io.openems.edge.core.cycle.CycleTimings.Phase;
+import io.openems.edge.core.cycle.CycleTimings.Statistics;
+import io.openems.edge.core.cycle.jsonrpc.GetCycleTimingsRequest;
+import io.openems.edge.core.cycle.jsonrpc.GetCycleTimingsResponse;
 import io.openems.edge.scheduler.api.Scheduler;
 
 @Designate(ocd = Config.class, factory = false)
@@ -35,10 +59,37 @@ import io.openems.edge.scheduler.api.Scheduler;
 				"id=" + OpenemsConstants.CYCLE_ID, //
 				"enabled=true" //
 		})
-public class CycleImpl extends AbstractOpenemsComponent implements OpenemsComponent, Cycle {
+public class CycleImpl extends AbstractOpenemsComponent implements OpenemsComponent, Cycle, JsonApi {
+
+	private static final String[] TIMING_CHANNEL_SUFFIXES = { "P50", "P95", "MAX" };
+
+	/**
+	 * The timing Channels are updated every this number of Cycles; the statistics
+	 * are calculated over the whole window anyway.
+	 */
+	protected static final int TIMING_CHANNELS_UPDATE_CYCLES = 10;
 
 	private final CycleWorker worker = new CycleWorker(this);
 
+	/**
+	 * Records the durations of the Cycle phases and Controllers.
+	 */
+	protected final CycleTimings timings = new CycleTimings(CycleTimings.DEFAULT_WINDOW_SIZE);
+
+	/**
+	 * Holds the timing Channels (p50, p95, max) per {@link Phase}; e.g. with
+	 * Channel-ID prefix "PHASE_PROCESS_IMAGE".
+	 */
+	private final Map<Phase, List<Channel<Double>>> phaseTimingChannels = new EnumMap<>(Phase.class);
+
+	/**
+	 * Holds the timing Channels (p50, p95, max) per Controller-ID; e.g. with
+	 * Channel-ID prefix "CONTROLLER_CTRL_BALANCING0".
+	 */
+	private final Map<String, List<Channel<Double>>> controllerTimingChannels = new HashMap<>();
+
+	private int timingChannelsCycles = 0;
+
 	@Reference
 	protected EventAdmin eventAdmin;
 
@@ -114,6 +165,101 @@ public class CycleImpl extends AbstractOpenemsComponent implements OpenemsCompon
 		super.logWarn(log, message);
 	}
 
+	@Override
+	public CompletableFuture<? extends JsonrpcResponseSuccess> handleJsonrpcRequest(User user, JsonrpcRequest request)
+			throws OpenemsNamedException {
+		user.assertRoleIsAtLeast("handleJsonrpcRequest", Role.ADMIN);
+
+		switch (request.getMethod()) {
+
+		case GetCycleTimingsRequest.METHOD:
+			return this.handleGetCycleTimingsRequest(user, GetCycleTimingsRequest.from(request));
+
+		default:
+			throw OpenemsError.JSONRPC_UNHANDLED_METHOD.exception(request.getMethod());
+		}
+	}
+
+	/**
+	 * Handles a {@link GetCycleTimingsRequest}.
+	 * 
+	 * @param user    the User
+	 * @param request the {@link GetCycleTimingsRequest}
+	 * @return the Future JSON-RPC Response
+	 */
+	private CompletableFuture<JsonrpcResponseSuccess> handleGetCycleTimingsRequest(User user,
+			GetCycleTimingsRequest request) {
+		return CompletableFuture.completedFuture(new GetCycleTimingsResponse(request.getId(),
+				this.timings.getPhaseStatistics(), this.timings.getControllerStatistics(),
+				this.timings.getSamples(request.getCycles())));
+	}
+
+	/**
+	 * Updates the timing Channels from the rolling {@link CycleTimings}
+	 * statistics every {@link #TIMING_CHANNELS_UPDATE_CYCLES} Cycles. Channels of
+	 * Controllers that were not executed within the window are removed.
+	 */
+	protected void updateTimingChannels() {
+		if (++this.timingChannelsCycles < TIMING_CHANNELS_UPDATE_CYCLES) {
+			return;
+		}
+		this.timingChannelsCycles = 0;
+
+		for (Entry<Phase, Statistics> entry : this.timings.getPhaseStatistics().entrySet()) {
+			List<Channel<Double>> channels = this.phaseTimingChannels.computeIfAbsent(entry.getKey(),
+					phase -> this.addTimingChannels("PHASE_" + phase.name()));
+			setTimingChannels(channels, entry.getValue());
+		}
+		Map<String, Statistics> controllers = this.timings.getControllerStatistics();
+		for (Entry<String, Statistics> entry : controllers.entrySet()) {
+			List<Channel<Double>> channels = this.controllerTimingChannels.computeIfAbsent(entry.getKey(),
+					id -> this.addTimingChannels(
+							"CONTROLLER_" + CaseFormat.LOWER_CAMEL.to(CaseFormat.UPPER_UNDERSCORE, id)));
+			setTimingChannels(channels, entry.getValue());
+		}
+		Iterator<Entry<String, List<Channel<Double>>>> iterator = this.controllerTimingChannels.entrySet()
+				.iterator();
+		while (iterator.hasNext()) {
+			Entry<String, List<Channel<Double>>> entry = iterator.next();
+			if (!controllers.containsKey(entry.getKey())) {
+				for (Channel<Double> channel : entry.getValue()) {
+					this.removeChannel(channel);
+				}
+				iterator.remove();
+			}
+		}
+	}
+
+	private static void setTimingChannels(List<Channel<Double>> channels, Statistics statistics) {
+		channels.get(0).setNextValue(statistics.getP50());
+		channels.get(1).setNextValue(statistics.getP95());
+		channels.get(2).setNextValue(statistics.getMax());
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Channel<Double>> addTimingChannels(String prefix) {
+		List<Channel<Double>> result = new ArrayList<>(TIMING_CHANNEL_SUFFIXES.length);
+		for (String suffix : TIMING_CHANNEL_SUFFIXES) {
+			String channelName = prefix + "_" + suffix;
+			Doc doc = Doc.of(OpenemsType.DOUBLE) //
+					.unit(Unit.MILLISECONDS);
+			io.openems.edge.common.channel.ChannelId channelId = new io.openems.edge.common.channel.ChannelId() {
+
+				@Override
+				public String name() {
+					return channelName;
+				}
+
+				@Override
+				public Doc doc() {
+					return doc;
+				}
+			};
+			result.add((Channel<Double>) this.addChannel(channelId));
+		}
+		return result;
+	}
+
 	@Override
 	public int getCycleTime() {
 		Config config = this.config;
@@ -124,4 +270,14 @@ public class CycleImpl extends AbstractOpenemsComponent implements OpenemsCompon
 		}
 	}
 
+	/**
+	 * Should the process image of the Components be switched in parallel?.
+	 *
+	 * @return true for parallel switch
+	 */
+	protected boolean isParallelProcessImage() {
+		Config config = this.config;
+		return config != null && config.parallelProcessImage();
+	}
+
 }
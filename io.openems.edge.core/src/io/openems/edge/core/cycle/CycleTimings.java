@@ -0,0 +1,322 @@
+package io.openems.edge.core.cycle;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Records the durations of the phases of the global OpenEMS Cycle and of every
+ * executed Controller for a rolling window of the last Cycles.
+ *
+ * <p>
+ * A {@link Sample} is filled by the CycleWorker thread and published to the
+ * window once the Cycle is finished. Statistics and the breakdown of the last
+ * Cycles are calculated from the published Samples only.
+ */
+public class CycleTimings {
+
+	public static final int DEFAULT_WINDOW_SIZE = 100;
+
+	/**
+	 * The phases of one Cycle in order of execution.
+	 */
+	public enum Phase {
+		BEFORE_PROCESS_IMAGE, //
+		PROCESS_IMAGE, //
+		AFTER_PROCESS_IMAGE, //
+		BEFORE_CONTROLLERS, //
+		CONTROLLERS, //
+		AFTER_CONTROLLERS, //
+		BEFORE_WRITE, //
+		EXECUTE_WRITE, //
+		AFTER_WRITE;
+	}
+
+	/**
+	 * Holds the durations of one Cycle in [ns].
+	 */
+	public static class Sample {
+
+		private final long timestamp;
+		private final long[] phases = new long[Phase.values().length];
+		private final Map<String, Long> controllers = new LinkedHashMap<>();
+		private long duration = 0;
+
+		private Sample(long timestamp) {
+			this.timestamp = timestamp;
+		}
+
+		/**
+		 * Gets the duration of a {@link Phase} in [ns].
+		 *
+		 * @param phase the {@link Phase}
+		 * @return the duration
+		 */
+		public long getPhase(Phase phase) {
+			return this.phases[phase.ordinal()];
+		}
+
+		/**
+		 * Gets the durations of the executed Controllers in [ns], in order of
+		 * execution.
+		 *
+		 * @return a map of Controller-ID to duration
+		 */
+		public Map<String, Long> getControllers() {
+			return Collections.unmodifiableMap(this.controllers);
+		}
+
+		/**
+		 * Gets the total duration of the Cycle in [ns].
+		 *
+		 * @return the duration
+		 */
+		public long getDuration() {
+			return this.duration;
+		}
+
+		/**
+		 * Serializes the Sample as a flame-style tree of named durations in [ms].
+		 *
+		 * @return the {@link JsonObject}
+		 */
+		public JsonObject toJson() {
+			JsonArray phases = new JsonArray();
+			for (Phase phase : Phase.values()) {
+				JsonObject j = node(phase.name(), this.getPhase(phase));
+				if (phase == Phase.CONTROLLERS) {
+					JsonArray controllers = new JsonArray();
+					for (Entry<String, Long> entry : this.controllers.entrySet()) {
+						controllers.add(node(entry.getKey(), entry.getValue()));
+					}
+					j.add("children", controllers);
+				}
+				phases.add(j);
+			}
+			JsonObject result = node("cycle", this.duration);
+			result.addProperty("timestamp", this.timestamp);
+			result.add("children", phases);
+			return result;
+		}
+
+		private static JsonObject node(String name, long duration) {
+			return JsonUtils.buildJsonObject() //
+					.addProperty("name", name) //
+					.addProperty("duration", toMillis(duration)) //
+					.build();
+		}
+	}
+
+	/**
+	 * Holds rolling statistics of a duration.
+	 */
+	public static class Statistics {
+
+		/**
+		 * Calculates the {@link Statistics} of the given durations using the
+		 * nearest-rank method.
+		 *
+		 * @param durations the durations in [ns]; sorted in place
+		 * @return the {@link Statistics}
+		 */
+		public static Statistics of(long[] durations) {
+			if (durations.length == 0) {
+				return new Statistics(0, 0, 0);
+			}
+			Arrays.sort(durations);
+			return new Statistics(percentile(durations, 50), percentile(durations, 95),
+					durations[durations.length - 1]);
+		}
+
+		private static long percentile(long[] sorted, int percent) {
+			int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+			return sorted[Math.max(rank, 1) - 1];
+		}
+
+		private final long p50;
+		private final long p95;
+		private final long max;
+
+		private Statistics(long p50, long p95, long max) {
+			this.p50 = p50;
+			this.p95 = p95;
+			this.max = max;
+		}
+
+		public double getP50() {
+			return toMillis(this.p50);
+		}
+
+		public double getP95() {
+			return toMillis(this.p95);
+		}
+
+		public double getMax() {
+			return toMillis(this.max);
+		}
+
+		/**
+		 * Serializes the Statistics in [ms].
+		 *
+		 * @return the {@link JsonObject}
+		 */
+		public JsonObject toJson() {
+			return JsonUtils.buildJsonObject() //
+					.addProperty("p50", this.getP50()) //
+					.addProperty("p95", this.getP95()) //
+					.addProperty("max", this.getMax()) //
+					.build();
+		}
+	}
+
+	private final int windowSize;
+	private final ArrayDeque<Sample> samples;
+
+	/**
+	 * The Sample of the currently running Cycle; only accessed by the CycleWorker
+	 * thread.
+	 */
+	private Sample current = null;
+
+	public CycleTimings(int windowSize) {
+		this.windowSize = windowSize;
+		this.samples = new ArrayDeque<>(windowSize);
+	}
+
+	/**
+	 * Starts recording a new Cycle.
+	 *
+	 * @param timestamp the start timestamp in epoch milliseconds
+	 */
+	public void startCycle(long timestamp) {
+		this.current = new Sample(timestamp);
+	}
+
+	/**
+	 * Records the duration of a {@link Phase} of the current Cycle.
+	 *
+	 * @param phase    the {@link Phase}
+	 * @param duration the duration in [ns]
+	 */
+	public void addPhase(Phase phase, long duration) {
+		Sample current = this.current;
+		if (current != null) {
+			current.phases[phase.ordinal()] += duration;
+		}
+	}
+
+	/**
+	 * Records the duration of a Controller run within the current Cycle.
+	 *
+	 * @param controllerId the Controller-ID
+	 * @param duration     the duration in [ns]
+	 */
+	public void addController(String controllerId, long duration) {
+		Sample current = this.current;
+		if (current != null) {
+			current.controllers.merge(controllerId, duration, Long::sum);
+		}
+	}
+
+	/**
+	 * Finishes the current Cycle and publishes its {@link Sample} to the window.
+	 *
+	 * @param duration the total duration of the Cycle in [ns]
+	 */
+	public void finishCycle(long duration) {
+		Sample current = this.current;
+		if (current == null) {
+			return;
+		}
+		current.duration = duration;
+		this.current = null;
+		synchronized (this.samples) {
+			if (this.samples.size() >= this.windowSize) {
+				this.samples.removeFirst();
+			}
+			this.samples.addLast(current);
+		}
+	}
+
+	/**
+	 * Gets the latest published Samples, oldest first.
+	 *
+	 * @param count the maximum number of Samples
+	 * @return the Samples
+	 */
+	public List<Sample> getSamples(int count) {
+		synchronized (this.samples) {
+			List<Sample> result = new ArrayList<>(Math.min(Math.max(count, 0), this.samples.size()));
+			Iterator<Sample> iterator = this.samples.descendingIterator();
+			while (iterator.hasNext() && result.size() < count) {
+				result.add(iterator.next());
+			}
+			Collections.reverse(result);
+			return result;
+		}
+	}
+
+	/**
+	 * Calculates the {@link Statistics} per {@link Phase} over the window.
+	 *
+	 * @return a map of {@link Phase} to {@link Statistics}
+	 */
+	public Map<Phase, Statistics> getPhaseStatistics() {
+		Map<Phase, Statistics> result = new EnumMap<>(Phase.class);
+		synchronized (this.samples) {
+			for (Phase phase : Phase.values()) {
+				long[] durations = new long[this.samples.size()];
+				int i = 0;
+				for (Sample sample : this.samples) {
+					durations[i++] = sample.getPhase(phase);
+				}
+				result.put(phase, Statistics.of(durations));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Calculates the {@link Statistics} per Controller over the window. Only
+	 * Cycles in which a Controller was executed are considered for it.
+	 *
+	 * @return a map of Controller-ID to {@link Statistics}
+	 */
+	public Map<String, Statistics> getControllerStatistics() {
+		Map<String, long[]> durations = new HashMap<>();
+		Map<String, Integer> counts = new HashMap<>();
+		synchronized (this.samples) {
+			for (Sample sample : this.samples) {
+				for (Entry<String, Long> entry : sample.controllers.entrySet()) {
+					long[] values = durations.computeIfAbsent(entry.getKey(), id -> new long[this.samples.size()]);
+					int count = counts.getOrDefault(entry.getKey(), 0);
+					values[count] = entry.getValue();
+					counts.put(entry.getKey(), count + 1);
+				}
+			}
+		}
+		Map<String, Statistics> result = new HashMap<>();
+		for (Entry<String, long[]> entry : durations.entrySet()) {
+			result.put(entry.getKey(), Statistics.of(Arrays.copyOf(entry.getValue(), counts.get(entry.getKey()))));
+		}
+		return result;
+	}
+
+	private static double toMillis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+
+}
@@ -1,7 +1,9 @@
 package io.openems.edge.core.cycle;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import org.osgi.service.event.Event;
 import org.slf4j.Logger;
@@ -12,9 +14,14 @@ import com.google.common.base.Stopwatch;
 import info.faljse.SDNotify.SDNotify;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.worker.AbstractWorker;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.ComponentManager;
+import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.event.EdgeEventConstants;
 import io.openems.edge.common.sum.Sum;
 import io.openems.edge.controller.api.Controller;
+import io.openems.edge.core.cycle.CycleTimings.Phase;
 import io.openems.edge.scheduler.api.Scheduler;
 
 public class CycleWorker extends AbstractWorker {
@@ -22,10 +29,32 @@ public class CycleWorker extends AbstractWorker {
 	private final Logger log = LoggerFactory.getLogger(CycleWorker.class);
 	private final CycleImpl parent;
 
+	private long componentsVersion = -1;
+	private List<OpenemsComponent> processImageComponents = null;
+
 	public CycleWorker(CycleImpl parent) {
 		this.parent = parent;
 	}
 
+	/**
+	 * Gets the Components that switch to the next process image, i.e. all enabled
+	 * Components except {@link Sum}. The List is only rebuilt if the enabled
+	 * Components changed.
+	 * 
+	 * @return a List of OpenEMS-Components
+	 */
+	private List<OpenemsComponent> getProcessImageComponents() {
+		ComponentManager componentManager = this.parent.componentManager;
+		long version = componentManager.getComponentsVersion();
+		if (this.processImageComponents == null || version != this.componentsVersion) {
+			this.processImageComponents = componentManager.getEnabledComponents().stream() //
+					.filter(c -> c.isEnabled() && !(c instanceof Sum)) //
+					.collect(Collectors.toList());
+			this.componentsVersion = version;
+		}
+		return this.processImageComponents;
+	}
+
 	@Override
 	protected int getCycleTime() {
 		return this.parent.getCycleTime();
@@ -35,6 +64,9 @@ public class CycleWorker extends AbstractWorker {
 	protected void forever() {
 		// Prepare Cycle-Time measurement
 		Stopwatch stopwatch = Stopwatch.createStarted();
+		CycleTimings timings = this.parent.timings;
+		timings.startCycle(System.currentTimeMillis());
+		long phaseStart = System.nanoTime();
 
 		// Kick Operating System Watchdog
 		String socketName = System.getenv().get("NOTIFY_SOCKET");
@@ -50,40 +82,39 @@ public class CycleWorker extends AbstractWorker {
 			 */
 			this.parent.eventAdmin
 					.sendEvent(new Event(EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE, new HashMap<>()));
+			phaseStart = this.addPhase(Phase.BEFORE_PROCESS_IMAGE, phaseStart);
 
 			/*
 			 * Before Controllers start: switch to next process image for each channel
 			 */
-			this.parent.componentManager.getEnabledComponents().stream() //
-					.filter(c -> c.isEnabled() && !(c instanceof Sum)) //
-					.forEach(component -> {
-						component.channels().forEach(channel -> {
-							channel.nextProcessImage();
-						});
-					});
-			this.parent.channels().forEach(channel -> {
-				channel.nextProcessImage();
-			});
+			List<OpenemsComponent> components = this.getProcessImageComponents();
+			if (this.parent.isParallelProcessImage()) {
+				components.parallelStream().forEach(CycleWorker::nextProcessImage);
+			} else {
+				components.forEach(CycleWorker::nextProcessImage);
+			}
+			nextProcessImage(this.parent);
 
 			/*
 			 * Update the Channels in the Sum-Component.
 			 */
 			this.parent.sumComponent.updateChannelsBeforeProcessImage();
-			this.parent.sumComponent.channels().forEach(channel -> {
-				channel.nextProcessImage();
-			});
+			nextProcessImage(this.parent.sumComponent);
+			phaseStart = this.addPhase(Phase.PROCESS_IMAGE, phaseStart);
 
 			/*
 			 * Trigger AFTER_PROCESS_IMAGE event
 			 */
 			this.parent.eventAdmin
 					.sendEvent(new Event(EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE, new HashMap<>()));
+			phaseStart = this.addPhase(Phase.AFTER_PROCESS_IMAGE, phaseStart);
 
 			/*
 			 * Trigger BEFORE_CONTROLLERS event
 			 */
 			this.parent.eventAdmin
 					.sendEvent(new Event(EdgeEventConstants.TOPIC_CYCLE_BEFORE_CONTROLLERS, new HashMap<>()));
+			phaseStart = this.addPhase(Phase.BEFORE_CONTROLLERS, phaseStart);
 
 			boolean hasDisabledController = false;
 
@@ -113,6 +144,7 @@ public class CycleWorker extends AbstractWorker {
 							continue;
 						}
 
+						long controllerStart = System.nanoTime();
 						try {
 							// Execute Controller logic
 							controller.run();
@@ -137,6 +169,7 @@ public class CycleWorker extends AbstractWorker {
 							// announce running failed
 							controller._setRunFailed(true);
 						}
+						timings.addController(controller.id(), System.nanoTime() - controllerStart);
 					}
 
 					// announce Scheduler Controller is missing
@@ -146,27 +179,32 @@ public class CycleWorker extends AbstractWorker {
 
 			// announce ignoring disabled Controllers.
 			this.parent._setIgnoreDisabledController(hasDisabledController);
+			phaseStart = this.addPhase(Phase.CONTROLLERS, phaseStart);
 
 			/*
 			 * Trigger AFTER_CONTROLLERS event
 			 */
 			this.parent.eventAdmin
 					.sendEvent(new Event(EdgeEventConstants.TOPIC_CYCLE_AFTER_CONTROLLERS, new HashMap<>()));
+			phaseStart = this.addPhase(Phase.AFTER_CONTROLLERS, phaseStart);
 
 			/*
 			 * Trigger BEFORE_WRITE event
 			 */
 			this.parent.eventAdmin.sendEvent(new Event(EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE, new HashMap<>()));
+			phaseStart = this.addPhase(Phase.BEFORE_WRITE, phaseStart);
 
 			/*
 			 * Trigger EXECUTE_WRITE event
 			 */
 			this.parent.eventAdmin.sendEvent(new Event(EdgeEventConstants.TOPIC_CYCLE_EXECUTE_WRITE, new HashMap<>()));
+			phaseStart = this.addPhase(Phase.EXECUTE_WRITE, phaseStart);
 
 			/*
 			 * Trigger AFTER_WRITE event
 			 */
 			this.parent.eventAdmin.sendEvent(new Event(EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE, new HashMap<>()));
+			this.addPhase(Phase.AFTER_WRITE, phaseStart);
 
 		} catch (Throwable t) {
 			this.parent.logWarn(this.log,
@@ -177,7 +215,44 @@ public class CycleWorker extends AbstractWorker {
 		}
 
 		// Measure actual Cycle-Time
+		timings.finishCycle(stopwatch.elapsed(TimeUnit.NANOSECONDS));
+		this.parent.updateTimingChannels();
 		this.parent._setMeasuredCycleTime(stopwatch.elapsed(TimeUnit.MILLISECONDS));
 	}
 
+	/**
+	 * Records the duration of a finished {@link Phase}.
+	 *
+	 * @param phase      the {@link Phase}
+	 * @param phaseStart the start of the phase from {@link System#nanoTime()}
+	 * @return the end of the phase, i.e. the start of the next phase
+	 */
+	private long addPhase(Phase phase, long phaseStart) {
+		long now = System.nanoTime();
+		this.parent.timings.addPhase(phase, now - phaseStart);
+		return now;
+	}
+
+	/**
+	 * Switches the Channels of a Component to the next process image.
+	 *
+	 * <p>
+	 * For an {@link AbstractOpenemsComponent} only the Channels that received a
+	 * new value since the last switch are touched; for any other implementation
+	 * all Channels are switched.
+	 *
+	 * @param component the {@link OpenemsComponent}
+	 */
+	private static void nextProcessImage(OpenemsComponent component) {
+		if (component instanceof AbstractOpenemsComponent) {
+			for (Channel<?> channel : ((AbstractOpenemsComponent) component)._getAndResetDirtyChannels()) {
+				channel.nextProcessImage();
+			}
+		} else {
+			for (Channel<?> channel : component.channels()) {
+				channel.nextProcessImage();
+			}
+		}
+	}
+
 }
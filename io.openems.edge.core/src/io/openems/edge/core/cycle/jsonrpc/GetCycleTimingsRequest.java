@@ -0,0 +1,71 @@
+package io.openems.edge.core.cycle.jsonrpc;
+
+import java.util.UUID;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.base.JsonrpcRequest;
+import io.openems.common.utils.JsonUtils;
+import io.openems.edge.core.cycle.CycleTimings;
+
+/**
+ * Gets the per-phase and per-Controller durations of the last Cycles.
+ * 
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "id": "UUID",
+ *   "method": "getCycleTimings",
+ *   "params": {
+ *     "cycles"?: number = 10 // the number of Cycles to be returned
+ *   }
+ * }
+ * </pre>
+ */
+public class GetCycleTimingsRequest extends JsonrpcRequest {
+
+	public static final String METHOD = "getCycleTimings";
+	public static final int DEFAULT_CYCLES = 10;
+
+	/**
+	 * Parses a generic {@link JsonrpcRequest} to a {@link GetCycleTimingsRequest}.
+	 * 
+	 * @param r the {@link JsonrpcRequest}
+	 * @return the {@link GetCycleTimingsRequest}
+	 * @throws OpenemsNamedException on error
+	 */
+	public static GetCycleTimingsRequest from(JsonrpcRequest r) throws OpenemsNamedException {
+		JsonObject p = r.getParams();
+		int cycles = JsonUtils.getAsOptionalInt(p, "cycles").orElse(DEFAULT_CYCLES);
+		return new GetCycleTimingsRequest(r.getId(), cycles);
+	}
+
+	private final int cycles;
+
+	public GetCycleTimingsRequest(int cycles) {
+		this(UUID.randomUUID(), cycles);
+	}
+
+	public GetCycleTimingsRequest(UUID id, int cycles) {
+		super(id, METHOD);
+		this.cycles = Math.max(0, Math.min(cycles, CycleTimings.DEFAULT_WINDOW_SIZE));
+	}
+
+	/**
+	 * Gets the number of Cycles to be returned.
+	 * 
+	 * @return the number of Cycles
+	 */
+	public int getCycles() {
+		return this.cycles;
+	}
+
+	@Override
+	public JsonObject getParams() {
+		return JsonUtils.buildJsonObject() //
+				.addProperty("cycles", this.cycles) //
+				.build();
+	}
+
+}
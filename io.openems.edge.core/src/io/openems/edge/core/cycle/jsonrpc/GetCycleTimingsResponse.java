@@ -0,0 +1,92 @@
+package io.openems.edge.core.cycle.jsonrpc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
+import io.openems.edge.core.cycle.CycleTimings.Phase;
+import io.openems.edge.core.cycle.CycleTimings.Sample;
+import io.openems.edge.core.cycle.CycleTimings.Statistics;
+
+/**
+ * JSON-RPC Response to "getCycleTimings" Request. All durations are in [ms].
+ * 
+ * <p>
+ * 
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "id": "UUID",
+ *   "result": {
+ *     "phases": {
+ *       [phase: string]: {
+ *         "p50": number,
+ *         "p95": number,
+ *         "max": number
+ *       }
+ *     },
+ *     "controllers": {
+ *       [controllerId: string]: {
+ *         "p50": number,
+ *         "p95": number,
+ *         "max": number
+ *       }
+ *     },
+ *     "cycles": [{
+ *       "name": "cycle",
+ *       "duration": number,
+ *       "timestamp": number, // epoch milliseconds
+ *       "children": [{
+ *         "name": string, // the phase
+ *         "duration": number,
+ *         "children"?: [{
+ *           "name": string, // the Controller-ID
+ *           "duration": number
+ *         }]
+ *       }]
+ *     }]
+ *   }
+ * }
+ * </pre>
+ */
+public class GetCycleTimingsResponse extends JsonrpcResponseSuccess {
+
+	private final Map<Phase, Statistics> phases;
+	private final Map<String, Statistics> controllers;
+	private final List<Sample> cycles;
+
+	public GetCycleTimingsResponse(UUID id, Map<Phase, Statistics> phases, Map<String, Statistics> controllers,
+			List<Sample> cycles) {
+		super(id);
+		this.phases = phases;
+		this.controllers = controllers;
+		this.cycles = cycles;
+	}
+
+	@Override
+	public JsonObject getResult() {
+		JsonObject phases = new JsonObject();
+		for (Entry<Phase, Statistics> entry : this.phases.entrySet()) {
+			phases.add(entry.getKey().name(), entry.getValue().toJson());
+		}
+		JsonObject controllers = new JsonObject();
+		for (Entry<String, Statistics> entry : this.controllers.entrySet()) {
+			controllers.add(entry.getKey(), entry.getValue().toJson());
+		}
+		JsonArray cycles = new JsonArray();
+		for (Sample sample : this.cycles) {
+			cycles.add(sample.toJson());
+		}
+		JsonObject result = new JsonObject();
+		result.add("phases", phases);
+		result.add("controllers", controllers);
+		result.add("cycles", cycles);
+		return result;
+	}
+
+}
@@ -0,0 +1,117 @@
+package io.openems.edge.core.sum;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import io.openems.common.channel.Level;
+import io.openems.edge.common.channel.value.Value;
+import io.openems.edge.common.component.OpenemsComponent;
+
+/**
+ * Aggregates the State of Components for {@link SumImpl}.
+ *
+ * <p>
+ * The highest State of all Components is maintained by counting the Components
+ * per {@link Level}; the counters are updated by onChange-listeners on the
+ * State Channels, so no Component needs to be visited during the Cycle. The
+ * Components themselves are added and removed by a ComponentListener on the
+ * ComponentManager.
+ */
+class LevelCounter {
+
+	/**
+	 * Holds the current {@link Level} of a Component and the listener on its
+	 * State Channel.
+	 */
+	private static class StateListener {
+		private Level level;
+		private boolean removed = false;
+		private BiConsumer<Value<Integer>, Value<Integer>> callback;
+	}
+
+	private static final Level[] LEVELS = Level.values();
+
+	// guarded by 'this'
+	private final Map<OpenemsComponent, StateListener> stateListeners = new IdentityHashMap<>();
+	private final int[] levelCounts = new int[LEVELS.length];
+
+	/**
+	 * Releases all Components.
+	 */
+	public synchronized void clear() {
+		for (OpenemsComponent component : new ArrayList<>(this.stateListeners.keySet())) {
+			this.remove(component);
+		}
+	}
+
+	/**
+	 * Counts the State of a Component and listens on its changes.
+	 *
+	 * @param component the {@link OpenemsComponent}
+	 */
+	public synchronized void add(OpenemsComponent component) {
+		if (this.stateListeners.containsKey(component)) {
+			return;
+		}
+		// Register the listener before reading the current State, so that no change
+		// gets lost. The listener waits for this lock.
+		StateListener listener = new StateListener();
+		listener.callback = (oldValue, newValue) -> {
+			this.updateLevel(listener, newValue.asEnum());
+		};
+		component.getStateChannel().onChange(listener.callback);
+		listener.level = component.getState();
+		this.levelCounts[listener.level.ordinal()]++;
+		this.stateListeners.put(component, listener);
+	}
+
+	/**
+	 * Releases a Component.
+	 *
+	 * @param component the {@link OpenemsComponent}
+	 */
+	public synchronized void remove(OpenemsComponent component) {
+		StateListener listener = this.stateListeners.remove(component);
+		if (listener == null) {
+			return;
+		}
+		component.getStateChannel().removeOnChangeCallback(listener.callback);
+		listener.removed = true;
+		this.levelCounts[listener.level.ordinal()]--;
+	}
+
+	private synchronized void updateLevel(StateListener listener, Level level) {
+		if (listener.removed || listener.level == level) {
+			return;
+		}
+		this.levelCounts[listener.level.ordinal()]--;
+		this.levelCounts[level.ordinal()]++;
+		listener.level = level;
+	}
+
+	/**
+	 * Gets the number of Components.
+	 *
+	 * @return the number of Components
+	 */
+	public synchronized int size() {
+		return this.stateListeners.size();
+	}
+
+	/**
+	 * Gets the highest {@link Level} of all Components.
+	 *
+	 * @return the highest Level; {@link Level#OK} if there are no Components
+	 */
+	public synchronized Level getHighestLevel() {
+		for (int i = LEVELS.length - 1; i > 0; i--) {
+			if (this.levelCounts[i] > 0) {
+				return LEVELS[i];
+			}
+		}
+		return Level.OK;
+	}
+
+}
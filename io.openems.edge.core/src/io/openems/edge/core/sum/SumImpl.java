@@ -19,6 +19,7 @@ import io.openems.edge.common.channel.calculate.CalculateLongSum;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
+import io.openems.edge.common.component.ComponentManager.ComponentListener;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.modbusslave.ModbusSlave;
 import io.openems.edge.common.modbusslave.ModbusSlaveTable;
@@ -47,11 +48,25 @@ public class SumImpl extends AbstractOpenemsComponent implements Sum, OpenemsCom
 	@Reference(policyOption = ReferencePolicyOption.GREEDY, cardinality = ReferenceCardinality.OPTIONAL)
 	protected Timedata timedata = null;
 
-	@Reference
 	protected ComponentManager componentManager;
 
+	private final LevelCounter levelCounter = new LevelCounter();
 	private final EnergyValuesHandler energyValuesHandler;
 
+	/**
+	 * Adds and removes the enabled Components to/from the {@link LevelCounter}.
+	 */
+	private final ComponentListener componentListener = (component, added) -> {
+		if (component == this) {
+			return;
+		}
+		if (added) {
+			this.levelCounter.add(component);
+		} else {
+			this.levelCounter.remove(component);
+		}
+	};
+
 	@Override
 	public ModbusSlaveTable getModbusSlaveTable(AccessMode accessMode) {
 		return new ModbusSlaveTable(//
@@ -67,6 +82,18 @@ public class SumImpl extends AbstractOpenemsComponent implements Sum, OpenemsCom
 		this.energyValuesHandler = new EnergyValuesHandler(this);
 	}
 
+	@Reference
+	protected void setComponentManager(ComponentManager componentManager) {
+		this.componentManager = componentManager;
+		componentManager.addComponentListener(this.componentListener);
+	}
+
+	protected void unsetComponentManager(ComponentManager componentManager) {
+		componentManager.removeComponentListener(this.componentListener);
+		this.levelCounter.clear();
+		this.componentManager = null;
+	}
+
 	@Activate
 	void activate(ComponentContext context) {
 		super.activate(context, OpenemsConstants.SUM_ID, "Sum", true);
@@ -130,128 +157,128 @@ public class SumImpl extends AbstractOpenemsComponent implements Sum, OpenemsCom
 		// cabling errors, etc.
 		final CalculateLongSum productionAcActiveEnergyNegative = new CalculateLongSum();
 
-		for (OpenemsComponent component : this.componentManager.getEnabledComponents()) {
-			if (component instanceof SymmetricEss) {
-				/*
-				 * Ess
-				 */
-				SymmetricEss ess = (SymmetricEss) component;
+		/*
+		 * Ess
+		 */
+		for (SymmetricEss ess : this.componentManager.getEnabledComponentsOfType(SymmetricEss.class)) {
+			if (ess instanceof MetaEss) {
+				// ignore this Ess
+				continue;
+			}
+			essSoc.addValue(ess.getSocChannel());
+			essActivePower.addValue(ess.getActivePowerChannel());
+			essReactivePower.addValue(ess.getReactivePowerChannel());
+			essMaxApparentPower.addValue(ess.getMaxApparentPowerChannel());
+			essGridMode.addValue(ess.getGridModeChannel());
+			essActiveChargeEnergy.addValue(ess.getActiveChargeEnergyChannel());
+			essActiveDischargeEnergy.addValue(ess.getActiveDischargeEnergyChannel());
+			essCapacity.addValue(ess.getCapacityChannel());
+
+			if (ess instanceof AsymmetricEss) {
+				AsymmetricEss e = (AsymmetricEss) ess;
+				essActivePowerL1.addValue(e.getActivePowerL1Channel());
+				essActivePowerL2.addValue(e.getActivePowerL2Channel());
+				essActivePowerL3.addValue(e.getActivePowerL3Channel());
+			} else {
+				essActivePowerL1.addValue(ess.getActivePowerChannel(), CalculateIntegerSum.DIVIDE_BY_THREE);
+				essActivePowerL2.addValue(ess.getActivePowerChannel(), CalculateIntegerSum.DIVIDE_BY_THREE);
+				essActivePowerL3.addValue(ess.getActivePowerChannel(), CalculateIntegerSum.DIVIDE_BY_THREE);
+			}
 
-				if (ess instanceof MetaEss) {
-					// ignore this Ess
-					continue;
-				}
-				essSoc.addValue(ess.getSocChannel());
-				essActivePower.addValue(ess.getActivePowerChannel());
-				essReactivePower.addValue(ess.getReactivePowerChannel());
-				essMaxApparentPower.addValue(ess.getMaxApparentPowerChannel());
-				essGridMode.addValue(ess.getGridModeChannel());
-				essActiveChargeEnergy.addValue(ess.getActiveChargeEnergyChannel());
-				essActiveDischargeEnergy.addValue(ess.getActiveDischargeEnergyChannel());
-				essCapacity.addValue(ess.getCapacityChannel());
-
-				if (ess instanceof AsymmetricEss) {
-					AsymmetricEss e = (AsymmetricEss) ess;
-					essActivePowerL1.addValue(e.getActivePowerL1Channel());
-					essActivePowerL2.addValue(e.getActivePowerL2Channel());
-					essActivePowerL3.addValue(e.getActivePowerL3Channel());
-				} else {
-					essActivePowerL1.addValue(ess.getActivePowerChannel(), CalculateIntegerSum.DIVIDE_BY_THREE);
-					essActivePowerL2.addValue(ess.getActivePowerChannel(), CalculateIntegerSum.DIVIDE_BY_THREE);
-					essActivePowerL3.addValue(ess.getActivePowerChannel(), CalculateIntegerSum.DIVIDE_BY_THREE);
-				}
+			if (ess instanceof HybridEss) {
+				HybridEss e = (HybridEss) ess;
+				essDcChargeEnergy.addValue(e.getDcChargeEnergyChannel());
+				essDcDischargeEnergy.addValue(e.getDcDischargeEnergyChannel());
+			} else {
+				essDcChargeEnergy.addValue(ess.getActiveChargeEnergyChannel());
+				essDcDischargeEnergy.addValue(ess.getActiveDischargeEnergyChannel());
+			}
+		}
 
-				if (ess instanceof HybridEss) {
-					HybridEss e = (HybridEss) ess;
-					essDcChargeEnergy.addValue(e.getDcChargeEnergyChannel());
-					essDcDischargeEnergy.addValue(e.getDcDischargeEnergyChannel());
-				} else {
-					essDcChargeEnergy.addValue(ess.getActiveChargeEnergyChannel());
-					essDcDischargeEnergy.addValue(ess.getActiveDischargeEnergyChannel());
-				}
+		/*
+		 * Meter
+		 */
+		for (SymmetricMeter meter : this.componentManager.getEnabledComponentsOfType(SymmetricMeter.class)) {
+			if (meter instanceof SymmetricEss) {
+				// counted as Ess
+				continue;
+			}
+			if (meter instanceof VirtualMeter && !((VirtualMeter) meter).addToSum()) {
+				// Ignore VirtualMeter if "addToSum" is not activated (default)
+				continue;
+			}
+			switch (meter.getMeterType()) {
+			case PRODUCTION_AND_CONSUMPTION:
+				// TODO PRODUCTION_AND_CONSUMPTION
+				break;
 
-			} else if (component instanceof SymmetricMeter) {
-				if (component instanceof VirtualMeter) {
-					if (!((VirtualMeter) component).addToSum()) {
-						// Ignore VirtualMeter if "addToSum" is not activated (default)
-						continue;
-					}
-				}
+			case CONSUMPTION_METERED:
+				// TODO CONSUMPTION_METERED
+				break;
 
+			case CONSUMPTION_NOT_METERED:
+				// TODO CONSUMPTION_NOT_METERED
+				break;
+
+			case GRID:
 				/*
-				 * Meter
+				 * Grid-Meter
 				 */
-				SymmetricMeter meter = (SymmetricMeter) component;
-				switch (meter.getMeterType()) {
-				case PRODUCTION_AND_CONSUMPTION:
-					// TODO PRODUCTION_AND_CONSUMPTION
-					break;
-
-				case CONSUMPTION_METERED:
-					// TODO CONSUMPTION_METERED
-					break;
-
-				case CONSUMPTION_NOT_METERED:
-					// TODO CONSUMPTION_NOT_METERED
-					break;
-
-				case GRID:
-					/*
-					 * Grid-Meter
-					 */
-					gridActivePower.addValue(meter.getActivePowerChannel());
-					gridMinActivePower.addValue(meter.getMinActivePowerChannel());
-					gridMaxActivePower.addValue(meter.getMaxActivePowerChannel());
-					gridBuyActiveEnergy.addValue(meter.getActiveProductionEnergyChannel());
-					gridSellActiveEnergy.addValue(meter.getActiveConsumptionEnergyChannel());
-
-					if (meter instanceof AsymmetricMeter) {
-						AsymmetricMeter m = (AsymmetricMeter) meter;
-						gridActivePowerL1.addValue(m.getActivePowerL1Channel());
-						gridActivePowerL2.addValue(m.getActivePowerL2Channel());
-						gridActivePowerL3.addValue(m.getActivePowerL3Channel());
-					} else {
-						gridActivePowerL1.addValue(meter.getActivePowerChannel(), CalculateIntegerSum.DIVIDE_BY_THREE);
-						gridActivePowerL2.addValue(meter.getActivePowerChannel(), CalculateIntegerSum.DIVIDE_BY_THREE);
-						gridActivePowerL3.addValue(meter.getActivePowerChannel(), CalculateIntegerSum.DIVIDE_BY_THREE);
-					}
-					break;
-
-				case PRODUCTION:
-					/*
-					 * Production-Meter
-					 */
-					productionAcActivePower.addValue(meter.getActivePowerChannel());
-					productionMaxAcActivePower.addValue(meter.getMaxActivePowerChannel());
-					productionAcActiveEnergy.addValue(meter.getActiveProductionEnergyChannel());
-					productionAcActiveEnergyNegative.addValue(meter.getActiveConsumptionEnergyChannel());
-
-					if (meter instanceof AsymmetricMeter) {
-						AsymmetricMeter m = (AsymmetricMeter) meter;
-						productionAcActivePowerL1.addValue(m.getActivePowerL1Channel());
-						productionAcActivePowerL2.addValue(m.getActivePowerL2Channel());
-						productionAcActivePowerL3.addValue(m.getActivePowerL3Channel());
-					} else {
-						productionAcActivePowerL1.addValue(meter.getActivePowerChannel(),
-								CalculateIntegerSum.DIVIDE_BY_THREE);
-						productionAcActivePowerL2.addValue(meter.getActivePowerChannel(),
-								CalculateIntegerSum.DIVIDE_BY_THREE);
-						productionAcActivePowerL3.addValue(meter.getActivePowerChannel(),
-								CalculateIntegerSum.DIVIDE_BY_THREE);
-					}
-					break;
-
+				gridActivePower.addValue(meter.getActivePowerChannel());
+				gridMinActivePower.addValue(meter.getMinActivePowerChannel());
+				gridMaxActivePower.addValue(meter.getMaxActivePowerChannel());
+				gridBuyActiveEnergy.addValue(meter.getActiveProductionEnergyChannel());
+				gridSellActiveEnergy.addValue(meter.getActiveConsumptionEnergyChannel());
+
+				if (meter instanceof AsymmetricMeter) {
+					AsymmetricMeter m = (AsymmetricMeter) meter;
+					gridActivePowerL1.addValue(m.getActivePowerL1Channel());
+					gridActivePowerL2.addValue(m.getActivePowerL2Channel());
+					gridActivePowerL3.addValue(m.getActivePowerL3Channel());
+				} else {
+					gridActivePowerL1.addValue(meter.getActivePowerChannel(), CalculateIntegerSum.DIVIDE_BY_THREE);
+					gridActivePowerL2.addValue(meter.getActivePowerChannel(), CalculateIntegerSum.DIVIDE_BY_THREE);
+					gridActivePowerL3.addValue(meter.getActivePowerChannel(), CalculateIntegerSum.DIVIDE_BY_THREE);
 				}
+				break;
 
-			} else if (component instanceof EssDcCharger) {
+			case PRODUCTION:
 				/*
-				 * Ess DC-Charger
+				 * Production-Meter
 				 */
-				EssDcCharger charger = (EssDcCharger) component;
-				productionDcActualPower.addValue(charger.getActualPowerChannel());
-				productionMaxDcActualPower.addValue(charger.getMaxActualPowerChannel());
-				productionDcActiveEnergy.addValue(charger.getActualEnergyChannel());
+				productionAcActivePower.addValue(meter.getActivePowerChannel());
+				productionMaxAcActivePower.addValue(meter.getMaxActivePowerChannel());
+				productionAcActiveEnergy.addValue(meter.getActiveProductionEnergyChannel());
+				productionAcActiveEnergyNegative.addValue(meter.getActiveConsumptionEnergyChannel());
+
+				if (meter instanceof AsymmetricMeter) {
+					AsymmetricMeter m = (AsymmetricMeter) meter;
+					productionAcActivePowerL1.addValue(m.getActivePowerL1Channel());
+					productionAcActivePowerL2.addValue(m.getActivePowerL2Channel());
+					productionAcActivePowerL3.addValue(m.getActivePowerL3Channel());
+				} else {
+					productionAcActivePowerL1.addValue(meter.getActivePowerChannel(),
+							CalculateIntegerSum.DIVIDE_BY_THREE);
+					productionAcActivePowerL2.addValue(meter.getActivePowerChannel(),
+							CalculateIntegerSum.DIVIDE_BY_THREE);
+					productionAcActivePowerL3.addValue(meter.getActivePowerChannel(),
+							CalculateIntegerSum.DIVIDE_BY_THREE);
+				}
+				break;
+			}
+		}
+
+		/*
+		 * Ess DC-Charger
+		 */
+		for (EssDcCharger charger : this.componentManager.getEnabledComponentsOfType(EssDcCharger.class)) {
+			if (charger instanceof SymmetricEss || charger instanceof SymmetricMeter) {
+				// counted as Ess or Meter
+				continue;
 			}
+			productionDcActualPower.addValue(charger.getActualPowerChannel());
+			productionMaxDcActualPower.addValue(charger.getMaxActualPowerChannel());
+			productionDcActiveEnergy.addValue(charger.getActualEnergyChannel());
 		}
 
 		/*
@@ -363,20 +390,13 @@ public class SumImpl extends AbstractOpenemsComponent implements Sum, OpenemsCom
 
 	/**
 	 * Combines the State of all Components.
+	 *
+	 * <p>
+	 * The highest State is maintained incrementally by the {@link LevelCounter};
+	 * no Component is visited.
 	 */
-	private void calculateState() {
-		Level highestLevel = Level.OK;
-		for (OpenemsComponent component : this.componentManager.getEnabledComponents()) {
-			if (component == this) {
-				// ignore myself
-				continue;
-			}
-			Level level = component.getState();
-			if (level.getValue() > highestLevel.getValue()) {
-				highestLevel = level;
-			}
-		}
-		this.getStateChannel().setNextValue(highestLevel);
+	protected void calculateState() {
+		this.getStateChannel().setNextValue(this.levelCounter.getHighestLevel());
 	}
 
 	@Override
@@ -0,0 +1,133 @@
+package io.openems.edge.core.componentmanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.openems.edge.common.component.ComponentManager.ComponentListener;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.ess.api.ManagedSymmetricEss;
+import io.openems.edge.ess.api.SymmetricEss;
+import io.openems.edge.ess.test.DummyManagedSymmetricEss;
+import io.openems.edge.meter.api.SymmetricMeter;
+import io.openems.edge.meter.test.DummySymmetricMeter;
+
+public class ComponentIndexTest {
+
+	@Test
+	public void testSnapshot() {
+		ComponentIndex sut = new ComponentIndex();
+		DummyManagedSymmetricEss ess0 = new DummyManagedSymmetricEss("ess0");
+		DummySymmetricMeter meter0 = new DummySymmetricMeter("meter0");
+		assertEquals(0, sut.getVersion());
+		assertTrue(sut.getComponents().isEmpty());
+
+		sut.add(ess0);
+		List<OpenemsComponent> before = sut.getComponents();
+		assertEquals(1, sut.getVersion());
+
+		sut.add(meter0);
+		assertEquals(2, sut.getVersion());
+		assertEquals(2, sut.getComponents().size());
+
+		// the previous snapshot is not modified
+		assertEquals(1, before.size());
+		assertSame(ess0, before.get(0));
+
+		// adding the same instance again is ignored
+		sut.add(ess0);
+		assertEquals(2, sut.getVersion());
+		assertEquals(2, sut.getComponents().size());
+
+		// removing an unknown instance is ignored
+		sut.remove(new DummyManagedSymmetricEss("ess0"));
+		assertEquals(2, sut.getVersion());
+
+		sut.remove(ess0);
+		assertEquals(3, sut.getVersion());
+		assertEquals(1, sut.getComponents().size());
+		assertSame(meter0, sut.getComponents().get(0));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testUnmodifiable() {
+		ComponentIndex sut = new ComponentIndex();
+		sut.getComponents().add(new DummyManagedSymmetricEss("ess0"));
+	}
+
+	@Test
+	public void testById() {
+		ComponentIndex sut = new ComponentIndex();
+		DummyManagedSymmetricEss ess0 = new DummyManagedSymmetricEss("ess0");
+		DummyManagedSymmetricEss duplicate = new DummyManagedSymmetricEss("ess0");
+		sut.add(ess0);
+		sut.add(duplicate);
+
+		// with duplicated IDs the first Component wins
+		assertSame(ess0, sut.getComponent("ess0"));
+		assertNull(sut.getComponent("ess1"));
+
+		sut.remove(ess0);
+		assertSame(duplicate, sut.getComponent("ess0"));
+	}
+
+	@Test
+	public void testByType() {
+		ComponentIndex sut = new ComponentIndex();
+		DummyManagedSymmetricEss ess0 = new DummyManagedSymmetricEss("ess0");
+		DummyManagedSymmetricEss ess1 = new DummyManagedSymmetricEss("ess1");
+		DummySymmetricMeter meter0 = new DummySymmetricMeter("meter0");
+		sut.add(ess0);
+		sut.add(meter0);
+
+		List<SymmetricEss> esss = sut.getComponentsOfType(SymmetricEss.class);
+		assertEquals(1, esss.size());
+		assertSame(ess0, esss.get(0));
+		assertEquals(1, sut.getComponentsOfType(ManagedSymmetricEss.class).size());
+		assertEquals(1, sut.getComponentsOfType(SymmetricMeter.class).size());
+		assertEquals(2, sut.getComponentsOfType(OpenemsComponent.class).size());
+
+		// the List is built lazily once and kept until the next change
+		assertSame(esss, sut.getComponentsOfType(SymmetricEss.class));
+
+		sut.add(ess1);
+		List<SymmetricEss> next = sut.getComponentsOfType(SymmetricEss.class);
+		assertNotSame(esss, next);
+		assertEquals(2, next.size());
+		assertEquals(1, esss.size());
+	}
+
+	@Test
+	public void testListener() {
+		ComponentIndex sut = new ComponentIndex();
+		DummyManagedSymmetricEss ess0 = new DummyManagedSymmetricEss("ess0");
+		DummySymmetricMeter meter0 = new DummySymmetricMeter("meter0");
+		sut.add(ess0);
+
+		List<String> changes = new ArrayList<>();
+		ComponentListener listener = (component, added) -> changes.add((added ? "+" : "-") + component.id());
+
+		// current Components are announced on registration
+		sut.addListener(listener);
+		assertEquals(Arrays.asList("+ess0"), changes);
+
+		sut.add(meter0);
+		sut.add(meter0); // no change
+		sut.remove(ess0);
+		sut.remove(ess0); // no change
+		assertEquals(Arrays.asList("+ess0", "+meter0", "-ess0"), changes);
+
+		sut.removeListener(listener);
+		sut.add(ess0);
+		assertEquals(3, changes.size());
+	}
+
+}
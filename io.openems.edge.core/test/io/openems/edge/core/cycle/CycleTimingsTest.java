@@ -0,0 +1,127 @@
+package io.openems.edge.core.cycle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import io.openems.edge.core.cycle.CycleTimings.Phase;
+import io.openems.edge.core.cycle.CycleTimings.Sample;
+import io.openems.edge.core.cycle.CycleTimings.Statistics;
+
+public class CycleTimingsTest {
+
+	private static final long MS = 1_000_000L;
+
+	@Test
+	public void testWindow() {
+		CycleTimings sut = new CycleTimings(3);
+		for (int i = 1; i <= 5; i++) {
+			sut.startCycle(i);
+			sut.finishCycle(i * MS);
+		}
+
+		// only the last 3 Samples are kept, oldest first
+		List<Sample> samples = sut.getSamples(10);
+		assertEquals(3, samples.size());
+		assertEquals(3 * MS, samples.get(0).getDuration());
+		assertEquals(5 * MS, samples.get(2).getDuration());
+
+		samples = sut.getSamples(2);
+		assertEquals(2, samples.size());
+		assertEquals(4 * MS, samples.get(0).getDuration());
+		assertEquals(5 * MS, samples.get(1).getDuration());
+	}
+
+	@Test
+	public void testPhaseStatistics() {
+		CycleTimings sut = new CycleTimings(CycleTimings.DEFAULT_WINDOW_SIZE);
+		// add in reverse order to make sure values are sorted
+		for (int i = 100; i >= 1; i--) {
+			sut.startCycle(i);
+			sut.addPhase(Phase.PROCESS_IMAGE, i * MS);
+			sut.addPhase(Phase.PROCESS_IMAGE, i * MS); // durations are summed up
+			sut.finishCycle(2 * i * MS);
+		}
+
+		Map<Phase, Statistics> statistics = sut.getPhaseStatistics();
+		assertEquals(Phase.values().length, statistics.size());
+
+		Statistics processImage = statistics.get(Phase.PROCESS_IMAGE);
+		assertEquals(100, processImage.getP50(), 0.001);
+		assertEquals(190, processImage.getP95(), 0.001);
+		assertEquals(200, processImage.getMax(), 0.001);
+
+		Statistics controllers = statistics.get(Phase.CONTROLLERS);
+		assertEquals(0, controllers.getMax(), 0.001);
+	}
+
+	@Test
+	public void testControllerStatistics() {
+		CycleTimings sut = new CycleTimings(CycleTimings.DEFAULT_WINDOW_SIZE);
+		for (int i = 1; i <= 10; i++) {
+			sut.startCycle(i);
+			sut.addController("ctrl0", i * MS);
+			if (i > 8) {
+				// executed twice in one Cycle
+				sut.addController("ctrl1", 5 * MS);
+				sut.addController("ctrl1", 5 * MS);
+			}
+			sut.finishCycle(i * MS);
+		}
+
+		Map<String, Statistics> statistics = sut.getControllerStatistics();
+		assertEquals(2, statistics.size());
+		assertEquals(5, statistics.get("ctrl0").getP50(), 0.001);
+		assertEquals(10, statistics.get("ctrl0").getMax(), 0.001);
+
+		// only Cycles in which ctrl1 was executed are considered
+		assertEquals(10, statistics.get("ctrl1").getP50(), 0.001);
+		assertEquals(10, statistics.get("ctrl1").getMax(), 0.001);
+	}
+
+	@Test
+	public void testEmpty() {
+		CycleTimings sut = new CycleTimings(CycleTimings.DEFAULT_WINDOW_SIZE);
+
+		// not started: ignored
+		sut.addPhase(Phase.PROCESS_IMAGE, MS);
+		sut.addController("ctrl0", MS);
+		sut.finishCycle(MS);
+
+		assertTrue(sut.getSamples(10).isEmpty());
+		assertTrue(sut.getControllerStatistics().isEmpty());
+		assertEquals(0, sut.getPhaseStatistics().get(Phase.PROCESS_IMAGE).getMax(), 0.001);
+	}
+
+	@Test
+	public void testToJson() {
+		CycleTimings sut = new CycleTimings(CycleTimings.DEFAULT_WINDOW_SIZE);
+		sut.startCycle(1234);
+		sut.addPhase(Phase.CONTROLLERS, 3 * MS);
+		sut.addController("ctrl0", 2 * MS);
+		sut.finishCycle(4 * MS);
+
+		JsonObject json = sut.getSamples(1).get(0).toJson();
+		assertEquals("cycle", json.get("name").getAsString());
+		assertEquals(1234, json.get("timestamp").getAsLong());
+		assertEquals(4, json.get("duration").getAsDouble(), 0.001);
+
+		JsonArray phases = json.getAsJsonArray("children");
+		assertEquals(Phase.values().length, phases.size());
+		JsonObject controllers = phases.get(Phase.CONTROLLERS.ordinal()).getAsJsonObject();
+		assertEquals(3, controllers.get("duration").getAsDouble(), 0.001);
+		JsonObject ctrl0 = controllers.getAsJsonArray("children").get(0).getAsJsonObject();
+		assertEquals("ctrl0", ctrl0.get("name").getAsString());
+		assertEquals(2, ctrl0.get("duration").getAsDouble(), 0.001);
+		assertFalse(phases.get(0).getAsJsonObject().has("children"));
+	}
+
+}
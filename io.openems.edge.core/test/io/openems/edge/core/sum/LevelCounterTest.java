@@ -0,0 +1,61 @@
+package io.openems.edge.core.sum;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import io.openems.common.channel.Level;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.ess.test.DummyManagedSymmetricEss;
+
+public class LevelCounterTest {
+
+	private static void setState(OpenemsComponent component, Level level) {
+		component.getStateChannel().setNextValue(level);
+		component.getStateChannel().nextProcessImage();
+	}
+
+	@Test
+	public void test() {
+		DummyManagedSymmetricEss ess0 = new DummyManagedSymmetricEss("ess0");
+		DummyManagedSymmetricEss ess1 = new DummyManagedSymmetricEss("ess1");
+		LevelCounter sut = new LevelCounter();
+		assertEquals(Level.OK, sut.getHighestLevel());
+
+		sut.add(ess0);
+		sut.add(ess1);
+		assertEquals(2, sut.size());
+		assertEquals(Level.OK, sut.getHighestLevel());
+
+		// State changes are counted by the listeners
+		setState(ess0, Level.WARNING);
+		assertEquals(Level.WARNING, sut.getHighestLevel());
+		setState(ess1, Level.FAULT);
+		assertEquals(Level.FAULT, sut.getHighestLevel());
+		setState(ess1, Level.INFO);
+		assertEquals(Level.WARNING, sut.getHighestLevel());
+
+		// adding a Component twice keeps it once
+		sut.add(ess0);
+		assertEquals(2, sut.size());
+		assertEquals(Level.WARNING, sut.getHighestLevel());
+
+		// removed Components are not counted anymore
+		sut.remove(ess0);
+		assertEquals(1, sut.size());
+		assertEquals(Level.INFO, sut.getHighestLevel());
+		setState(ess0, Level.FAULT);
+		assertEquals(Level.INFO, sut.getHighestLevel());
+
+		// re-added Components are counted with their current State
+		sut.add(ess0);
+		assertEquals(Level.FAULT, sut.getHighestLevel());
+
+		sut.clear();
+		assertEquals(0, sut.size());
+		assertEquals(Level.OK, sut.getHighestLevel());
+		setState(ess1, Level.FAULT);
+		assertEquals(Level.OK, sut.getHighestLevel());
+	}
+
+}
@@ -0,0 +1,51 @@
+package io.openems.edge.core.sum;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import io.openems.common.channel.Level;
+import io.openems.edge.common.test.DummyComponentManager;
+import io.openems.edge.ess.test.DummyManagedSymmetricEss;
+import io.openems.edge.ess.test.DummyMetaEss;
+
+public class SumImplTest {
+
+	@Test
+	public void test() {
+		DummyManagedSymmetricEss ess0 = new DummyManagedSymmetricEss("ess0").withSoc(40);
+		DummyManagedSymmetricEss ess1 = new DummyManagedSymmetricEss("ess1").withSoc(60);
+		DummyMetaEss ess2 = new DummyMetaEss("ess2", ess0, ess1);
+		ess2._setSoc(0);
+		ess2.getSocChannel().nextProcessImage();
+
+		DummyComponentManager componentManager = new DummyComponentManager();
+		SumImpl sut = new SumImpl();
+		componentManager.addComponent(sut).addComponent(ess0);
+		sut.setComponentManager(componentManager);
+		componentManager.addComponent(ess1).addComponent(ess2);
+
+		sut.updateChannelsBeforeProcessImage();
+		// MetaEss is ignored
+		assertEquals(50, (int) sut.getEssSocChannel().getNextValue().get());
+		assertEquals(Level.OK.getValue(), (int) sut.getStateChannel().getNextValue().get());
+
+		// State is updated by the listeners on the State Channels
+		ess1.getStateChannel().setNextValue(Level.FAULT);
+		ess1.getStateChannel().nextProcessImage();
+		sut.updateChannelsBeforeProcessImage();
+		assertEquals(Level.FAULT.getValue(), (int) sut.getStateChannel().getNextValue().get());
+
+		// new Components are announced by the ComponentManager
+		DummyManagedSymmetricEss ess3 = new DummyManagedSymmetricEss("ess3").withSoc(80);
+		ess3.getStateChannel().setNextValue(Level.WARNING);
+		ess3.getStateChannel().nextProcessImage();
+		ess1.getStateChannel().setNextValue(Level.OK);
+		ess1.getStateChannel().nextProcessImage();
+		componentManager.addComponent(ess3);
+		sut.updateChannelsBeforeProcessImage();
+		assertEquals(60, (int) sut.getEssSocChannel().getNextValue().get());
+		assertEquals(Level.WARNING.getValue(), (int) sut.getStateChannel().getNextValue().get());
+	}
+
+}
@@ -4,6 +4,7 @@ import org.osgi.service.metatype.annotations.AttributeDefinition;
 import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 
 import io.openems.edge.common.filter.PidFilter;
+import io.openems.edge.ess.core.power.solver.SolverEngine;
 import io.openems.edge.ess.power.api.SolverStrategy;
 
 /**
@@ -17,6 +18,9 @@ import io.openems.edge.ess.power.api.SolverStrategy;
 	@AttributeDefinition(name = "Strategy", description = "The strategy for solving power distribution.")
 	SolverStrategy strategy() default SolverStrategy.OPTIMIZE_BY_MOVING_TOWARDS_TARGET;
 
+	@AttributeDefinition(name = "Solver Engine", description = "The engine for solving the linear programs. 'Warm start simplex' reuses the solution of the previous Cycle.")
+	SolverEngine engine() default SolverEngine.COMMONS_MATH;
+
 	@AttributeDefinition(name = "Symmetric Mode", description = "Keeps asymmetric ESS phases symmetric")
 	boolean symmetricMode() default PowerComponent.DEFAULT_SYMMETRIC_MODE;
 
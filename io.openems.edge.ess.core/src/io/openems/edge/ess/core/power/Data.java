@@ -7,6 +7,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -16,6 +17,8 @@ import io.openems.common.exceptions.OpenemsException;
 import io.openems.edge.ess.api.ManagedSymmetricEss;
 import io.openems.edge.ess.core.power.data.ConstraintUtil;
 import io.openems.edge.ess.core.power.data.WeightsUtil;
+import io.openems.edge.ess.core.power.solver.LinearConstraintsSolver;
+import io.openems.edge.ess.core.power.solver.SolverEngine;
 import io.openems.edge.ess.power.api.Coefficient;
 import io.openems.edge.ess.power.api.Coefficients;
 import io.openems.edge.ess.power.api.Constraint;
@@ -39,6 +42,12 @@ public class Data {
 
 	private final List<Constraint> constraints = new CopyOnWriteArrayList<>();
 	private final Coefficients coefficients = new Coefficients();
+	private final LinearConstraintsSolver solver = new LinearConstraintsSolver();
+
+	/**
+	 * Is incremented on every change of the Constraints.
+	 */
+	private final AtomicLong constraintsVersion = new AtomicLong();
 
 	private boolean symmetricMode = PowerComponent.DEFAULT_SYMMETRIC_MODE;
 	private Consumer<Boolean> onStaticConstraintsFailed = null;
@@ -72,6 +81,24 @@ public class Data {
 		this.updateInverters();
 	}
 
+	/**
+	 * Sets the {@link SolverEngine} of the {@link LinearConstraintsSolver}.
+	 * 
+	 * @param engine the {@link SolverEngine}
+	 */
+	public void setSolverEngine(SolverEngine engine) {
+		this.solver.setEngine(engine);
+	}
+
+	/**
+	 * Gets the {@link LinearConstraintsSolver}.
+	 * 
+	 * @return the {@link LinearConstraintsSolver}
+	 */
+	public LinearConstraintsSolver getSolver() {
+		return this.solver;
+	}
+
 	/**
 	 * Activates Symmetric-Mode.
 	 * 
@@ -86,6 +113,7 @@ public class Data {
 	}
 
 	private synchronized void updateInverters() {
+		this.constraintsVersion.incrementAndGet();
 		this.inverters.clear();
 
 		// Create inverters and add them to list
@@ -111,6 +139,7 @@ public class Data {
 	protected synchronized void initializeCycle() {
 		// Remove Constraints of last Cycle
 		this.constraints.clear();
+		this.constraintsVersion.incrementAndGet();
 		// Update sorting of Inverters
 		WeightsUtil.updateWeightsFromSoc(this.inverters, this.esss);
 		WeightsUtil.adjustSortingByWeights(this.inverters);
@@ -126,10 +155,30 @@ public class Data {
 
 	protected void addConstraint(Constraint constraint) {
 		this.constraints.add(constraint);
+		this.constraintsVersion.incrementAndGet();
 	}
 
 	protected void removeConstraint(Constraint constraint) {
 		this.constraints.remove(constraint);
+		this.constraintsVersion.incrementAndGet();
+	}
+
+	/**
+	 * Marks the Constraints as changed, e.g. because the Channel values of the Ess
+	 * - that define the static Constraints - were updated.
+	 */
+	protected void invalidateConstraints() {
+		this.constraintsVersion.incrementAndGet();
+	}
+
+	/**
+	 * Gets the version of the Constraints. It changes whenever a Constraint is
+	 * added or removed, on every new Cycle and when the Ess change.
+	 * 
+	 * @return the version
+	 */
+	public long getConstraintsVersion() {
+		return this.constraintsVersion.get();
 	}
 
 	/**
@@ -152,6 +201,7 @@ public class Data {
 		}
 		this.constraints.add(ConstraintUtil.createSimpleConstraint(this.coefficients, //
 				description, essId, phase, pwr, relationship, value));
+		this.constraintsVersion.incrementAndGet();
 	}
 
 	/**
@@ -220,6 +270,22 @@ public class Data {
 				this.constraints.stream()).collect(Collectors.toList());
 	}
 
+	/**
+	 * Gets the EQUALS ZERO Constraints for the 'disabledInverters'.
+	 * 
+	 * <p>
+	 * In contrast to the other Constraints this only depends on the
+	 * {@link Coefficients} and does not access the ESS, so it can be called from
+	 * any thread.
+	 * 
+	 * @param disabledInverters Collection of disabled inverters
+	 * @return List of Constraints
+	 * @throws OpenemsException on error
+	 */
+	public List<Constraint> getDisableConstraints(Collection<Inverter> disabledInverters) throws OpenemsException {
+		return ConstraintUtil.createDisableConstraintsForInactiveInverters(this.coefficients, disabledInverters);
+	}
+
 	protected ManagedSymmetricEss getEss(String essId) {
 		for (ManagedSymmetricEss ess : this.esss) {
 			if (essId.equals(ess.id())) {
@@ -0,0 +1,133 @@
+package io.openems.edge.ess.core.power;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.DoubleSupplier;
+
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
+
+import io.openems.edge.ess.power.api.Phase;
+import io.openems.edge.ess.power.api.Pwr;
+
+/**
+ * Caches the results of {@link PowerComponentImpl#getMaxPower} and
+ * {@link PowerComponentImpl#getMinPower} as long as the Constraints do not
+ * change.
+ *
+ * <p>
+ * Values are valid for one version of the Constraints as provided by
+ * {@link Data#getConstraintsVersion()}. A request with a different version
+ * drops all cached values.
+ */
+class ExtremaCache {
+
+	private static class Key {
+		private final String essId;
+		private final Phase phase;
+		private final Pwr pwr;
+		private final GoalType goal;
+
+		private Key(String essId, Phase phase, Pwr pwr, GoalType goal) {
+			this.essId = essId;
+			this.phase = phase;
+			this.pwr = pwr;
+			this.goal = goal;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.essId, this.phase, this.pwr, this.goal);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return this.essId.equals(other.essId) && this.phase == other.phase && this.pwr == other.pwr
+					&& this.goal == other.goal;
+		}
+	}
+
+	private final Map<Key, Double> values = new HashMap<>();
+
+	private long version = -1;
+	private boolean recordStatistics = false;
+	private int hits = 0;
+	private int misses = 0;
+
+	/**
+	 * Gets the cached extrema value or calculates it.
+	 * 
+	 * @param version   the current version of the Constraints
+	 * @param essId     the Component-ID of the Ess
+	 * @param phase     the {@link Phase}
+	 * @param pwr       the {@link Pwr}
+	 * @param goal      the {@link GoalType}
+	 * @param calculate calculates the value on a cache miss
+	 * @return the extrema value
+	 */
+	public synchronized double get(long version, String essId, Phase phase, Pwr pwr, GoalType goal,
+			DoubleSupplier calculate) {
+		if (this.version != version) {
+			this.values.clear();
+			this.version = version;
+		}
+		Key key = new Key(essId, phase, pwr, goal);
+		Double value = this.values.get(key);
+		if (value != null) {
+			if (this.recordStatistics) {
+				this.hits++;
+			}
+			return value;
+		}
+		if (this.recordStatistics) {
+			this.misses++;
+		}
+		double result = calculate.getAsDouble();
+		this.values.put(key, result);
+		return result;
+	}
+
+	/**
+	 * Enables or disables recording of hit/miss statistics.
+	 * 
+	 * @param recordStatistics true to enable
+	 */
+	public synchronized void setRecordStatistics(boolean recordStatistics) {
+		this.recordStatistics = recordStatistics;
+		this.resetStatistics();
+	}
+
+	/**
+	 * Gets the number of cache hits since the last reset.
+	 * 
+	 * @return the number of hits
+	 */
+	public synchronized int getHits() {
+		return this.hits;
+	}
+
+	/**
+	 * Gets the number of cache misses since the last reset.
+	 * 
+	 * @return the number of misses
+	 */
+	public synchronized int getMisses() {
+		return this.misses;
+	}
+
+	/**
+	 * Resets the hit/miss statistics.
+	 */
+	public synchronized void resetStatistics() {
+		this.hits = 0;
+		this.misses = 0;
+	}
+
+}
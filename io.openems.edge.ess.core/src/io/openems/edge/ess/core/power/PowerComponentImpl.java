@@ -47,6 +47,7 @@ import io.openems.edge.ess.power.api.Relationship;
 		property = { //
 				"id=_power", //
 				"enabled=true", //
+				EventConstants.EVENT_TOPIC + "=" + EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE, //
 				EventConstants.EVENT_TOPIC + "=" + EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE, //
 				EventConstants.EVENT_TOPIC + "=" + EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE //
 		})
@@ -57,6 +58,7 @@ public class PowerComponentImpl extends AbstractOpenemsComponent
 
 	private final Data data;
 	private final Solver solver;
+	private final ExtremaCache extremaCache = new ExtremaCache();
 
 	private boolean debugMode = PowerComponentImpl.DEFAULT_DEBUG_MODE;
 
@@ -88,6 +90,7 @@ public class PowerComponentImpl extends AbstractOpenemsComponent
 	@Deactivate
 	protected void deactivate() {
 		super.deactivate();
+		this.solver.deactivate();
 	}
 
 	@Modified
@@ -100,6 +103,8 @@ public class PowerComponentImpl extends AbstractOpenemsComponent
 		this.data.setSymmetricMode(config.symmetricMode());
 		this.debugMode = config.debugMode();
 		this.solver.setDebugMode(config.debugMode());
+		this.extremaCache.setRecordStatistics(config.debugMode());
+		this.data.setSolverEngine(config.engine());
 		this.config = config;
 
 		if (config.enablePid()) {
@@ -182,15 +187,17 @@ public class PowerComponentImpl extends AbstractOpenemsComponent
 	}
 
 	private int getActivePowerExtrema(ManagedSymmetricEss ess, Phase phase, Pwr pwr, GoalType goal) {
-		final List<Constraint> allConstraints;
-		try {
-			allConstraints = this.data.getConstraintsForAllInverters();
-		} catch (OpenemsException e) {
-			this.logError(this.log, "Unable to get Constraints " + e.getMessage());
-			return 0;
-		}
-		double power = CalculatePowerExtrema.from(this.data.getCoefficients(), allConstraints, ess.id(), phase, pwr,
-				goal);
+		double power = this.extremaCache.get(this.data.getConstraintsVersion(), ess.id(), phase, pwr, goal, () -> {
+			final List<Constraint> allConstraints;
+			try {
+				allConstraints = this.data.getConstraintsForAllInverters();
+			} catch (OpenemsException e) {
+				this.logError(this.log, "Unable to get Constraints " + e.getMessage());
+				return 0;
+			}
+			return CalculatePowerExtrema.from(this.data.getSolver(), this.data.getCoefficients(), allConstraints,
+					ess.id(), phase, pwr, goal);
+		});
 		if (power > Integer.MIN_VALUE && power < Integer.MAX_VALUE) {
 			if (goal == GoalType.MAXIMIZE) {
 				return (int) Math.floor(power);
@@ -207,7 +214,16 @@ public class PowerComponentImpl extends AbstractOpenemsComponent
 	@Override
 	public void handleEvent(Event event) {
 		switch (event.getTopic()) {
+		case EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE:
+			// Channel values of the Ess were updated
+			this.data.invalidateConstraints();
+			break;
 		case EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE:
+			if (this.debugMode) {
+				this.logInfo(this.log, "Extrema cache: hits [" + this.extremaCache.getHits() + "] misses ["
+						+ this.extremaCache.getMisses() + "]");
+				this.extremaCache.resetStatistics();
+			}
 			this.solver.solve(this.config.strategy());
 			break;
 		case EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE:
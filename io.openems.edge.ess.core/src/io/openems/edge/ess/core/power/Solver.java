@@ -1,6 +1,7 @@
 package io.openems.edge.ess.core.power;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -15,7 +16,7 @@ import org.slf4j.LoggerFactory;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
-import io.openems.common.function.ThrowingFunction;
+import io.openems.common.function.ThrowingBiFunction;
 import io.openems.edge.ess.api.ManagedAsymmetricEss;
 import io.openems.edge.ess.api.ManagedSymmetricEss;
 import io.openems.edge.ess.api.MetaEss;
@@ -28,6 +29,7 @@ import io.openems.edge.ess.core.power.optimizers.KeepTargetDirectionAndMaximizeI
 import io.openems.edge.ess.core.power.optimizers.MoveTowardsTarget;
 import io.openems.edge.ess.core.power.optimizers.Optimizers;
 import io.openems.edge.ess.core.power.solver.ConstraintSolver;
+import io.openems.edge.ess.core.power.solver.LinearConstraintsSolver;
 import io.openems.edge.ess.core.power.solver.PowerTuple;
 import io.openems.edge.ess.power.api.Constraint;
 import io.openems.edge.ess.power.api.Inverter;
@@ -48,23 +50,33 @@ public class Solver {
 	private OnSolved onSolvedCallback = (isSolved, duration, strategy) -> {
 	};
 
-	private final ThrowingFunction<List<Inverter>, PointValuePair, Exception> solveWithDisabledInverters;
-
 	public Solver(Data data) {
 		this.data = data;
+	}
 
-		/**
-		 * Solves the problem, while setting all DisabledInverters to EQUALS zero.
-		 * 
-		 * @param disabledInverters a list of disabled inverters
-		 * @return a solution
-		 * @throws NoFeasibleSolutionException if not solvable
-		 * @throws UnboundedSolutionException  if not solvable
-		 * @throws OpenemsException
-		 */
-		this.solveWithDisabledInverters = (disabledInverters) -> {
-			List<Constraint> constraints = this.data.getConstraintsWithoutDisabledInverters(disabledInverters);
-			return ConstraintSolver.solve(this.data.getCoefficients(), constraints);
+	/**
+	 * Creates a function that solves the problem, while setting all
+	 * DisabledInverters to EQUALS zero.
+	 * 
+	 * <p>
+	 * The function is called in parallel by
+	 * {@link io.openems.edge.ess.core.power.optimizers.ReduceNumberOfUsedInverters}.
+	 * It therefore only adds the Constraints for the disabled inverters to the
+	 * given Constraints, that were created on the calling thread, and never
+	 * accesses the ESS.
+	 * 
+	 * @param constraints the immutable Constraints for all Inverters
+	 * @return the function; it throws {@link NoFeasibleSolutionException} or
+	 *         {@link UnboundedSolutionException} if not solvable
+	 */
+	private ThrowingBiFunction<LinearConstraintsSolver, List<Inverter>, PointValuePair, Exception> //
+			solveWithDisabledInverters(List<Constraint> constraints) {
+		return (solver, disabledInverters) -> {
+			List<Constraint> disableConstraints = this.data.getDisableConstraints(disabledInverters);
+			List<Constraint> result = new ArrayList<>(disableConstraints.size() + constraints.size());
+			result.addAll(disableConstraints);
+			result.addAll(constraints);
+			return ConstraintSolver.solve(solver, this.data.getCoefficients(), result);
 		};
 	}
 
@@ -84,7 +96,8 @@ public class Solver {
 	 */
 	public void isSolvableOrError() throws OpenemsException {
 		try {
-			ConstraintSolver.solve(this.data.getCoefficients(), this.data.getConstraintsForAllInverters());
+			ConstraintSolver.solve(this.data.getSolver(), this.data.getCoefficients(),
+					this.data.getConstraintsForAllInverters());
 		} catch (NoFeasibleSolutionException e) {
 			throw new PowerException(Type.NO_FEASIBLE_SOLUTION);
 		} catch (UnboundedSolutionException e) {
@@ -99,7 +112,8 @@ public class Solver {
 	 */
 	public boolean isSolvable() {
 		try {
-			ConstraintSolver.solve(this.data.getCoefficients(), this.data.getConstraintsForAllInverters());
+			ConstraintSolver.solve(this.data.getSolver(), this.data.getCoefficients(),
+					this.data.getConstraintsForAllInverters());
 			return true;
 		} catch (NoFeasibleSolutionException | UnboundedSolutionException | OpenemsException e) {
 			return false;
@@ -135,8 +149,8 @@ public class Solver {
 			allConstraints = this.data.getConstraintsForAllInverters();
 
 			// Add Strict constraints if required
-			AddConstraintsForNotStrictlyDefinedCoefficients.apply(allInverters, this.data.getCoefficients(),
-					allConstraints);
+			AddConstraintsForNotStrictlyDefinedCoefficients.apply(this.data.getSolver(), allInverters,
+					this.data.getCoefficients(), allConstraints);
 
 			// Print log with currently active EQUALS != 0 Constraints
 			if (this.debugMode) {
@@ -150,15 +164,18 @@ public class Solver {
 
 			// Evaluates whether it is a CHARGE or DISCHARGE problem.
 			targetDirection = TargetDirection.from(//
+					this.data.getSolver(), //
 					this.data.getInverters(), //
 					this.data.getCoefficients(), //
 					this.data.getConstraintsForAllInverters() //
 			);
 
 			// Gets the target-Inverters, i.e. the Inverters that are minimally required to
-			// solve the Problem.
-			List<Inverter> targetInverters = this.optimizers.reduceNumberOfUsedInverters.apply(allInverters,
-					targetDirection, this.solveWithDisabledInverters);
+			// solve the Problem. The Constraints are created once on this thread.
+			List<Constraint> constraintsForAllInverters = Collections
+					.unmodifiableList(this.data.getConstraintsForAllInverters());
+			List<Inverter> targetInverters = this.optimizers.reduceNumberOfUsedInverters.apply(this.data.getSolver(),
+					allInverters, targetDirection, this.solveWithDisabledInverters(constraintsForAllInverters));
 
 			switch (strategy) {
 			case UNDEFINED:
@@ -244,18 +261,20 @@ public class Solver {
 			case NONE:
 				break;
 			case ALL_CONSTRAINTS:
-				solution = ConstraintSolver.solve(this.data.getCoefficients(), allConstraints);
+				solution = ConstraintSolver.solve(this.data.getSolver(), this.data.getCoefficients(),
+						allConstraints);
 				break;
 			case OPTIMIZE_BY_MOVING_TOWARDS_TARGET:
-				solution = MoveTowardsTarget.apply(this.data.getCoefficients(), targetDirection, allInverters,
-						targetInverters, allConstraints);
+				solution = MoveTowardsTarget.apply(this.data.getSolver(), this.data.getCoefficients(),
+						targetDirection, allInverters, targetInverters, allConstraints);
 				break;
 			case OPTIMIZE_BY_KEEPING_TARGET_DIRECTION_AND_MAXIMIZING_IN_ORDER:
-				solution = KeepTargetDirectionAndMaximizeInOrder.apply(this.data.getCoefficients(), allInverters,
-						targetInverters, allConstraints, targetDirection);
+				solution = KeepTargetDirectionAndMaximizeInOrder.apply(this.data.getSolver(),
+						this.data.getCoefficients(), allInverters, targetInverters, allConstraints, targetDirection);
 				break;
 			case OPTIMIZE_BY_KEEPING_ALL_EQUAL:
-				solution = KeepAllEqual.apply(this.data.getCoefficients(), allInverters, allConstraints);
+				solution = KeepAllEqual.apply(this.data.getSolver(), this.data.getCoefficients(), allInverters,
+						allConstraints);
 				break;
 			}
 
@@ -264,7 +283,7 @@ public class Solver {
 			}
 		}
 		// no strategy was successful -> try allConstraints
-		solution = ConstraintSolver.solve(this.data.getCoefficients(), allConstraints);
+		solution = ConstraintSolver.solve(this.data.getSolver(), this.data.getCoefficients(), allConstraints);
 		if (solution != null) {
 			return new SolveSolution(SolverStrategy.ALL_CONSTRAINTS, solution);
 		} else {
@@ -400,4 +419,12 @@ public class Solver {
 	protected void setDebugMode(boolean debugMode) {
 		this.debugMode = debugMode;
 	}
+
+	/**
+	 * Releases the resources of the optimizers. Called on deactivation of the
+	 * {@link PowerComponentImpl}.
+	 */
+	protected void deactivate() {
+		this.optimizers.reduceNumberOfUsedInverters.deactivate();
+	}
 }
@@ -7,6 +7,7 @@ import org.apache.commons.math3.exception.MathIllegalStateException;
 
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.edge.ess.core.power.solver.ConstraintSolver;
+import io.openems.edge.ess.core.power.solver.LinearConstraintsSolver;
 import io.openems.edge.ess.power.api.Coefficients;
 import io.openems.edge.ess.power.api.Constraint;
 import io.openems.edge.ess.power.api.Inverter;
@@ -22,6 +23,7 @@ public enum TargetDirection {
 	 * Gets the TargetDirection of the Problem, i.e. whether it is a DISCHARGE or
 	 * CHARGE problem.
 	 * 
+	 * @param solver                     the {@link LinearConstraintsSolver}
 	 * @param inverters                  list of {@link Inverter}s
 	 * @param coefficients               the {@link Coefficients}
 	 * @param constraintsForAllInverters {@link Constraint}s for all
@@ -29,13 +31,13 @@ public enum TargetDirection {
 	 * @return the {@link TargetDirection}
 	 * @throws OpenemsException on error
 	 */
-	public static TargetDirection from(List<Inverter> inverters, Coefficients coefficients,
-			List<Constraint> constraintsForAllInverters) throws OpenemsException {
+	public static TargetDirection from(LinearConstraintsSolver solver, List<Inverter> inverters,
+			Coefficients coefficients, List<Constraint> constraintsForAllInverters) throws OpenemsException {
 		List<Constraint> constraints = constraintsForAllInverters;
 		Constraint equals0 = createSumOfPConstraint(inverters, coefficients, Relationship.EQUALS, 0);
 		constraints.add(equals0);
 		try {
-			ConstraintSolver.solve(coefficients, constraints);
+			ConstraintSolver.solve(solver, coefficients, constraints);
 			return TargetDirection.KEEP_ZERO;
 		} catch (MathIllegalStateException e) {
 			constraints.remove(equals0);
@@ -43,14 +45,14 @@ public enum TargetDirection {
 					Relationship.GREATER_OR_EQUALS, 0);
 			constraints.add(greaterOrEquals0);
 			try {
-				ConstraintSolver.solve(coefficients, constraints);
+				ConstraintSolver.solve(solver, coefficients, constraints);
 				return TargetDirection.DISCHARGE;
 			} catch (MathIllegalStateException e2) {
 				constraints.remove(greaterOrEquals0);
 				Constraint lessOrEquals0 = createSumOfPConstraint(inverters, coefficients, Relationship.LESS_OR_EQUALS,
 						0);
 				constraints.add(lessOrEquals0);
-				ConstraintSolver.solve(coefficients, constraints);
+				ConstraintSolver.solve(solver, coefficients, constraints);
 				return TargetDirection.CHARGE;
 			}
 		}
@@ -4,17 +4,16 @@ import java.util.LinkedList;
 import java.util.List;
 
 import org.apache.commons.math3.optim.PointValuePair;
-import org.apache.commons.math3.optim.linear.LinearConstraintSet;
+import org.apache.commons.math3.optim.linear.LinearConstraint;
 import org.apache.commons.math3.optim.linear.LinearObjectiveFunction;
 import org.apache.commons.math3.optim.linear.NoFeasibleSolutionException;
-import org.apache.commons.math3.optim.linear.PivotSelectionRule;
-import org.apache.commons.math3.optim.linear.SimplexSolver;
 import org.apache.commons.math3.optim.linear.UnboundedSolutionException;
 import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
 
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.edge.ess.core.power.data.LinearSolverUtil;
 import io.openems.edge.ess.core.power.solver.ConstraintSolver;
+import io.openems.edge.ess.core.power.solver.LinearConstraintsSolver;
 import io.openems.edge.ess.power.api.Coefficient;
 import io.openems.edge.ess.power.api.Coefficients;
 import io.openems.edge.ess.power.api.Constraint;
@@ -29,15 +28,16 @@ public class AddConstraintsForNotStrictlyDefinedCoefficients {
 	 * Adds Constraints for not strictly defined Coefficients, e.g. if only a P <= X
 	 * is defined, but no P = X.
 	 * 
+	 * @param solver         the {@link LinearConstraintsSolver}
 	 * @param allInverters   a list of all {@link Inverter}s
 	 * @param coefficients   the {@link Coefficients}
 	 * @param allConstraints a list of all {@link Constraint}s
 	 * @throws OpenemsException on error
 	 */
-	public static void apply(List<Inverter> allInverters, Coefficients coefficients, List<Constraint> allConstraints)
-			throws OpenemsException {
-		LinearConstraintSet constraints = new LinearConstraintSet(
-				LinearSolverUtil.convertToLinearConstraints(coefficients, allConstraints));
+	public static void apply(LinearConstraintsSolver solver, List<Inverter> allInverters, Coefficients coefficients,
+			List<Constraint> allConstraints) throws OpenemsException {
+		List<LinearConstraint> constraints = LinearSolverUtil.convertToLinearConstraints(coefficients,
+				allConstraints);
 
 		for (Pwr pwr : Pwr.values()) {
 			// prepare objective function
@@ -51,12 +51,8 @@ public class AddConstraintsForNotStrictlyDefinedCoefficients {
 			// get Max value over all relevant Coefficients
 			double max;
 			try {
-				SimplexSolver solver = new SimplexSolver();
-				PointValuePair solution = solver.optimize(//
-						objectiveFunction, //
-						constraints, //
-						GoalType.MAXIMIZE, //
-						PivotSelectionRule.BLAND);
+				PointValuePair solution = solver.optimize(objectiveFunction, constraints,
+						GoalType.MAXIMIZE);
 				max = 0d;
 				for (Inverter inv : allInverters) {
 					Coefficient c = coefficients.of(inv.getEssId(), inv.getPhase(), pwr);
@@ -68,12 +64,8 @@ public class AddConstraintsForNotStrictlyDefinedCoefficients {
 			// get Min value over all relevant Coefficients
 			double min;
 			try {
-				SimplexSolver solver = new SimplexSolver();
-				PointValuePair solution = solver.optimize(//
-						objectiveFunction, //
-						constraints, //
-						GoalType.MINIMIZE, //
-						PivotSelectionRule.BLAND);
+				PointValuePair solution = solver.optimize(objectiveFunction, constraints,
+						GoalType.MINIMIZE);
 				min = 0d;
 				for (Inverter inv : allInverters) {
 					Coefficient c = coefficients.of(inv.getEssId(), inv.getPhase(), pwr);
@@ -132,7 +124,7 @@ public class AddConstraintsForNotStrictlyDefinedCoefficients {
 			allConstraints.addAll(newConstraints);
 			for (Constraint constraint : newConstraints) {
 				try {
-					ConstraintSolver.solve(coefficients, allConstraints);
+					ConstraintSolver.solve(solver, coefficients, allConstraints);
 					break;
 				} catch (NoFeasibleSolutionException | UnboundedSolutionException e) {
 					// Unable to add Constraint
@@ -9,6 +9,7 @@ import org.apache.commons.math3.optim.linear.UnboundedSolutionException;
 
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.edge.ess.core.power.solver.ConstraintSolver;
+import io.openems.edge.ess.core.power.solver.LinearConstraintsSolver;
 import io.openems.edge.ess.power.api.Coefficients;
 import io.openems.edge.ess.power.api.Constraint;
 import io.openems.edge.ess.power.api.Inverter;
@@ -21,13 +22,14 @@ public class KeepAllEqual {
 	/**
 	 * Tries to distribute power equally between inverters.
 	 * 
+	 * @param solver         the {@link LinearConstraintsSolver}
 	 * @param coefficients   the {@link Coefficients}
 	 * @param allInverters   all {@link Inverter}s
 	 * @param allConstraints all active {@link Constraint}s
 	 * @return a solution or null
 	 */
-	public static PointValuePair apply(Coefficients coefficients, List<Inverter> allInverters,
-			List<Constraint> allConstraints) {
+	public static PointValuePair apply(LinearConstraintsSolver solver, Coefficients coefficients,
+			List<Inverter> allInverters, List<Constraint> allConstraints) {
 		try {
 			List<Constraint> constraints = new ArrayList<>(allConstraints);
 			// Create weighted Constraint between first inverter and every other inverter
@@ -50,7 +52,7 @@ public class KeepAllEqual {
 										-1) },
 						Relationship.EQUALS, 0));
 			}
-			return ConstraintSolver.solve(coefficients, constraints);
+			return ConstraintSolver.solve(solver, coefficients, constraints);
 
 		} catch (OpenemsException | NoFeasibleSolutionException | UnboundedSolutionException e) {
 			return null;
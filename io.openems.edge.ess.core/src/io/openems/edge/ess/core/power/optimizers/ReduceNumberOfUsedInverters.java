@@ -2,17 +2,38 @@ package io.openems.edge.ess.core.power.optimizers;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.apache.commons.math3.optim.PointValuePair;
 
 import com.google.common.collect.Lists;
 
-import io.openems.common.function.ThrowingFunction;
+import io.openems.common.function.ThrowingBiFunction;
 import io.openems.edge.ess.core.power.data.TargetDirection;
+import io.openems.edge.ess.core.power.solver.LinearConstraintsSolver;
 import io.openems.edge.ess.power.api.Inverter;
 
 public class ReduceNumberOfUsedInverters {
 
+	/**
+	 * Maximum number of solutions that are tested in parallel.
+	 */
+	private static final int PARALLELISM = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+	/**
+	 * One {@link LinearConstraintsSolver} per parallel task, so that tasks do not
+	 * share the state of a {@link LinearConstraintsSolver}; index 0 is the solver
+	 * of the caller.
+	 */
+	private final LinearConstraintsSolver[] solvers = new LinearConstraintsSolver[PARALLELISM];
+
+	private ForkJoinPool pool = null;
 	private TargetDirection activeTargetDirection = null;
 	private int targetDirectionChangedSince = 0;
 	private int lastLowestTrueIndex = -1;
@@ -21,18 +42,22 @@ public class ReduceNumberOfUsedInverters {
 	 * Finds the Inverters that are minimally required to fulfill all Constraints.
 	 * 
 	 * <p>
-	 * This method removes inverters till it finds a minimum setup. It uses an
-	 * algorithm similarly to binary tree search to find the minimum required number
-	 * of inverters.
+	 * This method removes inverters till it finds a minimum setup. It first
+	 * re-checks the minimum setup of the last run; if that does not fit anymore,
+	 * it uses an algorithm similarly to binary tree search - testing multiple
+	 * setups in parallel - to find the minimum required number of inverters.
 	 * 
+	 * @param solver           the {@link LinearConstraintsSolver}
 	 * @param allInverters     a list of all inverters
 	 * @param targetDirection  the target direction
 	 * @param validateFunction a function that can tell if a setup is solvable with
-	 *                         a given list of disabled Inverters.
+	 *                         a given {@link LinearConstraintsSolver} and list of
+	 *                         disabled Inverters.
 	 * @return a list of target inverters
 	 */
-	public List<Inverter> apply(List<Inverter> allInverters, TargetDirection targetDirection,
-			ThrowingFunction<List<Inverter>, PointValuePair, Exception> validateFunction) {
+	public synchronized List<Inverter> apply(LinearConstraintsSolver solver, List<Inverter> allInverters,
+			TargetDirection targetDirection,
+			ThrowingBiFunction<LinearConstraintsSolver, List<Inverter>, PointValuePair, Exception> validateFunction) {
 		// Only zero or one inverters available? No need to optimize.
 		if (allInverters.size() < 2) {
 			return allInverters;
@@ -48,6 +73,15 @@ public class ReduceNumberOfUsedInverters {
 			this.targetDirectionChangedSince = 0;
 		}
 
+		// Use the solver of the caller for the first task; all others get their own
+		// instance with the same SolverEngine
+		this.solvers[0] = solver;
+		for (int i = 1; i < this.solvers.length; i++) {
+			if (this.solvers[i] == null || this.solvers[i].getEngine() != solver.getEngine()) {
+				this.solvers[i] = new LinearConstraintsSolver(solver.getEngine());
+			}
+		}
+
 		// Inverters are by default sorted by weight descending. For DISCHARGE take list
 		// as it is; for CHARGE reverse it. This prefers high-weight inverters (e.g.
 		// high state-of-charge) on DISCHARGE and low-weight
@@ -70,6 +104,17 @@ public class ReduceNumberOfUsedInverters {
 		 */
 		Boolean[] testedSolutions = new Boolean[sortedInverters.size()];
 
+		// Re-check best result of last run and its lower neighbour first; if this run
+		// is similar, this finishes the search.
+		if (this.lastLowestTrueIndex != -1 && this.lastLowestTrueIndex < testedSolutions.length) {
+			Set<Integer> testIndexes = new TreeSet<>();
+			testIndexes.add(this.lastLowestTrueIndex);
+			if (this.lastLowestTrueIndex > 0) {
+				testIndexes.add(this.lastLowestTrueIndex - 1);
+			}
+			this.test(sortedInverters, testedSolutions, testIndexes, validateFunction);
+		}
+
 		while (true) {
 			// find first and last untested index
 			int firstUntestedIndex = -1;
@@ -92,32 +137,15 @@ public class ReduceNumberOfUsedInverters {
 				break;
 			}
 
-			final int testIndex;
-			if (firstUntestedIndex == 0 && lastUntestedIndex == testedSolutions.length - 1
-					&& this.lastLowestTrueIndex != -1) {
-				// reload best result of last run; if this run is similar, this approach will
-				// save some time
-				testIndex = this.lastLowestTrueIndex;
-			} else {
-				testIndex = (firstUntestedIndex + lastUntestedIndex) / 2;
-			}
-
-			try {
-				validateFunction.apply(getDisabledInverters(sortedInverters, testIndex));
-
-				// solved successfully
-				for (int i = lastUntestedIndex; i >= testIndex; i--) {
-					testedSolutions[i] = true;
-				}
-
-			} catch (Exception e) {
-
-				// solved unsuccessfully
-				for (int i = firstUntestedIndex; i <= testIndex; i++) {
-					testedSolutions[i] = false;
-				}
-
+			// Split the untested range evenly by as many indexes as can be tested in
+			// parallel; for one index this is a binary search.
+			int range = lastUntestedIndex - firstUntestedIndex + 1;
+			int count = Math.min(PARALLELISM, range);
+			Set<Integer> testIndexes = new TreeSet<>();
+			for (int i = 1; i <= count; i++) {
+				testIndexes.add(firstUntestedIndex + range * i / (count + 1));
 			}
+			this.test(sortedInverters, testedSolutions, testIndexes, validateFunction);
 		}
 
 		// lowestTrueIndex is the optimal solution
@@ -148,6 +176,88 @@ public class ReduceNumberOfUsedInverters {
 		return result;
 	}
 
+	/**
+	 * Shuts down the threads for parallel tests. Called on deactivation of the
+	 * Power component.
+	 */
+	public synchronized void deactivate() {
+		if (this.pool != null) {
+			this.pool.shutdownNow();
+			this.pool = null;
+		}
+		for (int i = 0; i < this.solvers.length; i++) {
+			this.solvers[i] = null;
+		}
+	}
+
+	/**
+	 * Tests the given indexes - in parallel if there is more than one and at most
+	 * {@link #PARALLELISM} - and updates the tested solutions.
+	 * 
+	 * <p>
+	 * If a solution is feasible, all solutions with more enabled inverters are
+	 * feasible as well; if it is not feasible, all solutions with less enabled
+	 * inverters are not feasible either.
+	 * 
+	 * @param sortedInverters  the sorted inverters
+	 * @param testedSolutions  the tested solutions
+	 * @param testIndexes      the indexes to be tested
+	 * @param validateFunction the validate function
+	 */
+	private void test(List<Inverter> sortedInverters, Boolean[] testedSolutions, Set<Integer> testIndexes,
+			ThrowingBiFunction<LinearConstraintsSolver, List<Inverter>, PointValuePair, Exception> validateFunction) {
+		Map<Integer, Boolean> results = new TreeMap<>();
+		if (testIndexes.size() == 1 || testIndexes.size() > this.solvers.length) {
+			// test sequentially
+			for (int testIndex : testIndexes) {
+				results.put(testIndex, isFeasible(this.solvers[0], sortedInverters, testIndex, validateFunction));
+			}
+		} else {
+			if (this.pool == null) {
+				this.pool = new ForkJoinPool(PARALLELISM);
+			}
+			Map<Integer, ForkJoinTask<Boolean>> tasks = new TreeMap<>();
+			int slot = 0;
+			for (int testIndex : testIndexes) {
+				LinearConstraintsSolver solver = this.solvers[slot++];
+				tasks.put(testIndex,
+						this.pool.submit(() -> isFeasible(solver, sortedInverters, testIndex, validateFunction)));
+			}
+			for (Entry<Integer, ForkJoinTask<Boolean>> task : tasks.entrySet()) {
+				results.put(task.getKey(), task.getValue().join());
+			}
+		}
+
+		for (Entry<Integer, Boolean> result : results.entrySet()) {
+			int testIndex = result.getKey();
+			if (result.getValue()) {
+				// solved successfully
+				for (int i = testIndex; i < testedSolutions.length; i++) {
+					if (testedSolutions[i] == null) {
+						testedSolutions[i] = true;
+					}
+				}
+			} else {
+				// solved unsuccessfully
+				for (int i = 0; i <= testIndex; i++) {
+					if (testedSolutions[i] == null) {
+						testedSolutions[i] = false;
+					}
+				}
+			}
+		}
+	}
+
+	private static boolean isFeasible(LinearConstraintsSolver solver, List<Inverter> sortedInverters, int index,
+			ThrowingBiFunction<LinearConstraintsSolver, List<Inverter>, PointValuePair, Exception> validateFunction) {
+		try {
+			validateFunction.apply(solver, getDisabledInverters(sortedInverters, index));
+			return true;
+		} catch (Exception e) {
+			return false;
+		}
+	}
+
 	private static List<Inverter> getDisabledInverters(List<Inverter> allInverters, int index) {
 		return allInverters.subList(index + 1, allInverters.size());
 	}
@@ -3,11 +3,9 @@ package io.openems.edge.ess.core.power.solver;
 import java.util.List;
 
 import org.apache.commons.math3.optim.PointValuePair;
-import org.apache.commons.math3.optim.linear.LinearConstraintSet;
+import org.apache.commons.math3.optim.linear.LinearConstraint;
 import org.apache.commons.math3.optim.linear.LinearObjectiveFunction;
 import org.apache.commons.math3.optim.linear.NoFeasibleSolutionException;
-import org.apache.commons.math3.optim.linear.PivotSelectionRule;
-import org.apache.commons.math3.optim.linear.SimplexSolver;
 import org.apache.commons.math3.optim.linear.UnboundedSolutionException;
 import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
 import org.slf4j.Logger;
@@ -29,6 +27,7 @@ public class CalculatePowerExtrema {
 	 * Calculates the extrema under the current constraints for the given
 	 * parameters.
 	 * 
+	 * @param solver         the {@link LinearConstraintsSolver}
 	 * @param coefficients   the {@link Coefficients}
 	 * @param allConstraints all active {@link Constraint}s
 	 * @param essId          the ID of the {@link ManagedSymmetricEss}
@@ -37,8 +36,8 @@ public class CalculatePowerExtrema {
 	 * @param goal           the {@link GoalType}
 	 * @return the extrema value; or 0 on error
 	 */
-	public static double from(Coefficients coefficients, List<Constraint> allConstraints, String essId, Phase phase,
-			Pwr pwr, GoalType goal) {
+	public static double from(LinearConstraintsSolver solver, Coefficients coefficients,
+			List<Constraint> allConstraints, String essId, Phase phase, Pwr pwr, GoalType goal) {
 		// prepare objective function
 		int index;
 		try {
@@ -51,16 +50,11 @@ public class CalculatePowerExtrema {
 		cos[index] = 1;
 		LinearObjectiveFunction objectiveFunction = new LinearObjectiveFunction(cos, 0);
 
-		LinearConstraintSet constraints = new LinearConstraintSet(
-				LinearSolverUtil.convertToLinearConstraints(coefficients, allConstraints));
+		List<LinearConstraint> constraints = LinearSolverUtil.convertToLinearConstraints(coefficients,
+				allConstraints);
 
-		SimplexSolver solver = new SimplexSolver();
 		try {
-			PointValuePair solution = solver.optimize(//
-					objectiveFunction, //
-					constraints, //
-					goal, //
-					PivotSelectionRule.BLAND);
+			PointValuePair solution = solver.optimize(objectiveFunction, constraints, goal);
 			return solution.getPoint()[index];
 
 		} catch (UnboundedSolutionException e) {
@@ -16,17 +16,19 @@ public class ConstraintSolver {
 	/**
 	 * Solves the problem with the given list of Constraints.
 	 * 
+	 * @param solver       the {@link LinearConstraintsSolver}
 	 * @param coefficients the {@link Coefficients}
 	 * @param constraints  a list of Constraints
 	 * @return a solution
 	 * @throws NoFeasibleSolutionException if not solvable
 	 * @throws UnboundedSolutionException  if not solvable
 	 */
-	public static PointValuePair solve(Coefficients coefficients, List<Constraint> constraints)
+	public static PointValuePair solve(LinearConstraintsSolver solver, Coefficients coefficients,
+			List<Constraint> constraints)
 			throws NoFeasibleSolutionException, UnboundedSolutionException {
 		List<LinearConstraint> linearConstraints = LinearSolverUtil.convertToLinearConstraints(coefficients,
 				constraints);
-		return LinearConstraintsSolver.solve(coefficients, linearConstraints);
+		return solver.solve(coefficients, linearConstraints);
 	}
 
 }
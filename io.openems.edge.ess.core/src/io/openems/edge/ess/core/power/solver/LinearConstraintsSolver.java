@@ -14,8 +14,49 @@ import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
 import io.openems.edge.ess.core.power.data.LinearSolverUtil;
 import io.openems.edge.ess.power.api.Coefficients;
 
+/**
+ * Solves linear problems using the configured {@link SolverEngine}.
+ *
+ * <p>
+ * Every {@link io.openems.edge.ess.core.power.Data} owns its own instance, so that the {@link SolverEngine}
+ * and the cached tableaus of the {@link WarmStartSimplexSolver} are bound to
+ * the lifecycle of one Power component.
+ */
 public class LinearConstraintsSolver {
 
+	private final WarmStartSimplexSolver warmStartSolver = new WarmStartSimplexSolver();
+
+	private volatile SolverEngine engine;
+
+	public LinearConstraintsSolver() {
+		this(SolverEngine.COMMONS_MATH);
+	}
+
+	public LinearConstraintsSolver(SolverEngine engine) {
+		this.engine = engine;
+	}
+
+	/**
+	 * Sets the {@link SolverEngine} that is used for all following problems.
+	 * 
+	 * @param engine the {@link SolverEngine}
+	 */
+	public void setEngine(SolverEngine engine) {
+		if (engine != SolverEngine.WARM_START_SIMPLEX) {
+			this.warmStartSolver.clear();
+		}
+		this.engine = engine;
+	}
+
+	/**
+	 * Gets the current {@link SolverEngine}.
+	 * 
+	 * @return the {@link SolverEngine}
+	 */
+	public SolverEngine getEngine() {
+		return this.engine;
+	}
+
 	/**
 	 * Solves the problem with the given list of LinearConstraints.
 	 * 
@@ -24,17 +65,37 @@ public class LinearConstraintsSolver {
 	 * @return a solution as {@link PointValuePair}
 	 * @throws MathIllegalStateException if not solvable
 	 */
-	public static PointValuePair solve(Coefficients coefficients, List<LinearConstraint> constraints)
+	public PointValuePair solve(Coefficients coefficients, List<LinearConstraint> constraints)
 			throws MathIllegalStateException {
 		LinearObjectiveFunction objectiveFunction = LinearSolverUtil
 				.getDefaultObjectiveFunction(coefficients.getNoOfCoefficients());
+		return this.optimize(objectiveFunction, constraints, GoalType.MINIMIZE);
+	}
 
-		SimplexSolver solver = new SimplexSolver();
-		return solver.optimize(//
-				objectiveFunction, //
-				new LinearConstraintSet(constraints), //
-				GoalType.MINIMIZE, //
-				PivotSelectionRule.BLAND);
+	/**
+	 * Optimizes the objective function under the given list of LinearConstraints
+	 * using the current {@link SolverEngine}.
+	 * 
+	 * @param objectiveFunction the {@link LinearObjectiveFunction}
+	 * @param constraints       a list of LinearConstraints
+	 * @param goal              the {@link GoalType}
+	 * @return a solution as {@link PointValuePair}
+	 * @throws MathIllegalStateException if not solvable
+	 */
+	public PointValuePair optimize(LinearObjectiveFunction objectiveFunction,
+			List<LinearConstraint> constraints, GoalType goal) throws MathIllegalStateException {
+		switch (this.engine) {
+		case WARM_START_SIMPLEX:
+			return this.warmStartSolver.optimize(objectiveFunction, constraints, goal);
+		case COMMONS_MATH:
+		default:
+			SimplexSolver solver = new SimplexSolver();
+			return solver.optimize(//
+					objectiveFunction, //
+					new LinearConstraintSet(constraints), //
+					goal, //
+					PivotSelectionRule.BLAND);
+		}
 	}
 
 }
@@ -0,0 +1,16 @@
+package io.openems.edge.ess.core.power.solver;
+
+/**
+ * The engine that solves the linear programs of the Power solver.
+ */
+public enum SolverEngine {
+	/**
+	 * Solves every problem from scratch with the commons-math SimplexSolver.
+	 */
+	COMMONS_MATH, //
+	/**
+	 * Reuses the tableau of the last problem with the same structure; see
+	 * {@link WarmStartSimplexSolver}.
+	 */
+	WARM_START_SIMPLEX;
+}
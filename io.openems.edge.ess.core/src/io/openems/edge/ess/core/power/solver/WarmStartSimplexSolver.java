@@ -0,0 +1,573 @@
+package io.openems.edge.ess.core.power.solver;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.math3.optim.PointValuePair;
+import org.apache.commons.math3.optim.linear.LinearConstraint;
+import org.apache.commons.math3.optim.linear.LinearObjectiveFunction;
+import org.apache.commons.math3.optim.linear.NoFeasibleSolutionException;
+import org.apache.commons.math3.optim.linear.Relationship;
+import org.apache.commons.math3.optim.linear.UnboundedSolutionException;
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
+
+/**
+ * A dense simplex solver for linear programs with free (unrestricted)
+ * variables, that keeps the final tableau of a problem and reuses it for the
+ * next problem with the same structure.
+ *
+ * <p>
+ * The Power solver formulates mostly the same problems every Cycle: the
+ * coefficients of the constraints and the objective function stay the same;
+ * only the right-hand side values - i.e. the current setpoints and limits -
+ * change. The optimal basis of the previous Cycle is then still 'dual
+ * feasible', so the new optimum is found by updating the right-hand side and
+ * performing a few dual simplex iterations, instead of solving from scratch.
+ *
+ * <p>
+ * Problems with an unknown structure are solved with a two-phase primal
+ * simplex using Bland's rule, like the commons-math {@code SimplexSolver} with
+ * {@code PivotSelectionRule.BLAND}. The tableaus of the last
+ * {@link #MAX_CACHED_PROBLEMS} structures are kept.
+ *
+ * <p>
+ * In problems with multiple optimal solutions the returned solution can differ
+ * from the one of the commons-math {@code SimplexSolver}; the objective value
+ * is the same.
+ */
+public class WarmStartSimplexSolver {
+
+	/**
+	 * Maximum number of cached tableaus.
+	 */
+	public static final int MAX_CACHED_PROBLEMS = 16;
+
+	/**
+	 * Maximum number of pivots on one tableau before it is rebuilt from scratch
+	 * to avoid accumulating rounding errors.
+	 */
+	private static final int MAX_PIVOTS_PER_TABLEAU = 1_000;
+
+	private static final double PIVOT_EPSILON = 1e-9;
+	private static final double FEASIBILITY_EPSILON = 1e-6;
+
+	/**
+	 * The structure of a problem: everything but the right-hand side values.
+	 */
+	private static class Structure {
+		private final double[][] coefficients;
+		private final Relationship[] relationships;
+		private final double[] objective;
+		private final int hashCode;
+
+		private Structure(double[][] coefficients, Relationship[] relationships, double[] objective) {
+			this.coefficients = coefficients;
+			this.relationships = relationships;
+			this.objective = objective;
+			this.hashCode = 31 * (31 * Arrays.deepHashCode(coefficients) + Arrays.hashCode(relationships))
+					+ Arrays.hashCode(objective);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Structure)) {
+				return false;
+			}
+			Structure other = (Structure) obj;
+			return this.hashCode == other.hashCode //
+					&& Arrays.equals(this.objective, other.objective) //
+					&& Arrays.equals(this.relationships, other.relationships) //
+					&& Arrays.deepEquals(this.coefficients, other.coefficients);
+		}
+	}
+
+	/**
+	 * A simplex tableau in standard form.
+	 *
+	 * <p>
+	 * Columns are: the positive parts of the variables, the negative parts of the
+	 * variables, one slack per inequality and one artificial per constraint. The
+	 * artificial columns are never pivoted in after phase 1; they keep track of
+	 * the inverse of the basis matrix, which allows to recalculate the right-hand
+	 * side for new values.
+	 */
+	private static class Tableau {
+		private final int noOfVariables;
+		private final int noOfRows;
+		private final int noOfColumns;
+		private final int firstArtificial;
+		private final double[][] rows;
+		private final double[] rhs;
+		private final double[] reducedCosts;
+		private final double[] artificialSigns;
+		private final int[] basis;
+		private int pivots = 0;
+
+		private Tableau(Structure structure, double[] values) {
+			this.noOfVariables = structure.objective.length;
+			this.noOfRows = structure.coefficients.length;
+			int noOfSlacks = 0;
+			for (Relationship relationship : structure.relationships) {
+				if (relationship != Relationship.EQ) {
+					noOfSlacks++;
+				}
+			}
+			this.firstArtificial = 2 * this.noOfVariables + noOfSlacks;
+			this.noOfColumns = this.firstArtificial + this.noOfRows;
+			this.rows = new double[this.noOfRows][this.noOfColumns];
+			this.rhs = new double[this.noOfRows];
+			this.reducedCosts = new double[this.noOfColumns];
+			this.artificialSigns = new double[this.noOfRows];
+			this.basis = new int[this.noOfRows];
+
+			int slack = 2 * this.noOfVariables;
+			for (int i = 0; i < this.noOfRows; i++) {
+				// multiply rows with negative right-hand side by -1, so that the artificial
+				// variables form a feasible start basis
+				double sign = values[i] < 0 ? -1 : 1;
+				double[] row = this.rows[i];
+				for (int j = 0; j < this.noOfVariables; j++) {
+					row[j] = sign * structure.coefficients[i][j];
+					row[this.noOfVariables + j] = -row[j];
+				}
+				switch (structure.relationships[i]) {
+				case LEQ:
+					row[slack++] = sign;
+					break;
+				case GEQ:
+					row[slack++] = -sign;
+					break;
+				case EQ:
+					break;
+				}
+				row[this.firstArtificial + i] = 1;
+				this.rhs[i] = sign * values[i];
+				this.artificialSigns[i] = sign;
+				this.basis[i] = this.firstArtificial + i;
+			}
+		}
+
+		private boolean isArtificial(int column) {
+			return column >= this.firstArtificial;
+		}
+
+		private boolean hasArtificialInBasis() {
+			for (int column : this.basis) {
+				if (this.isArtificial(column)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Sets the reduced costs for the given costs of the columns.
+		 *
+		 * @param costs the costs
+		 */
+		private void setCosts(double[] costs) {
+			System.arraycopy(costs, 0, this.reducedCosts, 0, this.noOfColumns);
+			for (int i = 0; i < this.noOfRows; i++) {
+				double cost = costs[this.basis[i]];
+				if (cost != 0) {
+					double[] row = this.rows[i];
+					for (int j = 0; j < this.noOfColumns; j++) {
+						this.reducedCosts[j] -= cost * row[j];
+					}
+				}
+			}
+		}
+
+		/**
+		 * Gets the objective value for the given costs of the columns.
+		 *
+		 * @param costs the costs
+		 * @return the objective value
+		 */
+		private double getObjectiveValue(double[] costs) {
+			double value = 0;
+			for (int i = 0; i < this.noOfRows; i++) {
+				value += costs[this.basis[i]] * this.rhs[i];
+			}
+			return value;
+		}
+
+		/**
+		 * Recalculates the right-hand side for new values: rhs = B^-1 * values.
+		 *
+		 * @param values the new right-hand side values of the constraints
+		 */
+		private void setValues(double[] values) {
+			for (int i = 0; i < this.noOfRows; i++) {
+				double[] row = this.rows[i];
+				double value = 0;
+				for (int k = 0; k < this.noOfRows; k++) {
+					value += row[this.firstArtificial + k] * this.artificialSigns[k] * values[k];
+				}
+				this.rhs[i] = value;
+			}
+		}
+
+		private void pivot(int pivotRow, int pivotColumn) {
+			double[] row = this.rows[pivotRow];
+			double factor = 1 / row[pivotColumn];
+			for (int j = 0; j < this.noOfColumns; j++) {
+				row[j] *= factor;
+			}
+			row[pivotColumn] = 1;
+			this.rhs[pivotRow] *= factor;
+
+			for (int i = 0; i < this.noOfRows; i++) {
+				if (i == pivotRow) {
+					continue;
+				}
+				double[] other = this.rows[i];
+				double f = other[pivotColumn];
+				if (f != 0) {
+					for (int j = 0; j < this.noOfColumns; j++) {
+						other[j] -= f * row[j];
+					}
+					other[pivotColumn] = 0;
+					this.rhs[i] -= f * this.rhs[pivotRow];
+				}
+			}
+			double f = this.reducedCosts[pivotColumn];
+			if (f != 0) {
+				for (int j = 0; j < this.noOfColumns; j++) {
+					this.reducedCosts[j] -= f * row[j];
+				}
+				this.reducedCosts[pivotColumn] = 0;
+			}
+			this.basis[pivotRow] = pivotColumn;
+			this.pivots++;
+		}
+
+		/**
+		 * Runs primal simplex iterations with Bland's rule until the current reduced
+		 * costs are optimal.
+		 *
+		 * @param allowArtificials whether artificial columns may enter the basis
+		 * @throws UnboundedSolutionException if the problem is unbounded
+		 */
+		private void primalSimplex(boolean allowArtificials) throws UnboundedSolutionException {
+			int limit = this.firstArtificial;
+			if (allowArtificials) {
+				limit = this.noOfColumns;
+			}
+			while (true) {
+				int column = -1;
+				for (int j = 0; j < limit; j++) {
+					if (this.reducedCosts[j] < -PIVOT_EPSILON) {
+						column = j;
+						break;
+					}
+				}
+				if (column < 0) {
+					return;
+				}
+				int row = -1;
+				double minRatio = Double.POSITIVE_INFINITY;
+				for (int i = 0; i < this.noOfRows; i++) {
+					double a = this.rows[i][column];
+					if (a > PIVOT_EPSILON) {
+						double ratio = this.rhs[i] / a;
+						if (row < 0 || ratio < minRatio - PIVOT_EPSILON
+								|| (ratio <= minRatio + PIVOT_EPSILON && this.basis[i] < this.basis[row])) {
+							minRatio = ratio;
+							row = i;
+						}
+					}
+				}
+				if (row < 0) {
+					throw new UnboundedSolutionException();
+				}
+				this.pivot(row, column);
+			}
+		}
+
+		/**
+		 * Runs dual simplex iterations until the right-hand side is feasible.
+		 *
+		 * @return false if the iteration limit was reached
+		 * @throws NoFeasibleSolutionException if the problem is infeasible
+		 */
+		private boolean dualSimplex() throws NoFeasibleSolutionException {
+			int maxIterations = this.noOfRows + this.noOfColumns;
+			for (int iteration = 0; iteration < maxIterations; iteration++) {
+				int row = -1;
+				double minRhs = -FEASIBILITY_EPSILON;
+				for (int i = 0; i < this.noOfRows; i++) {
+					if (this.rhs[i] < minRhs) {
+						minRhs = this.rhs[i];
+						row = i;
+					}
+				}
+				if (row < 0) {
+					return true;
+				}
+				int column = -1;
+				double minRatio = Double.POSITIVE_INFINITY;
+				double[] pivotRow = this.rows[row];
+				for (int j = 0; j < this.firstArtificial; j++) {
+					double a = pivotRow[j];
+					if (a < -PIVOT_EPSILON) {
+						double ratio = Math.max(0, this.reducedCosts[j]) / -a;
+						if (ratio < minRatio - PIVOT_EPSILON) {
+							minRatio = ratio;
+							column = j;
+						}
+					}
+				}
+				if (column < 0) {
+					throw new NoFeasibleSolutionException();
+				}
+				this.pivot(row, column);
+			}
+			return false;
+		}
+
+		/**
+		 * Gets the values of the original variables.
+		 *
+		 * @return the variables
+		 */
+		private double[] getPoint() {
+			double[] columns = new double[this.noOfColumns];
+			for (int i = 0; i < this.noOfRows; i++) {
+				columns[this.basis[i]] = this.rhs[i];
+			}
+			double[] point = new double[this.noOfVariables];
+			for (int j = 0; j < this.noOfVariables; j++) {
+				point[j] = columns[j] - columns[this.noOfVariables + j];
+			}
+			return point;
+		}
+	}
+
+	private final Map<Structure, Tableau> tableaus = new LinkedHashMap<Structure, Tableau>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Structure, Tableau> eldest) {
+			return this.size() > MAX_CACHED_PROBLEMS;
+		}
+	};
+
+	private int warmStarts = 0;
+	private int coldStarts = 0;
+
+	/**
+	 * Optimizes the objective function under the given constraints. Variables
+	 * are not restricted to non-negative values.
+	 *
+	 * @param objectiveFunction the {@link LinearObjectiveFunction}
+	 * @param constraints       the {@link LinearConstraint}s
+	 * @param goal              the {@link GoalType}
+	 * @return a solution as {@link PointValuePair}
+	 * @throws NoFeasibleSolutionException if no solution fulfills the constraints
+	 * @throws UnboundedSolutionException  if the objective function is unbounded
+	 */
+	public synchronized PointValuePair optimize(LinearObjectiveFunction objectiveFunction,
+			Collection<LinearConstraint> constraints, GoalType goal)
+			throws NoFeasibleSolutionException, UnboundedSolutionException {
+		double[] objective = objectiveFunction.getCoefficients().toArray();
+		if (goal == GoalType.MAXIMIZE) {
+			for (int j = 0; j < objective.length; j++) {
+				objective[j] = -objective[j];
+			}
+		}
+		double[][] coefficients = new double[constraints.size()][];
+		Relationship[] relationships = new Relationship[constraints.size()];
+		double[] values = new double[constraints.size()];
+		int i = 0;
+		for (LinearConstraint constraint : constraints) {
+			coefficients[i] = constraint.getCoefficients().toArray();
+			relationships[i] = constraint.getRelationship();
+			values[i] = constraint.getValue();
+			i++;
+		}
+		Structure structure = new Structure(coefficients, relationships, objective);
+
+		Tableau tableau = this.tableaus.remove(structure);
+		if (tableau != null) {
+			double[] point = this.warmStart(structure, tableau, values);
+			if (point != null) {
+				return new PointValuePair(point, objectiveFunction.value(point));
+			}
+		}
+
+		tableau = new Tableau(structure, values);
+		double[] point = this.coldStart(structure, tableau);
+		this.keep(structure, tableau);
+		return new PointValuePair(point, objectiveFunction.value(point));
+	}
+
+	/**
+	 * Solves the problem on a cached tableau with new right-hand side values.
+	 *
+	 * @param structure the {@link Structure}
+	 * @param tableau   the cached {@link Tableau}
+	 * @param values    the new right-hand side values
+	 * @return the variables; null if the tableau could not be reused
+	 * @throws NoFeasibleSolutionException if no solution fulfills the constraints
+	 */
+	private double[] warmStart(Structure structure, Tableau tableau, double[] values)
+			throws NoFeasibleSolutionException {
+		tableau.setValues(values);
+		boolean isSolved;
+		try {
+			isSolved = tableau.dualSimplex();
+		} catch (NoFeasibleSolutionException e) {
+			// the basis is still dual feasible and can be reused for the next values
+			this.keep(structure, tableau);
+			throw e;
+		}
+		if (!isSolved) {
+			return null;
+		}
+		double[] point = tableau.getPoint();
+		if (!isFeasible(structure, values, point)) {
+			// accumulated rounding errors
+			return null;
+		}
+		this.warmStarts++;
+		this.keep(structure, tableau);
+		return point;
+	}
+
+	/**
+	 * Solves the problem on a new tableau with the two-phase simplex method.
+	 *
+	 * @param structure the {@link Structure}
+	 * @param tableau   the new {@link Tableau}
+	 * @return the variables
+	 * @throws NoFeasibleSolutionException if no solution fulfills the constraints
+	 * @throws UnboundedSolutionException  if the objective function is unbounded
+	 */
+	private double[] coldStart(Structure structure, Tableau tableau)
+			throws NoFeasibleSolutionException, UnboundedSolutionException {
+		this.coldStarts++;
+
+		// Phase 1: minimize the sum of artificial variables
+		double[] costs = new double[tableau.noOfColumns];
+		for (int j = tableau.firstArtificial; j < tableau.noOfColumns; j++) {
+			costs[j] = 1;
+		}
+		tableau.setCosts(costs);
+		tableau.primalSimplex(true);
+		if (tableau.getObjectiveValue(costs) > FEASIBILITY_EPSILON) {
+			throw new NoFeasibleSolutionException();
+		}
+
+		// Drive remaining artificial variables out of the basis; rows where this is
+		// not possible are redundant
+		for (int i = 0; i < tableau.noOfRows; i++) {
+			if (!tableau.isArtificial(tableau.basis[i])) {
+				continue;
+			}
+			double[] row = tableau.rows[i];
+			for (int j = 0; j < tableau.firstArtificial; j++) {
+				if (Math.abs(row[j]) > PIVOT_EPSILON) {
+					tableau.pivot(i, j);
+					break;
+				}
+			}
+		}
+
+		// Phase 2: minimize the actual objective function
+		Arrays.fill(costs, 0);
+		for (int j = 0; j < tableau.noOfVariables; j++) {
+			costs[j] = structure.objective[j];
+			costs[tableau.noOfVariables + j] = -structure.objective[j];
+		}
+		tableau.setCosts(costs);
+		tableau.primalSimplex(false);
+		return tableau.getPoint();
+	}
+
+	/**
+	 * Keeps the tableau for the next problem with the same structure, if it is
+	 * suitable for a warm start.
+	 *
+	 * @param structure the {@link Structure}
+	 * @param tableau   the {@link Tableau}
+	 */
+	private void keep(Structure structure, Tableau tableau) {
+		if (!tableau.hasArtificialInBasis() && tableau.pivots < MAX_PIVOTS_PER_TABLEAU) {
+			this.tableaus.put(structure, tableau);
+		}
+	}
+
+	/**
+	 * Checks whether the variables fulfill the constraints.
+	 *
+	 * @param structure the {@link Structure}
+	 * @param values    the right-hand side values
+	 * @param point     the variables
+	 * @return true if all constraints are fulfilled
+	 */
+	private static boolean isFeasible(Structure structure, double[] values, double[] point) {
+		for (int i = 0; i < values.length; i++) {
+			double lhs = 0;
+			double[] coefficients = structure.coefficients[i];
+			for (int j = 0; j < point.length; j++) {
+				lhs += coefficients[j] * point[j];
+			}
+			double tolerance = FEASIBILITY_EPSILON * (1 + Math.abs(values[i]));
+			switch (structure.relationships[i]) {
+			case EQ:
+				if (Math.abs(lhs - values[i]) > tolerance) {
+					return false;
+				}
+				break;
+			case LEQ:
+				if (lhs > values[i] + tolerance) {
+					return false;
+				}
+				break;
+			case GEQ:
+				if (lhs < values[i] - tolerance) {
+					return false;
+				}
+				break;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the number of problems that were solved by reusing a cached tableau.
+	 *
+	 * @return the number of warm starts
+	 */
+	public synchronized int getWarmStarts() {
+		return this.warmStarts;
+	}
+
+	/**
+	 * Gets the number of problems that were solved from scratch.
+	 *
+	 * @return the number of cold starts
+	 */
+	public synchronized int getColdStarts() {
+		return this.coldStarts;
+	}
+
+	/**
+	 * Drops all cached tableaus.
+	 */
+	public synchronized void clear() {
+		this.tableaus.clear();
+	}
+
+}
@@ -0,0 +1,49 @@
+package io.openems.edge.ess.core.power;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
+import org.junit.Test;
+
+import io.openems.edge.ess.power.api.Phase;
+import io.openems.edge.ess.power.api.Pwr;
+
+public class ExtremaCacheTest {
+
+	@Test
+	public void test() {
+		ExtremaCache cache = new ExtremaCache();
+		cache.setRecordStatistics(true);
+		AtomicInteger calculations = new AtomicInteger();
+
+		assertEquals(1000, cache.get(1, "ess0", Phase.ALL, Pwr.ACTIVE, GoalType.MAXIMIZE, () -> {
+			calculations.incrementAndGet();
+			return 1000;
+		}), 0);
+		assertEquals(1000, cache.get(1, "ess0", Phase.ALL, Pwr.ACTIVE, GoalType.MAXIMIZE, () -> {
+			calculations.incrementAndGet();
+			return 2000;
+		}), 0);
+		assertEquals(1, calculations.get());
+
+		// different key
+		assertEquals(-1000, cache.get(1, "ess0", Phase.ALL, Pwr.ACTIVE, GoalType.MINIMIZE, () -> {
+			calculations.incrementAndGet();
+			return -1000;
+		}), 0);
+		assertEquals(2, calculations.get());
+
+		// new version
+		assertEquals(500, cache.get(2, "ess0", Phase.ALL, Pwr.ACTIVE, GoalType.MAXIMIZE, () -> {
+			calculations.incrementAndGet();
+			return 500;
+		}), 0);
+		assertEquals(3, calculations.get());
+
+		assertEquals(1, cache.getHits());
+		assertEquals(3, cache.getMisses());
+	}
+
+}
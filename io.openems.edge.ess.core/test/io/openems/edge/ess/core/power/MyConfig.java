@@ -1,6 +1,7 @@
 package io.openems.edge.ess.core.power;
 
 import io.openems.edge.common.test.AbstractComponentConfig;
+import io.openems.edge.ess.core.power.solver.SolverEngine;
 import io.openems.edge.ess.power.api.SolverStrategy;
 
 @SuppressWarnings("all")
@@ -8,6 +9,7 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 
 	protected static class Builder {
 		public SolverStrategy strategy;
+		public SolverEngine engine = SolverEngine.COMMONS_MATH;
 		public boolean symmetricMode;
 		public boolean debugMode;
 		public boolean enablePid;
@@ -24,6 +26,11 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 			return this;
 		}
 
+		public Builder setEngine(SolverEngine engine) {
+			this.engine = engine;
+			return this;
+		}
+
 		public Builder setSymmetricMode(boolean symmetricMode) {
 			this.symmetricMode = symmetricMode;
 			return this;
@@ -80,6 +87,11 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 		return this.builder.strategy;
 	}
 
+	@Override
+	public SolverEngine engine() {
+		return this.builder.engine;
+	}
+
 	@Override
 	public boolean symmetricMode() {
 		return this.builder.symmetricMode;
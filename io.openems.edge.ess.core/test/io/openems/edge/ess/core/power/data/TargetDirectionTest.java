@@ -9,7 +9,6 @@ import org.junit.Test;
 
 import io.openems.edge.ess.api.ManagedSymmetricEss;
 import io.openems.edge.ess.core.power.Data;
-import io.openems.edge.ess.core.power.solver.LinearConstraintsSolver;
 import io.openems.edge.ess.power.api.Inverter;
 import io.openems.edge.ess.power.api.Phase;
 import io.openems.edge.ess.power.api.Pwr;
@@ -21,8 +20,6 @@ public class TargetDirectionTest {
 	private static DummyManagedSymmetricEss ess0;
 	private static MyData data;
 
-	public static final LinearConstraintsSolver linearConstraintsSolver = new LinearConstraintsSolver();
-
 	@Before
 	public void before() {
 		ess0 = new DummyManagedSymmetricEss("ess0") //
@@ -39,21 +36,21 @@ public class TargetDirectionTest {
 		// #1
 		data.addSimpleConstraint("", ess0.id(), Phase.ALL, Pwr.ACTIVE, Relationship.EQUALS, 0);
 		assertEquals(TargetDirection.KEEP_ZERO, //
-				TargetDirection.from(data.getInverters(), data.getCoefficients(),
+				TargetDirection.from(data.getSolver(), data.getInverters(), data.getCoefficients(),
 						data.getConstraintsForAllInverters()));
 		data.initializeCycle();
 
 		// #2
 		data.addSimpleConstraint("", ess0.id(), Phase.ALL, Pwr.ACTIVE, Relationship.EQUALS, -1);
 		assertEquals(TargetDirection.CHARGE, //
-				TargetDirection.from(data.getInverters(), data.getCoefficients(),
+				TargetDirection.from(data.getSolver(), data.getInverters(), data.getCoefficients(),
 						data.getConstraintsForAllInverters()));
 		data.initializeCycle();
 
 		// #3
 		data.addSimpleConstraint("", ess0.id(), Phase.ALL, Pwr.ACTIVE, Relationship.EQUALS, 1);
 		assertEquals(TargetDirection.DISCHARGE, //
-				TargetDirection.from(data.getInverters(), data.getCoefficients(),
+				TargetDirection.from(data.getSolver(), data.getInverters(), data.getCoefficients(),
 						data.getConstraintsForAllInverters()));
 	}
 
@@ -1,26 +1,35 @@
 package io.openems.edge.ess.core.power.optimizers;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.math3.optim.PointValuePair;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
-import io.openems.common.function.ThrowingFunction;
+import io.openems.common.function.ThrowingBiFunction;
 import io.openems.edge.ess.api.ManagedSymmetricEss;
 import io.openems.edge.ess.core.power.Solver;
 import io.openems.edge.ess.core.power.data.TargetDirection;
 import io.openems.edge.ess.core.power.data.WeightsUtil;
+import io.openems.edge.ess.core.power.solver.LinearConstraintsSolver;
 import io.openems.edge.ess.power.api.Inverter;
 import io.openems.edge.ess.power.api.ThreePhaseInverter;
 import io.openems.edge.ess.test.DummyManagedSymmetricEss;
 
 public class ReduceNumberOfUsedInvertersTest {
 
+	private static final LinearConstraintsSolver SOLVER = new LinearConstraintsSolver();
+
 	private static ReduceNumberOfUsedInverters sut;
 
 	private static List<ManagedSymmetricEss> esss;
@@ -54,12 +63,17 @@ public class ReduceNumberOfUsedInvertersTest {
 		sut = new ReduceNumberOfUsedInverters();
 	}
 
+	@After
+	public void after() {
+		sut.deactivate();
+	}
+
 	@Test
 	public void testNumberOfUsedInverters() {
 		int requiredNumberOfInverters = 3;
 
 		ValidateFunction validateFunction = new ValidateFunction(allInverters, requiredNumberOfInverters);
-		List<Inverter> inverters = sut.apply(allInverters, TargetDirection.DISCHARGE, validateFunction);
+		List<Inverter> inverters = sut.apply(SOLVER, allInverters, TargetDirection.DISCHARGE, validateFunction);
 
 		if (requiredNumberOfInverters > allInverters.size() || requiredNumberOfInverters <= 0) {
 			// no solution possible; keep all Inverters
@@ -72,7 +86,7 @@ public class ReduceNumberOfUsedInvertersTest {
 	@Test
 	public void testActualInvertersOnDischarge() {
 		ValidateFunction validateFunction = new ValidateFunction(allInverters, 2);
-		List<Inverter> inverters = sut.apply(allInverters, TargetDirection.DISCHARGE, validateFunction);
+		List<Inverter> inverters = sut.apply(SOLVER, allInverters, TargetDirection.DISCHARGE, validateFunction);
 
 		Iterator<Inverter> iter = inverters.iterator();
 		Inverter inv;
@@ -87,7 +101,7 @@ public class ReduceNumberOfUsedInvertersTest {
 	@Test
 	public void testActualInvertersOnCharge() {
 		ValidateFunction validateFunction = new ValidateFunction(allInverters, 3);
-		List<Inverter> inverters = sut.apply(allInverters, TargetDirection.CHARGE, validateFunction);
+		List<Inverter> inverters = sut.apply(SOLVER, allInverters, TargetDirection.CHARGE, validateFunction);
 
 		Iterator<Inverter> iter = inverters.iterator();
 		Inverter inv;
@@ -102,14 +116,46 @@ public class ReduceNumberOfUsedInvertersTest {
 		assertEquals("ess2", inv.getEssId());
 	}
 
+	@Test
+	public void testIncremental() {
+		ValidateFunction validateFunction = new ValidateFunction(allInverters, 2);
+		List<Inverter> inverters = sut.apply(SOLVER, allInverters, TargetDirection.DISCHARGE, validateFunction);
+		assertEquals(2, inverters.size());
+
+		// same situation in the next Cycle: only the last result and its neighbour are
+		// tested
+		validateFunction = new ValidateFunction(allInverters, 2);
+		inverters = sut.apply(SOLVER, allInverters, TargetDirection.DISCHARGE, validateFunction);
+		assertEquals(2, inverters.size());
+		assertEquals(2, validateFunction.calls.get());
+
+		// more inverters required
+		validateFunction = new ValidateFunction(allInverters, 4);
+		inverters = sut.apply(SOLVER, allInverters, TargetDirection.DISCHARGE, validateFunction);
+		assertEquals(4, inverters.size());
+	}
+
+	@Test
+	public void testSolverPerTask() {
+		// every parallel task gets its own solver
+		ValidateFunction validateFunction = new ValidateFunction(allInverters, 1);
+		List<Inverter> inverters = sut.apply(SOLVER, allInverters, TargetDirection.DISCHARGE, validateFunction);
+		assertEquals(1, inverters.size());
+		assertFalse(validateFunction.sharedSolver.get());
+	}
+
 	/**
 	 * Dummy ValidateFunction. In reality this is done by
 	 * 'solveWithDisabledInverters' in {@link Solver}.
 	 */
-	private static class ValidateFunction implements ThrowingFunction<List<Inverter>, PointValuePair, Exception> {
+	private static class ValidateFunction
+			implements ThrowingBiFunction<LinearConstraintsSolver, List<Inverter>, PointValuePair, Exception> {
 
 		private final List<Inverter> allInverters;
 		private final int requiredNumberOfInverters;
+		private final AtomicInteger calls = new AtomicInteger();
+		private final Set<LinearConstraintsSolver> activeSolvers = ConcurrentHashMap.newKeySet();
+		private final AtomicBoolean sharedSolver = new AtomicBoolean(false);
 
 		protected ValidateFunction(List<Inverter> allInverters, int requiredNumberOfInverters) {
 			this.allInverters = allInverters;
@@ -117,11 +163,20 @@ public class ReduceNumberOfUsedInvertersTest {
 		}
 
 		@Override
-		public PointValuePair apply(List<Inverter> disabledInverters) throws Exception {
-			if (this.allInverters.size() - disabledInverters.size() < this.requiredNumberOfInverters) {
-				throw new Exception("Not solved");
-			} else {
-				return null; // ignored
+		public PointValuePair apply(LinearConstraintsSolver solver, List<Inverter> disabledInverters)
+				throws Exception {
+			this.calls.incrementAndGet();
+			if (!this.activeSolvers.add(solver)) {
+				this.sharedSolver.set(true);
+			}
+			try {
+				if (this.allInverters.size() - disabledInverters.size() < this.requiredNumberOfInverters) {
+					throw new Exception("Not solved");
+				} else {
+					return null; // ignored
+				}
+			} finally {
+				this.activeSolvers.remove(solver);
 			}
 		}
 
@@ -0,0 +1,147 @@
+package io.openems.edge.ess.core.power.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.optim.PointValuePair;
+import org.apache.commons.math3.optim.linear.LinearConstraint;
+import org.apache.commons.math3.optim.linear.LinearConstraintSet;
+import org.apache.commons.math3.optim.linear.LinearObjectiveFunction;
+import org.apache.commons.math3.optim.linear.NoFeasibleSolutionException;
+import org.apache.commons.math3.optim.linear.PivotSelectionRule;
+import org.apache.commons.math3.optim.linear.Relationship;
+import org.apache.commons.math3.optim.linear.SimplexSolver;
+import org.apache.commons.math3.optim.linear.UnboundedSolutionException;
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
+import org.junit.Test;
+
+public class WarmStartSimplexSolverTest {
+
+	private static final double DELTA = 0.001;
+
+	@Test
+	public void testSimple() {
+		WarmStartSimplexSolver solver = new WarmStartSimplexSolver();
+		LinearObjectiveFunction objective = new LinearObjectiveFunction(new double[] { 1, 1 }, 0);
+
+		// x + y = 1000; x <= 300 -> minimize x + y
+		List<LinearConstraint> constraints = new ArrayList<>();
+		constraints.add(new LinearConstraint(new double[] { 1, 1 }, Relationship.EQ, 1000));
+		constraints.add(new LinearConstraint(new double[] { 1, 0 }, Relationship.LEQ, 300));
+		constraints.add(new LinearConstraint(new double[] { 0, 1 }, Relationship.LEQ, 800));
+		PointValuePair solution = solver.optimize(objective, constraints, GoalType.MINIMIZE);
+		assertEquals(1000, solution.getValue(), DELTA);
+		assertTrue(solution.getPoint()[0] <= 300 + DELTA);
+		assertEquals(1, solver.getColdStarts());
+
+		// same structure, different values
+		constraints.set(0, new LinearConstraint(new double[] { 1, 1 }, Relationship.EQ, -500));
+		solution = solver.optimize(objective, constraints, GoalType.MINIMIZE);
+		assertEquals(-500, solution.getValue(), DELTA);
+		assertEquals(1, solver.getColdStarts());
+		assertEquals(1, solver.getWarmStarts());
+
+		// infeasible
+		constraints.set(0, new LinearConstraint(new double[] { 1, 1 }, Relationship.EQ, 2000));
+		try {
+			solver.optimize(objective, constraints, GoalType.MINIMIZE);
+			fail("Expected NoFeasibleSolutionException");
+		} catch (NoFeasibleSolutionException e) {
+			// expected
+		}
+
+		// unbounded
+		try {
+			solver.optimize(new LinearObjectiveFunction(new double[] { 1, 0 }, 0), constraints.subList(1, 3),
+					GoalType.MINIMIZE);
+			fail("Expected UnboundedSolutionException");
+		} catch (UnboundedSolutionException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testCompareWithCommonsMath() {
+		Random random = new Random(42);
+		WarmStartSimplexSolver solver = new WarmStartSimplexSolver();
+		for (int problem = 0; problem < 20; problem++) {
+			int noOfVariables = 2 + random.nextInt(6);
+			int noOfConstraints = 1 + random.nextInt(6);
+
+			double[] objectiveCoefficients = new double[noOfVariables];
+			for (int j = 0; j < noOfVariables; j++) {
+				objectiveCoefficients[j] = random.nextInt(5) - 2;
+			}
+			LinearObjectiveFunction objective = new LinearObjectiveFunction(objectiveCoefficients, 0);
+			GoalType goal = random.nextBoolean() ? GoalType.MINIMIZE : GoalType.MAXIMIZE;
+
+			double[][] coefficients = new double[noOfConstraints][noOfVariables];
+			Relationship[] relationships = new Relationship[noOfConstraints];
+			for (int i = 0; i < noOfConstraints; i++) {
+				for (int j = 0; j < noOfVariables; j++) {
+					coefficients[i][j] = random.nextInt(7) - 3;
+				}
+				relationships[i] = Relationship.values()[random.nextInt(3)];
+			}
+
+			// solve the same structure with changing values
+			for (int cycle = 0; cycle < 10; cycle++) {
+				List<LinearConstraint> constraints = new ArrayList<>();
+				for (int j = 0; j < noOfVariables; j++) {
+					// keep the problem bounded
+					double[] unit = new double[noOfVariables];
+					unit[j] = 1;
+					constraints.add(new LinearConstraint(unit, Relationship.LEQ, 1000));
+					constraints.add(new LinearConstraint(unit, Relationship.GEQ, -1000));
+				}
+				for (int i = 0; i < noOfConstraints; i++) {
+					constraints.add(new LinearConstraint(coefficients[i], relationships[i],
+							random.nextInt(4000) - 2000));
+				}
+				assertSameResult(solver, objective, constraints, goal);
+			}
+		}
+		assertTrue(solver.getWarmStarts() > 0);
+	}
+
+	private static void assertSameResult(WarmStartSimplexSolver solver, LinearObjectiveFunction objective,
+			List<LinearConstraint> constraints, GoalType goal) {
+		PointValuePair expected;
+		try {
+			expected = new SimplexSolver().optimize(objective, new LinearConstraintSet(constraints), goal,
+					PivotSelectionRule.BLAND);
+		} catch (NoFeasibleSolutionException e) {
+			try {
+				solver.optimize(objective, constraints, goal);
+				fail("Expected NoFeasibleSolutionException");
+			} catch (NoFeasibleSolutionException e2) {
+				// expected
+			}
+			return;
+		}
+		PointValuePair actual = solver.optimize(objective, constraints, goal);
+		assertEquals(expected.getValue(), actual.getValue(), DELTA);
+		for (LinearConstraint constraint : constraints) {
+			double lhs = constraint.getCoefficients().dotProduct(
+					new ArrayRealVector(actual.getPoint()));
+			switch (constraint.getRelationship()) {
+			case EQ:
+				assertEquals(constraint.getValue(), lhs, DELTA);
+				break;
+			case LEQ:
+				assertTrue(lhs <= constraint.getValue() + DELTA);
+				break;
+			case GEQ:
+				assertTrue(lhs >= constraint.getValue() - DELTA);
+				break;
+			}
+		}
+	}
+
+}
@@ -1,8 +1,7 @@
 package io.openems.edge.evcs.cluster;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.event.Event;
@@ -12,6 +11,7 @@ import org.slf4j.LoggerFactory;
 
 import io.openems.common.channel.Unit;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.Doc;
 import io.openems.edge.common.channel.calculate.CalculateIntegerSum;
@@ -19,16 +19,16 @@ import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.event.EdgeEventConstants;
 import io.openems.edge.evcs.api.Evcs;
-import io.openems.edge.evcs.api.ManagedEvcs;
-import io.openems.edge.evcs.api.Status;
 
 public abstract class AbstractEvcsCluster extends AbstractOpenemsComponent
 		implements OpenemsComponent, EventHandler, Evcs {
 
 	private final Logger log = LoggerFactory.getLogger(AbstractEvcsCluster.class);
 
-	// Default value for the hardware limit
-	private static final Integer DEFAULT_HARDWARE_LIMIT = 22080;
+	private final EvcsPowerAllocator allocator = new EvcsPowerAllocator();
+
+	private volatile List<EvcsPowerAllocator.Group> evcsGroups = Collections.emptyList();
+	private volatile boolean isAllocatorChanged = true;
 
 	public AbstractEvcsCluster(io.openems.edge.common.channel.ChannelId[] firstInitialChannelIds,
 			io.openems.edge.common.channel.ChannelId[]... furtherInitialChannelIds) {
@@ -110,13 +110,45 @@ public abstract class AbstractEvcsCluster extends AbstractOpenemsComponent
 		this._setMinimumPower(minPower.calculate());
 	}
 
+	/**
+	 * Marks the sorted EVCSs or the groups as changed. The {@link EvcsPowerAllocator}
+	 * is updated in the next Cycle.
+	 */
+	protected void updateAllocator() {
+		this.isAllocatorChanged = true;
+	}
+
+	/**
+	 * Sets the groups of EVCSs that share a maximum power, e.g. all EVCSs on one
+	 * feeder or on one phase.
+	 * 
+	 * @param config the configuration entries in the format "evcs0,evcs1=11000"
+	 * @throws OpenemsException on parse error
+	 */
+	protected void setEvcsGroups(String[] config) throws OpenemsException {
+		this.evcsGroups = EvcsPowerAllocator.Group.fromConfig(config);
+		this.updateAllocator();
+	}
+
 	/**
 	 * Depending on the excess power, the EVCSs will be charged. Distributing the
 	 * maximum allowed charge distribution power (given by the implementation) to
 	 * each evcs.
+	 * 
+	 * <p>
+	 * The power is only re-balanced by the {@link EvcsPowerAllocator} if the total
+	 * power limit or the state of an EVCS changed; the resulting limits are set
+	 * every Cycle.
 	 */
 	protected void limitEvcss() {
 		try {
+			if (this.isAllocatorChanged) {
+				this.isAllocatorChanged = false;
+				synchronized (this) {
+					this.allocator.setEvcss(this.getSortedEvcss(), this.evcsGroups);
+				}
+			}
+
 			int totalPowerLimit = this.getMaximumPowerToDistribute();
 			this.channel(ChannelId.MAXIMUM_POWER_TO_DISTRIBUTE).setNextValue(totalPowerLimit);
 
@@ -130,136 +162,23 @@ public abstract class AbstractEvcsCluster extends AbstractOpenemsComponent
 				}
 			}
 
-			this.logInfoInDebugmode(this.log, "Maximum total power to distribute: " + totalPowerLimit);
-
-			// Total Power that can be distributed to EVCSs minus the guaranteed power.
-			int totalPowerLeftMinusGuarantee = totalPowerLimit;
-
-			/*
-			 * Defines the active charging stations that are charging.
-			 */
-			List<ManagedEvcs> activeEvcss = new ArrayList<>();
-			for (Evcs evcs : this.getSortedEvcss()) {
-				if (evcs instanceof ManagedEvcs) {
-					ManagedEvcs managedEvcs = (ManagedEvcs) evcs;
-					int requestedPower = managedEvcs.getSetChargePowerRequestChannel().getNextWriteValue().orElse(0);
-
-					if (requestedPower <= 0) {
-						managedEvcs.setChargePowerLimit(0);
-						continue;
-					}
-
-					int guaranteedPower = getGuaranteedPower(managedEvcs);
-					Status status = managedEvcs.getStatus();
-					switch (status) {
-					case CHARGING_FINISHED:
-						managedEvcs.setChargePowerLimit(requestedPower);
-						break;
-					case ERROR:
-					case STARTING:
-					case UNDEFINED:
-					case NOT_READY_FOR_CHARGING:
-					case ENERGY_LIMIT_REACHED:
-						managedEvcs.setChargePowerLimit(0);
-						break;
-					case READY_FOR_CHARGING:
-
-						// Check if there is enough power for an initial charge
-						if (totalPowerLimit - this.getChargePower().orElse(0) >= guaranteedPower) {
-							managedEvcs.setChargePowerLimit(guaranteedPower);
-							// TODO: managedEvcs._setStatus(Status.UNCONFIRMED_CHARGING); or put this in the
-							// setChargePowerLimit
-							totalPowerLeftMinusGuarantee -= guaranteedPower;
-						}
-						break;
-
-					// EVCS is active.
-					case CHARGING_REJECTED:
-					case CHARGING:
-						/*
-						 * Reduces the available power by the guaranteed power of each charging station.
-						 * Sets the minimum power depending on the guaranteed and the maximum Power.
-						 */
-						if (totalPowerLeftMinusGuarantee - guaranteedPower >= 0) {
-							totalPowerLeftMinusGuarantee -= guaranteedPower;
-							managedEvcs._setMinimumPower(guaranteedPower);
-							activeEvcss.add(managedEvcs);
-						} else {
-							managedEvcs.setChargePowerLimit(0);
-						}
-					}
+			boolean isRebalanced = this.allocator.update(totalPowerLimit, this.getChargePower().orElse(0),
+					this.getMinimumChargePowerGuarantee());
+			if (isRebalanced && this.isDebugMode()) {
+				this.logInfo(this.log, "Maximum total power to distribute: " + totalPowerLimit);
+				for (int i = 0; i < this.allocator.size(); i++) {
+					this.logInfo(this.log, "Next charge power (for " + this.allocator.getEvcs(i).alias() + "): "
+							+ this.allocator.getChargePowerLimit(i));
 				}
+				this.logInfo(this.log, "Power left: " + this.allocator.getPowerLeft());
 			}
 
-			/*
-			 * Distributes the available Power to the active EVCSs
-			 */
-			for (ManagedEvcs evcs : activeEvcss) {
-
-				// int guaranteedPower = evcs.getMinimumPowerChannel().getNextValue().orElse(0);
-				int guaranteedPower = evcs.getMinimumPowerChannel().getNextValue().orElse(0);
-
-				// Power left for the this EVCS including its guaranteed power
-				final int powerLeft = totalPowerLeftMinusGuarantee + guaranteedPower;
-
-				int maximumHardwareLimit = evcs.getMaximumHardwarePower().orElse(DEFAULT_HARDWARE_LIMIT);
-
-				int nextChargePower;
-				Optional<Integer> requestedPower = evcs.getSetChargePowerRequestChannel().getNextWriteValue();
-
-				// Power requested by the controller
-				if (requestedPower.isPresent()) {
-					this.logInfoInDebugmode(this.log,
-							"Requested power ( for " + evcs.alias() + "): " + requestedPower.get());
-					nextChargePower = requestedPower.get();
-				} else {
-					nextChargePower = maximumHardwareLimit;
-				}
-
-				// Total power should be only reduced by the maximum power, that EV is charging.
-				int maximumChargePower = evcs.getMaximumPower().orElse(nextChargePower);
-
-				nextChargePower = nextChargePower > maximumHardwareLimit ? maximumHardwareLimit : nextChargePower;
-
-				// Checks if there is enough power left and sets the charge power
-				if (maximumChargePower < powerLeft) {
-					totalPowerLeftMinusGuarantee = totalPowerLeftMinusGuarantee
-							- (maximumChargePower - guaranteedPower);
-				} else {
-					nextChargePower = powerLeft;
-					totalPowerLeftMinusGuarantee = 0;
-				}
-
-				/**
-				 * Set the next charge power of the EVCS
-				 */
-				if (nextChargePower > evcs.getChargePower().orElse(0)) {
-					evcs.setChargePowerLimitWithPid(nextChargePower);
-				} else {
-					evcs.setChargePowerLimit(nextChargePower);
-				}
-				this.logInfoInDebugmode(this.log, "Next charge power: " + nextChargePower + "; Max charge power: "
-						+ maximumChargePower + "; Power left: " + totalPowerLeftMinusGuarantee);
-			}
+			this.allocator.apply();
 		} catch (OpenemsNamedException e) {
 			e.printStackTrace();
 		}
 	}
 
-	/**
-	 * Results the power that should be guaranteed for one EVCS.
-	 * 
-	 * @param evcs EVCS whose limits should be used.
-	 * @return Guaranteed power that should/can be used.
-	 */
-	private int getGuaranteedPower(Evcs evcs) {
-		int minGuarantee = this.getMinimumChargePowerGuarantee();
-		int minHW = evcs.getMinimumHardwarePower().orElse(minGuarantee);
-		int evcsMaxPower = evcs.getMaximumPower().orElse(evcs.getMaximumHardwarePower().orElse(DEFAULT_HARDWARE_LIMIT));
-		minGuarantee = evcsMaxPower > minGuarantee ? minGuarantee : evcsMaxPower;
-		return minHW > minGuarantee ? minHW : minGuarantee;
-	}
-
 	/**
 	 * Sorted list of the EVCSs in the cluster.
 	 * 
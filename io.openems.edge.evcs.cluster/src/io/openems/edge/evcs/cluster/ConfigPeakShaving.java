@@ -28,6 +28,10 @@ import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 			+ "(Only Managed Evcss will be considered because their charging power can be adjusted)")
 	String[] evcs_ids() default { "evcs0", "evcs1" };
 
+	@AttributeDefinition(name = "Evcs groups", description = "Optional groups of EVCSs that share a maximum power, e.g. all EVCSs on one feeder or on one phase. "
+			+ "Format: IDs of the EVCSs and the maximum power in Watt, e.g. 'evcs0,evcs1=11000'")
+	String[] evcs_groups() default {};
+
 	@AttributeDefinition(name = "Evcs target filter", description = "This is auto-generated by 'Evcs-IDs'.")
 	String Evcs_target() default "";
 
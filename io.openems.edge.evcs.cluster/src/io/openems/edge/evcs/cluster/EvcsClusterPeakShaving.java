@@ -101,6 +101,7 @@ public class EvcsClusterPeakShaving extends AbstractEvcsCluster implements Opene
 	void activate(ComponentContext context, ConfigPeakShaving config) throws OpenemsNamedException {
 		this.evcsIds = config.evcs_ids();
 		updateSortedEvcss();
+		this.setEvcsGroups(config.evcs_groups());
 		super.activate(context, config.id(), config.alias(), config.enabled());
 
 		this.config = config;
@@ -139,6 +140,7 @@ public class EvcsClusterPeakShaving extends AbstractEvcsCluster implements Opene
 				this.sortedEvcss.add(evcs);
 			}
 		}
+		this.updateAllocator();
 	}
 
 	/**
@@ -84,6 +84,7 @@ public class EvcsClusterSelfConsumption extends AbstractEvcsCluster implements O
 	void activate(ComponentContext context, ConfigSelfConsumption config) throws OpenemsNamedException {
 		this.evcsIds = config.evcs_ids();
 		updateSortedEvcss();
+		this.setEvcsGroups(config.evcs_groups());
 		super.activate(context, config.id(), config.alias(), config.enabled());
 
 		this.config = config;
@@ -116,6 +117,7 @@ public class EvcsClusterSelfConsumption extends AbstractEvcsCluster implements O
 				this.sortedEvcss.add(evcs);
 			}
 		}
+		this.updateAllocator();
 	}
 
 	/**
@@ -0,0 +1,482 @@
+package io.openems.edge.evcs.cluster;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.common.channel.value.Value;
+import io.openems.edge.evcs.api.Evcs;
+import io.openems.edge.evcs.api.ManagedEvcs;
+import io.openems.edge.evcs.api.Status;
+
+/**
+ * Distributes the power of an EVCS-Cluster to its {@link ManagedEvcs}s.
+ *
+ * <p>
+ * The EVCSs are held in priority order in primitive arrays together with the
+ * inputs of the last distribution. {@link #update(int, int, int)} only
+ * re-balances if one of these inputs changed - e.g. a charge power request,
+ * a status or the total power limit -, otherwise the previous result is kept.
+ *
+ * <p>
+ * The total power limit of the peak shaving cluster changes in nearly every
+ * Cycle. Therefore the distribution also remembers how far the total power
+ * limit may decrease and whether it may increase without changing any charge
+ * power limit. If only the total power limit changed within these bounds, just
+ * the power left is adjusted. This is not possible if the total power limit is
+ * exhausted, i.e. it limits an EVCS, or if an EVCS is ready for charging.
+ *
+ * <p>
+ * {@link #apply()} writes the result to the EVCSs every Cycle, because the
+ * EVCSs reset their charge power limit once it was handled.
+ *
+ * <p>
+ * EVCSs can be assigned to a {@link Group} with a maximum power, e.g. all EVCSs
+ * on one feeder or on one phase. The power of a group is distributed in the
+ * same priority order, but in addition to the total power limit.
+ */
+class EvcsPowerAllocator {
+
+	// Default value for the hardware limit
+	protected static final int DEFAULT_HARDWARE_LIMIT = 22080;
+
+	// Marks an undefined Channel value in the input arrays
+	private static final int UNDEFINED = Integer.MIN_VALUE;
+
+	// Marks an EVCS that is not in a group
+	private static final int NO_GROUP = -1;
+
+	private static final byte WRITE_NOTHING = 0;
+	private static final byte WRITE_LIMIT = 1;
+	private static final byte WRITE_ACTIVE = 2;
+
+	/**
+	 * A group of EVCSs that share a maximum power.
+	 */
+	static class Group {
+
+		protected final Set<String> evcsIds;
+		protected final int maximumPower;
+
+		protected Group(Set<String> evcsIds, int maximumPower) {
+			this.evcsIds = evcsIds;
+			this.maximumPower = maximumPower;
+		}
+
+		/**
+		 * Parses the groups from the configuration.
+		 *
+		 * <p>
+		 * Every entry has the format "evcs0,evcs1=11000": the IDs of the EVCSs,
+		 * followed by the maximum power of the group in Watt. An EVCS can only be
+		 * part of one group.
+		 *
+		 * @param config the configuration entries
+		 * @return the groups
+		 * @throws OpenemsException on parse error
+		 */
+		protected static List<Group> fromConfig(String[] config) throws OpenemsException {
+			List<Group> result = new ArrayList<>();
+			Set<String> allIds = new HashSet<>();
+			for (String entry : config) {
+				if (entry.trim().isEmpty()) {
+					continue;
+				}
+				String[] parts = entry.split("=");
+				if (parts.length != 2) {
+					throw new OpenemsException("Unable to parse EVCS group [" + entry + "]. Expected format is "
+							+ "[evcs0,evcs1=11000]");
+				}
+				int maximumPower;
+				try {
+					maximumPower = Integer.parseInt(parts[1].trim());
+				} catch (NumberFormatException e) {
+					throw new OpenemsException(
+							"Unable to parse maximum power of EVCS group [" + entry + "]: " + e.getMessage());
+				}
+				Set<String> evcsIds = new HashSet<>();
+				for (String id : parts[0].split(",")) {
+					id = id.trim();
+					if (id.isEmpty()) {
+						continue;
+					}
+					if (!allIds.add(id)) {
+						throw new OpenemsException("EVCS [" + id + "] is part of more than one EVCS group");
+					}
+					evcsIds.add(id);
+				}
+				result.add(new Group(Collections.unmodifiableSet(evcsIds), maximumPower));
+			}
+			return result;
+		}
+	}
+
+	private ManagedEvcs[] evcss = new ManagedEvcs[0];
+	private int[] group = new int[0];
+	private int[] groupMaximumPower = new int[0];
+	private int[] groupPowerLeft = new int[0];
+	private boolean changed = true;
+
+	// Inputs of the last distribution
+	private int totalPowerLimit = UNDEFINED;
+	private int clusterChargePower = UNDEFINED;
+	private int minimumChargePowerGuarantee = UNDEFINED;
+	private int[] requestedPower = new int[0];
+	private Status[] status = new Status[0];
+	private int[] maximumPower = new int[0];
+	private int[] maximumHardwarePower = new int[0];
+	private int[] minimumHardwarePower = new int[0];
+	private boolean isAnyReadyForCharging = false;
+
+	// Result of the last distribution
+	private int[] chargePowerLimit = new int[0];
+	private byte[] write = new byte[0];
+	private int[] active = new int[0];
+	private int activeCount = 0;
+	private int powerLeft = 0;
+
+	// Bounds of the total power limit for the result of the last distribution:
+	// the maximum decrease and whether an increase would change the result
+	private int totalPowerLimitSlack = -1;
+	private boolean isTotalPowerLimitBinding = true;
+
+	/**
+	 * Sets the EVCSs in priority order. Only {@link ManagedEvcs}s are considered.
+	 *
+	 * @param evcss  the EVCSs sorted by priority
+	 * @param groups the {@link Group}s
+	 */
+	public void setEvcss(List<Evcs> evcss, List<Group> groups) {
+		List<ManagedEvcs> managedEvcss = new ArrayList<>(evcss.size());
+		for (Evcs evcs : evcss) {
+			if (evcs instanceof ManagedEvcs) {
+				managedEvcss.add((ManagedEvcs) evcs);
+			}
+		}
+		int size = managedEvcss.size();
+		this.evcss = managedEvcss.toArray(new ManagedEvcs[size]);
+		this.group = new int[size];
+		Arrays.fill(this.group, NO_GROUP);
+		for (int i = 0; i < size; i++) {
+			String id = this.evcss[i].id();
+			for (int g = 0; g < groups.size(); g++) {
+				if (groups.get(g).evcsIds.contains(id)) {
+					this.group[i] = g;
+					break;
+				}
+			}
+		}
+		this.groupMaximumPower = new int[groups.size()];
+		for (int g = 0; g < groups.size(); g++) {
+			this.groupMaximumPower[g] = groups.get(g).maximumPower;
+		}
+		this.groupPowerLeft = new int[groups.size()];
+
+		this.requestedPower = new int[size];
+		this.status = new Status[size];
+		this.maximumPower = new int[size];
+		this.maximumHardwarePower = new int[size];
+		this.minimumHardwarePower = new int[size];
+		this.chargePowerLimit = new int[size];
+		this.write = new byte[size];
+		this.active = new int[size];
+		this.activeCount = 0;
+		this.changed = true;
+	}
+
+	/**
+	 * Reads the inputs from the EVCSs and re-balances the power, if any input
+	 * changed since the last distribution. If only the total power limit changed
+	 * and this does not change any charge power limit, only the power left is
+	 * adjusted.
+	 *
+	 * @param totalPowerLimit             the total power to distribute
+	 * @param clusterChargePower          the current charge power of the cluster
+	 * @param minimumChargePowerGuarantee the guaranteed minimum charge power
+	 * @return true if the power was re-balanced
+	 */
+	public boolean update(int totalPowerLimit, int clusterChargePower, int minimumChargePowerGuarantee) {
+		boolean changed = this.changed //
+				|| minimumChargePowerGuarantee != this.minimumChargePowerGuarantee //
+				// only relevant for EVCSs that are ready for charging
+				|| this.isAnyReadyForCharging && clusterChargePower != this.clusterChargePower;
+		for (int i = 0; i < this.evcss.length; i++) {
+			ManagedEvcs evcs = this.evcss[i];
+			int requestedPower = evcs.getSetChargePowerRequestChannel().getNextWriteValue().orElse(0);
+			Status status = evcs.getStatus();
+			int maximumPower = orUndefined(evcs.getMaximumPower());
+			int maximumHardwarePower = orUndefined(evcs.getMaximumHardwarePower());
+			int minimumHardwarePower = orUndefined(evcs.getMinimumHardwarePower());
+			if (requestedPower != this.requestedPower[i] //
+					|| status != this.status[i] //
+					|| maximumPower != this.maximumPower[i] //
+					|| maximumHardwarePower != this.maximumHardwarePower[i] //
+					|| minimumHardwarePower != this.minimumHardwarePower[i]) {
+				this.requestedPower[i] = requestedPower;
+				this.status[i] = status;
+				this.maximumPower[i] = maximumPower;
+				this.maximumHardwarePower[i] = maximumHardwarePower;
+				this.minimumHardwarePower[i] = minimumHardwarePower;
+				changed = true;
+			}
+		}
+		long delta = (long) totalPowerLimit - this.totalPowerLimit;
+		if (!changed && delta != 0) {
+			if (delta > 0 ? this.isTotalPowerLimitBinding : -delta > this.totalPowerLimitSlack) {
+				changed = true;
+			} else {
+				// shift the result of the last distribution
+				this.powerLeft += (int) delta;
+				this.totalPowerLimitSlack = (int) Math.min(Integer.MAX_VALUE, this.totalPowerLimitSlack + delta);
+			}
+		}
+		this.totalPowerLimit = totalPowerLimit;
+		this.clusterChargePower = clusterChargePower;
+		this.minimumChargePowerGuarantee = minimumChargePowerGuarantee;
+		this.changed = false;
+
+		if (changed) {
+			this.rebalance();
+		}
+		return changed;
+	}
+
+	/**
+	 * Distributes the total power limit to the EVCSs in priority order.
+	 *
+	 * <p>
+	 * First the guaranteed power is reserved for every EVCS that is charging, as
+	 * long as enough power is left. The remaining power is then distributed to
+	 * these EVCSs.
+	 *
+	 * <p>
+	 * While distributing, the bounds of the total power limit are collected, in
+	 * which the result stays the same.
+	 */
+	private void rebalance() {
+		// Total Power that can be distributed to EVCSs minus the guaranteed power.
+		int totalPowerLeftMinusGuarantee = this.totalPowerLimit;
+		System.arraycopy(this.groupMaximumPower, 0, this.groupPowerLeft, 0, this.groupMaximumPower.length);
+		this.activeCount = 0;
+		this.isAnyReadyForCharging = false;
+		int slack = Integer.MAX_VALUE;
+		boolean isBinding = false;
+
+		for (int i = 0; i < this.evcss.length; i++) {
+			int requestedPower = this.requestedPower[i];
+			int group = this.group[i];
+			this.write[i] = WRITE_LIMIT;
+			this.chargePowerLimit[i] = 0;
+
+			if (requestedPower <= 0) {
+				continue;
+			}
+
+			int guaranteedPower = this.getGuaranteedPower(i);
+			switch (this.status[i]) {
+			case CHARGING_FINISHED:
+				this.chargePowerLimit[i] = requestedPower;
+				break;
+			case ERROR:
+			case STARTING:
+			case UNDEFINED:
+			case NOT_READY_FOR_CHARGING:
+			case ENERGY_LIMIT_REACHED:
+				break;
+			case READY_FOR_CHARGING:
+				this.isAnyReadyForCharging = true;
+				// the initial charge depends on the total power limit
+				slack = -1;
+				isBinding = true;
+
+				// Check if there is enough power for an initial charge
+				if (this.totalPowerLimit - this.clusterChargePower >= guaranteedPower //
+						&& (group == NO_GROUP || this.groupPowerLeft[group] >= guaranteedPower)) {
+					this.chargePowerLimit[i] = guaranteedPower;
+					totalPowerLeftMinusGuarantee -= guaranteedPower;
+					if (group != NO_GROUP) {
+						this.groupPowerLeft[group] -= guaranteedPower;
+					}
+				} else {
+					this.write[i] = WRITE_NOTHING;
+				}
+				break;
+
+			// EVCS is active.
+			case CHARGING_REJECTED:
+			case CHARGING:
+				/*
+				 * Reduces the available power by the guaranteed power of each charging station.
+				 */
+				boolean isGroupPowerLeft = group == NO_GROUP || this.groupPowerLeft[group] - guaranteedPower >= 0;
+				if (totalPowerLeftMinusGuarantee - guaranteedPower >= 0 && isGroupPowerLeft) {
+					totalPowerLeftMinusGuarantee -= guaranteedPower;
+					if (group != NO_GROUP) {
+						this.groupPowerLeft[group] -= guaranteedPower;
+					}
+					// the guaranteed power is kept in the limit until the distribution
+					this.chargePowerLimit[i] = guaranteedPower;
+					this.write[i] = WRITE_ACTIVE;
+					this.active[this.activeCount++] = i;
+					slack = Math.min(slack, totalPowerLeftMinusGuarantee);
+				} else if (isGroupPowerLeft) {
+					// more total power would activate this EVCS
+					isBinding = true;
+				}
+			}
+		}
+
+		/*
+		 * Distributes the available Power to the active EVCSs
+		 */
+		for (int a = 0; a < this.activeCount; a++) {
+			int i = this.active[a];
+			int group = this.group[i];
+			int guaranteedPower = this.chargePowerLimit[i];
+
+			// Power left for the this EVCS including its guaranteed power
+			int totalPowerLeft = totalPowerLeftMinusGuarantee + guaranteedPower;
+			int powerLeft = totalPowerLeft;
+			if (group != NO_GROUP) {
+				powerLeft = Math.min(powerLeft, this.groupPowerLeft[group] + guaranteedPower);
+			}
+
+			int maximumHardwareLimit = this.maximumHardwarePower[i] != UNDEFINED ? this.maximumHardwarePower[i]
+					: DEFAULT_HARDWARE_LIMIT;
+
+			// Power requested by the controller
+			int nextChargePower = this.requestedPower[i];
+
+			// Total power should be only reduced by the maximum power, that EV is charging.
+			int maximumChargePower = this.maximumPower[i] != UNDEFINED ? this.maximumPower[i] : nextChargePower;
+
+			nextChargePower = nextChargePower > maximumHardwareLimit ? maximumHardwareLimit : nextChargePower;
+
+			// Checks if there is enough power left and sets the charge power
+			int usedPower;
+			if (maximumChargePower < powerLeft) {
+				usedPower = maximumChargePower - guaranteedPower;
+				slack = Math.min(slack, totalPowerLeft - maximumChargePower - 1);
+			} else {
+				nextChargePower = powerLeft;
+				usedPower = powerLeft - guaranteedPower;
+				if (powerLeft < totalPowerLeft) {
+					// limited by the group
+					slack = Math.min(slack, totalPowerLeft - powerLeft);
+				} else {
+					// limited by the total power limit
+					slack = -1;
+					isBinding = true;
+				}
+			}
+			totalPowerLeftMinusGuarantee -= usedPower;
+			if (group != NO_GROUP) {
+				this.groupPowerLeft[group] -= usedPower;
+			}
+			this.chargePowerLimit[i] = nextChargePower;
+		}
+		this.powerLeft = totalPowerLeftMinusGuarantee;
+		this.totalPowerLimitSlack = slack;
+		this.isTotalPowerLimitBinding = isBinding;
+
+		// Sets the minimum power of the active EVCSs to their guaranteed power
+		for (int a = 0; a < this.activeCount; a++) {
+			int i = this.active[a];
+			this.evcss[i]._setMinimumPower(this.getGuaranteedPower(i));
+		}
+	}
+
+	/**
+	 * Writes the result of the last distribution to the EVCSs.
+	 *
+	 * <p>
+	 * Active EVCSs use the PID filter if their charge power should be increased.
+	 *
+	 * @throws OpenemsNamedException on error
+	 */
+	public void apply() throws OpenemsNamedException {
+		for (int i = 0; i < this.evcss.length; i++) {
+			ManagedEvcs evcs = this.evcss[i];
+			int chargePowerLimit = this.chargePowerLimit[i];
+			switch (this.write[i]) {
+			case WRITE_LIMIT:
+				evcs.setChargePowerLimit(chargePowerLimit);
+				break;
+			case WRITE_ACTIVE:
+				Integer chargePower = evcs.getChargePower().get();
+				if (chargePowerLimit > (chargePower != null ? chargePower : 0)) {
+					evcs.setChargePowerLimitWithPid(chargePowerLimit);
+				} else {
+					evcs.setChargePowerLimit(chargePowerLimit);
+				}
+				break;
+			case WRITE_NOTHING:
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Results the power that should be guaranteed for one EVCS.
+	 *
+	 * @param index the index of the EVCS
+	 * @return Guaranteed power that should/can be used.
+	 */
+	private int getGuaranteedPower(int index) {
+		int minGuarantee = this.minimumChargePowerGuarantee;
+		int minHW = this.minimumHardwarePower[index] != UNDEFINED ? this.minimumHardwarePower[index] : minGuarantee;
+		int evcsMaxPower = this.maximumPower[index] != UNDEFINED ? this.maximumPower[index]
+				: this.maximumHardwarePower[index] != UNDEFINED ? this.maximumHardwarePower[index]
+						: DEFAULT_HARDWARE_LIMIT;
+		minGuarantee = evcsMaxPower > minGuarantee ? minGuarantee : evcsMaxPower;
+		return minHW > minGuarantee ? minHW : minGuarantee;
+	}
+
+	/**
+	 * Gets the number of {@link ManagedEvcs}s.
+	 *
+	 * @return the number of EVCSs
+	 */
+	public int size() {
+		return this.evcss.length;
+	}
+
+	/**
+	 * Gets the {@link ManagedEvcs} at the given priority.
+	 *
+	 * @param index the index in priority order
+	 * @return the EVCS
+	 */
+	public ManagedEvcs getEvcs(int index) {
+		return this.evcss[index];
+	}
+
+	/**
+	 * Gets the charge power limit of the last distribution.
+	 *
+	 * @param index the index in priority order
+	 * @return the charge power limit in Watt
+	 */
+	public int getChargePowerLimit(int index) {
+		return this.chargePowerLimit[index];
+	}
+
+	/**
+	 * Gets the power that was left after the last distribution.
+	 *
+	 * @return the power in Watt
+	 */
+	public int getPowerLeft() {
+		return this.powerLeft;
+	}
+
+	private static int orUndefined(Value<Integer> value) {
+		Integer result = value.get();
+		return result != null ? result : UNDEFINED;
+	}
+}
@@ -0,0 +1,122 @@
+package io.openems.edge.evcs.cluster;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.common.filter.DisabledRampFilter;
+import io.openems.edge.evcs.api.Evcs;
+import io.openems.edge.evcs.api.Status;
+import io.openems.edge.evcs.test.DummyEvcsPower;
+import io.openems.edge.evcs.test.DummyManagedEvcs;
+
+public class EvcsPowerAllocatorTest {
+
+	private static final DummyEvcsPower EVCS_POWER = new DummyEvcsPower(new DisabledRampFilter());
+
+	private static DummyManagedEvcs charging(String id, int requestedPower) throws Exception {
+		DummyManagedEvcs evcs = new DummyManagedEvcs(id, EVCS_POWER);
+		evcs.getSetChargePowerRequestChannel().setNextWriteValue(requestedPower);
+		evcs._setStatus(Status.CHARGING);
+		evcs.getStatusChannel().nextProcessImage();
+		return evcs;
+	}
+
+	private static Optional<Integer> getLimit(DummyManagedEvcs evcs) {
+		return evcs.getSetChargePowerLimitChannel().getNextWriteValueAndReset();
+	}
+
+	@Test
+	public void testRebalanceOnlyOnChange() throws Exception {
+		DummyManagedEvcs evcs0 = charging("evcs0", 10000);
+		DummyManagedEvcs evcs1 = charging("evcs1", 10000);
+		EvcsPowerAllocator allocator = new EvcsPowerAllocator();
+		allocator.setEvcss(Arrays.<Evcs>asList(evcs0, evcs1), Collections.emptyList());
+
+		assertTrue(allocator.update(15000, 0, 4500));
+		allocator.apply();
+		assertEquals(Optional.of(10000), getLimit(evcs0));
+		assertEquals(Optional.of(5000), getLimit(evcs1));
+
+		// unchanged inputs keep the previous result; limits are still set
+		assertFalse(allocator.update(15000, 0, 4500));
+		allocator.apply();
+		assertEquals(Optional.of(10000), getLimit(evcs0));
+		assertEquals(Optional.of(5000), getLimit(evcs1));
+
+		// changed status
+		evcs0._setStatus(Status.ERROR);
+		evcs0.getStatusChannel().nextProcessImage();
+		assertTrue(allocator.update(15000, 0, 4500));
+		allocator.apply();
+		assertEquals(Optional.of(0), getLimit(evcs0));
+		assertEquals(Optional.of(10000), getLimit(evcs1));
+
+		// changed total power limit
+		assertTrue(allocator.update(6000, 0, 4500));
+		allocator.apply();
+		assertEquals(Optional.of(6000), getLimit(evcs1));
+	}
+
+	@Test
+	public void testChangedTotalPowerLimit() throws Exception {
+		DummyManagedEvcs evcs0 = charging("evcs0", 10000);
+		DummyManagedEvcs evcs1 = charging("evcs1", 5000);
+		EvcsPowerAllocator allocator = new EvcsPowerAllocator();
+		allocator.setEvcss(Arrays.<Evcs>asList(evcs0, evcs1), Collections.emptyList());
+
+		assertTrue(allocator.update(20000, 0, 4500));
+		assertEquals(5000, allocator.getPowerLeft());
+
+		// more or slightly less power does not change the limits
+		assertFalse(allocator.update(25000, 0, 4500));
+		assertEquals(10000, allocator.getPowerLeft());
+		assertFalse(allocator.update(15001, 0, 4500));
+		assertEquals(1, allocator.getPowerLeft());
+		allocator.apply();
+		assertEquals(Optional.of(10000), getLimit(evcs0));
+		assertEquals(Optional.of(5000), getLimit(evcs1));
+
+		// exhausted power
+		assertTrue(allocator.update(12000, 0, 4500));
+		allocator.apply();
+		assertEquals(Optional.of(7500), getLimit(evcs0));
+		assertEquals(Optional.of(4500), getLimit(evcs1));
+
+		// exhausted power is re-balanced on increase
+		assertTrue(allocator.update(13000, 0, 4500));
+		allocator.apply();
+		assertEquals(Optional.of(8500), getLimit(evcs0));
+	}
+
+	@Test
+	public void testGroups() throws Exception {
+		DummyManagedEvcs evcs0 = charging("evcs0", 22000);
+		DummyManagedEvcs evcs1 = charging("evcs1", 22000);
+		DummyManagedEvcs evcs2 = charging("evcs2", 22000);
+		List<EvcsPowerAllocator.Group> groups = EvcsPowerAllocator.Group
+				.fromConfig(new String[] { "evcs0, evcs1=11000" });
+		EvcsPowerAllocator allocator = new EvcsPowerAllocator();
+		allocator.setEvcss(Arrays.<Evcs>asList(evcs0, evcs1, evcs2), groups);
+
+		allocator.update(30000, 0, 4500);
+		allocator.apply();
+		assertEquals(Optional.of(6500), getLimit(evcs0));
+		assertEquals(Optional.of(4500), getLimit(evcs1));
+		assertEquals(Optional.of(19000), getLimit(evcs2));
+	}
+
+	@Test(expected = OpenemsException.class)
+	public void testInvalidGroup() throws Exception {
+		EvcsPowerAllocator.Group.fromConfig(new String[] { "evcs0=11000", "evcs0,evcs1=7000" });
+	}
+
+}
@@ -17,6 +17,7 @@ public class MyConfigPeakShaving extends AbstractComponentConfig implements Conf
 		private boolean debugMode = false;
 		private int hardwarePowerLimitPerPhase = 7000;
 		private String[] evcs_ids = { "evcs0", "evcs1" };
+		private String[] evcs_groups = {};
 		private String evcsTarget = "(&(enabled=true)(!(service.pid=evcsCluster0))(|(id=\" + this.evcs_id() + \")))";
 		private String ess_id = "ess0";
 		private String meter_id = "meter0";
@@ -57,6 +58,11 @@ public class MyConfigPeakShaving extends AbstractComponentConfig implements Conf
 			return this;
 		}
 
+		public Builder setEvcsGroups(String[] evcs_groups) {
+			this.evcs_groups = evcs_groups;
+			return this;
+		}
+
 		public Builder setEvcsTarget(String evcsTarget) {
 			this.evcsTarget = evcsTarget;
 			return this;
@@ -118,6 +124,11 @@ public class MyConfigPeakShaving extends AbstractComponentConfig implements Conf
 		return this.builder.evcs_ids;
 	}
 
+	@Override
+	public String[] evcs_groups() {
+		return this.builder.evcs_groups;
+	}
+
 	@Override
 	public String ess_id() {
 		return this.builder.ess_id;
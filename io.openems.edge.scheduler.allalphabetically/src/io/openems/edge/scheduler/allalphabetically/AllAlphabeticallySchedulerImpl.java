@@ -65,8 +65,7 @@ public class AllAlphabeticallySchedulerImpl extends AbstractOpenemsComponent
 		}
 
 		// add remaining controllers
-		this.componentManager.getEnabledComponents().stream() //
-				.filter(c -> c instanceof Controller) //
+		this.componentManager.getEnabledComponentsOfType(Controller.class).stream() //
 				.sorted((c1, c2) -> c1.id().compareTo(c2.id())) //
 				.forEach(c -> result.add(c.id()));
 
@@ -101,6 +101,19 @@ public class CsvUtils {
 	}
 
 	private static void readRecord(DataContainer result, CsvFormat csvFormat, float factor, String line) {
+		result.addRecord(parseRecord(csvFormat, factor, line));
+	}
+
+	/**
+	 * Parses one line of values.
+	 * 
+	 * @param csvFormat the CSV-Format
+	 * @param factor    a multiplication factor to apply on the read number
+	 * @param line      the line
+	 * @return the values; null for empty values
+	 * @throws NumberFormatException on error
+	 */
+	public static Float[] parseRecord(CsvFormat csvFormat, float factor, String line) throws NumberFormatException {
 		String[] values = line.split(csvFormat.lineSeparator);
 		Float[] floatValues = new Float[values.length];
 		for (int i = 0; i < values.length; i++) {
@@ -114,7 +127,7 @@ public class CsvUtils {
 				floatValues[i] = Float.parseFloat(value) * factor;
 			}
 		}
-		result.addRecord(floatValues);
+		return floatValues;
 	}
 
 	/**
@@ -123,7 +136,7 @@ public class CsvUtils {
 	 * @param strNum a value to be evaluated
 	 * @return true for numbers
 	 */
-	private static boolean isNumeric(String strNum) {
+	public static boolean isNumeric(String strNum) {
 		if (strNum == null) {
 			return false;
 		}
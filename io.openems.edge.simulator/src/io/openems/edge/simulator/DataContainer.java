@@ -6,7 +6,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
-public class DataContainer {
+public class DataContainer implements RecordSource {
 
 	private HashMap<String, Integer> keys = new HashMap<>();
 	private List<Float[]> records = new ArrayList<>();
@@ -17,6 +17,7 @@ public class DataContainer {
 	 * 
 	 * @return the Channel-Id
 	 */
+	@Override
 	public Set<String> getKeys() {
 		return this.keys.keySet();
 	}
@@ -60,6 +61,7 @@ public class DataContainer {
 	 * @param key the Channel-Id
 	 * @return the record value
 	 */
+	@Override
 	public Optional<Float> getValue(String key) {
 		Integer index;
 		if (this.keys.isEmpty()) {
@@ -83,6 +85,7 @@ public class DataContainer {
 	/**
 	 * Switch to the next row of values.
 	 */
+	@Override
 	public void nextRecord() {
 		this.currentIndex++;
 		if (this.currentIndex >= this.records.size()) {
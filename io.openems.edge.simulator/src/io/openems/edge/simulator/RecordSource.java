@@ -0,0 +1,41 @@
+package io.openems.edge.simulator;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A source of records for a Simulator Datasource, like a {@link DataContainer}
+ * that holds all records on the heap.
+ *
+ * <p>
+ * If the source has no keys, the first value of the record is returned for
+ * every key; after the last record the source starts again at the first record.
+ */
+public interface RecordSource {
+
+	/**
+	 * Gets the available keys.
+	 *
+	 * @return the Channel-Ids
+	 */
+	public Set<String> getKeys();
+
+	/**
+	 * Gets the value for the key from the current record. If no keys exist, get
+	 * the first value of the record.
+	 *
+	 * @param key the Channel-Id
+	 * @return the record value
+	 * @throws IOException on error
+	 */
+	public Optional<Float> getValue(String key) throws IOException;
+
+	/**
+	 * Switch to the next record.
+	 *
+	 * @throws IOException on error
+	 */
+	public void nextRecord() throws IOException;
+
+}
@@ -0,0 +1,249 @@
+package io.openems.edge.simulator.app;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.event.EdgeEventConstants;
+import io.openems.edge.common.test.TimeLeapClock;
+import io.openems.edge.controller.api.Controller;
+
+/**
+ * Executes a simulation headless, i.e. without OSGi, the Core Cycle and
+ * real-time waits.
+ *
+ * <p>
+ * The Components are given as activated instances, e.g. prepared with the
+ * OpenEMS Component test framework and sharing one {@link TimeLeapClock}. Every
+ * simulated Cycle executes the same phases as the Core Cycle: events are sent
+ * directly to the Components that are {@link EventHandler}s and the
+ * {@link Controller}s are executed in the order they were added. After each
+ * Cycle the clock leaps by the configured time.
+ *
+ * <p>
+ * The collected Channels are stored in a columnar {@link SimulationResult}.
+ * The Sum-Component is not calculated. Independent simulations can be executed
+ * in parallel using {@link #runAll(List, int)}.
+ */
+public class BatchSimulation implements Callable<SimulationResult> {
+
+	private static final String[] CYCLE_TOPICS_BEFORE_PROCESS_IMAGE = { //
+			EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE //
+	};
+	private static final String[] CYCLE_TOPICS_AFTER_PROCESS_IMAGE = { //
+			EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE, //
+			EdgeEventConstants.TOPIC_CYCLE_BEFORE_CONTROLLERS //
+	};
+	private static final String[] CYCLE_TOPICS_AFTER_CONTROLLERS = { //
+			EdgeEventConstants.TOPIC_CYCLE_AFTER_CONTROLLERS, //
+			EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE, //
+			EdgeEventConstants.TOPIC_CYCLE_EXECUTE_WRITE, //
+			EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE //
+	};
+
+	private final Logger log = LoggerFactory.getLogger(BatchSimulation.class);
+
+	private final TimeLeapClock clock;
+	private final ZonedDateTime end;
+	private final int timeleapPerCycle;
+	private final List<OpenemsComponent> components = new ArrayList<>();
+	private final List<Controller> controllers = new ArrayList<>();
+	private final List<ChannelAddress> collects = new ArrayList<>();
+
+	/**
+	 * Creates a {@link BatchSimulation}.
+	 *
+	 * @param clock            the {@link TimeLeapClock} of the Components; the
+	 *                         simulation starts at its current time
+	 * @param end              the end of the simulation, inclusive
+	 * @param timeleapPerCycle the simulated time per Cycle in [ms]
+	 */
+	public BatchSimulation(TimeLeapClock clock, ZonedDateTime end, int timeleapPerCycle) {
+		if (timeleapPerCycle <= 0) {
+			throw new IllegalArgumentException("Time-Leap per Cycle must be positive");
+		}
+		this.clock = clock;
+		this.end = end;
+		this.timeleapPerCycle = timeleapPerCycle;
+	}
+
+	/**
+	 * Adds a Component.
+	 *
+	 * @param component the activated {@link OpenemsComponent}
+	 * @return myself
+	 */
+	public BatchSimulation addComponent(OpenemsComponent component) {
+		this.components.add(component);
+		return this;
+	}
+
+	/**
+	 * Adds a Controller. Controllers are executed in the order they were added.
+	 *
+	 * @param controller the activated {@link Controller}
+	 * @return myself
+	 */
+	public BatchSimulation addController(Controller controller) {
+		this.components.add(controller);
+		this.controllers.add(controller);
+		return this;
+	}
+
+	/**
+	 * Adds a Channel whose values are collected once per Cycle after the process
+	 * image switch.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @return myself
+	 */
+	public BatchSimulation collect(ChannelAddress channelAddress) {
+		this.collects.add(channelAddress);
+		return this;
+	}
+
+	/**
+	 * Runs the simulation in the current thread.
+	 *
+	 * @return the {@link SimulationResult}
+	 * @throws OpenemsNamedException on error
+	 */
+	@Override
+	public SimulationResult call() throws OpenemsNamedException {
+		// Resolve everything that is required per Cycle once
+		List<Channel<?>> allChannels = new ArrayList<>();
+		List<EventHandler> eventHandlers = new ArrayList<>();
+		for (OpenemsComponent component : this.components) {
+			allChannels.addAll(component.channels());
+			if (component instanceof EventHandler) {
+				eventHandlers.add((EventHandler) component);
+			}
+		}
+		Channel<?>[] channels = allChannels.toArray(new Channel<?>[allChannels.size()]);
+		EventHandler[] handlers = eventHandlers.toArray(new EventHandler[eventHandlers.size()]);
+		Controller[] controllers = this.controllers.toArray(new Controller[this.controllers.size()]);
+		Event[] beforeProcessImage = toEvents(CYCLE_TOPICS_BEFORE_PROCESS_IMAGE);
+		Event[] afterProcessImage = toEvents(CYCLE_TOPICS_AFTER_PROCESS_IMAGE);
+		Event[] afterControllers = toEvents(CYCLE_TOPICS_AFTER_CONTROLLERS);
+
+		ChannelAddress[] addresses = this.collects.toArray(new ChannelAddress[this.collects.size()]);
+		Channel<?>[] collectChannels = new Channel<?>[addresses.length];
+		for (int i = 0; i < addresses.length; i++) {
+			collectChannels[i] = this.getChannel(addresses[i]);
+		}
+
+		long endMillis = this.end.toInstant().toEpochMilli();
+		long cycles = (endMillis - this.clock.millis()) / this.timeleapPerCycle + 1;
+		SimulationResult result = new SimulationResult(collectChannels, addresses, this.clock.getZone(), cycles);
+
+		while (this.clock.millis() <= endMillis) {
+			sendEvents(handlers, beforeProcessImage);
+			for (Channel<?> channel : channels) {
+				channel.nextProcessImage();
+			}
+			sendEvents(handlers, afterProcessImage);
+			result.add(this.clock.millis(), collectChannels);
+
+			for (Controller controller : controllers) {
+				try {
+					controller.run();
+					controller._setRunFailed(false);
+				} catch (OpenemsNamedException e) {
+					this.log.warn("Error in Controller [" + controller.id() + "]: " + e.getMessage());
+					controller._setRunFailed(true);
+				}
+			}
+			sendEvents(handlers, afterControllers);
+
+			this.clock.leap(this.timeleapPerCycle, ChronoUnit.MILLIS);
+		}
+		return result;
+	}
+
+	private Channel<?> getChannel(ChannelAddress address) throws OpenemsException {
+		for (OpenemsComponent component : this.components) {
+			if (component.id().equals(address.getComponentId())) {
+				try {
+					return component.channel(address.getChannelId());
+				} catch (IllegalArgumentException e) {
+					throw new OpenemsException("Channel [" + address + "] is not available");
+				}
+			}
+		}
+		throw new OpenemsException("Component [" + address.getComponentId() + "] is not available");
+	}
+
+	private static Event[] toEvents(String[] topics) {
+		Event[] result = new Event[topics.length];
+		for (int i = 0; i < topics.length; i++) {
+			result[i] = new Event(topics[i], new HashMap<String, Object>());
+		}
+		return result;
+	}
+
+	private static void sendEvents(EventHandler[] handlers, Event[] events) {
+		for (Event event : events) {
+			for (EventHandler handler : handlers) {
+				handler.handleEvent(event);
+			}
+		}
+	}
+
+	/**
+	 * Runs independent simulations in parallel. The simulations must not share
+	 * any Component or clock.
+	 *
+	 * @param simulations the {@link BatchSimulation}s
+	 * @param threads     the maximum number of parallel threads
+	 * @return the {@link SimulationResult}s in the order of the simulations
+	 * @throws OpenemsNamedException on error in one of the simulations
+	 */
+	public static List<SimulationResult> runAll(List<BatchSimulation> simulations, int threads)
+			throws OpenemsNamedException {
+		if (simulations.isEmpty()) {
+			return new ArrayList<>();
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, simulations.size())));
+		try {
+			List<Future<SimulationResult>> futures = executor.invokeAll(simulations);
+			List<SimulationResult> result = new ArrayList<>(futures.size());
+			for (Future<SimulationResult> future : futures) {
+				result.add(future.get());
+			}
+			return result;
+
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof OpenemsNamedException) {
+				throw (OpenemsNamedException) cause;
+			}
+			throw new OpenemsException("Simulation failed: " + cause.getClass().getSimpleName() + ": "
+					+ cause.getMessage());
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OpenemsException("Simulation was interrupted");
+
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+}
@@ -1,17 +1,10 @@
 package io.openems.edge.simulator.app;
 
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.SortedMap;
 import java.util.UUID;
-import java.util.Map.Entry;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
 import io.openems.common.jsonrpc.base.JsonrpcResponseSuccess;
-import io.openems.common.types.ChannelAddress;
 
 /**
  * Represents a JSON-RPC Response for 'executeSimulation'.
@@ -35,46 +28,20 @@ import io.openems.common.types.ChannelAddress;
  */
 public class ExecuteSimulationResponse extends JsonrpcResponseSuccess {
 
-	private final SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> data;
+	private final SimulationResult data;
 
-	public ExecuteSimulationResponse(SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> data) {
+	public ExecuteSimulationResponse(SimulationResult data) {
 		this(UUID.randomUUID(), data);
 	}
 
-	public ExecuteSimulationResponse(UUID id, SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> data) {
+	public ExecuteSimulationResponse(UUID id, SimulationResult data) {
 		super(id);
 		this.data = data;
 	}
 
 	@Override
 	public JsonObject getResult() {
-		JsonObject result = new JsonObject();
-
-		JsonArray timestamps = new JsonArray();
-		for (ZonedDateTime timestamp : this.data.keySet()) {
-			timestamps.add(timestamp.format(DateTimeFormatter.ISO_INSTANT));
-		}
-		result.add("timestamps", timestamps);
-
-		JsonObject data = new JsonObject();
-		for (Entry<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> rowEntry : this.data.entrySet()) {
-			for (Entry<ChannelAddress, JsonElement> colEntry : rowEntry.getValue().entrySet()) {
-				String channelAddress = colEntry.getKey().toString();
-				JsonElement value = colEntry.getValue();
-				JsonElement channelValuesElement = data.get(channelAddress);
-				JsonArray channelValues;
-				if (channelValuesElement != null) {
-					channelValues = channelValuesElement.getAsJsonArray();
-				} else {
-					channelValues = new JsonArray();
-				}
-				channelValues.add(value);
-				data.add(channelAddress, channelValues);
-			}
-		}
-		result.add("data", data);
-
-		return result;
+		return this.data.toJson();
 	}
 
 }
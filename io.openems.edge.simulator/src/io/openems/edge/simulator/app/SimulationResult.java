@@ -0,0 +1,356 @@
+package io.openems.edge.simulator.app;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+
+/**
+ * Holds the collected Channel values of a simulation in columns of primitive
+ * arrays.
+ *
+ * <p>
+ * Every row consists of a timestamp and one value per collected Channel.
+ * Values are stored as double; booleans as 0 or 1. Values of
+ * {@link OpenemsType#STRING} Channels are kept in a separate column of Strings.
+ * Undefined values are stored as {@link Double#NaN} or null and returned as
+ * {@link JsonNull}.
+ *
+ * <p>
+ * The columns start with at most {@link #MAX_INITIAL_CAPACITY} rows and grow
+ * on demand.
+ */
+public class SimulationResult {
+
+	private static final int MIN_CAPACITY = 16;
+	protected static final int MAX_INITIAL_CAPACITY = 65_536;
+	private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+	private final ChannelAddress[] addresses;
+	private final OpenemsType[] types;
+	private final ZoneId zone;
+
+	// guarded by 'this'
+	private long[] timestamps;
+	private double[][] columns;
+	private String[][] stringColumns;
+	private int size = 0;
+
+	/**
+	 * Creates a {@link SimulationResult}.
+	 *
+	 * @param channels     the collected Channels; null for a Channel that does
+	 *                     not exist
+	 * @param addresses    the addresses of the collected Channels
+	 * @param zone         the time zone of the timestamps
+	 * @param expectedSize the expected number of rows; used as initial capacity
+	 *                     up to {@link #MAX_INITIAL_CAPACITY}
+	 */
+	public SimulationResult(Channel<?>[] channels, ChannelAddress[] addresses, ZoneId zone, long expectedSize) {
+		this.addresses = addresses;
+		this.types = new OpenemsType[channels.length];
+		for (int i = 0; i < channels.length; i++) {
+			this.types[i] = channels[i] == null ? null : channels[i].getType();
+		}
+		this.zone = zone;
+		int capacity = (int) Math.max(MIN_CAPACITY, Math.min(expectedSize, MAX_INITIAL_CAPACITY));
+		this.timestamps = new long[capacity];
+		this.columns = new double[channels.length][];
+		this.stringColumns = new String[channels.length][];
+		for (int i = 0; i < channels.length; i++) {
+			if (this.types[i] == OpenemsType.STRING) {
+				this.stringColumns[i] = new String[capacity];
+			} else {
+				this.columns[i] = new double[capacity];
+			}
+		}
+	}
+
+	/**
+	 * Adds a row with the current values of the given Channels. A row with the
+	 * same timestamp as the previous row replaces it.
+	 *
+	 * @param timestamp the timestamp in milliseconds since epoch
+	 * @param channels  the Channels in the same order as given in the
+	 *                  constructor; entries may be null
+	 */
+	public synchronized void add(long timestamp, Channel<?>[] channels) {
+		if (this.size > 0 && this.timestamps[this.size - 1] == timestamp) {
+			this.size--;
+		}
+		if (this.size == this.timestamps.length) {
+			if (this.size == MAX_CAPACITY) {
+				throw new IllegalStateException("SimulationResult is full");
+			}
+			int capacity = (int) Math.min((long) this.size * 2, MAX_CAPACITY);
+			this.timestamps = Arrays.copyOf(this.timestamps, capacity);
+			for (int i = 0; i < this.columns.length; i++) {
+				if (this.stringColumns[i] != null) {
+					this.stringColumns[i] = Arrays.copyOf(this.stringColumns[i], capacity);
+				} else {
+					this.columns[i] = Arrays.copyOf(this.columns[i], capacity);
+				}
+			}
+		}
+		this.timestamps[this.size] = timestamp;
+		for (int i = 0; i < channels.length; i++) {
+			Object value = channels[i] == null ? null : channels[i].value().get();
+			if (this.stringColumns[i] != null) {
+				this.stringColumns[i][this.size] = value == null ? null : value.toString();
+			} else {
+				this.columns[i][this.size] = toDouble(value);
+			}
+		}
+		this.size++;
+	}
+
+	private static double toDouble(Object value) {
+		if (value instanceof Number) {
+			return ((Number) value).doubleValue();
+		}
+		if (value instanceof Boolean) {
+			return (Boolean) value ? 1 : 0;
+		}
+		return Double.NaN;
+	}
+
+	/**
+	 * Gets the number of rows.
+	 *
+	 * @return the number of rows
+	 */
+	public synchronized int size() {
+		return this.size;
+	}
+
+	/**
+	 * Gets the addresses of the collected Channels.
+	 *
+	 * @return the addresses in column order
+	 */
+	public List<ChannelAddress> getAddresses() {
+		return Arrays.asList(this.addresses);
+	}
+
+	/**
+	 * Gets the timestamps of all rows.
+	 *
+	 * @return a copy of the timestamps in milliseconds since epoch
+	 */
+	public synchronized long[] getTimestamps() {
+		return Arrays.copyOf(this.timestamps, this.size);
+	}
+
+	/**
+	 * Gets the values of one Channel for all rows.
+	 *
+	 * @param address the {@link ChannelAddress}
+	 * @return a copy of the values; {@link Double#NaN} for undefined values
+	 * @throws IllegalArgumentException if the Channel was not collected or is a
+	 *                                  {@link OpenemsType#STRING} Channel
+	 */
+	public synchronized double[] getValues(ChannelAddress address) throws IllegalArgumentException {
+		int column = this.getColumn(address);
+		if (this.stringColumns[column] != null) {
+			throw new IllegalArgumentException("Channel [" + address + "] is not numeric");
+		}
+		return Arrays.copyOf(this.columns[column], this.size);
+	}
+
+	/**
+	 * Gets the values of one {@link OpenemsType#STRING} Channel for all rows.
+	 *
+	 * @param address the {@link ChannelAddress}
+	 * @return a copy of the values; null for undefined values
+	 * @throws IllegalArgumentException if the Channel was not collected or is not
+	 *                                  a {@link OpenemsType#STRING} Channel
+	 */
+	public synchronized String[] getStrings(ChannelAddress address) throws IllegalArgumentException {
+		int column = this.getColumn(address);
+		if (this.stringColumns[column] == null) {
+			throw new IllegalArgumentException("Channel [" + address + "] is not a String Channel");
+		}
+		return Arrays.copyOf(this.stringColumns[column], this.size);
+	}
+
+	private int getColumn(ChannelAddress address) throws IllegalArgumentException {
+		for (int i = 0; i < this.addresses.length; i++) {
+			if (this.addresses[i].equals(address)) {
+				return i;
+			}
+		}
+		throw new IllegalArgumentException("Channel [" + address + "] was not collected");
+	}
+
+	private JsonElement getAsJson(int column, int row) {
+		if (this.stringColumns[column] != null) {
+			String value = this.stringColumns[column][row];
+			return value == null ? JsonNull.INSTANCE : new JsonPrimitive(value);
+		}
+		double value = this.columns[column][row];
+		if (Double.isNaN(value) || this.types[column] == null) {
+			return JsonNull.INSTANCE;
+		}
+		switch (this.types[column]) {
+		case BOOLEAN:
+			return new JsonPrimitive(value != 0);
+		case SHORT:
+		case INTEGER:
+		case LONG:
+			return new JsonPrimitive((long) value);
+		case FLOAT:
+		case DOUBLE:
+			return new JsonPrimitive(value);
+		case STRING:
+			// kept in stringColumns
+			break;
+		}
+		return JsonNull.INSTANCE;
+	}
+
+	private ZonedDateTime toZonedDateTime(long timestamp) {
+		return ZonedDateTime.ofInstant(Instant.ofEpochMilli(timestamp), this.zone);
+	}
+
+	/**
+	 * Gets the timestamp of the last row.
+	 *
+	 * @return the timestamp; or null if there is no row
+	 */
+	public synchronized ZonedDateTime getLastTimestamp() {
+		if (this.size == 0) {
+			return null;
+		}
+		return this.toZonedDateTime(this.timestamps[this.size - 1]);
+	}
+
+	/**
+	 * Gets the rows with fromDate &lt;= timestamp &lt; toDate.
+	 *
+	 * @param fromDate the start, inclusive
+	 * @param toDate   the end, exclusive
+	 * @param channels the Channels; null for all collected Channels
+	 * @return the rows
+	 */
+	public synchronized SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> getRows(
+			ZonedDateTime fromDate, ZonedDateTime toDate, Iterable<ChannelAddress> channels) {
+		SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> result = new TreeMap<>();
+		int to = this.indexOf(toDate.toInstant().toEpochMilli());
+		for (int row = this.indexOf(fromDate.toInstant().toEpochMilli()); row < to; row++) {
+			result.put(this.toZonedDateTime(this.timestamps[row]), this.getRow(row, channels));
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the first and the last row with fromDate &lt;= timestamp &lt; toDate.
+	 *
+	 * @param fromDate the start, inclusive
+	 * @param toDate   the end, exclusive
+	 * @param channels the Channels
+	 * @return a List of the first and the last row; empty if there is no row
+	 */
+	public synchronized List<SortedMap<ChannelAddress, JsonElement>> getFirstAndLastRow(ZonedDateTime fromDate,
+			ZonedDateTime toDate, Iterable<ChannelAddress> channels) {
+		int from = this.indexOf(fromDate.toInstant().toEpochMilli());
+		int to = this.indexOf(toDate.toInstant().toEpochMilli());
+		if (from >= to) {
+			return Collections.emptyList();
+		}
+		return Arrays.asList(this.getRow(from, channels), this.getRow(to - 1, channels));
+	}
+
+	/**
+	 * Gets the latest value of a Channel.
+	 *
+	 * @param address the {@link ChannelAddress}
+	 * @return the value; or null if the Channel was not collected or there is no
+	 *         row
+	 */
+	public synchronized JsonElement getLatestValue(ChannelAddress address) {
+		if (this.size == 0) {
+			return null;
+		}
+		try {
+			return this.getAsJson(this.getColumn(address), this.size - 1);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	private SortedMap<ChannelAddress, JsonElement> getRow(int row, Iterable<ChannelAddress> channels) {
+		SortedMap<ChannelAddress, JsonElement> result = new TreeMap<>();
+		if (channels == null) {
+			for (int column = 0; column < this.addresses.length; column++) {
+				result.put(this.addresses[column], this.getAsJson(column, row));
+			}
+		} else {
+			for (ChannelAddress channel : channels) {
+				try {
+					result.put(channel, this.getAsJson(this.getColumn(channel), row));
+				} catch (IllegalArgumentException e) {
+					result.put(channel, JsonNull.INSTANCE);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Finds the index of the first row with a timestamp &gt;= the given
+	 * timestamp.
+	 *
+	 * @param timestamp the timestamp in milliseconds since epoch
+	 * @return the index; {@link #size()} if there is no such row
+	 */
+	private int indexOf(long timestamp) {
+		int index = Arrays.binarySearch(this.timestamps, 0, this.size, timestamp);
+		if (index < 0) {
+			return -index - 1;
+		}
+		return index;
+	}
+
+	/**
+	 * Gets the result in the format of {@link ExecuteSimulationResponse}.
+	 *
+	 * @return the result as JsonObject
+	 */
+	public synchronized JsonObject toJson() {
+		JsonObject result = new JsonObject();
+
+		JsonArray timestamps = new JsonArray();
+		for (int row = 0; row < this.size; row++) {
+			timestamps.add(this.toZonedDateTime(this.timestamps[row]).format(DateTimeFormatter.ISO_INSTANT));
+		}
+		result.add("timestamps", timestamps);
+
+		JsonObject data = new JsonObject();
+		for (int column = 0; column < this.addresses.length; column++) {
+			JsonArray values = new JsonArray();
+			for (int row = 0; row < this.size; row++) {
+				values.add(this.getAsJson(column, row));
+			}
+			data.add(this.addresses[column].toString(), values);
+		}
+		result.add("data", data);
+
+		return result;
+	}
+
+}
@@ -6,7 +6,6 @@ import java.time.Duration;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Dictionary;
 import java.util.HashSet;
@@ -97,23 +96,25 @@ public class SimulatorApp extends AbstractOpenemsComponent
 		private final ExecuteSimulationRequest request;
 		private final TimeLeapClock clock;
 		private final CompletableFuture<ExecuteSimulationResponse> response;
-		private final SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> collectedData = new TreeMap<>();
+		private final Channel<?>[] channels;
+		private final SimulationResult collectedData;
 
 		public CurrentSimulation(User user, ExecuteSimulationRequest request, TimeLeapClock clock,
-				CompletableFuture<ExecuteSimulationResponse> response) {
+				CompletableFuture<ExecuteSimulationResponse> response, Channel<?>[] channels) {
 			super();
 			this.user = user;
 			this.request = request;
 			this.clock = clock;
 			this.response = response;
+			this.channels = channels;
+			long cycles = Duration.between(request.clock.start, request.clock.end).toMillis()
+					/ Math.max(1, request.clock.timeleapPerCycle) + 1;
+			this.collectedData = new SimulationResult(channels,
+					request.collects.toArray(new ChannelAddress[request.collects.size()]), clock.getZone(), cycles);
 		}
 
-		public void addData(ZonedDateTime timestamp, List<Channel<?>> channels) {
-			SortedMap<ChannelAddress, JsonElement> values = new TreeMap<ChannelAddress, JsonElement>();
-			for (Channel<?> channel : channels) {
-				values.put(channel.address(), channel.value().asJson());
-			}
-			this.collectedData.put(timestamp, values);
+		public void addData(long timestamp) {
+			this.collectedData.add(timestamp, this.channels);
 		}
 	}
 
@@ -209,9 +210,19 @@ public class SimulatorApp extends AbstractOpenemsComponent
 		TimeLeapClock timeLeapClock = new TimeLeapClock(//
 				request.clock.start.toInstant(), ZoneId.systemDefault());
 
+		// Resolve collected Channels once
+		Channel<?>[] channels = new Channel<?>[request.collects.size()];
+		for (int i = 0; i < channels.length; i++) {
+			try {
+				channels[i] = this.componentManager.getChannel(request.collects.get(i));
+			} catch (IllegalArgumentException | OpenemsNamedException e) {
+				this.logWarn(this.log, "Unable to collect [" + request.collects.get(i) + "]: " + e.getMessage());
+			}
+		}
+
 		// keep simulation data for later use
 		this.lastSimulation = null;
-		this.currentSimulation = new CurrentSimulation(user, request, timeLeapClock, response);
+		this.currentSimulation = new CurrentSimulation(user, request, timeLeapClock, response, channels);
 
 		// Start Simulation Cycles
 		this.setCycleTime(AbstractWorker.DO_NOT_WAIT);
@@ -277,16 +288,7 @@ public class SimulatorApp extends AbstractOpenemsComponent
 			return;
 		}
 
-		ZonedDateTime now = ZonedDateTime.now(currentSimulation.clock);
-		List<Channel<?>> channels = new ArrayList<Channel<?>>();
-		for (ChannelAddress channelAddress : currentSimulation.request.collects) {
-			try {
-				channels.add(this.componentManager.getChannel(channelAddress));
-			} catch (IllegalArgumentException | OpenemsNamedException e) {
-				e.printStackTrace();
-			}
-		}
-		currentSimulation.addData(now, channels);
+		currentSimulation.addData(currentSimulation.clock.millis());
 	}
 
 	/**
@@ -481,28 +483,30 @@ public class SimulatorApp extends AbstractOpenemsComponent
 	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricData(String edgeId,
 			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, int resolution)
 			throws OpenemsNamedException {
-		if (this.lastSimulation == null || this.lastSimulation.collectedData.isEmpty()) {
+		if (this.lastSimulation == null || this.lastSimulation.collectedData.size() == 0) {
 			return new TreeMap<>();
 		}
 		Period fakePeriod = this.convertToSimulatedFromToDates(fromDate, toDate);
-		return this.lastSimulation.collectedData.subMap(fakePeriod.fromDate, fakePeriod.toDate);
+		return this.lastSimulation.collectedData.getRows(fakePeriod.fromDate, fakePeriod.toDate, channels);
 	}
 
 	@Override
 	public SortedMap<ChannelAddress, JsonElement> queryHistoricEnergy(String edgeId, ZonedDateTime fromDate,
 			ZonedDateTime toDate, Set<ChannelAddress> channels) throws OpenemsNamedException {
-		if (this.lastSimulation == null || this.lastSimulation.collectedData.isEmpty()) {
+		if (this.lastSimulation == null || this.lastSimulation.collectedData.size() == 0) {
 			return new TreeMap<>();
 		}
 		Period fakePeriod = this.convertToSimulatedFromToDates(fromDate, toDate);
-		SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> partOfCollectedData = this.lastSimulation.collectedData
-				.subMap(fakePeriod.fromDate, fakePeriod.toDate);
+		List<SortedMap<ChannelAddress, JsonElement>> firstAndLastValues = this.lastSimulation.collectedData
+				.getFirstAndLastRow(fakePeriod.fromDate, fakePeriod.toDate, channels);
 		SortedMap<ChannelAddress, JsonElement> result = new TreeMap<ChannelAddress, JsonElement>();
-		SortedMap<ChannelAddress, JsonElement> firstValues = partOfCollectedData.get(partOfCollectedData.firstKey());
-		SortedMap<ChannelAddress, JsonElement> lastValues = partOfCollectedData.get(partOfCollectedData.lastKey());
 		for (ChannelAddress channel : channels) {
-			Long firstValue = (Long) JsonUtils.getAsType(Long.class, firstValues.get(channel));
-			Long lastValue = (Long) JsonUtils.getAsType(Long.class, lastValues.get(channel));
+			if (firstAndLastValues.isEmpty()) {
+				result.put(channel, JsonNull.INSTANCE);
+				continue;
+			}
+			Long firstValue = (Long) JsonUtils.getAsType(Long.class, firstAndLastValues.get(0).get(channel));
+			Long lastValue = (Long) JsonUtils.getAsType(Long.class, firstAndLastValues.get(1).get(channel));
 			if (firstValue != null && lastValue != null) {
 				result.put(channel, new JsonPrimitive(lastValue - firstValue));
 			} else {
@@ -522,12 +526,10 @@ public class SimulatorApp extends AbstractOpenemsComponent
 	@Override
 	public CompletableFuture<Optional<Object>> getLatestValue(ChannelAddress channelAddress) {
 		final JsonElement value;
-		if (this.lastSimulation == null || this.lastSimulation.collectedData.isEmpty()) {
+		if (this.lastSimulation == null || this.lastSimulation.collectedData.size() == 0) {
 			value = JsonNull.INSTANCE;
 		} else {
-			SortedMap<ChannelAddress, JsonElement> lastValues = this.lastSimulation.collectedData
-					.get(this.lastSimulation.collectedData.lastKey());
-			value = lastValues.get(channelAddress);
+			value = this.lastSimulation.collectedData.getLatestValue(channelAddress);
 		}
 		return CompletableFuture.completedFuture(Optional.ofNullable(value));
 	}
@@ -565,7 +567,7 @@ public class SimulatorApp extends AbstractOpenemsComponent
 		}
 		long durationDays = Duration.between(fromDate, toDate).toDays();
 		long toDateOffset = Duration.between(toDate, ZonedDateTime.now()).toDays();
-		ZonedDateTime lastCollected = this.lastSimulation.collectedData.lastKey();
+		ZonedDateTime lastCollected = this.lastSimulation.collectedData.getLastTimestamp();
 		ZonedDateTime newToDate = lastCollected.minusDays(toDateOffset);
 		ZonedDateTime newFromDate = newToDate.minusDays(durationDays);
 		return new Period(newFromDate, newToDate);
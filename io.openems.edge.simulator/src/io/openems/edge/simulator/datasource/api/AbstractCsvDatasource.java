@@ -9,6 +9,8 @@ import java.util.Set;
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.event.Event;
 import org.osgi.service.event.EventHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.types.OpenemsType;
@@ -16,18 +18,20 @@ import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.event.EdgeEventConstants;
 import io.openems.edge.common.type.TypeUtils;
-import io.openems.edge.simulator.DataContainer;
+import io.openems.edge.simulator.RecordSource;
 
 public abstract class AbstractCsvDatasource extends AbstractOpenemsComponent
 		implements SimulatorDatasource, EventHandler {
 
+	private final Logger log = LoggerFactory.getLogger(AbstractCsvDatasource.class);
+
 	private int timeDelta;
 	private LocalDateTime lastIteration = LocalDateTime.MIN;
-	private DataContainer data;
+	private RecordSource data;
 
 	protected abstract ComponentManager getComponentManager();
 
-	protected abstract DataContainer getData() throws NumberFormatException, IOException;
+	protected abstract RecordSource getData() throws NumberFormatException, IOException;
 
 	protected AbstractCsvDatasource(io.openems.edge.common.channel.ChannelId[] firstInitialChannelIds,
 			io.openems.edge.common.channel.ChannelId[]... furtherInitialChannelIds) {
@@ -55,18 +59,28 @@ public abstract class AbstractCsvDatasource extends AbstractOpenemsComponent
 			}
 
 			this.lastIteration = now;
-			this.data.nextRecord();
+			try {
+				this.data.nextRecord();
+			} catch (IOException e) {
+				this.logWarn(this.log, "Unable to read next record: " + e.getMessage());
+			}
 			break;
 		}
 	}
 
 	@Override
 	public <T> T getValue(OpenemsType type, ChannelAddress channelAddress) {
-		// First: try full ChannelAddress
-		Optional<Float> valueOpt = this.data.getValue(channelAddress.toString());
-		if (!valueOpt.isPresent()) {
-			// Not found: try Channel-ID only (without Component-ID)
-			valueOpt = this.data.getValue(channelAddress.getChannelId());
+		Optional<Float> valueOpt;
+		try {
+			// First: try full ChannelAddress
+			valueOpt = this.data.getValue(channelAddress.toString());
+			if (!valueOpt.isPresent()) {
+				// Not found: try Channel-ID only (without Component-ID)
+				valueOpt = this.data.getValue(channelAddress.getChannelId());
+			}
+		} catch (IOException e) {
+			this.logWarn(this.log, "Unable to read [" + channelAddress + "]: " + e.getMessage());
+			valueOpt = Optional.empty();
 		}
 		return TypeUtils.getAsType(type, valueOpt);
 	}
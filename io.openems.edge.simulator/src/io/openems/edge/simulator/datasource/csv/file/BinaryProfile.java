@@ -0,0 +1,175 @@
+package io.openems.edge.simulator.datasource.csv.file;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import io.openems.edge.simulator.CsvFormat;
+import io.openems.edge.simulator.CsvUtils;
+
+/**
+ * A {@link Profile} in a compact binary format.
+ *
+ * <p>
+ * The file starts with a header, followed by the records. All numbers are
+ * big-endian:
+ *
+ * <pre>
+ * 4 bytes   magic "OEPF"
+ * 1 byte    version (1)
+ * int       number of columns per record
+ * int       number of keys; 0 if there was no title line
+ * per key:  short length + UTF-8 bytes
+ * records:  one float per column; NaN for empty values
+ * </pre>
+ *
+ * <p>
+ * Every record has the same size, so the current value is read directly from
+ * its offset. Use {@link #convert(File, CsvFormat, File)} to create a binary
+ * profile from a CSV file.
+ */
+public class BinaryProfile extends Profile {
+
+	private static final byte[] MAGIC = { 'O', 'E', 'P', 'F' };
+	private static final byte VERSION = 1;
+
+	/**
+	 * Converts a CSV file to a binary profile. The CSV file is read line by line.
+	 *
+	 * @param csvFile    the CSV file with an optional title line
+	 * @param csvFormat  the CSV-Format
+	 * @param binaryFile the target file
+	 * @throws IOException           on error
+	 * @throws NumberFormatException on error
+	 */
+	public static void convert(File csvFile, CsvFormat csvFormat, File binaryFile)
+			throws IOException, NumberFormatException {
+		try (BufferedReader in = new BufferedReader(new FileReader(csvFile));
+				DataOutputStream out = new DataOutputStream(
+						new BufferedOutputStream(new FileOutputStream(binaryFile)))) {
+			String line = in.readLine();
+			if (line == null) {
+				throw new IOException("CSV file [" + csvFile + "] is empty");
+			}
+			String[] keys;
+			Float[] firstRecord;
+			String firstValue = line.split(csvFormat.lineSeparator, 2)[0] //
+					.replace(csvFormat.decimalSeparator, ".");
+			if (CsvUtils.isNumeric(firstValue)) {
+				keys = new String[0];
+				firstRecord = CsvUtils.parseRecord(csvFormat, 1, line);
+			} else {
+				keys = line.split(csvFormat.lineSeparator);
+				firstRecord = null;
+			}
+			int columns = keys.length > 0 ? keys.length : firstRecord.length;
+
+			// write header
+			out.write(MAGIC);
+			out.writeByte(VERSION);
+			out.writeInt(columns);
+			out.writeInt(keys.length);
+			for (String key : keys) {
+				byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+				out.writeShort(bytes.length);
+				out.write(bytes);
+			}
+
+			// write records
+			if (firstRecord != null) {
+				writeRecord(out, firstRecord, columns);
+			}
+			while ((line = in.readLine()) != null) {
+				if (line.isEmpty()) {
+					continue;
+				}
+				writeRecord(out, CsvUtils.parseRecord(csvFormat, 1, line), columns);
+			}
+		}
+	}
+
+	private static void writeRecord(DataOutputStream out, Float[] record, int columns) throws IOException {
+		for (int i = 0; i < columns; i++) {
+			Float value = i < record.length ? record[i] : null;
+			out.writeFloat(value == null ? Float.NaN : value);
+		}
+	}
+
+	/**
+	 * Is the given file a binary profile?.
+	 *
+	 * @param file the {@link MappedFile}
+	 * @return true if the file starts with the magic bytes
+	 * @throws IOException on error
+	 */
+	protected static boolean isBinaryProfile(MappedFile file) throws IOException {
+		if (file.size() < MAGIC.length + 1) {
+			return false;
+		}
+		for (int i = 0; i < MAGIC.length; i++) {
+			if (file.get(i) != MAGIC[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private final int columns;
+	private final long dataStart;
+	private final long records;
+
+	private long currentIndex = -1;
+
+	BinaryProfile(MappedFile file, float factor) throws IOException {
+		super(file, factor);
+		long position = MAGIC.length;
+		byte version = file.get(position++);
+		if (version != VERSION) {
+			throw new IOException("Unsupported binary profile version [" + version + "]");
+		}
+		this.columns = file.getInt(position);
+		position += Integer.BYTES;
+		int numberOfKeys = file.getInt(position);
+		position += Integer.BYTES;
+		String[] keys = new String[numberOfKeys];
+		for (int i = 0; i < numberOfKeys; i++) {
+			byte[] bytes = new byte[file.getShort(position) & 0xffff];
+			position += Short.BYTES;
+			for (int j = 0; j < bytes.length; j++) {
+				bytes[j] = file.get(position++);
+			}
+			keys[i] = new String(bytes, StandardCharsets.UTF_8);
+		}
+		this.setKeys(keys);
+		this.dataStart = position;
+		this.records = this.columns == 0 ? 0 : (file.size() - position) / ((long) this.columns * Float.BYTES);
+	}
+
+	@Override
+	protected Optional<Float> getCurrentValue(int column) throws IOException {
+		if (column >= this.columns || this.records == 0) {
+			return Optional.empty();
+		}
+		long index = Math.max(0, this.currentIndex);
+		float value = this.file.getFloat(this.dataStart + (index * this.columns + column) * Float.BYTES);
+		if (Float.isNaN(value)) {
+			return Optional.empty();
+		}
+		return Optional.of(value * this.factor);
+	}
+
+	@Override
+	public synchronized void nextRecord() {
+		this.currentIndex++;
+		if (this.currentIndex >= this.records) {
+			this.currentIndex = 0;
+		}
+	}
+
+}
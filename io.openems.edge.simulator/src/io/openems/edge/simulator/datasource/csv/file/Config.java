@@ -0,0 +1,37 @@
+package io.openems.edge.simulator.datasource.csv.file;
+
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+import io.openems.edge.simulator.CsvFormat;
+
+@ObjectClassDefinition(//
+		name = "Simulator DataSource: CSV File", //
+		description = "This service provides input data from a CSV or binary profile file. "
+				+ "The file is memory-mapped and only the current record is read.")
+@interface Config {
+
+	@AttributeDefinition(name = "Component-ID", description = "Unique ID of this Component")
+	String id() default "datasource0";
+
+	@AttributeDefinition(name = "Alias", description = "Human-readable name of this Component; defaults to Component-ID")
+	String alias() default "";
+
+	@AttributeDefinition(name = "Is enabled?", description = "Is this Component enabled?")
+	boolean enabled() default true;
+
+	@AttributeDefinition(name = "Factor", description = "Each value in the file is multiplied by this factor.")
+	float factor() default 1;
+
+	@AttributeDefinition(name = "Time-Delta", description = "Time-Delta between two entries in the file in seconds. "
+			+ "If set the output-value doesn't change, until the Time-Delta has passed in realtime.")
+	int timeDelta() default -1;
+
+	@AttributeDefinition(name = "Path", description = "The path of a CSV file with an optional title line or of a binary profile file.")
+	String path();
+
+	@AttributeDefinition(name = "CSV Format", description = "The format of the CSV file; ignored for binary profile files")
+	CsvFormat format() default CsvFormat.GERMAN_EXCEL;
+
+	String webconsole_configurationFactory_nameHint() default "Simulator DataSource: CSV File [{id}]";
+}
@@ -0,0 +1,86 @@
+package io.openems.edge.simulator.datasource.csv.file;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.osgi.service.component.ComponentContext;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.event.EventConstants;
+import org.osgi.service.event.EventHandler;
+import org.osgi.service.metatype.annotations.Designate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.edge.common.component.ComponentManager;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.event.EdgeEventConstants;
+import io.openems.edge.simulator.datasource.api.AbstractCsvDatasource;
+import io.openems.edge.simulator.datasource.api.SimulatorDatasource;
+
+/**
+ * Provides data from a CSV or binary profile file without loading it to the
+ * heap.
+ *
+ * <p>
+ * In contrast to the other CSV datasources, the file is memory-mapped and only
+ * the current record is parsed, so the heap usage does not depend on the size
+ * of the file. For very large profiles convert the CSV file once using
+ * {@link BinaryProfile#convert(File, io.openems.edge.simulator.CsvFormat, File)}.
+ */
+@Designate(ocd = Config.class, factory = true)
+@Component(name = "Simulator.Datasource.CSV.File", //
+		immediate = true, //
+		configurationPolicy = ConfigurationPolicy.REQUIRE, //
+		property = EventConstants.EVENT_TOPIC + "=" + EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE)
+public class CsvDatasourceFile extends AbstractCsvDatasource
+		implements SimulatorDatasource, OpenemsComponent, EventHandler {
+
+	private final Logger log = LoggerFactory.getLogger(CsvDatasourceFile.class);
+
+	@Reference
+	private ComponentManager componentManager;
+
+	private Config config;
+	private Profile profile = null;
+
+	public CsvDatasourceFile() {
+		super(//
+				OpenemsComponent.ChannelId.values() //
+		);
+	}
+
+	@Activate
+	void activate(ComponentContext context, Config config) throws IOException {
+		this.config = config;
+		super.activate(context, config.id(), config.alias(), config.enabled(), config.timeDelta());
+	}
+
+	@Deactivate
+	protected void deactivate() {
+		super.deactivate();
+		if (this.profile == null) {
+			return;
+		}
+		try {
+			this.profile.close();
+		} catch (IOException e) {
+			this.logWarn(this.log, "Unable to close profile: " + e.getMessage());
+		}
+	}
+
+	@Override
+	protected ComponentManager getComponentManager() {
+		return this.componentManager;
+	}
+
+	@Override
+	protected Profile getData() throws IOException {
+		this.profile = Profile.open(new File(this.config.path()), this.config.format(), this.config.factor());
+		return this.profile;
+	}
+
+}
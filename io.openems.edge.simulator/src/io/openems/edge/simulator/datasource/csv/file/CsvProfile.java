@@ -0,0 +1,128 @@
+package io.openems.edge.simulator.datasource.csv.file;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+
+import io.openems.edge.simulator.CsvFormat;
+import io.openems.edge.simulator.CsvUtils;
+
+/**
+ * A {@link Profile} in CSV format with an optional title line.
+ *
+ * <p>
+ * Only the position of the current line is kept; the line is parsed when a
+ * value is requested for the first time.
+ */
+class CsvProfile extends Profile {
+
+	private final CsvFormat csvFormat;
+	private final long dataStart;
+
+	private byte[] lineBuffer = new byte[256];
+	private long position = -1;
+	private Float[] currentRecord = null;
+
+	public CsvProfile(MappedFile file, CsvFormat csvFormat, float factor) throws IOException {
+		super(file, factor);
+		this.csvFormat = csvFormat;
+
+		String firstLine = this.readLine(0);
+		String firstValue = firstLine.split(csvFormat.lineSeparator, 2)[0] //
+				.replace(csvFormat.decimalSeparator, ".");
+		if (firstLine.isEmpty() || CsvUtils.isNumeric(firstValue)) {
+			this.dataStart = 0;
+		} else {
+			// read titles
+			this.setKeys(firstLine.split(csvFormat.lineSeparator));
+			this.dataStart = this.getNextLine(0);
+		}
+	}
+
+	@Override
+	protected Optional<Float> getCurrentValue(int column) throws IOException {
+		if (this.currentRecord == null) {
+			long position = this.position;
+			if (position == -1) {
+				// like DataContainer: before the first call to nextRecord() use the first
+				// record
+				position = this.skipEmptyLines(this.dataStart);
+			}
+			if (position >= this.file.size()) {
+				// no records
+				return Optional.empty();
+			}
+			this.currentRecord = CsvUtils.parseRecord(this.csvFormat, this.factor, this.readLine(position));
+		}
+		if (column < this.currentRecord.length) {
+			return Optional.ofNullable(this.currentRecord[column]);
+		} else {
+			return Optional.empty();
+		}
+	}
+
+	@Override
+	public synchronized void nextRecord() throws IOException {
+		this.currentRecord = null;
+		if (this.position == -1) {
+			this.position = this.skipEmptyLines(this.dataStart);
+			return;
+		}
+		long next = this.skipEmptyLines(this.getNextLine(this.position));
+		if (next >= this.file.size()) {
+			// start again at the first record
+			next = this.skipEmptyLines(this.dataStart);
+		}
+		this.position = next;
+	}
+
+	/**
+	 * Gets the start of the line after the line at the given position.
+	 *
+	 * @param position the start of a line
+	 * @return the start of the next line; the file size if there is none
+	 * @throws IOException on error
+	 */
+	private long getNextLine(long position) throws IOException {
+		long size = this.file.size();
+		while (position < size) {
+			if (this.file.get(position++) == '\n') {
+				break;
+			}
+		}
+		return position;
+	}
+
+	private long skipEmptyLines(long position) throws IOException {
+		long size = this.file.size();
+		while (position < size) {
+			byte b = this.file.get(position);
+			if (b != '\n' && b != '\r') {
+				break;
+			}
+			position++;
+		}
+		return position;
+	}
+
+	private String readLine(long position) throws IOException {
+		long size = this.file.size();
+		int length = 0;
+		while (position < size) {
+			byte b = this.file.get(position++);
+			if (b == '\n') {
+				break;
+			}
+			if (length == this.lineBuffer.length) {
+				this.lineBuffer = Arrays.copyOf(this.lineBuffer, length * 2);
+			}
+			this.lineBuffer[length++] = b;
+		}
+		if (length > 0 && this.lineBuffer[length - 1] == '\r') {
+			length--;
+		}
+		return new String(this.lineBuffer, 0, length, StandardCharsets.UTF_8);
+	}
+
+}
@@ -0,0 +1,105 @@
+package io.openems.edge.simulator.datasource.csv.file;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Provides read access to a file via a memory-mapped window.
+ *
+ * <p>
+ * Only a window of at most {@link #WINDOW_SIZE} bytes is mapped at a time. The
+ * window is moved when a position outside of it is accessed, so files of any
+ * size can be read without loading them to the heap.
+ */
+class MappedFile implements Closeable {
+
+	private static final int WINDOW_SIZE = 64 * 1024 * 1024;
+
+	private final FileChannel channel;
+	private final long size;
+
+	private MappedByteBuffer window = null;
+	private long windowStart = 0;
+
+	public MappedFile(File file) throws IOException {
+		this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		this.size = this.channel.size();
+	}
+
+	/**
+	 * Gets the size of the file.
+	 *
+	 * @return the size in bytes
+	 */
+	public long size() {
+		return this.size;
+	}
+
+	/**
+	 * Gets the byte at the given position.
+	 *
+	 * @param position the position in the file
+	 * @return the byte
+	 * @throws IOException on error
+	 */
+	public byte get(long position) throws IOException {
+		return this.getWindow(position, Byte.BYTES).get((int) (position - this.windowStart));
+	}
+
+	/**
+	 * Gets the big-endian short at the given position.
+	 *
+	 * @param position the position in the file
+	 * @return the short
+	 * @throws IOException on error
+	 */
+	public short getShort(long position) throws IOException {
+		return this.getWindow(position, Short.BYTES).getShort((int) (position - this.windowStart));
+	}
+
+	/**
+	 * Gets the big-endian int at the given position.
+	 *
+	 * @param position the position in the file
+	 * @return the int
+	 * @throws IOException on error
+	 */
+	public int getInt(long position) throws IOException {
+		return this.getWindow(position, Integer.BYTES).getInt((int) (position - this.windowStart));
+	}
+
+	/**
+	 * Gets the big-endian float at the given position.
+	 *
+	 * @param position the position in the file
+	 * @return the float
+	 * @throws IOException on error
+	 */
+	public float getFloat(long position) throws IOException {
+		return this.getWindow(position, Float.BYTES).getFloat((int) (position - this.windowStart));
+	}
+
+	private MappedByteBuffer getWindow(long position, int length) throws IOException {
+		if (position < 0 || position + length > this.size) {
+			throw new IOException("Position [" + position + "] is outside of the file");
+		}
+		if (this.window == null || position < this.windowStart
+				|| position + length > this.windowStart + this.window.limit()) {
+			this.windowStart = position;
+			this.window = this.channel.map(MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, this.size - position));
+		}
+		return this.window;
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.window = null;
+		this.channel.close();
+	}
+
+}
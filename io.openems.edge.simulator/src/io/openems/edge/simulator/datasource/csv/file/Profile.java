@@ -0,0 +1,121 @@
+package io.openems.edge.simulator.datasource.csv.file;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import io.openems.edge.simulator.CsvFormat;
+import io.openems.edge.simulator.DataContainer;
+import io.openems.edge.simulator.RecordSource;
+
+/**
+ * A profile that is read from a memory-mapped file. Only the current record is
+ * parsed.
+ *
+ * <p>
+ * Behaves like a {@link DataContainer}: if the profile has no keys, the first
+ * value of the record is returned for every key; after the last record the
+ * profile starts again at the first record.
+ */
+abstract class Profile implements RecordSource, Closeable {
+
+	/**
+	 * Opens a profile. The format is detected from the file content.
+	 *
+	 * @param path      the path of a CSV or binary profile file
+	 * @param csvFormat the CSV-Format; ignored for binary profiles
+	 * @param factor    a multiplication factor to apply on the values
+	 * @return the {@link Profile}
+	 * @throws IOException on error
+	 */
+	public static Profile open(File path, CsvFormat csvFormat, float factor) throws IOException {
+		MappedFile file = new MappedFile(path);
+		try {
+			if (BinaryProfile.isBinaryProfile(file)) {
+				return new BinaryProfile(file, factor);
+			} else {
+				return new CsvProfile(file, csvFormat, factor);
+			}
+		} catch (IOException | RuntimeException e) {
+			file.close();
+			throw e;
+		}
+	}
+
+	protected final MappedFile file;
+	protected final float factor;
+
+	private final Map<String, Integer> keys = new HashMap<>();
+
+	protected Profile(MappedFile file, float factor) {
+		this.file = file;
+		this.factor = factor;
+	}
+
+	protected void setKeys(String[] keys) {
+		for (int i = 0; i < keys.length; i++) {
+			this.keys.put(keys[i], i);
+		}
+	}
+
+	/**
+	 * Gets the available keys.
+	 *
+	 * @return the Channel-Ids
+	 */
+	@Override
+	public Set<String> getKeys() {
+		return this.keys.keySet();
+	}
+
+	/**
+	 * Gets the value for the key from the current record. If no keys exist, get
+	 * the first value of the record.
+	 *
+	 * @param key the Channel-Id
+	 * @return the record value
+	 * @throws IOException on error
+	 */
+	@Override
+	public synchronized Optional<Float> getValue(String key) throws IOException {
+		Integer index;
+		if (this.keys.isEmpty()) {
+			// no keys -> first value
+			index = 0;
+		} else {
+			// find index of key
+			index = this.keys.get(key);
+			if (index == null) {
+				return Optional.empty();
+			}
+		}
+		return this.getCurrentValue(index);
+	}
+
+	/**
+	 * Gets the value of the current record at the given column.
+	 *
+	 * @param column the column index
+	 * @return the value
+	 * @throws IOException on error
+	 */
+	protected abstract Optional<Float> getCurrentValue(int column) throws IOException;
+
+	/**
+	 * Switch to the next record.
+	 *
+	 * @throws IOException on error
+	 */
+	@Override
+	public abstract void nextRecord() throws IOException;
+
+	@Override
+	public void close() throws IOException {
+		this.file.close();
+	}
+
+}
@@ -0,0 +1,144 @@
+package io.openems.edge.simulator.app;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SortedMap;
+
+import org.junit.Test;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
+
+import com.google.gson.JsonElement;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.event.EdgeEventConstants;
+import io.openems.edge.common.test.TimeLeapClock;
+import io.openems.edge.controller.test.DummyController;
+
+public class BatchSimulationTest {
+
+	private static final ChannelAddress ENERGY = new ChannelAddress("counter0", "Energy");
+	private static final ChannelAddress NAME = new ChannelAddress("counter0", "Name");
+
+	private static class DummyCounter extends AbstractOpenemsComponent implements EventHandler {
+
+		public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
+			ENERGY(Doc.of(OpenemsType.LONG)), //
+			NAME(Doc.of(OpenemsType.STRING));
+
+			private final Doc doc;
+
+			private ChannelId(Doc doc) {
+				this.doc = doc;
+			}
+
+			@Override
+			public Doc doc() {
+				return this.doc;
+			}
+		}
+
+		private long energy = 0;
+		private int power = 0;
+
+		public DummyCounter() {
+			super(//
+					OpenemsComponent.ChannelId.values(), //
+					ChannelId.values() //
+			);
+			super.activate(null, "counter0", "", true);
+		}
+
+		@Override
+		public void handleEvent(Event event) {
+			switch (event.getTopic()) {
+			case EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE:
+				this.energy += this.power;
+				this.channel(ChannelId.ENERGY).setNextValue(this.energy);
+				this.channel(ChannelId.NAME).setNextValue("E" + this.energy);
+				break;
+			}
+		}
+	}
+
+	private static BatchSimulation createSimulation(int power) {
+		Instant start = Instant.ofEpochSecond(1577836800) /* 1. January 2020 00:00:00 */;
+		TimeLeapClock clock = new TimeLeapClock(start, ZoneOffset.UTC);
+		DummyCounter counter = new DummyCounter();
+		return new BatchSimulation(clock, ZonedDateTime.ofInstant(start.plusSeconds(4), ZoneOffset.UTC), 1000) //
+				.addComponent(counter) //
+				.addController(new DummyController("ctrl0").withRunCallback(() -> counter.power = power)) //
+				.collect(ENERGY) //
+				.collect(NAME);
+	}
+
+	@Test
+	public void test() throws Exception {
+		SimulationResult result = createSimulation(100).call();
+
+		assertEquals(5, result.size());
+		long[] timestamps = result.getTimestamps();
+		assertEquals(1577836800_000L, timestamps[0]);
+		assertEquals(1577836804_000L, timestamps[4]);
+		assertArrayEquals(new double[] { Double.NaN, 100, 200, 300, 400 }, result.getValues(ENERGY), 0);
+		assertEquals("[null,100,200,300,400]",
+				result.toJson().getAsJsonObject("data").get(ENERGY.toString()).toString());
+	}
+
+	@Test
+	public void testRunAll() throws Exception {
+		List<SimulationResult> results = BatchSimulation.runAll(Arrays.asList(//
+				createSimulation(100), //
+				createSimulation(-50), //
+				createSimulation(7)), 2);
+
+		assertEquals(3, results.size());
+		assertArrayEquals(new double[] { Double.NaN, 100, 200, 300, 400 }, results.get(0).getValues(ENERGY), 0);
+		assertArrayEquals(new double[] { Double.NaN, -50, -100, -150, -200 }, results.get(1).getValues(ENERGY), 0);
+		assertArrayEquals(new double[] { Double.NaN, 7, 14, 21, 28 }, results.get(2).getValues(ENERGY), 0);
+	}
+
+	@Test
+	public void testStrings() throws Exception {
+		SimulationResult result = createSimulation(100).call();
+
+		assertArrayEquals(new String[] { null, "E100", "E200", "E300", "E400" }, result.getStrings(NAME));
+		assertEquals("[null,\"E100\",\"E200\",\"E300\",\"E400\"]",
+				result.toJson().getAsJsonObject("data").get(NAME.toString()).toString());
+	}
+
+	@Test
+	public void testFirstAndLastRow() throws Exception {
+		SimulationResult result = createSimulation(100).call();
+		ZonedDateTime start = ZonedDateTime.ofInstant(Instant.ofEpochSecond(1577836800), ZoneOffset.UTC);
+
+		List<SortedMap<ChannelAddress, JsonElement>> rows = result.getFirstAndLastRow(start.plusSeconds(1),
+				start.plusSeconds(4), Arrays.asList(ENERGY, NAME));
+		assertEquals(2, rows.size());
+		assertEquals(100, rows.get(0).get(ENERGY).getAsLong());
+		assertEquals("E300", rows.get(1).get(NAME).getAsString());
+
+		assertTrue(result.getFirstAndLastRow(start.plusSeconds(10), start.plusSeconds(20), Arrays.asList(ENERGY))
+				.isEmpty());
+	}
+
+	@Test(expected = OpenemsException.class)
+	public void testUnknownChannel() throws Exception {
+		createSimulation(100) //
+				.collect(new ChannelAddress("counter0", "Unknown")) //
+				.call();
+	}
+
+}
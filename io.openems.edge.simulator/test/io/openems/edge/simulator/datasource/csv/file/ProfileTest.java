@@ -0,0 +1,89 @@
+package io.openems.edge.simulator.datasource.csv.file;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Optional;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.openems.edge.simulator.CsvFormat;
+
+public class ProfileTest {
+
+	private static final String CSV = "ActivePower;Soc\r\n" //
+			+ "100;50\r\n" //
+			+ "200,5;\r\n" //
+			+ "300;52\r\n" //
+			+ "\r\n";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static void assertProfile(Profile profile) throws Exception {
+		assertEquals(new HashSet<>(Arrays.asList("ActivePower", "Soc")), profile.getKeys());
+
+		// first record is valid for the first two Cycles; like DataContainer
+		assertEquals(Optional.of(1000F), profile.getValue("ActivePower"));
+		assertEquals(Optional.of(500F), profile.getValue("Soc"));
+		profile.nextRecord();
+		assertEquals(Optional.of(1000F), profile.getValue("ActivePower"));
+		profile.nextRecord();
+		assertEquals(Optional.of(2005F), profile.getValue("ActivePower"));
+		assertEquals(Optional.empty(), profile.getValue("Soc"));
+		assertEquals(Optional.empty(), profile.getValue("Unknown"));
+		profile.nextRecord();
+		assertEquals(Optional.of(520F), profile.getValue("Soc"));
+
+		// start again at the first record
+		profile.nextRecord();
+		assertEquals(Optional.of(1000F), profile.getValue("ActivePower"));
+	}
+
+	@Test
+	public void testCsv() throws Exception {
+		File csv = this.folder.newFile("profile.csv");
+		Files.write(csv.toPath(), CSV.getBytes(StandardCharsets.UTF_8));
+
+		try (Profile profile = Profile.open(csv, CsvFormat.GERMAN_EXCEL, 10)) {
+			assertTrue(profile instanceof CsvProfile);
+			assertProfile(profile);
+		}
+	}
+
+	@Test
+	public void testBinary() throws Exception {
+		File csv = this.folder.newFile("profile.csv");
+		Files.write(csv.toPath(), CSV.getBytes(StandardCharsets.UTF_8));
+		File binary = new File(this.folder.getRoot(), "profile.bin");
+		BinaryProfile.convert(csv, CsvFormat.GERMAN_EXCEL, binary);
+
+		try (Profile profile = Profile.open(binary, CsvFormat.ENGLISH, 10)) {
+			assertTrue(profile instanceof BinaryProfile);
+			assertProfile(profile);
+		}
+	}
+
+	@Test
+	public void testCsvWithoutTitles() throws Exception {
+		File csv = this.folder.newFile("profile.csv");
+		Files.write(csv.toPath(), "1\n2\n".getBytes(StandardCharsets.UTF_8));
+
+		try (Profile profile = Profile.open(csv, CsvFormat.ENGLISH, 1)) {
+			assertEquals(Optional.of(1F), profile.getValue("any"));
+			profile.nextRecord();
+			profile.nextRecord();
+			assertEquals(Optional.of(2F), profile.getValue("any"));
+			profile.nextRecord();
+			assertEquals(Optional.of(1F), profile.getValue("any"));
+		}
+	}
+
+}
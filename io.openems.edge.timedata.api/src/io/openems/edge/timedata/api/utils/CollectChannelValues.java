@@ -0,0 +1,170 @@
+package io.openems.edge.timedata.api.utils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.OptionalDouble;
+import java.util.function.ObjDoubleConsumer;
+
+import io.openems.common.channel.AccessMode;
+import io.openems.common.channel.Unit;
+import io.openems.edge.common.channel.Aggregation;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.ComponentManager;
+import io.openems.edge.common.component.OpenemsComponent;
+
+/**
+ * Collects the values of all readable Channels of all enabled Components for a
+ * Timedata service once every configured number of Cycles:
+ *
+ * <pre>
+ * Instant timestamp = collector.nextTimestamp();
+ * if (timestamp != null) {
+ * 	collector.collect(componentManager, (channel, value) -&gt; ...);
+ * }
+ * </pre>
+ *
+ * <p>
+ * Every value is the {@link Aggregation} of the past values of the Channel
+ * since the last collection; see {@link #getAggregation(Unit)}.
+ */
+public class CollectChannelValues {
+
+	public static final int DEFAULT_NO_OF_CYCLES = 60;
+
+	private int noOfCycles = DEFAULT_NO_OF_CYCLES;
+
+	// Counts the number of Cycles till data is collected
+	private int cycleCount = 0;
+
+	// keeps the last collected timestamp
+	private Instant lastTimestamp = Instant.MIN;
+	private LocalDateTime readChannelValuesSince = LocalDateTime.MIN;
+
+	/**
+	 * Sets the number of Cycles till data is collected.
+	 *
+	 * @param noOfCycles the number of Cycles
+	 */
+	public void setNoOfCycles(int noOfCycles) {
+		this.noOfCycles = noOfCycles;
+	}
+
+	/**
+	 * Gets the timestamp of the next collection; called once per Cycle.
+	 *
+	 * <p>
+	 * Values are only collected every 'noOfCycles' Cycles and at most once per
+	 * second, because timestamps are all stored "truncated to seconds".
+	 *
+	 * @return the timestamp; null if no values should be collected in this Cycle
+	 */
+	public Instant nextTimestamp() {
+		Instant timestamp = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+		// Increase CycleCount
+		this.cycleCount += 1;
+
+		// Same second as last run?
+		if (timestamp.equals(this.lastTimestamp)) {
+			return null;
+		}
+
+		// Stop here if not reached CycleCount
+		if (this.cycleCount < this.noOfCycles) {
+			return null;
+		}
+
+		// Reset Cycle-Count
+		this.cycleCount = 0;
+
+		this.lastTimestamp = timestamp;
+		return timestamp;
+	}
+
+	/**
+	 * Collects the aggregated values since the last collection.
+	 *
+	 * @param componentManager the {@link ComponentManager}
+	 * @param consumer         receives every available {@link Channel} and its
+	 *                         aggregated value
+	 * @see #nextTimestamp()
+	 */
+	public void collect(ComponentManager componentManager, ObjDoubleConsumer<Channel<?>> consumer) {
+		final LocalDateTime nextReadChannelValuesSince = LocalDateTime.now();
+		for (OpenemsComponent component : componentManager.getEnabledComponents()) {
+			for (Channel<?> channel : component.channels()) {
+				if (channel.channelDoc().getAccessMode() != AccessMode.READ_ONLY
+						&& channel.channelDoc().getAccessMode() != AccessMode.READ_WRITE) {
+					// Ignore WRITE_ONLY Channels
+					continue;
+				}
+
+				// new values since last collection
+				OptionalDouble value = channel.getPastValuesAggregate(this.readChannelValuesSince,
+						getAggregation(channel.channelDoc().getUnit()));
+				if (!value.isPresent()) {
+					// only available channels
+					continue;
+				}
+
+				consumer.accept(channel, value.getAsDouble());
+			}
+		}
+		this.readChannelValuesSince = nextReadChannelValuesSince;
+	}
+
+	/**
+	 * Gets the {@link Aggregation} of the values of a {@link Channel} with the
+	 * given {@link Unit}: cumulated values are aggregated by their maximum, all
+	 * others by their average.
+	 *
+	 * @param channelUnit the {@link Unit}
+	 * @return the {@link Aggregation}
+	 */
+	public static Aggregation getAggregation(Unit channelUnit) {
+		switch (channelUnit) {
+		case AMPERE:
+		case AMPERE_HOURS:
+		case DEGREE_CELSIUS:
+		case DEZIDEGREE_CELSIUS:
+		case HERTZ:
+		case HOUR:
+		case KILOAMPERE_HOURS:
+		case KILOOHM:
+		case KILOVOLT_AMPERE:
+		case KILOVOLT_AMPERE_REACTIVE:
+		case KILOWATT:
+		case MICROOHM:
+		case MILLIAMPERE_HOURS:
+		case MILLIAMPERE:
+		case MILLIHERTZ:
+		case MILLIOHM:
+		case MILLISECONDS:
+		case MILLIVOLT:
+		case MILLIWATT:
+		case MINUTE:
+		case NONE:
+		case WATT:
+		case VOLT:
+		case VOLT_AMPERE:
+		case VOLT_AMPERE_REACTIVE:
+		case WATT_HOURS_BY_WATT_PEAK:
+		case OHM:
+		case SECONDS:
+		case THOUSANDTH:
+		case PERCENT:
+		case ON_OFF:
+			return Aggregation.AVERAGE;
+		case CUMULATED_SECONDS:
+		case WATT_HOURS:
+		case KILOWATT_HOURS:
+		case VOLT_AMPERE_HOURS:
+		case VOLT_AMPERE_REACTIVE_HOURS:
+		case KILOVOLT_AMPERE_REACTIVE_HOURS:
+			return Aggregation.MAXIMUM;
+		}
+		throw new IllegalArgumentException("Channel Unit [" + channelUnit + "] is not supported.");
+	}
+
+}
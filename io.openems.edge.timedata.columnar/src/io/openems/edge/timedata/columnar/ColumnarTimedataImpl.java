@@ -0,0 +1,361 @@
+package io.openems.edge.timedata.columnar;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.osgi.service.component.ComponentContext;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventConstants;
+import org.osgi.service.event.EventHandler;
+import org.osgi.service.metatype.annotations.Designate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.OpenemsConstants;
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.channel.Aggregation;
+import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.ComponentManager;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.event.EdgeEventConstants;
+import io.openems.edge.timedata.api.Timedata;
+import io.openems.edge.timedata.api.utils.CollectChannelValues;
+import io.openems.edge.timedata.columnar.store.ColumnarStore;
+import io.openems.edge.timedata.columnar.store.Series;
+
+@Designate(ocd = Config.class, factory = true)
+@Component(name = "Timedata.Columnar", //
+		immediate = true, //
+		configurationPolicy = ConfigurationPolicy.REQUIRE, //
+		property = EventConstants.EVENT_TOPIC + "=" + EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE)
+public class ColumnarTimedataImpl extends AbstractOpenemsComponent
+		implements ColumnarTimedata, Timedata, OpenemsComponent, EventHandler {
+
+	private static final String COLUMNAR_PATH = "columnar";
+	private static final String RRD4J_PATH = "rrd4j";
+	private static final long SECONDS_PER_DAY = 24 * 60 * 60;
+
+	private final Logger log = LoggerFactory.getLogger(ColumnarTimedataImpl.class);
+
+	private final RecordWorker worker;
+
+	private ColumnarStore store = null;
+	private long consolidationSeconds = 0;
+	private ExecutorService migrationExecutor = null;
+
+	public ColumnarTimedataImpl() {
+		super(//
+				OpenemsComponent.ChannelId.values(), //
+				Timedata.ChannelId.values(), //
+				ColumnarTimedata.ChannelId.values() //
+		);
+		this.worker = new RecordWorker(this);
+	}
+
+	@Reference
+	protected ComponentManager componentManager;
+
+	@Activate
+	void activate(ComponentContext context, Config config) throws Exception {
+		super.activate(context, config.id(), config.alias(), config.enabled());
+
+		if (config.enabled()) {
+			Path path = Paths.get(OpenemsConstants.getOpenemsDataDir(), COLUMNAR_PATH, config.id());
+			this.store = ColumnarStore.open(path, new ColumnarStore.Options() //
+					.setPartitionSeconds(config.partitionMinutes() * 60L) //
+					.setRetentionSeconds(config.retentionDays() * SECONDS_PER_DAY) //
+					.setConsolidationSeconds(config.consolidationMinutes() * 60L) //
+					.setConsolidatedRetentionSeconds(config.consolidatedRetentionDays() * SECONDS_PER_DAY) //
+					.setAggregation(this::getAggregation));
+			this.logInfo(this.log, "Opened [" + path + "] with [" + this.store.getNumberOfRawFiles()
+					+ "] raw and [" + this.store.getNumberOfConsolidatedFiles() + "] consolidated files");
+			this.consolidationSeconds = config.consolidationMinutes() * 60L;
+
+			this.worker.setNoOfCycles(config.noOfCycles());
+			this.worker.activate(config.id());
+
+			if (!config.rrd4jMigrationId().trim().isEmpty()) {
+				Rrd4jMigrator migrator = new Rrd4jMigrator(this, this.store, Paths
+						.get(OpenemsConstants.getOpenemsDataDir(), RRD4J_PATH, config.rrd4jMigrationId().trim())
+						.toFile());
+				this.migrationExecutor = Executors.newSingleThreadExecutor();
+				this.migrationExecutor.execute(migrator::run);
+			}
+		}
+	}
+
+	@Deactivate
+	protected void deactivate() {
+		if (this.migrationExecutor != null) {
+			this.migrationExecutor.shutdownNow();
+		}
+		this.worker.deactivate();
+		if (this.store != null) {
+			try {
+				this.store.close();
+			} catch (IOException e) {
+				this.logWarn(this.log, "Unable to close file: " + e.getMessage());
+			}
+		}
+		super.deactivate();
+	}
+
+	protected ColumnarStore getStore() throws OpenemsException {
+		ColumnarStore store = this.store;
+		if (store == null) {
+			throw new OpenemsException("Timedata [" + this.id() + "] is not enabled");
+		}
+		return store;
+	}
+
+	@Override
+	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricData(String edgeId,
+			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, int resolution)
+			throws OpenemsNamedException {
+		ZoneId timezone = fromDate.getZone();
+		long fromTimestamp = fromDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
+		long toTimestamp = toDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
+		int periods = (int) ((toTimestamp - fromTimestamp) / resolution) + 1;
+
+		// Prepare one row per period
+		SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table = new TreeMap<>();
+		ZonedDateTime[] dateTimes = new ZonedDateTime[periods];
+		for (int i = 0; i < periods; i++) {
+			dateTimes[i] = toZonedDateTime(fromTimestamp + (long) i * resolution, timezone);
+			table.put(dateTimes[i], new TreeMap<>());
+		}
+
+		Map<ChannelAddress, Series> data = this.query(channels, fromTimestamp, toTimestamp,
+				resolution >= this.consolidationSeconds);
+		double[] values = new double[periods];
+		int[] counts = new int[periods];
+		for (Entry<ChannelAddress, Series> entry : data.entrySet()) {
+			boolean isCumulated = this.getAggregation(entry.getKey()) == Aggregation.MAXIMUM;
+			Series series = entry.getValue();
+			aggregate(series, fromTimestamp, resolution, isCumulated, values, counts);
+			for (int i = 0; i < periods; i++) {
+				JsonElement value;
+				if (counts[i] == 0) {
+					value = JsonNull.INSTANCE;
+				} else if (isCumulated) {
+					value = new JsonPrimitive(values[i]);
+				} else {
+					value = new JsonPrimitive(values[i] / counts[i]);
+				}
+				table.get(dateTimes[i]).put(entry.getKey(), value);
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * Aggregates the values of a {@link Series} per period.
+	 *
+	 * <p>
+	 * Consolidated values are stored at the start of their bucket, which may be
+	 * before the first period; such a value is counted to the first period. Values
+	 * after the last period are ignored.
+	 *
+	 * @param series        the {@link Series}
+	 * @param fromTimestamp the start of the first period in epoch seconds
+	 * @param resolution    the length of a period in seconds
+	 * @param isCumulated   aggregate the maximum instead of the sum
+	 * @param values        the aggregated values per period; filled by this method
+	 * @param counts        the number of values per period; filled by this method
+	 */
+	protected static void aggregate(Series series, long fromTimestamp, int resolution, boolean isCumulated,
+			double[] values, int[] counts) {
+		Arrays.fill(values, 0);
+		Arrays.fill(counts, 0);
+		for (int i = 0; i < series.size(); i++) {
+			int period = (int) Math.max(0, (series.getTimestamp(i) - fromTimestamp) / resolution);
+			if (period >= values.length) {
+				break;
+			}
+			double value = series.getValue(i);
+			if (isCumulated) {
+				// Maximum
+				values[period] = counts[period] == 0 ? value : Math.max(values[period], value);
+			} else {
+				// Average
+				values[period] += value;
+			}
+			counts[period]++;
+		}
+	}
+
+	@Override
+	public SortedMap<ChannelAddress, JsonElement> queryHistoricEnergy(String edgeId, ZonedDateTime fromDate,
+			ZonedDateTime toDate, Set<ChannelAddress> channels) throws OpenemsNamedException {
+		long fromTimestamp = fromDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
+		long toTimestamp = toDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
+
+		SortedMap<ChannelAddress, JsonElement> table = new TreeMap<>();
+		for (Entry<ChannelAddress, Series> entry : this.query(channels, fromTimestamp, toTimestamp, false)
+				.entrySet()) {
+			Series series = entry.getValue();
+			table.put(entry.getKey(), getEnergy(series, 0, series.size()));
+		}
+		return table;
+	}
+
+	@Override
+	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricEnergyPerPeriod(String edgeId,
+			ZonedDateTime fromDate, ZonedDateTime toDate, Set<ChannelAddress> channels, int resolution)
+			throws OpenemsNamedException {
+		ZoneId timezone = fromDate.getZone();
+		long fromTimestamp = fromDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
+		long toTimestamp = toDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
+
+		// Query all data at once and split it into periods
+		Map<ChannelAddress, Series> data = this.query(channels, fromTimestamp, toTimestamp, false);
+		int[] startIndexes = new int[data.size()];
+
+		SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table = new TreeMap<>();
+		for (long timestamp = fromTimestamp; timestamp + resolution <= toTimestamp; timestamp += resolution) {
+			long nextTimestamp = timestamp + resolution;
+			SortedMap<ChannelAddress, JsonElement> tableRow = new TreeMap<>();
+			int i = 0;
+			for (Entry<ChannelAddress, Series> entry : data.entrySet()) {
+				Series series = entry.getValue();
+				int start = startIndexes[i];
+				while (start < series.size() && series.getTimestamp(start) < timestamp) {
+					start++;
+				}
+				int end = start;
+				while (end < series.size() && series.getTimestamp(end) <= nextTimestamp) {
+					end++;
+				}
+				tableRow.put(entry.getKey(), getEnergy(series, start, end));
+				startIndexes[i++] = start;
+			}
+			table.put(toZonedDateTime(timestamp, timezone), tableRow);
+		}
+		return table;
+	}
+
+	@Override
+	public CompletableFuture<Optional<Object>> getLatestValue(ChannelAddress channelAddress) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				OptionalDouble value = this.getStore().getLatestValue(channelAddress);
+				if (value.isPresent()) {
+					return Optional.of(value.getAsDouble());
+				}
+			} catch (IOException | OpenemsException e) {
+				this.logWarn(this.log, "Unable to read latest value of [" + channelAddress + "]: " + e.getMessage());
+			}
+			return Optional.empty();
+		});
+	}
+
+	/**
+	 * Queries the raw values or - for coarse resolutions and time ranges that are
+	 * not covered by raw values anymore - the consolidated values.
+	 *
+	 * @param channels       the {@link ChannelAddress}es
+	 * @param fromTimestamp  the start timestamp in epoch seconds, inclusive
+	 * @param toTimestamp    the end timestamp in epoch seconds, inclusive
+	 * @param isCoarseEnough true if consolidated values are sufficient
+	 * @return a {@link Series} for every {@link ChannelAddress}
+	 * @throws OpenemsException on error
+	 */
+	private Map<ChannelAddress, Series> query(Set<ChannelAddress> channels, long fromTimestamp, long toTimestamp,
+			boolean isCoarseEnough) throws OpenemsException {
+		try {
+			ColumnarStore store = this.getStore();
+			if (isCoarseEnough || fromTimestamp < store.getRawFromTimestamp()) {
+				return store.queryConsolidated(channels, fromTimestamp, toTimestamp);
+			}
+			return store.query(channels, fromTimestamp, toTimestamp);
+		} catch (IOException e) {
+			throw new OpenemsException("Unable to read historic data: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Calculates the difference between the last and the first value.
+	 *
+	 * @param series the {@link Series}
+	 * @param start  the first index, inclusive
+	 * @param end    the last index, exclusive
+	 * @return the difference; {@link JsonNull} if there are no values
+	 */
+	private static JsonElement getEnergy(Series series, int start, int end) {
+		if (start >= end) {
+			return JsonNull.INSTANCE;
+		}
+		return new JsonPrimitive(series.getValue(end - 1) - series.getValue(start));
+	}
+
+	private static ZonedDateTime toZonedDateTime(long timestamp, ZoneId timezone) {
+		return ZonedDateTime.ofInstant(Instant.ofEpochSecond(timestamp), ZoneOffset.UTC)
+				.withZoneSameInstant(timezone);
+	}
+
+	/**
+	 * Gets the {@link Aggregation} of the values of a Channel.
+	 *
+	 * @param address the {@link ChannelAddress}
+	 * @return the {@link Aggregation}; {@link Aggregation#AVERAGE} if the Channel
+	 *         is not available
+	 */
+	private Aggregation getAggregation(ChannelAddress address) {
+		try {
+			return CollectChannelValues
+					.getAggregation(this.componentManager.getChannel(address).channelDoc().getUnit());
+		} catch (IllegalArgumentException | OpenemsNamedException e) {
+			return Aggregation.AVERAGE;
+		}
+	}
+
+	@Override
+	protected void logInfo(Logger log, String message) {
+		super.logInfo(log, message);
+	}
+
+	@Override
+	protected void logWarn(Logger log, String message) {
+		super.logWarn(log, message);
+	}
+
+	@Override
+	public void handleEvent(Event event) {
+		if (!this.isEnabled()) {
+			return;
+		}
+		switch (event.getTopic()) {
+		case EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE:
+			this.worker.collectData();
+			break;
+		}
+	}
+
+}
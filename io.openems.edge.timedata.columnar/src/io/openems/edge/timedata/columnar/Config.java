@@ -0,0 +1,39 @@
+package io.openems.edge.timedata.columnar;
+
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+@ObjectClassDefinition(//
+		name = "Timedata Columnar", //
+		description = "This component persists data of all Channels to one single, column-oriented file.")
+@interface Config {
+
+	@AttributeDefinition(name = "Component-ID", description = "Unique ID of this Component")
+	String id() default "columnar0";
+
+	@AttributeDefinition(name = "Alias", description = "Human-readable name of this Component; defaults to Component-ID")
+	String alias() default "";
+
+	@AttributeDefinition(name = "Is enabled?", description = "Is this Component enabled?")
+	boolean enabled() default true;
+
+	@AttributeDefinition(name = "No. of Cycles", description = "How many Cycles till data is recorded.")
+	int noOfCycles() default RecordWorker.DEFAULT_NO_OF_CYCLES;
+
+	@AttributeDefinition(name = "Partition length [min]", description = "Recorded values are collected in memory and written to the file once per partition. On a power failure the values of the current partition are lost.")
+	int partitionMinutes() default 15;
+
+	@AttributeDefinition(name = "Retention [days]", description = "Raw values are stored in one file per day. Files older than this are deleted once they are consolidated.")
+	int retentionDays() default 30;
+
+	@AttributeDefinition(name = "Consolidation period [min]", description = "Length of a period of the consolidated values that are used for long-range queries. Has to divide one day.")
+	int consolidationMinutes() default 15;
+
+	@AttributeDefinition(name = "Consolidated retention [days]", description = "Consolidated values older than this are deleted; zero to keep them forever.")
+	int consolidatedRetentionDays() default 0;
+
+	@AttributeDefinition(name = "Migrate from RRD4J", description = "Component-ID of a RRD4J Timedata, whose data should be migrated once; empty to disable.")
+	String rrd4jMigrationId() default "";
+
+	String webconsole_configurationFactory_nameHint() default "Timedata Columnar [{id}]";
+}
@@ -0,0 +1,80 @@
+package io.openems.edge.timedata.columnar;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.worker.AbstractImmediateWorker;
+import io.openems.edge.timedata.api.utils.CollectChannelValues;
+
+public class RecordWorker extends AbstractImmediateWorker {
+
+	protected static final int DEFAULT_NO_OF_CYCLES = CollectChannelValues.DEFAULT_NO_OF_CYCLES;
+	private static final int MAX_QUEUED_RECORDS = 100;
+
+	private final Logger log = LoggerFactory.getLogger(RecordWorker.class);
+	private final ColumnarTimedataImpl parent;
+	private final CollectChannelValues collector = new CollectChannelValues();
+
+	private static class Record {
+		private final long timestamp;
+		private final Map<ChannelAddress, Double> values = new LinkedHashMap<>();
+
+		public Record(long timestamp) {
+			this.timestamp = timestamp;
+		}
+	}
+
+	// Record queue
+	private LinkedBlockingQueue<Record> records = new LinkedBlockingQueue<>(MAX_QUEUED_RECORDS);
+
+	public RecordWorker(ColumnarTimedataImpl parent) {
+		this.parent = parent;
+	}
+
+	/**
+	 * Collects the data from Channels. This is called synchronously by the main
+	 * OpenEMS cycle. On finish it triggers a next async task to write the data to
+	 * the file.
+	 */
+	public void collectData() {
+		Instant timestamp = this.collector.nextTimestamp();
+		if (timestamp == null) {
+			return;
+		}
+		Record record = new Record(timestamp.getEpochSecond());
+		this.collector.collect(this.parent.componentManager,
+				(channel, value) -> record.values.put(channel.address(), value));
+		if (this.records.offer(record)) {
+			this.parent._setQueueIsFull(false);
+		} else {
+			this.parent.logWarn(this.log, "Unable to add record [" + timestamp + "]. Queue is full!");
+			this.parent._setQueueIsFull(true);
+		}
+		this.triggerNextRun();
+	}
+
+	@Override
+	protected void forever() throws InterruptedException {
+		Record record = this.records.take();
+		try {
+			this.parent.getStore().append(record.timestamp, record.values);
+			this.parent._setUnableToInsertSample(false);
+
+		} catch (Throwable e) {
+			this.parent._setUnableToInsertSample(true);
+			this.parent.logWarn(this.log, "Unable to insert Sample [" + record.timestamp + "] "
+					+ e.getClass().getSimpleName() + ": " + e.getMessage());
+		}
+	}
+
+	public void setNoOfCycles(int noOfCycles) {
+		this.collector.setNoOfCycles(noOfCycles);
+	}
+
+}
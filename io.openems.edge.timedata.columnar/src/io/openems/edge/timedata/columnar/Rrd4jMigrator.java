@@ -0,0 +1,198 @@
+package io.openems.edge.timedata.columnar;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.rrd4j.core.Archive;
+import org.rrd4j.core.RrdDb;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.timedata.columnar.store.ColumnarStore;
+import io.openems.edge.timedata.columnar.store.Series;
+
+/**
+ * Migrates the data of a RRD4J Timedata component, i.e. one RRD4J file per
+ * Channel, to a {@link ColumnarStore}.
+ *
+ * <p>
+ * RRD4J keeps archives of different resolutions. For every point in time the
+ * finest available resolution is migrated. The migration runs once; this is
+ * persisted with a marker in the {@link ColumnarStore}.
+ *
+ * <p>
+ * Channels are migrated in batches, so that the values of one day are stored
+ * together for all Channels of a batch. Every migrated Channel is marked as
+ * well, so that an interrupted migration continues with the remaining Channels
+ * instead of appending the data of the already migrated ones again.
+ */
+public class Rrd4jMigrator {
+
+	/**
+	 * The number of Channels that are written together, i.e. as one Partition per
+	 * day.
+	 */
+	private static final int BATCH_SIZE = 256;
+
+	private final Logger log = LoggerFactory.getLogger(Rrd4jMigrator.class);
+
+	private final ColumnarTimedataImpl parent;
+	private final ColumnarStore store;
+	private final File rrd4jDirectory;
+	private final String marker;
+
+	public Rrd4jMigrator(ColumnarTimedataImpl parent, ColumnarStore store, File rrd4jDirectory) {
+		this.parent = parent;
+		this.store = store;
+		this.rrd4jDirectory = rrd4jDirectory;
+		this.marker = "rrd4j:" + rrd4jDirectory.getName();
+	}
+
+	/**
+	 * Runs the migration if it was not done before.
+	 */
+	public void run() {
+		if (this.store.hasMarker(this.marker)) {
+			return;
+		}
+		File[] componentDirectories = this.rrd4jDirectory.listFiles(File::isDirectory);
+		if (componentDirectories == null) {
+			this.parent.logWarn(this.log, "Unable to migrate RRD4J data: [" + this.rrd4jDirectory + "] does not exist");
+			return;
+		}
+		this.parent.logInfo(this.log, "Start migration of RRD4J data from [" + this.rrd4jDirectory + "]");
+		int channels = 0;
+		int failed = 0;
+		long values = 0;
+		Map<ChannelAddress, Series> batch = new HashMap<>();
+		for (File componentDirectory : componentDirectories) {
+			File[] files = componentDirectory.listFiles(File::isFile);
+			if (files == null) {
+				continue;
+			}
+			for (File file : files) {
+				if (Thread.currentThread().isInterrupted()) {
+					this.parent.logInfo(this.log, "Migration of RRD4J data was interrupted");
+					return;
+				}
+				ChannelAddress address = new ChannelAddress(componentDirectory.getName(), file.getName());
+				if (this.store.hasMarker(this.getChannelMarker(address))) {
+					// already migrated by an interrupted run
+					continue;
+				}
+				try {
+					Series series = read(file);
+					batch.put(address, series);
+					values += series.size();
+				} catch (IOException | RuntimeException e) {
+					failed++;
+					this.parent.logWarn(this.log, "Unable to migrate RRD4J data of [" + address + "]: "
+							+ e.getClass().getSimpleName() + ": " + e.getMessage());
+				}
+				if (batch.size() >= BATCH_SIZE) {
+					channels += this.write(batch);
+				}
+			}
+		}
+		channels += this.write(batch);
+		try {
+			this.store.addMarker(this.marker);
+		} catch (IOException e) {
+			this.parent.logWarn(this.log, "Unable to finish migration of RRD4J data: " + e.getMessage());
+		}
+		this.parent.logInfo(this.log, "Finished migration of RRD4J data. Channels [" + channels + "] Values ["
+				+ values + "] Failed [" + failed + "]");
+	}
+
+	/**
+	 * Writes a batch of Channels to the {@link ColumnarStore} and marks them as
+	 * migrated.
+	 *
+	 * @param batch the {@link Series} per {@link ChannelAddress}; cleared afterwards
+	 * @return the number of migrated Channels
+	 */
+	private int write(Map<ChannelAddress, Series> batch) {
+		int result = 0;
+		try {
+			this.store.appendSeries(batch);
+			for (ChannelAddress address : batch.keySet()) {
+				this.store.addMarker(this.getChannelMarker(address));
+				result++;
+			}
+		} catch (IOException e) {
+			this.parent.logWarn(this.log,
+					"Unable to migrate RRD4J data of [" + batch.size() + "] Channels: " + e.getMessage());
+		}
+		batch.clear();
+		return result;
+	}
+
+	private String getChannelMarker(ChannelAddress address) {
+		return this.marker + ":" + address;
+	}
+
+	/**
+	 * Reads one RRD4J file.
+	 *
+	 * @param file the RRD4J file
+	 * @return the {@link Series} with the finest available resolution for every
+	 *         point in time
+	 * @throws IOException on error
+	 */
+	protected static Series read(File file) throws IOException {
+		RrdDb database = RrdDb.getBuilder() //
+				.setPath(file.toURI()) //
+				.readOnly() //
+				.build();
+		try {
+			// finest resolution first
+			List<Archive> archives = new ArrayList<>();
+			for (int i = 0; i < database.getArcCount(); i++) {
+				archives.add(database.getArchive(i));
+			}
+			archives.sort(Comparator.comparingLong(Rrd4jMigrator::getArcStep));
+
+			// Coarser archives only fill the time before the first value of the finer
+			// ones.
+			Series.Builder result = new Series.Builder();
+			long coveredFrom = Long.MAX_VALUE;
+			for (Archive archive : archives) {
+				long step = archive.getArcStep();
+				long startTime = archive.getStartTime();
+				double[] robin = archive.getRobin(0).getValues();
+				long first = Long.MAX_VALUE;
+				for (int i = 0; i < robin.length; i++) {
+					long timestamp = startTime + i * step;
+					if (timestamp >= coveredFrom) {
+						break;
+					}
+					if (Double.isNaN(robin[i])) {
+						continue;
+					}
+					result.add(timestamp, robin[i]);
+					first = Math.min(first, timestamp);
+				}
+				coveredFrom = Math.min(coveredFrom, first);
+			}
+			return result.build();
+
+		} finally {
+			database.close();
+		}
+	}
+
+	private static long getArcStep(Archive archive) {
+		try {
+			return archive.getArcStep();
+		} catch (IOException e) {
+			return Long.MAX_VALUE;
+		}
+	}
+
+}
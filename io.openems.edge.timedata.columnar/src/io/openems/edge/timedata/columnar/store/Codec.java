@@ -0,0 +1,215 @@
+package io.openems.edge.timedata.columnar.store;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Compresses the columns of a {@link Partition}.
+ *
+ * <p>
+ * Timestamps are stored as zig-zag encoded variable length delta-of-deltas;
+ * with a fixed recording interval every timestamp after the second one takes a
+ * single byte.
+ *
+ * <p>
+ * Values are stored with the XOR scheme known from Facebook's Gorilla paper:
+ * every value is XOR-ed with its predecessor and only the meaningful bits of
+ * the result are written. Unchanged values take a single bit.
+ */
+public final class Codec {
+
+	private Codec() {
+	}
+
+	/**
+	 * Encodes timestamps.
+	 *
+	 * @param timestamps the timestamps
+	 * @param length     the number of timestamps to encode
+	 * @return the encoded bytes
+	 */
+	public static byte[] encodeTimestamps(long[] timestamps, int length) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(length + 16);
+		long previous = 0;
+		long previousDelta = 0;
+		for (int i = 0; i < length; i++) {
+			long delta = timestamps[i] - previous;
+			writeVarLong(out, zigZag(delta - previousDelta));
+			previous = timestamps[i];
+			// the first timestamp is absolute; no delta-of-delta for the second one
+			previousDelta = i == 0 ? 0 : delta;
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Decodes timestamps.
+	 *
+	 * @param buffer the {@link ByteBuffer}, positioned at the start of the
+	 *               encoded timestamps
+	 * @param length the number of timestamps
+	 * @return the timestamps
+	 */
+	public static long[] decodeTimestamps(ByteBuffer buffer, int length) {
+		long[] result = new long[length];
+		long previous = 0;
+		long previousDelta = 0;
+		for (int i = 0; i < length; i++) {
+			long delta = previousDelta + unZigZag(readVarLong(buffer));
+			previous += delta;
+			result[i] = previous;
+			previousDelta = i == 0 ? 0 : delta;
+		}
+		return result;
+	}
+
+	/**
+	 * Encodes values. Missing values are expected as {@link Double#NaN}.
+	 *
+	 * @param values the values
+	 * @param length the number of values to encode
+	 * @return the encoded bytes
+	 */
+	public static byte[] encodeValues(double[] values, int length) {
+		BitWriter out = new BitWriter(length);
+		long previous = 0;
+		int previousLeading = -1;
+		int previousTrailing = 0;
+		for (int i = 0; i < length; i++) {
+			long bits = Double.doubleToLongBits(values[i]);
+			long xor = bits ^ previous;
+			previous = bits;
+			if (xor == 0) {
+				out.write(0, 1);
+				continue;
+			}
+			out.write(1, 1);
+			int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+			int trailing = Long.numberOfTrailingZeros(xor);
+			if (previousLeading != -1 && leading >= previousLeading && trailing >= previousTrailing) {
+				// fits into the previous window
+				out.write(0, 1);
+				out.write(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+			} else {
+				int significant = 64 - leading - trailing;
+				out.write(1, 1);
+				out.write(leading, 5);
+				out.write(significant - 1, 6);
+				out.write(xor >>> trailing, significant);
+				previousLeading = leading;
+				previousTrailing = trailing;
+			}
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Decodes values.
+	 *
+	 * @param buffer the {@link ByteBuffer}, positioned at the start of the
+	 *               encoded values
+	 * @param length the number of values
+	 * @return the values; {@link Double#NaN} for missing values
+	 */
+	public static double[] decodeValues(ByteBuffer buffer, int length) {
+		double[] result = new double[length];
+		BitReader in = new BitReader(buffer);
+		long previous = 0;
+		int leading = 0;
+		int trailing = 0;
+		for (int i = 0; i < length; i++) {
+			if (in.read(1) != 0) {
+				if (in.read(1) != 0) {
+					leading = (int) in.read(5);
+					int significant = (int) in.read(6) + 1;
+					trailing = 64 - leading - significant;
+				}
+				long xor = in.read(64 - leading - trailing) << trailing;
+				previous ^= xor;
+			}
+			result[i] = Double.longBitsToDouble(previous);
+		}
+		return result;
+	}
+
+	private static long zigZag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	private static long unZigZag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private static void writeVarLong(ByteArrayOutputStream out, long value) {
+		while ((value & ~0x7FL) != 0) {
+			out.write((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		out.write((int) value);
+	}
+
+	private static long readVarLong(ByteBuffer buffer) {
+		long result = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = buffer.get();
+			result |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return result;
+			}
+		}
+		throw new IllegalArgumentException("Malformed variable length number");
+	}
+
+	private static class BitWriter {
+
+		private byte[] bytes;
+		private int bitPosition = 0;
+
+		protected BitWriter(int expectedValues) {
+			this.bytes = new byte[Math.max(16, expectedValues * 2)];
+		}
+
+		protected void write(long value, int numberOfBits) {
+			for (int i = numberOfBits - 1; i >= 0; i--) {
+				int index = this.bitPosition >>> 3;
+				if (index == this.bytes.length) {
+					this.bytes = Arrays.copyOf(this.bytes, this.bytes.length * 2);
+				}
+				if (((value >>> i) & 1) != 0) {
+					this.bytes[index] |= 0x80 >>> (this.bitPosition & 7);
+				}
+				this.bitPosition++;
+			}
+		}
+
+		protected byte[] toByteArray() {
+			return Arrays.copyOf(this.bytes, (this.bitPosition + 7) >>> 3);
+		}
+	}
+
+	private static class BitReader {
+
+		private final ByteBuffer buffer;
+		private int current = 0;
+		private int remainingBits = 0;
+
+		protected BitReader(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		protected long read(int numberOfBits) {
+			long result = 0;
+			for (int i = 0; i < numberOfBits; i++) {
+				if (this.remainingBits == 0) {
+					this.current = this.buffer.get() & 0xFF;
+					this.remainingBits = 8;
+				}
+				this.remainingBits--;
+				result = (result << 1) | ((this.current >>> this.remainingBits) & 1);
+			}
+			return result;
+		}
+	}
+
+}
@@ -0,0 +1,826 @@
+package io.openems.edge.timedata.columnar.store;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.channel.Aggregation;
+
+/**
+ * Stores the recorded values of all Channels in append-only files.
+ *
+ * <p>
+ * Recorded values are collected in memory and written as one {@link Partition}
+ * when the time partition is complete, so that files are only written
+ * sequentially. Values of the current time partition are lost on a power
+ * failure; the length of a time partition is therefore the maximum loss window.
+ *
+ * <p>
+ * Files are rolled over by time:
+ *
+ * <ul>
+ * <li>The raw values are stored in one file per rollover period (default: one
+ * day). When a new file is started, all completed files are consolidated, and
+ * files that are older than the retention period are deleted.
+ * <li>Consolidated values - one aggregated value per Channel and consolidation
+ * period (default: 15 minutes) - are stored in one file per consolidated
+ * rollover period (default: 30 days) and are kept for the consolidated
+ * retention period (default: forever).
+ * </ul>
+ *
+ * <p>
+ * Long-range queries use {@link #queryConsolidated(Collection, long, long)}, so
+ * that they do not need to decode the raw values.
+ */
+public class ColumnarStore implements AutoCloseable {
+
+	/**
+	 * Options of a {@link ColumnarStore}.
+	 */
+	public static class Options {
+
+		private long partitionSeconds = 15 * 60;
+		private long rolloverSeconds = 24 * 60 * 60;
+		private long retentionSeconds = 30 * 24 * 60 * 60;
+		private long consolidationSeconds = 15 * 60;
+		private long consolidatedRolloverSeconds = 30 * 24 * 60 * 60;
+		private long consolidatedRetentionSeconds = 0;
+		private Function<ChannelAddress, Aggregation> aggregation = address -> Aggregation.AVERAGE;
+		private Clock clock = Clock.systemUTC();
+
+		/**
+		 * Sets the length of a time partition; values are written once per partition.
+		 *
+		 * @param seconds the length in seconds
+		 * @return myself
+		 */
+		public Options setPartitionSeconds(long seconds) {
+			this.partitionSeconds = seconds;
+			return this;
+		}
+
+		/**
+		 * Sets the time range of one raw file; a multiple of the partition and the
+		 * consolidation length.
+		 *
+		 * @param seconds the time range in seconds
+		 * @return myself
+		 */
+		public Options setRolloverSeconds(long seconds) {
+			this.rolloverSeconds = seconds;
+			return this;
+		}
+
+		/**
+		 * Sets how long raw files are kept.
+		 *
+		 * @param seconds the retention in seconds
+		 * @return myself
+		 */
+		public Options setRetentionSeconds(long seconds) {
+			this.retentionSeconds = seconds;
+			return this;
+		}
+
+		/**
+		 * Sets the length of a consolidation period.
+		 *
+		 * @param seconds the length in seconds
+		 * @return myself
+		 */
+		public Options setConsolidationSeconds(long seconds) {
+			this.consolidationSeconds = seconds;
+			return this;
+		}
+
+		/**
+		 * Sets the time range of one consolidated file; a multiple of the consolidation
+		 * length.
+		 *
+		 * @param seconds the time range in seconds
+		 * @return myself
+		 */
+		public Options setConsolidatedRolloverSeconds(long seconds) {
+			this.consolidatedRolloverSeconds = seconds;
+			return this;
+		}
+
+		/**
+		 * Sets how long consolidated files are kept.
+		 *
+		 * @param seconds the retention in seconds; zero to keep them forever
+		 * @return myself
+		 */
+		public Options setConsolidatedRetentionSeconds(long seconds) {
+			this.consolidatedRetentionSeconds = seconds;
+			return this;
+		}
+
+		/**
+		 * Sets the {@link Aggregation} of values of a Channel for consolidation.
+		 *
+		 * @param aggregation the {@link Aggregation} per {@link ChannelAddress}
+		 * @return myself
+		 */
+		public Options setAggregation(Function<ChannelAddress, Aggregation> aggregation) {
+			this.aggregation = aggregation;
+			return this;
+		}
+
+		/**
+		 * Sets the {@link Clock} that defines the age of files.
+		 *
+		 * @param clock the {@link Clock}
+		 * @return myself
+		 */
+		public Options setClock(Clock clock) {
+			this.clock = clock;
+			return this;
+		}
+
+		private void validate() {
+			if (this.partitionSeconds <= 0 || this.consolidationSeconds <= 0
+					|| this.rolloverSeconds % this.partitionSeconds != 0
+					|| this.rolloverSeconds % this.consolidationSeconds != 0
+					|| this.consolidatedRolloverSeconds % this.consolidationSeconds != 0
+					|| this.consolidatedRolloverSeconds <= 0 || this.retentionSeconds < 0
+					|| this.consolidatedRetentionSeconds < 0) {
+				throw new IllegalArgumentException("Rollover periods must be multiples of the partition ["
+						+ this.partitionSeconds + "s] and consolidation [" + this.consolidationSeconds
+						+ "s] periods");
+			}
+		}
+	}
+
+	/**
+	 * Number of Channels that are consolidated at once.
+	 */
+	private static final int CONSOLIDATION_BATCH_SIZE = 256;
+
+	private static final String META_FILE = "meta.dat";
+	private static final String RAW_PREFIX = "raw";
+	private static final String CONSOLIDATED_PREFIX = "consolidated";
+	private static final String CONSOLIDATED_MARKER = "consolidated:";
+
+	private final Options options;
+	private final Segment meta;
+	private final Tier raw;
+	private final Tier consolidated;
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final OpenPartition openPartition = new OpenPartition();
+
+	/**
+	 * Opens or creates a {@link ColumnarStore}.
+	 *
+	 * @param directory the directory of the files
+	 * @param options   the {@link Options}
+	 * @return the {@link ColumnarStore}
+	 * @throws IOException on error
+	 */
+	public static ColumnarStore open(Path directory, Options options) throws IOException {
+		options.validate();
+		Files.createDirectories(directory);
+		Segment meta = Segment.open(directory.resolve(META_FILE));
+		Tier raw = null;
+		Tier consolidated = null;
+		try {
+			raw = Tier.open(directory, RAW_PREFIX, options.rolloverSeconds);
+			consolidated = Tier.open(directory, CONSOLIDATED_PREFIX, options.consolidatedRolloverSeconds);
+			ColumnarStore result = new ColumnarStore(options, meta, raw, consolidated);
+			result.rollover();
+			return result;
+		} catch (IOException e) {
+			if (consolidated != null) {
+				consolidated.close();
+			}
+			if (raw != null) {
+				raw.close();
+			}
+			meta.close();
+			throw e;
+		}
+	}
+
+	private ColumnarStore(Options options, Segment meta, Tier raw, Tier consolidated) {
+		this.options = options;
+		this.meta = meta;
+		this.raw = raw;
+		this.consolidated = consolidated;
+	}
+
+	/**
+	 * Appends the values of one timestamp.
+	 *
+	 * <p>
+	 * Timestamps have to be ascending; a timestamp that is not after the last
+	 * appended one is ignored.
+	 *
+	 * @param timestamp the timestamp in epoch seconds
+	 * @param values    the values per {@link ChannelAddress}
+	 * @return false if the timestamp was ignored
+	 * @throws IOException on error
+	 */
+	public boolean append(long timestamp, Map<ChannelAddress, Double> values) throws IOException {
+		this.lock.writeLock().lock();
+		try {
+			OpenPartition open = this.openPartition;
+			if (open.rows > 0) {
+				if (timestamp <= open.timestamps[open.rows - 1]) {
+					return false;
+				}
+				if (Math.floorDiv(timestamp, this.options.partitionSeconds) != Math
+						.floorDiv(open.timestamps[0], this.options.partitionSeconds)) {
+					this.flushOpenPartition();
+				}
+			}
+			int row = open.addRow(timestamp);
+			for (Entry<ChannelAddress, Double> entry : values.entrySet()) {
+				open.set(entry.getKey(), row, entry.getValue());
+			}
+			return true;
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Writes the values of multiple Channels directly, e.g. for migrating historic
+	 * data.
+	 *
+	 * <p>
+	 * The values of all Channels within one rollover period are written together,
+	 * i.e. as one Partition with one column per Channel. Values within the
+	 * retention period are written to the raw files; older values only to the
+	 * consolidated files.
+	 *
+	 * @param series the {@link Series} per {@link ChannelAddress}
+	 * @throws IOException on error
+	 */
+	public void appendSeries(Map<ChannelAddress, Series> series) throws IOException {
+		List<ChannelAddress> addresses = new ArrayList<>(series.keySet());
+		Series[] list = new Series[addresses.size()];
+		for (int i = 0; i < list.length; i++) {
+			list[i] = series.get(addresses.get(i));
+		}
+		// the index of the next value per Series
+		int[] indexes = new int[list.length];
+		this.lock.writeLock().lock();
+		try {
+			long retainedFrom = this.getRetainedFrom();
+			while (true) {
+				// the next rollover period with values
+				long first = Long.MAX_VALUE;
+				int count = 0;
+				for (int i = 0; i < list.length; i++) {
+					if (indexes[i] < list[i].size()) {
+						first = Math.min(first, list[i].getTimestamp(indexes[i]));
+						count += list[i].size() - indexes[i];
+					}
+				}
+				if (first == Long.MAX_VALUE) {
+					break;
+				}
+				long start = this.raw.getSegmentStart(first);
+				long end = start + this.options.rolloverSeconds;
+
+				// the distinct timestamps of all Series within this period
+				long[] timestamps = new long[count];
+				int rows = 0;
+				for (int i = 0; i < list.length; i++) {
+					for (int j = indexes[i]; j < list[i].size() && list[i].getTimestamp(j) < end; j++) {
+						timestamps[rows++] = list[i].getTimestamp(j);
+					}
+				}
+				Arrays.sort(timestamps, 0, rows);
+				int distinct = 0;
+				for (int row = 0; row < rows; row++) {
+					if (distinct == 0 || timestamps[distinct - 1] != timestamps[row]) {
+						timestamps[distinct++] = timestamps[row];
+					}
+				}
+				rows = distinct;
+
+				// one column per Series with values within this period
+				Map<ChannelAddress, double[]> columns = new HashMap<>();
+				for (int i = 0; i < list.length; i++) {
+					int j = indexes[i];
+					if (j >= list[i].size() || list[i].getTimestamp(j) >= end) {
+						continue;
+					}
+					double[] column = new double[rows];
+					Arrays.fill(column, Double.NaN);
+					for (; j < list[i].size() && list[i].getTimestamp(j) < end; j++) {
+						column[Arrays.binarySearch(timestamps, 0, rows, list[i].getTimestamp(j))] = list[i]
+								.getValue(j);
+					}
+					indexes[i] = j;
+					columns.put(addresses.get(i), column);
+				}
+
+				if (end <= retainedFrom) {
+					this.writeConsolidated(timestamps, 0, rows, columns);
+				} else {
+					this.writeRaw(start, timestamps, 0, rows, columns);
+				}
+			}
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Writes the currently collected values to the file.
+	 *
+	 * @throws IOException on error
+	 */
+	public void flush() throws IOException {
+		this.lock.writeLock().lock();
+		try {
+			this.flushOpenPartition();
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Queries the raw values of multiple Channels.
+	 *
+	 * @param addresses     the {@link ChannelAddress}es
+	 * @param fromTimestamp the start timestamp in epoch seconds, inclusive
+	 * @param toTimestamp   the end timestamp in epoch seconds, inclusive
+	 * @return a {@link Series} for every {@link ChannelAddress}
+	 * @throws IOException on error
+	 * @see #getRawFromTimestamp()
+	 */
+	public Map<ChannelAddress, Series> query(Collection<ChannelAddress> addresses, long fromTimestamp,
+			long toTimestamp) throws IOException {
+		List<ChannelAddress> list = new ArrayList<>(addresses);
+		Series.Builder[] builders = newBuilders(list.size());
+		this.lock.readLock().lock();
+		try {
+			this.raw.query(list, fromTimestamp, toTimestamp, builders);
+			this.openPartition.query(list, fromTimestamp, toTimestamp, builders);
+		} finally {
+			this.lock.readLock().unlock();
+		}
+		return toResult(list, builders);
+	}
+
+	/**
+	 * Queries the consolidated values of multiple Channels, i.e. one value per
+	 * consolidation period with the timestamp of the start of the period.
+	 *
+	 * <p>
+	 * Values that are not yet consolidated are consolidated on the fly.
+	 *
+	 * @param addresses     the {@link ChannelAddress}es
+	 * @param fromTimestamp the start timestamp in epoch seconds, inclusive
+	 * @param toTimestamp   the end timestamp in epoch seconds, inclusive
+	 * @return a {@link Series} for every {@link ChannelAddress}
+	 * @throws IOException on error
+	 */
+	public Map<ChannelAddress, Series> queryConsolidated(Collection<ChannelAddress> addresses, long fromTimestamp,
+			long toTimestamp) throws IOException {
+		List<ChannelAddress> list = new ArrayList<>(addresses);
+		Series.Builder[] builders = newBuilders(list.size());
+		Series.Builder[] rawBuilders = newBuilders(list.size());
+		long seconds = this.options.consolidationSeconds;
+		// whole consolidation periods
+		long from = Math.floorDiv(fromTimestamp, seconds) * seconds;
+		this.lock.readLock().lock();
+		try {
+			this.consolidated.query(list, from, toTimestamp, builders);
+			for (Entry<Long, Segment> entry : this.raw.getSegments().entrySet()) {
+				if (!this.isConsolidated(entry.getKey())) {
+					entry.getValue().query(list, from, toTimestamp, rawBuilders);
+				}
+			}
+			this.openPartition.query(list, from, toTimestamp, rawBuilders);
+		} finally {
+			this.lock.readLock().unlock();
+		}
+		for (int i = 0; i < list.size(); i++) {
+			Series series = rawBuilders[i].build()
+					.consolidate(seconds, this.options.aggregation.apply(list.get(i)));
+			for (int j = 0; j < series.size(); j++) {
+				if (series.getTimestamp(j) <= toTimestamp) {
+					builders[i].add(series.getTimestamp(j), series.getValue(j));
+				}
+			}
+		}
+		return toResult(list, builders);
+	}
+
+	/**
+	 * Gets the first timestamp that is covered by raw values.
+	 *
+	 * @return the timestamp in epoch seconds; {@link Long#MAX_VALUE} if there are
+	 *         no raw values
+	 */
+	public long getRawFromTimestamp() {
+		this.lock.readLock().lock();
+		try {
+			if (!this.raw.getSegments().isEmpty()) {
+				return this.raw.getSegments().firstKey();
+			}
+			if (this.openPartition.rows > 0) {
+				return this.openPartition.timestamps[0];
+			}
+			return Long.MAX_VALUE;
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Gets the latest recorded value of a Channel.
+	 *
+	 * @param address the {@link ChannelAddress}
+	 * @return the value; empty if there is none
+	 * @throws IOException on error
+	 */
+	public OptionalDouble getLatestValue(ChannelAddress address) throws IOException {
+		this.lock.readLock().lock();
+		try {
+			OptionalDouble result = this.openPartition.getLatestValue(address);
+			if (!result.isPresent()) {
+				result = this.raw.getLatestValue(address);
+			}
+			if (!result.isPresent()) {
+				result = this.consolidated.getLatestValue(address);
+			}
+			return result;
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Is the given marker set? Markers persist one-time events, like a finished
+	 * migration.
+	 *
+	 * @param marker the marker
+	 * @return true if it is set
+	 */
+	public boolean hasMarker(String marker) {
+		this.lock.readLock().lock();
+		try {
+			return this.meta.hasMarker(marker);
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Sets a marker.
+	 *
+	 * @param marker the marker
+	 * @throws IOException on error
+	 */
+	public void addMarker(String marker) throws IOException {
+		this.lock.writeLock().lock();
+		try {
+			this.meta.addMarker(marker);
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Gets the number of raw files.
+	 *
+	 * @return the number of files
+	 */
+	public int getNumberOfRawFiles() {
+		this.lock.readLock().lock();
+		try {
+			return this.raw.getSegments().size();
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Gets the number of consolidated files.
+	 *
+	 * @return the number of files
+	 */
+	public int getNumberOfConsolidatedFiles() {
+		this.lock.readLock().lock();
+		try {
+			return this.consolidated.getSegments().size();
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Gets the number of stored raw Partitions.
+	 *
+	 * @return the number of Partitions
+	 */
+	public int getNumberOfPartitions() {
+		this.lock.readLock().lock();
+		try {
+			return this.raw.getNumberOfPartitions();
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Gets the total size of all files.
+	 *
+	 * @return the size in bytes
+	 */
+	public long getSize() {
+		this.lock.readLock().lock();
+		try {
+			return this.meta.getSize() + this.raw.getSize() + this.consolidated.getSize();
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.lock.writeLock().lock();
+		try {
+			this.flushOpenPartition();
+		} finally {
+			try {
+				try {
+					this.raw.close();
+				} finally {
+					try {
+						this.consolidated.close();
+					} finally {
+						this.meta.close();
+					}
+				}
+			} finally {
+				this.lock.writeLock().unlock();
+			}
+		}
+	}
+
+	/*
+	 * Writing
+	 */
+
+	private void flushOpenPartition() throws IOException {
+		OpenPartition open = this.openPartition;
+		if (open.rows == 0) {
+			return;
+		}
+		long start = this.raw.getSegmentStart(open.timestamps[0]);
+		boolean isNewSegment = this.raw.get(start) == null;
+		if (!open.columns.isEmpty()) {
+			this.writeRaw(start, open.timestamps, 0, open.rows, open.columns);
+		}
+		open.clear();
+		if (isNewSegment) {
+			this.rollover();
+		}
+	}
+
+	/**
+	 * Writes raw values to the {@link Segment} with the given start timestamp. If
+	 * that {@link Segment} was already consolidated, the values are consolidated
+	 * as well.
+	 */
+	private void writeRaw(long start, long[] timestamps, int from, int to, Map<ChannelAddress, double[]> columns)
+			throws IOException {
+		this.raw.getOrCreate(start).write(timestamps, from, to, columns);
+		if (this.isConsolidated(start)) {
+			this.writeConsolidated(timestamps, from, to, columns);
+		}
+	}
+
+	/**
+	 * Consolidates raw values and writes them to the consolidated {@link Tier}.
+	 */
+	private void writeConsolidated(long[] timestamps, int from, int to, Map<ChannelAddress, double[]> columns)
+			throws IOException {
+		long seconds = this.options.consolidationSeconds;
+		long[] buckets = new long[to - from];
+		int rows = 0;
+		for (int i = from; i < to; i++) {
+			long bucket = Math.floorDiv(timestamps[i], seconds) * seconds;
+			if (rows == 0 || buckets[rows - 1] != bucket) {
+				buckets[rows++] = bucket;
+			}
+		}
+		Map<ChannelAddress, double[]> consolidatedColumns = new HashMap<>();
+		for (Entry<ChannelAddress, double[]> entry : columns.entrySet()) {
+			Series.Builder builder = new Series.Builder();
+			for (int i = from; i < to; i++) {
+				builder.add(timestamps[i], entry.getValue()[i]);
+			}
+			consolidatedColumns.put(entry.getKey(), toColumn(
+					builder.build().consolidate(seconds, this.options.aggregation.apply(entry.getKey())), buckets,
+					rows));
+		}
+		this.writeConsolidatedColumns(buckets, rows, consolidatedColumns);
+	}
+
+	private void writeConsolidatedColumns(long[] buckets, int rows, Map<ChannelAddress, double[]> columns)
+			throws IOException {
+		int from = 0;
+		while (from < rows) {
+			long start = this.consolidated.getSegmentStart(buckets[from]);
+			int to = from + 1;
+			while (to < rows && buckets[to] < start + this.options.consolidatedRolloverSeconds) {
+				to++;
+			}
+			this.consolidated.getOrCreate(start).write(buckets, from, to, columns);
+			from = to;
+		}
+	}
+
+	/**
+	 * Consolidates completed raw {@link Segment}s and deletes {@link Segment}s that
+	 * are older than their retention period.
+	 */
+	private void rollover() throws IOException {
+		if (this.raw.getSegments().isEmpty()) {
+			return;
+		}
+		long current = this.raw.getSegments().lastKey();
+		for (Entry<Long, Segment> entry : new ArrayList<>(this.raw.getSegments().headMap(current).entrySet())) {
+			if (!this.isConsolidated(entry.getKey())) {
+				this.consolidate(entry.getKey(), entry.getValue());
+				this.meta.addMarker(CONSOLIDATED_MARKER + entry.getKey());
+			}
+		}
+
+		long retainedFrom = this.getRetainedFrom();
+		for (Long start : new ArrayList<>(this.raw.getSegments().headMap(current).keySet())) {
+			if (start + this.options.rolloverSeconds <= retainedFrom) {
+				this.raw.delete(start);
+			}
+		}
+		if (this.options.consolidatedRetentionSeconds > 0) {
+			long consolidatedRetainedFrom = this.options.clock.millis() / 1000
+					- this.options.consolidatedRetentionSeconds;
+			for (Long start : new ArrayList<>(this.consolidated.getSegments().keySet())) {
+				if (start + this.options.consolidatedRolloverSeconds <= consolidatedRetainedFrom) {
+					this.consolidated.delete(start);
+				}
+			}
+		}
+	}
+
+	private void consolidate(long start, Segment segment) throws IOException {
+		long seconds = this.options.consolidationSeconds;
+		int rows = (int) (this.options.rolloverSeconds / seconds);
+		long[] buckets = new long[rows];
+		for (int i = 0; i < rows; i++) {
+			buckets[i] = start + i * seconds;
+		}
+		// Channels that were already consolidated before an interruption
+		Set<ChannelAddress> done = this.consolidated.getOrCreate(this.consolidated.getSegmentStart(start))
+				.getChannelsOfCompletePartitions(buckets[0], buckets[rows - 1]);
+		List<ChannelAddress> addresses = new ArrayList<>();
+		for (ChannelAddress address : segment.getChannels()) {
+			if (!done.contains(address)) {
+				addresses.add(address);
+			}
+		}
+		for (int batch = 0; batch < addresses.size(); batch += CONSOLIDATION_BATCH_SIZE) {
+			List<ChannelAddress> batchAddresses = addresses.subList(batch,
+					Math.min(addresses.size(), batch + CONSOLIDATION_BATCH_SIZE));
+			Series.Builder[] builders = newBuilders(batchAddresses.size());
+			segment.query(batchAddresses, start, start + this.options.rolloverSeconds - 1, builders);
+			Map<ChannelAddress, double[]> columns = new HashMap<>();
+			for (int i = 0; i < builders.length; i++) {
+				ChannelAddress address = batchAddresses.get(i);
+				columns.put(address, toColumn(
+						builders[i].build().consolidate(seconds, this.options.aggregation.apply(address)), buckets,
+						rows));
+			}
+			this.writeConsolidatedColumns(buckets, rows, columns);
+		}
+	}
+
+	private boolean isConsolidated(long start) {
+		return this.meta.hasMarker(CONSOLIDATED_MARKER + start);
+	}
+
+	private long getRetainedFrom() {
+		return this.options.clock.millis() / 1000 - this.options.retentionSeconds;
+	}
+
+	/**
+	 * Converts a consolidated {@link Series} to a column of the given buckets.
+	 */
+	private static double[] toColumn(Series series, long[] buckets, int rows) {
+		double[] result = new double[rows];
+		Arrays.fill(result, Double.NaN);
+		int row = 0;
+		for (int i = 0; i < series.size(); i++) {
+			while (buckets[row] < series.getTimestamp(i)) {
+				row++;
+			}
+			result[row] = series.getValue(i);
+		}
+		return result;
+	}
+
+	private static Series.Builder[] newBuilders(int size) {
+		Series.Builder[] result = new Series.Builder[size];
+		for (int i = 0; i < size; i++) {
+			result[i] = new Series.Builder();
+		}
+		return result;
+	}
+
+	private static Map<ChannelAddress, Series> toResult(List<ChannelAddress> addresses, Series.Builder[] builders) {
+		Map<ChannelAddress, Series> result = new LinkedHashMap<>();
+		for (int i = 0; i < builders.length; i++) {
+			result.put(addresses.get(i), builders[i].build());
+		}
+		return result;
+	}
+
+	/**
+	 * Values of the current time partition.
+	 */
+	private static class OpenPartition {
+
+		private final Map<ChannelAddress, double[]> columns = new HashMap<>();
+		private long[] timestamps = new long[64];
+		private int rows = 0;
+
+		protected int addRow(long timestamp) {
+			if (this.rows == this.timestamps.length) {
+				int length = this.timestamps.length * 2;
+				this.timestamps = Arrays.copyOf(this.timestamps, length);
+				for (Entry<ChannelAddress, double[]> entry : this.columns.entrySet()) {
+					double[] column = Arrays.copyOf(entry.getValue(), length);
+					Arrays.fill(column, this.rows, length, Double.NaN);
+					entry.setValue(column);
+				}
+			}
+			this.timestamps[this.rows] = timestamp;
+			return this.rows++;
+		}
+
+		protected void set(ChannelAddress address, int row, double value) {
+			double[] column = this.columns.get(address);
+			if (column == null) {
+				column = new double[this.timestamps.length];
+				Arrays.fill(column, Double.NaN);
+				this.columns.put(address, column);
+			}
+			column[row] = value;
+		}
+
+		protected void query(List<ChannelAddress> addresses, long fromTimestamp, long toTimestamp,
+				Series.Builder[] builders) {
+			for (int i = 0; i < addresses.size(); i++) {
+				double[] values = this.columns.get(addresses.get(i));
+				if (values == null) {
+					continue;
+				}
+				for (int row = 0; row < this.rows; row++) {
+					if (this.timestamps[row] >= fromTimestamp && this.timestamps[row] <= toTimestamp) {
+						builders[i].add(this.timestamps[row], values[row]);
+					}
+				}
+			}
+		}
+
+		protected OptionalDouble getLatestValue(ChannelAddress address) {
+			double[] values = this.columns.get(address);
+			if (values != null) {
+				for (int row = this.rows - 1; row >= 0; row--) {
+					if (!Double.isNaN(values[row])) {
+						return OptionalDouble.of(values[row]);
+					}
+				}
+			}
+			return OptionalDouble.empty();
+		}
+
+		protected void clear() {
+			this.rows = 0;
+			this.columns.clear();
+		}
+	}
+
+}
@@ -0,0 +1,227 @@
+package io.openems.edge.timedata.columnar.store;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Index entry of one time partition in the file.
+ *
+ * <p>
+ * Layout of the partition payload:
+ *
+ * <pre>
+ * long  fromTimestamp
+ * long  toTimestamp
+ * int   rows
+ * int   columns
+ * columns x (int channelId, int offset, int length)  // sorted by channelId
+ * int   timestampsLength
+ * byte[timestampsLength] timestamps                  // see Codec
+ * byte[...] values of all columns                    // see Codec
+ * </pre>
+ *
+ * <p>
+ * Offsets are relative to the start of the payload.
+ */
+public final class Partition {
+
+	protected static final int FIXED_HEADER_LENGTH = 8 + 8 + 4 + 4;
+	private static final int DIRECTORY_ENTRY_LENGTH = 4 + 4 + 4;
+
+	private final long position;
+	private final int payloadLength;
+	private final long fromTimestamp;
+	private final long toTimestamp;
+	private final int rows;
+	private final int[] channelIds;
+	private final int[] offsets;
+	private final int timestampsOffset;
+
+	private Partition(long position, int payloadLength, long fromTimestamp, long toTimestamp, int rows,
+			int[] channelIds, int[] offsets, int timestampsOffset) {
+		this.position = position;
+		this.payloadLength = payloadLength;
+		this.fromTimestamp = fromTimestamp;
+		this.toTimestamp = toTimestamp;
+		this.rows = rows;
+		this.channelIds = channelIds;
+		this.offsets = offsets;
+		this.timestampsOffset = timestampsOffset;
+	}
+
+	/**
+	 * Gets the length of the header, i.e. the part that is required to build the
+	 * index entry.
+	 *
+	 * @param fixedHeader the first {@link #FIXED_HEADER_LENGTH} bytes
+	 * @return the length of the header
+	 */
+	protected static int getHeaderLength(ByteBuffer fixedHeader) {
+		int columns = fixedHeader.getInt(8 + 8 + 4);
+		return FIXED_HEADER_LENGTH + columns * DIRECTORY_ENTRY_LENGTH + 4;
+	}
+
+	/**
+	 * Parses the header of a partition.
+	 *
+	 * @param position      the file position of the payload
+	 * @param payloadLength the length of the payload
+	 * @param header        the header bytes; see
+	 *                      {@link #getHeaderLength(ByteBuffer)}
+	 * @return the {@link Partition}
+	 */
+	protected static Partition parseHeader(long position, int payloadLength, ByteBuffer header) {
+		long fromTimestamp = header.getLong();
+		long toTimestamp = header.getLong();
+		int rows = header.getInt();
+		int columns = header.getInt();
+		int[] channelIds = new int[columns];
+		int[] offsets = new int[columns];
+		for (int i = 0; i < columns; i++) {
+			channelIds[i] = header.getInt();
+			offsets[i] = header.getInt();
+			header.getInt(); // length
+		}
+		header.getInt(); // timestampsLength
+		int timestampsOffset = FIXED_HEADER_LENGTH + columns * DIRECTORY_ENTRY_LENGTH + 4;
+		return new Partition(position, payloadLength, fromTimestamp, toTimestamp, rows, channelIds, offsets,
+				timestampsOffset);
+	}
+
+	/**
+	 * Encodes a partition.
+	 *
+	 * @param timestamps the timestamps in ascending order
+	 * @param rows       the number of rows
+	 * @param channelIds the Channel-IDs in ascending order
+	 * @param columns    the values per Channel-ID; {@link Double#NaN} for missing
+	 *                   values
+	 * @return the payload
+	 */
+	protected static byte[] encode(long[] timestamps, int rows, int[] channelIds, double[][] columns) {
+		byte[] encodedTimestamps = Codec.encodeTimestamps(timestamps, rows);
+		byte[][] encodedColumns = new byte[columns.length][];
+		int length = FIXED_HEADER_LENGTH + channelIds.length * DIRECTORY_ENTRY_LENGTH + 4
+				+ encodedTimestamps.length;
+		for (int i = 0; i < columns.length; i++) {
+			encodedColumns[i] = Codec.encodeValues(columns[i], rows);
+			length += encodedColumns[i].length;
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		buffer.putLong(timestamps[0]);
+		buffer.putLong(timestamps[rows - 1]);
+		buffer.putInt(rows);
+		buffer.putInt(channelIds.length);
+		int offset = FIXED_HEADER_LENGTH + channelIds.length * DIRECTORY_ENTRY_LENGTH + 4
+				+ encodedTimestamps.length;
+		for (int i = 0; i < channelIds.length; i++) {
+			buffer.putInt(channelIds[i]);
+			buffer.putInt(offset);
+			buffer.putInt(encodedColumns[i].length);
+			offset += encodedColumns[i].length;
+		}
+		buffer.putInt(encodedTimestamps.length);
+		buffer.put(encodedTimestamps);
+		for (byte[] encodedColumn : encodedColumns) {
+			buffer.put(encodedColumn);
+		}
+		return buffer.array();
+	}
+
+	/**
+	 * Gets the file position of the payload.
+	 *
+	 * @return the position
+	 */
+	protected long getPosition() {
+		return this.position;
+	}
+
+	/**
+	 * Gets the first timestamp.
+	 *
+	 * @return the timestamp in epoch seconds
+	 */
+	public long getFromTimestamp() {
+		return this.fromTimestamp;
+	}
+
+	/**
+	 * Gets the last timestamp.
+	 *
+	 * @return the timestamp in epoch seconds
+	 */
+	public long getToTimestamp() {
+		return this.toTimestamp;
+	}
+
+	/**
+	 * Gets the number of rows.
+	 *
+	 * @return the number of rows
+	 */
+	public int getRows() {
+		return this.rows;
+	}
+
+	/**
+	 * Does this partition overlap the given time range?.
+	 *
+	 * @param fromTimestamp the start of the range, inclusive
+	 * @param toTimestamp   the end of the range, inclusive
+	 * @return true if it overlaps
+	 */
+	public boolean overlaps(long fromTimestamp, long toTimestamp) {
+		return this.fromTimestamp <= toTimestamp && this.toTimestamp >= fromTimestamp;
+	}
+
+	/**
+	 * Does this partition hold values for the given Channel?.
+	 *
+	 * @param channelId the Channel-ID
+	 * @return true if there is a column
+	 */
+	public boolean contains(int channelId) {
+		return Arrays.binarySearch(this.channelIds, channelId) >= 0;
+	}
+
+	/**
+	 * Gets the length of the payload.
+	 *
+	 * @return the length in bytes
+	 */
+	protected int getPayloadLength() {
+		return this.payloadLength;
+	}
+
+	/**
+	 * Decodes the timestamps.
+	 *
+	 * @param payload the payload; positioned at its start
+	 * @return the timestamps
+	 */
+	protected long[] decodeTimestamps(ByteBuffer payload) {
+		ByteBuffer buffer = payload.duplicate();
+		buffer.position(payload.position() + this.timestampsOffset);
+		return Codec.decodeTimestamps(buffer, this.rows);
+	}
+
+	/**
+	 * Decodes the values of one Channel.
+	 *
+	 * @param payload   the payload; positioned at its start
+	 * @param channelId the Channel-ID
+	 * @return the values; null if there is no column for the Channel
+	 */
+	protected double[] decodeValues(ByteBuffer payload, int channelId) {
+		int index = Arrays.binarySearch(this.channelIds, channelId);
+		if (index < 0) {
+			return null;
+		}
+		ByteBuffer buffer = payload.duplicate();
+		buffer.position(payload.position() + this.offsets[index]);
+		return Codec.decodeValues(buffer, this.rows);
+	}
+
+}
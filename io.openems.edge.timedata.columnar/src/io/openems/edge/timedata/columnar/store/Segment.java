@@ -0,0 +1,537 @@
+package io.openems.edge.timedata.columnar.store;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * One append-only file of a {@link ColumnarStore}.
+ *
+ * <p>
+ * The file consists of a header and a sequence of records:
+ *
+ * <pre>
+ * byte  type       // Channel, Partition or Marker
+ * int   length
+ * byte[length] payload
+ * int   crc32      // of the payload
+ * </pre>
+ *
+ * <p>
+ * A Channel record assigns a numeric ID to a {@link ChannelAddress}. A
+ * {@link Partition} record holds the values of all Channels within one time
+ * partition in a column-oriented, compressed layout.
+ *
+ * <p>
+ * On startup only the headers of the records are read to build the index.
+ * Partitions are read via memory-mapped regions of the file.
+ *
+ * <p>
+ * This class is not thread-safe; access is synchronized by the
+ * {@link ColumnarStore}.
+ */
+final class Segment implements AutoCloseable {
+
+	private static final long MAGIC = 0x4F454D53434F4C31L; // "OEMSCOL1"
+	private static final int VERSION = 1;
+	private static final int FILE_HEADER_LENGTH = 8 + 4;
+	private static final int RECORD_HEADER_LENGTH = 1 + 4;
+	private static final int RECORD_TRAILER_LENGTH = 4;
+
+	private static final byte RECORD_CHANNEL = 1;
+	private static final byte RECORD_PARTITION = 2;
+	private static final byte RECORD_MARKER = 3;
+
+	/**
+	 * Maximum number of rows of a Partition.
+	 */
+	private static final int MAX_ROWS_PER_PARTITION = 4096;
+
+	/**
+	 * The file is mapped in overlapping regions of twice this size, so that every
+	 * record that is smaller than this fits into one region.
+	 */
+	private static final long REGION_STEP = 32L * 1024 * 1024;
+	private static final int MAX_MAPPED_REGIONS = 4;
+
+	private final Logger log = LoggerFactory.getLogger(Segment.class);
+
+	private final Path path;
+	private final FileChannel file;
+	private final Map<ChannelAddress, Integer> channelIds = new HashMap<>();
+	private final List<Partition> partitions = new ArrayList<>();
+	private final Set<String> markers = new HashSet<>();
+	private final LinkedHashMap<Long, MappedByteBuffer> regions = new LinkedHashMap<>(8, 0.75f, true);
+
+	private long size = 0;
+	private long toTimestamp = Long.MIN_VALUE;
+
+	/**
+	 * Opens or creates a {@link Segment}.
+	 *
+	 * @param path the path of the file
+	 * @return the {@link Segment}
+	 * @throws IOException on error
+	 */
+	protected static Segment open(Path path) throws IOException {
+		FileChannel file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		Segment result = new Segment(path, file);
+		try {
+			result.scan();
+		} catch (IOException e) {
+			file.close();
+			throw e;
+		}
+		return result;
+	}
+
+	private Segment(Path path, FileChannel file) {
+		this.path = path;
+		this.file = file;
+	}
+
+	/**
+	 * Writes the values of multiple Channels to new Partitions.
+	 *
+	 * @param timestamps the timestamps in epoch seconds in ascending order
+	 * @param from       the first row, inclusive
+	 * @param to         the last row, exclusive
+	 * @param columns    the values per {@link ChannelAddress}; {@link Double#NaN}
+	 *                   for missing values
+	 * @throws IOException on error
+	 */
+	protected void write(long[] timestamps, int from, int to, Map<ChannelAddress, double[]> columns)
+			throws IOException {
+		if (from >= to || columns.isEmpty()) {
+			return;
+		}
+		int[] ids = new int[columns.size()];
+		double[][] values = new double[columns.size()][];
+		{
+			// sort columns by Channel-ID
+			long[] sorted = new long[columns.size()];
+			List<double[]> unsorted = new ArrayList<>(columns.size());
+			int i = 0;
+			for (Entry<ChannelAddress, double[]> entry : columns.entrySet()) {
+				sorted[i] = ((long) this.getOrCreateChannelId(entry.getKey()) << 32) | i;
+				unsorted.add(entry.getValue());
+				i++;
+			}
+			Arrays.sort(sorted);
+			for (i = 0; i < sorted.length; i++) {
+				ids[i] = (int) (sorted[i] >>> 32);
+				values[i] = unsorted.get((int) sorted[i]);
+			}
+		}
+		for (int start = from; start < to; start += MAX_ROWS_PER_PARTITION) {
+			int end = Math.min(to, start + MAX_ROWS_PER_PARTITION);
+			double[][] partitionValues = new double[values.length][];
+			for (int i = 0; i < values.length; i++) {
+				partitionValues[i] = Arrays.copyOfRange(values[i], start, end);
+			}
+			this.writePartition(Partition.encode(Arrays.copyOfRange(timestamps, start, end), end - start, ids,
+					partitionValues));
+		}
+		this.file.force(false);
+	}
+
+	/**
+	 * Queries the values of multiple Channels and adds them to the given
+	 * {@link Series.Builder}s.
+	 *
+	 * @param addresses     the {@link ChannelAddress}es
+	 * @param fromTimestamp the start timestamp in epoch seconds, inclusive
+	 * @param toTimestamp   the end timestamp in epoch seconds, inclusive
+	 * @param builders      one {@link Series.Builder} per {@link ChannelAddress}
+	 * @throws IOException on error
+	 */
+	protected void query(List<ChannelAddress> addresses, long fromTimestamp, long toTimestamp,
+			Series.Builder[] builders) throws IOException {
+		int[] ids = new int[addresses.size()];
+		for (int i = 0; i < ids.length; i++) {
+			Integer id = this.channelIds.get(addresses.get(i));
+			ids[i] = id == null ? -1 : id;
+		}
+		for (Partition partition : this.partitions) {
+			if (partition.getFromTimestamp() > toTimestamp) {
+				break;
+			}
+			if (!partition.overlaps(fromTimestamp, toTimestamp)) {
+				continue;
+			}
+			ByteBuffer payload = null;
+			long[] timestamps = null;
+			for (int i = 0; i < ids.length; i++) {
+				int id = ids[i];
+				if (id < 0 || !partition.contains(id)) {
+					continue;
+				}
+				if (payload == null) {
+					payload = this.readMapped(partition.getPosition(), partition.getPayloadLength());
+					timestamps = partition.decodeTimestamps(payload);
+				}
+				double[] values = partition.decodeValues(payload, id);
+				for (int row = 0; row < timestamps.length; row++) {
+					if (timestamps[row] >= fromTimestamp && timestamps[row] <= toTimestamp) {
+						builders[i].add(timestamps[row], values[row]);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the latest value of a Channel.
+	 *
+	 * @param address the {@link ChannelAddress}
+	 * @return the value; empty if there is none
+	 * @throws IOException on error
+	 */
+	protected OptionalDouble getLatestValue(ChannelAddress address) throws IOException {
+		Integer id = this.channelIds.get(address);
+		if (id == null) {
+			return OptionalDouble.empty();
+		}
+		for (int i = this.partitions.size() - 1; i >= 0; i--) {
+			Partition partition = this.partitions.get(i);
+			if (!partition.contains(id)) {
+				continue;
+			}
+			double[] values = partition.decodeValues(
+					this.readMapped(partition.getPosition(), partition.getPayloadLength()), id);
+			for (int row = values.length - 1; row >= 0; row--) {
+				if (!Double.isNaN(values[row])) {
+					return OptionalDouble.of(values[row]);
+				}
+			}
+		}
+		return OptionalDouble.empty();
+	}
+
+	/**
+	 * Gets the Channels of the Partitions within the given time range that end
+	 * exactly at its last timestamp.
+	 *
+	 * <p>
+	 * Partitions of one write are stored in ascending order, so such a Partition
+	 * is only present if the time range was written completely.
+	 *
+	 * @param fromTimestamp the first timestamp
+	 * @param toTimestamp   the last timestamp
+	 * @return the {@link ChannelAddress}es
+	 */
+	protected Set<ChannelAddress> getChannelsOfCompletePartitions(long fromTimestamp, long toTimestamp) {
+		Set<ChannelAddress> result = new HashSet<>();
+		for (Partition partition : this.partitions) {
+			if (partition.getFromTimestamp() < fromTimestamp || partition.getToTimestamp() != toTimestamp) {
+				continue;
+			}
+			for (Entry<ChannelAddress, Integer> entry : this.channelIds.entrySet()) {
+				if (partition.contains(entry.getValue())) {
+					result.add(entry.getKey());
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the known Channels.
+	 *
+	 * @return the {@link ChannelAddress}es
+	 */
+	protected Set<ChannelAddress> getChannels() {
+		return this.channelIds.keySet();
+	}
+
+	/**
+	 * Gets the latest timestamp of all Partitions.
+	 *
+	 * @return the timestamp in epoch seconds; {@link Long#MIN_VALUE} if there is
+	 *         no Partition
+	 */
+	protected long getToTimestamp() {
+		return this.toTimestamp;
+	}
+
+	/**
+	 * Is the given marker set?.
+	 *
+	 * @param marker the marker
+	 * @return true if it is set
+	 */
+	protected boolean hasMarker(String marker) {
+		return this.markers.contains(marker);
+	}
+
+	/**
+	 * Sets a marker.
+	 *
+	 * @param marker the marker
+	 * @throws IOException on error
+	 */
+	protected void addMarker(String marker) throws IOException {
+		if (this.markers.add(marker)) {
+			this.appendRecord(RECORD_MARKER, marker.getBytes(StandardCharsets.UTF_8));
+			this.file.force(false);
+		}
+	}
+
+	/**
+	 * Gets the number of stored Partitions.
+	 *
+	 * @return the number of Partitions
+	 */
+	protected int getNumberOfPartitions() {
+		return this.partitions.size();
+	}
+
+	/**
+	 * Gets the size of the file.
+	 *
+	 * @return the size in bytes
+	 */
+	protected long getSize() {
+		return this.size;
+	}
+
+	/**
+	 * Gets the path of the file.
+	 *
+	 * @return the {@link Path}
+	 */
+	protected Path getPath() {
+		return this.path;
+	}
+
+	@Override
+	public void close() throws IOException {
+		synchronized (this.regions) {
+			this.regions.clear();
+		}
+		this.file.close();
+	}
+
+	/*
+	 * Reading the file on startup
+	 */
+
+	private void scan() throws IOException {
+		this.size = this.file.size();
+		if (this.size < FILE_HEADER_LENGTH) {
+			// New file
+			ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_LENGTH);
+			header.putLong(MAGIC).putInt(VERSION).flip();
+			this.file.truncate(0);
+			this.writeFully(header, 0);
+			this.size = FILE_HEADER_LENGTH;
+			return;
+		}
+		ByteBuffer header = this.readFully(0, FILE_HEADER_LENGTH);
+		if (header.getLong() != MAGIC) {
+			throw new IOException("This is not a Columnar Timedata file");
+		}
+		int version = header.getInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported version [" + version + "]");
+		}
+
+		// Find all complete records
+		List<long[]> records = new ArrayList<>(); // position, type, length
+		long position = FILE_HEADER_LENGTH;
+		while (position + RECORD_HEADER_LENGTH + RECORD_TRAILER_LENGTH <= this.size) {
+			ByteBuffer recordHeader = this.readFully(position, RECORD_HEADER_LENGTH);
+			byte type = recordHeader.get();
+			int length = recordHeader.getInt();
+			if (type < RECORD_CHANNEL || type > RECORD_MARKER || length < 0
+					|| position + RECORD_HEADER_LENGTH + length + RECORD_TRAILER_LENGTH > this.size) {
+				break;
+			}
+			records.add(new long[] { position, type, length });
+			position += RECORD_HEADER_LENGTH + length + RECORD_TRAILER_LENGTH;
+		}
+
+		// Only the last record might be incomplete after a power failure
+		if (!records.isEmpty()) {
+			long[] last = records.get(records.size() - 1);
+			if (!this.isChecksumValid(last[0] + RECORD_HEADER_LENGTH, (int) last[2])) {
+				records.remove(records.size() - 1);
+				position = last[0];
+			}
+		}
+		if (position != this.size) {
+			this.log.warn("Truncating incomplete data of [" + this.path + "] at position [" + position + "] of ["
+					+ this.size + "]");
+			this.file.truncate(position);
+			this.size = position;
+		}
+
+		for (long[] record : records) {
+			this.index((byte) record[1], record[0] + RECORD_HEADER_LENGTH, (int) record[2]);
+		}
+	}
+
+	private void index(byte type, long position, int length) throws IOException {
+		switch (type) {
+		case RECORD_CHANNEL: {
+			ByteBuffer payload = this.readFully(position, length);
+			int id = payload.getInt();
+			byte[] bytes = new byte[payload.remaining()];
+			payload.get(bytes);
+			try {
+				this.channelIds.put(ChannelAddress.fromString(new String(bytes, StandardCharsets.UTF_8)), id);
+			} catch (OpenemsNamedException e) {
+				throw new IOException("Invalid Channel-Address: " + e.getMessage());
+			}
+			break;
+		}
+		case RECORD_PARTITION: {
+			ByteBuffer fixedHeader = this.readFully(position, Partition.FIXED_HEADER_LENGTH);
+			ByteBuffer header = this.readFully(position, Partition.getHeaderLength(fixedHeader));
+			this.addPartition(Partition.parseHeader(position, length, header));
+			break;
+		}
+		case RECORD_MARKER: {
+			ByteBuffer payload = this.readFully(position, length);
+			this.markers.add(new String(payload.array(), StandardCharsets.UTF_8));
+			break;
+		}
+		}
+	}
+
+	private boolean isChecksumValid(long position, int length) throws IOException {
+		ByteBuffer payload = this.readFully(position, length + RECORD_TRAILER_LENGTH);
+		CRC32 crc = new CRC32();
+		crc.update(payload.array(), 0, length);
+		return payload.getInt(length) == (int) crc.getValue();
+	}
+
+	/*
+	 * Writing
+	 */
+
+	private int getOrCreateChannelId(ChannelAddress address) throws IOException {
+		Integer id = this.channelIds.get(address);
+		if (id != null) {
+			return id;
+		}
+		int newId = this.channelIds.size();
+		byte[] name = address.toString().getBytes(StandardCharsets.UTF_8);
+		this.appendRecord(RECORD_CHANNEL, ByteBuffer.allocate(4 + name.length).putInt(newId).put(name).array());
+		this.channelIds.put(address, newId);
+		return newId;
+	}
+
+	private void writePartition(byte[] payload) throws IOException {
+		long position = this.appendRecord(RECORD_PARTITION, payload);
+		this.addPartition(Partition.parseHeader(position, payload.length, ByteBuffer.wrap(payload)));
+	}
+
+	private void addPartition(Partition partition) {
+		// keep sorted by fromTimestamp; usually appended at the end
+		int index = this.partitions.size();
+		while (index > 0 && this.partitions.get(index - 1).getFromTimestamp() > partition.getFromTimestamp()) {
+			index--;
+		}
+		this.partitions.add(index, partition);
+		this.toTimestamp = Math.max(this.toTimestamp, partition.getToTimestamp());
+	}
+
+	/**
+	 * Appends a record.
+	 *
+	 * @param type    the type
+	 * @param payload the payload
+	 * @return the file position of the payload
+	 * @throws IOException on error
+	 */
+	private long appendRecord(byte type, byte[] payload) throws IOException {
+		CRC32 crc = new CRC32();
+		crc.update(payload);
+		ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_LENGTH + payload.length + RECORD_TRAILER_LENGTH);
+		buffer.put(type).putInt(payload.length).put(payload).putInt((int) crc.getValue()).flip();
+		long position = this.size;
+		this.writeFully(buffer, position);
+		this.size += buffer.capacity();
+		return position + RECORD_HEADER_LENGTH;
+	}
+
+	/*
+	 * File access
+	 */
+
+	private ByteBuffer readMapped(long position, int length) throws IOException {
+		if (length > REGION_STEP) {
+			return this.readFully(position, length);
+		}
+		long region = position / REGION_STEP;
+		long regionStart = region * REGION_STEP;
+		MappedByteBuffer mapped = this.getRegion(region, position + length - regionStart);
+		ByteBuffer buffer = mapped.duplicate();
+		buffer.position((int) (position - regionStart));
+		buffer.limit((int) (position - regionStart + length));
+		return buffer.slice();
+	}
+
+	private MappedByteBuffer getRegion(long region, long requiredLength) throws IOException {
+		synchronized (this.regions) {
+			MappedByteBuffer mapped = this.regions.get(region);
+			if (mapped == null || mapped.capacity() < requiredLength) {
+				// map or remap, if the file has grown
+				long regionStart = region * REGION_STEP;
+				mapped = this.file.map(MapMode.READ_ONLY, regionStart,
+						Math.min(2 * REGION_STEP, this.size - regionStart));
+				this.regions.put(region, mapped);
+				if (this.regions.size() > MAX_MAPPED_REGIONS) {
+					Iterator<Long> eldest = this.regions.keySet().iterator();
+					eldest.next();
+					eldest.remove();
+				}
+			}
+			return mapped;
+		}
+	}
+
+	private ByteBuffer readFully(long position, int length) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		while (buffer.hasRemaining()) {
+			if (this.file.read(buffer, position + buffer.position()) < 0) {
+				throw new EOFException("Unexpected end of file at position [" + position + "]");
+			}
+		}
+		buffer.flip();
+		return buffer;
+	}
+
+	private void writeFully(ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			this.file.write(buffer, position + buffer.position());
+		}
+	}
+
+}
@@ -0,0 +1,169 @@
+package io.openems.edge.timedata.columnar.store;
+
+import java.util.Arrays;
+
+import io.openems.edge.common.channel.Aggregation;
+
+/**
+ * The recorded values of one Channel in ascending order of their timestamps.
+ * Missing values are not included.
+ */
+public final class Series {
+
+	protected static final Series EMPTY = new Series(new long[0], new double[0], 0);
+
+	private final long[] timestamps;
+	private final double[] values;
+	private final int size;
+
+	protected Series(long[] timestamps, double[] values, int size) {
+		this.timestamps = timestamps;
+		this.values = values;
+		this.size = size;
+	}
+
+	/**
+	 * Gets the number of values.
+	 *
+	 * @return the number of values
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Gets the timestamp at the given index.
+	 *
+	 * @param index the index
+	 * @return the timestamp in epoch seconds
+	 */
+	public long getTimestamp(int index) {
+		return this.timestamps[index];
+	}
+
+	/**
+	 * Gets the value at the given index.
+	 *
+	 * @param index the index
+	 * @return the value
+	 */
+	public double getValue(int index) {
+		return this.values[index];
+	}
+
+	/**
+	 * Consolidates the values to buckets of a fixed length. Every bucket is
+	 * represented by its start timestamp.
+	 *
+	 * @param seconds     the length of a bucket in seconds
+	 * @param aggregation the {@link Aggregation} of the values of a bucket
+	 * @return the consolidated {@link Series}
+	 */
+	public Series consolidate(long seconds, Aggregation aggregation) {
+		if (this.size == 0) {
+			return EMPTY;
+		}
+		long[] timestamps = new long[this.size];
+		double[] values = new double[this.size];
+		int size = 0;
+		int count = 0;
+		for (int i = 0; i < this.size; i++) {
+			long bucket = Math.floorDiv(this.timestamps[i], seconds) * seconds;
+			double value = this.values[i];
+			if (size > 0 && timestamps[size - 1] == bucket) {
+				switch (aggregation) {
+				case AVERAGE:
+					values[size - 1] += value;
+					break;
+				case MAXIMUM:
+					values[size - 1] = Math.max(values[size - 1], value);
+					break;
+				}
+				count++;
+			} else {
+				if (size > 0 && aggregation == Aggregation.AVERAGE) {
+					values[size - 1] /= count;
+				}
+				timestamps[size] = bucket;
+				values[size] = value;
+				size++;
+				count = 1;
+			}
+		}
+		if (aggregation == Aggregation.AVERAGE) {
+			values[size - 1] /= count;
+		}
+		return new Series(timestamps, values, size);
+	}
+
+	@Override
+	public String toString() {
+		return "Series [timestamps=" + Arrays.toString(Arrays.copyOf(this.timestamps, this.size)) + ", values="
+				+ Arrays.toString(Arrays.copyOf(this.values, this.size)) + "]";
+	}
+
+	/**
+	 * Collects values in any order and sorts them by timestamp.
+	 */
+	public static class Builder {
+
+		private long[] timestamps = new long[64];
+		private double[] values = new double[64];
+		private int size = 0;
+		private boolean isSorted = true;
+
+		/**
+		 * Adds a value; {@link Double#NaN} is ignored.
+		 *
+		 * @param timestamp the timestamp in epoch seconds
+		 * @param value     the value
+		 */
+		public void add(long timestamp, double value) {
+			if (Double.isNaN(value)) {
+				return;
+			}
+			if (this.size == this.timestamps.length) {
+				this.timestamps = Arrays.copyOf(this.timestamps, this.size * 2);
+				this.values = Arrays.copyOf(this.values, this.size * 2);
+			}
+			if (this.size > 0 && this.timestamps[this.size - 1] > timestamp) {
+				this.isSorted = false;
+			}
+			this.timestamps[this.size] = timestamp;
+			this.values[this.size] = value;
+			this.size++;
+		}
+
+		/**
+		 * Builds the {@link Series}.
+		 *
+		 * @return the {@link Series} in ascending order of the timestamps
+		 */
+		public Series build() {
+			if (this.size == 0) {
+				return EMPTY;
+			}
+			if (!this.isSorted) {
+				this.sort();
+			}
+			return new Series(this.timestamps, this.values, this.size);
+		}
+
+		private void sort() {
+			Integer[] indexes = new Integer[this.size];
+			for (int i = 0; i < this.size; i++) {
+				indexes[i] = i;
+			}
+			Arrays.sort(indexes, (a, b) -> Long.compare(this.timestamps[a], this.timestamps[b]));
+			long[] sortedTimestamps = new long[this.size];
+			double[] sortedValues = new double[this.size];
+			for (int i = 0; i < this.size; i++) {
+				sortedTimestamps[i] = this.timestamps[indexes[i]];
+				sortedValues[i] = this.values[indexes[i]];
+			}
+			this.timestamps = sortedTimestamps;
+			this.values = sortedValues;
+		}
+	}
+
+}
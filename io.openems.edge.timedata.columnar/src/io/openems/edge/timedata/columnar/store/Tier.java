@@ -0,0 +1,217 @@
+package io.openems.edge.timedata.columnar.store;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.OptionalDouble;
+import java.util.TreeMap;
+
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * A sequence of {@link Segment}s, each covering a fixed time range. Files are
+ * named "&lt;prefix&gt;-&lt;start&gt;.dat", where start is the first timestamp
+ * of the time range in epoch seconds.
+ *
+ * <p>
+ * This class is not thread-safe; access is synchronized by the
+ * {@link ColumnarStore}.
+ */
+final class Tier implements AutoCloseable {
+
+	private static final String FILE_SUFFIX = ".dat";
+
+	private final Path directory;
+	private final String prefix;
+	private final long rolloverSeconds;
+	private final TreeMap<Long, Segment> segments = new TreeMap<>();
+
+	/**
+	 * Opens all existing {@link Segment}s of a {@link Tier}.
+	 *
+	 * @param directory       the directory
+	 * @param prefix          the prefix of the file names
+	 * @param rolloverSeconds the time range of one {@link Segment} in seconds
+	 * @return the {@link Tier}
+	 * @throws IOException on error
+	 */
+	protected static Tier open(Path directory, String prefix, long rolloverSeconds) throws IOException {
+		Tier result = new Tier(directory, prefix, rolloverSeconds);
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "-*" + FILE_SUFFIX)) {
+			for (Path file : files) {
+				String name = file.getFileName().toString();
+				long start;
+				try {
+					start = Long.parseLong(
+							name.substring(prefix.length() + 1, name.length() - FILE_SUFFIX.length()));
+				} catch (NumberFormatException e) {
+					continue;
+				}
+				result.segments.put(start, Segment.open(file));
+			}
+		} catch (IOException e) {
+			result.close();
+			throw e;
+		}
+		return result;
+	}
+
+	private Tier(Path directory, String prefix, long rolloverSeconds) {
+		this.directory = directory;
+		this.prefix = prefix;
+		this.rolloverSeconds = rolloverSeconds;
+	}
+
+	/**
+	 * Gets the start of the {@link Segment} that covers the given timestamp.
+	 *
+	 * @param timestamp the timestamp in epoch seconds
+	 * @return the start timestamp in epoch seconds
+	 */
+	protected long getSegmentStart(long timestamp) {
+		return Math.floorDiv(timestamp, this.rolloverSeconds) * this.rolloverSeconds;
+	}
+
+	/**
+	 * Gets the time range of one {@link Segment}.
+	 *
+	 * @return the time range in seconds
+	 */
+	protected long getRolloverSeconds() {
+		return this.rolloverSeconds;
+	}
+
+	/**
+	 * Gets an existing {@link Segment}.
+	 *
+	 * @param start the start timestamp
+	 * @return the {@link Segment}; null if it does not exist
+	 */
+	protected Segment get(long start) {
+		return this.segments.get(start);
+	}
+
+	/**
+	 * Gets or creates the {@link Segment} with the given start timestamp.
+	 *
+	 * @param start the start timestamp; see {@link #getSegmentStart(long)}
+	 * @return the {@link Segment}
+	 * @throws IOException on error
+	 */
+	protected Segment getOrCreate(long start) throws IOException {
+		Segment segment = this.segments.get(start);
+		if (segment == null) {
+			segment = Segment.open(this.directory.resolve(this.prefix + "-" + start + FILE_SUFFIX));
+			this.segments.put(start, segment);
+		}
+		return segment;
+	}
+
+	/**
+	 * Closes and deletes a {@link Segment}.
+	 *
+	 * @param start the start timestamp
+	 * @throws IOException on error
+	 */
+	protected void delete(long start) throws IOException {
+		Segment segment = this.segments.remove(start);
+		if (segment != null) {
+			segment.close();
+			Files.deleteIfExists(segment.getPath());
+		}
+	}
+
+	/**
+	 * Gets all {@link Segment}s by their start timestamp.
+	 *
+	 * @return the {@link Segment}s in ascending order
+	 */
+	protected NavigableMap<Long, Segment> getSegments() {
+		return this.segments;
+	}
+
+	/**
+	 * Queries all {@link Segment}s that overlap the given time range.
+	 *
+	 * @param addresses     the {@link ChannelAddress}es
+	 * @param fromTimestamp the start timestamp in epoch seconds, inclusive
+	 * @param toTimestamp   the end timestamp in epoch seconds, inclusive
+	 * @param builders      one {@link Series.Builder} per {@link ChannelAddress}
+	 * @throws IOException on error
+	 */
+	protected void query(List<ChannelAddress> addresses, long fromTimestamp, long toTimestamp,
+			Series.Builder[] builders) throws IOException {
+		for (Segment segment : this.segments.headMap(toTimestamp, true).values()) {
+			if (segment.getToTimestamp() < fromTimestamp) {
+				continue;
+			}
+			segment.query(addresses, fromTimestamp, toTimestamp, builders);
+		}
+	}
+
+	/**
+	 * Gets the latest value of a Channel.
+	 *
+	 * @param address the {@link ChannelAddress}
+	 * @return the value; empty if there is none
+	 * @throws IOException on error
+	 */
+	protected OptionalDouble getLatestValue(ChannelAddress address) throws IOException {
+		for (Segment segment : this.segments.descendingMap().values()) {
+			OptionalDouble result = segment.getLatestValue(address);
+			if (result.isPresent()) {
+				return result;
+			}
+		}
+		return OptionalDouble.empty();
+	}
+
+	/**
+	 * Gets the total number of Partitions.
+	 *
+	 * @return the number of Partitions
+	 */
+	protected int getNumberOfPartitions() {
+		int result = 0;
+		for (Segment segment : this.segments.values()) {
+			result += segment.getNumberOfPartitions();
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the total size of all files.
+	 *
+	 * @return the size in bytes
+	 */
+	protected long getSize() {
+		long result = 0;
+		for (Segment segment : this.segments.values()) {
+			result += segment.getSize();
+		}
+		return result;
+	}
+
+	@Override
+	public void close() throws IOException {
+		IOException exception = null;
+		List<Entry<Long, Segment>> entries = new ArrayList<>(this.segments.entrySet());
+		this.segments.clear();
+		for (Entry<Long, Segment> entry : entries) {
+			try {
+				entry.getValue().close();
+			} catch (IOException e) {
+				exception = e;
+			}
+		}
+		if (exception != null) {
+			throw exception;
+		}
+	}
+
+}
@@ -0,0 +1,34 @@
+package io.openems.edge.timedata.columnar;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import io.openems.edge.timedata.columnar.store.Series;
+
+public class ColumnarTimedataImplTest {
+
+	@Test
+	public void testAggregate() {
+		// consolidated values at the start of their 15 minute bucket
+		Series.Builder builder = new Series.Builder();
+		builder.add(0, 1);
+		builder.add(900, 2);
+		builder.add(1800, 3);
+		builder.add(2700, 4);
+		Series series = builder.build();
+
+		// the query starts within the first bucket and ends within the last one
+		double[] values = new double[2];
+		int[] counts = new int[2];
+		ColumnarTimedataImpl.aggregate(series, 300, 1200, false, values, counts);
+		assertEquals(2, counts[0]);
+		assertEquals(1.5, values[0] / counts[0], 0);
+		assertEquals(1, counts[1]);
+		assertEquals(3, values[1], 0);
+
+		ColumnarTimedataImpl.aggregate(series, 300, 1200, true, values, counts);
+		assertEquals(2, values[0], 0);
+	}
+
+}
@@ -0,0 +1,104 @@
+package io.openems.edge.timedata.columnar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rrd4j.ConsolFun;
+import org.rrd4j.DsType;
+import org.rrd4j.core.DsDef;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdDef;
+import org.rrd4j.core.Sample;
+
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.timedata.columnar.store.ColumnarStore;
+import io.openems.edge.timedata.columnar.store.Series;
+
+public class Rrd4jMigratorTest {
+
+	private static final ChannelAddress ESS_SOC = new ChannelAddress("ess0", "Soc");
+	private static final long START = 1_600_000_020L;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void test() throws IOException {
+		// Same layout as Timedata.Rrd4j with shorter archives
+		File file = this.folder.newFile();
+		file.delete();
+		RrdDef rrdDef = new RrdDef(file.toURI(), START - 1, 60);
+		rrdDef.addDatasource(new DsDef("value", DsType.GAUGE, 60, Double.NaN, Double.NaN));
+		rrdDef.addArchive(ConsolFun.AVERAGE, 0.5, 1, 10); // 10 minutes
+		rrdDef.addArchive(ConsolFun.AVERAGE, 0.5, 5, 10); // 50 minutes
+		RrdDb database = RrdDb.getBuilder().setRrdDef(rrdDef).build();
+		for (int i = 0; i < 30; i++) {
+			Sample sample = database.createSample(START + i * 60);
+			sample.setValue(0, i);
+			sample.update();
+		}
+		database.close();
+
+		try (ColumnarStore store = ColumnarStore.open(this.folder.newFolder().toPath(), new ColumnarStore.Options() //
+				.setClock(Clock.fixed(Instant.ofEpochSecond(START + 30 * 60), ZoneOffset.UTC)))) {
+			Series values = Rrd4jMigrator.read(file);
+			store.appendSeries(Collections.singletonMap(ESS_SOC, values));
+
+			Series series = store.query(Arrays.asList(ESS_SOC), 0, Long.MAX_VALUE).get(ESS_SOC);
+			assertEquals(values.size(), series.size());
+
+			// the last 10 minutes in full resolution
+			assertEquals(START + 29 * 60, series.getTimestamp(series.size() - 1));
+			assertEquals(29, series.getValue(series.size() - 1), 0);
+			assertEquals(START + 20 * 60, series.getTimestamp(series.size() - 10));
+
+			// before that 5 minute averages, e.g. of the values 14 to 18
+			assertEquals(START + 18 * 60, series.getTimestamp(series.size() - 11));
+			assertEquals(16, series.getValue(series.size() - 11), 0);
+			for (int i = 1; i < series.size(); i++) {
+				assertTrue(series.getTimestamp(i - 1) < series.getTimestamp(i));
+			}
+		}
+	}
+
+	@Test
+	public void testOutOfRetention() throws IOException {
+		File file = this.folder.newFile();
+		file.delete();
+		RrdDef rrdDef = new RrdDef(file.toURI(), START - 1, 60);
+		rrdDef.addDatasource(new DsDef("value", DsType.GAUGE, 60, Double.NaN, Double.NaN));
+		rrdDef.addArchive(ConsolFun.AVERAGE, 0.5, 1, 60);
+		RrdDb database = RrdDb.getBuilder().setRrdDef(rrdDef).build();
+		for (int i = 0; i < 60; i++) {
+			Sample sample = database.createSample(START + i * 60);
+			sample.setValue(0, i);
+			sample.update();
+		}
+		database.close();
+
+		// one year later only the consolidated values are kept
+		try (ColumnarStore store = ColumnarStore.open(this.folder.newFolder().toPath(), new ColumnarStore.Options() //
+				.setClock(Clock.fixed(Instant.ofEpochSecond(START + 365 * 24 * 60 * 60), ZoneOffset.UTC)))) {
+			store.appendSeries(Collections.singletonMap(ESS_SOC, Rrd4jMigrator.read(file)));
+
+			assertEquals(0, store.getNumberOfRawFiles());
+			Series series = store.queryConsolidated(Arrays.asList(ESS_SOC), 0, Long.MAX_VALUE).get(ESS_SOC);
+			// 15 minute averages
+			assertEquals(5, series.size());
+			assertEquals(0, series.getTimestamp(1) % 900);
+			assertEquals(series.getTimestamp(0) + 900, series.getTimestamp(1));
+		}
+	}
+
+}
@@ -0,0 +1,266 @@
+package io.openems.edge.timedata.columnar.store;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.channel.Aggregation;
+import io.openems.edge.timedata.columnar.store.ColumnarStore.Options;
+
+public class ColumnarStoreTest {
+
+	private static final ChannelAddress ESS_SOC = new ChannelAddress("ess0", "Soc");
+	private static final ChannelAddress METER_POWER = new ChannelAddress("meter0", "ActivePower");
+	private static final long DAY = 24 * 60 * 60;
+	private static final ChannelAddress UNKNOWN = new ChannelAddress("foo0", "Bar");
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static Options options() {
+		// one file per day; one consolidated value per 15 minutes
+		return new Options() //
+				.setPartitionSeconds(3600) //
+				.setClock(Clock.fixed(Instant.ofEpochSecond(DAY), ZoneOffset.UTC));
+	}
+
+	private static Series series(long[] timestamps, double... values) {
+		Series.Builder builder = new Series.Builder();
+		for (int i = 0; i < timestamps.length; i++) {
+			builder.add(timestamps[i], values[i]);
+		}
+		return builder.build();
+	}
+
+	@Test
+	public void testCodec() {
+		long[] timestamps = { 1_600_000_000L, 1_600_000_060L, 1_600_000_120L, 1_600_000_181L, 1_600_000_240L };
+		assertArrayEquals(timestamps,
+				Codec.decodeTimestamps(ByteBuffer.wrap(Codec.encodeTimestamps(timestamps, 5)), 5));
+		// first timestamp takes five bytes; small changes of the interval one byte
+		assertEquals(5 + 4, Codec.encodeTimestamps(timestamps, 5).length);
+
+		double[] values = { 50, 50, 50.5, Double.NaN, -1234.125, 0, Double.MAX_VALUE, 50 };
+		double[] decoded = Codec.decodeValues(ByteBuffer.wrap(Codec.encodeValues(values, values.length)),
+				values.length);
+		assertArrayEquals(values, decoded, 0);
+
+		// first value takes 13 header bits plus 15 significant bits; all others one bit
+		double[] constant = new double[801];
+		Arrays.fill(constant, 42);
+		assertEquals((13 + 15 + 800 + 7) / 8, Codec.encodeValues(constant, constant.length).length);
+	}
+
+	@Test
+	public void testAppendAndQuery() throws IOException {
+		Path path = this.folder.getRoot().toPath();
+		try (ColumnarStore store = ColumnarStore.open(path, options())) {
+			for (int i = 0; i < 180; i++) {
+				Map<ChannelAddress, Double> values = new HashMap<>();
+				values.put(ESS_SOC, 50d + i % 10);
+				if (i % 2 == 0) {
+					values.put(METER_POWER, (double) i);
+				}
+				assertTrue(store.append(60L * i, values));
+			}
+			// not ascending -> ignored
+			assertFalse(store.append(0, new HashMap<>()));
+
+			// two complete hours were written; the third one is still in memory
+			assertEquals(2, store.getNumberOfPartitions());
+			Map<ChannelAddress, Series> result = store.query(Arrays.asList(ESS_SOC, METER_POWER, UNKNOWN), 3540,
+					7260);
+			Series soc = result.get(ESS_SOC);
+			assertEquals(63, soc.size());
+			assertEquals(3540, soc.getTimestamp(0));
+			assertEquals(59, soc.getValue(0), 0);
+			assertEquals(7260, soc.getTimestamp(62));
+			assertEquals(51, soc.getValue(62), 0);
+			assertEquals(31, result.get(METER_POWER).size());
+			assertEquals(0, result.get(UNKNOWN).size());
+
+			assertEquals(59, store.getLatestValue(ESS_SOC).getAsDouble(), 0);
+			assertEquals(178, store.getLatestValue(METER_POWER).getAsDouble(), 0);
+			assertFalse(store.getLatestValue(UNKNOWN).isPresent());
+		}
+
+		// Reopen: open partition was flushed on close
+		try (ColumnarStore store = ColumnarStore.open(path, options())) {
+			assertEquals(3, store.getNumberOfPartitions());
+			assertEquals(180, store.query(Arrays.asList(ESS_SOC), 0, Long.MAX_VALUE).get(ESS_SOC).size());
+			assertEquals(178, store.getLatestValue(METER_POWER).getAsDouble(), 0);
+		}
+	}
+
+	@Test
+	public void testPartitionsAndMarker() throws IOException {
+		Path path = this.folder.getRoot().toPath();
+		try (ColumnarStore store = ColumnarStore.open(path, options())) {
+			Map<ChannelAddress, Double> values = new HashMap<>();
+			values.put(ESS_SOC, 80d);
+			store.append(10_000, values);
+
+			// older data is sorted in
+			store.appendSeries(Collections.singletonMap(ESS_SOC, series(new long[] { 100, 200, 300 }, 1, 2, 3)));
+			Series soc = store.query(Arrays.asList(ESS_SOC), 0, 20_000).get(ESS_SOC);
+			assertEquals(4, soc.size());
+			assertEquals(100, soc.getTimestamp(0));
+			assertEquals(10_000, soc.getTimestamp(3));
+
+			assertFalse(store.hasMarker("foo"));
+			store.addMarker("foo");
+		}
+		try (ColumnarStore store = ColumnarStore.open(path, options())) {
+			assertTrue(store.hasMarker("foo"));
+		}
+	}
+
+	@Test
+	public void testAppendSeries() throws IOException {
+		Path path = this.folder.getRoot().toPath();
+		try (ColumnarStore store = ColumnarStore.open(path, options())) {
+			Map<ChannelAddress, Series> series = new HashMap<>();
+			series.put(ESS_SOC, series(new long[] { 100, 200, DAY + 100 }, 1, 2, 3));
+			series.put(METER_POWER, series(new long[] { 150, 200 }, 10, 20));
+			store.appendSeries(series);
+
+			// one Partition per day for all Channels
+			assertEquals(2, store.getNumberOfRawFiles());
+			assertEquals(2, store.getNumberOfPartitions());
+			Map<ChannelAddress, Series> result = store.query(Arrays.asList(ESS_SOC, METER_POWER), 0, 2 * DAY);
+			assertEquals(3, result.get(ESS_SOC).size());
+			assertEquals(DAY + 100, result.get(ESS_SOC).getTimestamp(2));
+			assertEquals(2, result.get(METER_POWER).size());
+			assertEquals(150, result.get(METER_POWER).getTimestamp(0));
+			assertEquals(20, result.get(METER_POWER).getValue(1), 0);
+		}
+	}
+
+	@Test
+	public void testInterruptedConsolidation() throws IOException {
+		Path path = this.folder.getRoot().toPath();
+		Map<ChannelAddress, Series> series = new HashMap<>();
+		for (int i = 0; i < 300; i++) {
+			Series.Builder builder = new Series.Builder();
+			for (long timestamp = 0; timestamp < DAY; timestamp += 900) {
+				builder.add(timestamp, i);
+			}
+			series.put(new ChannelAddress("meter" + i, "ActivePower"), builder.build());
+		}
+		ChannelAddress first = new ChannelAddress("meter0", "ActivePower");
+		ChannelAddress last = new ChannelAddress("meter299", "ActivePower");
+
+		// simulate a consolidation that was interrupted after the first Channels
+		Map<ChannelAddress, Series> consolidated = new HashMap<>();
+		for (int i = 0; i < 256; i++) {
+			ChannelAddress address = new ChannelAddress("meter" + i, "ActivePower");
+			consolidated.put(address, series.get(address));
+		}
+		try (ColumnarStore store = ColumnarStore.open(path, options() //
+				.setClock(Clock.fixed(Instant.ofEpochSecond(1000 * DAY), ZoneOffset.UTC)))) {
+			store.appendSeries(consolidated);
+		}
+		try (ColumnarStore store = ColumnarStore.open(path, options())) {
+			store.appendSeries(series);
+			store.appendSeries(Collections.singletonMap(first, series(new long[] { DAY }, 1)));
+		}
+
+		// the remaining Channels are consolidated on the next start
+		try (ColumnarStore store = ColumnarStore.open(path, options())) {
+			Map<ChannelAddress, Series> result = store.queryConsolidated(Arrays.asList(first, last), 0, DAY - 1);
+			assertEquals(96, result.get(first).size());
+			assertEquals(96, result.get(last).size());
+			assertEquals(299, result.get(last).getValue(95), 0);
+		}
+	}
+
+	@Test
+	public void testTornWrite() throws IOException {
+		Path path = this.folder.getRoot().toPath();
+		long size;
+		try (ColumnarStore store = ColumnarStore.open(path, options())) {
+			store.appendSeries(Collections.singletonMap(ESS_SOC, series(new long[] { 100, 200 }, 1, 2)));
+			size = store.getSize();
+			store.appendSeries(Collections.singletonMap(ESS_SOC, series(new long[] { 300, 400 }, 3, 4)));
+		}
+		// simulate a power failure while writing the last record
+		try (RandomAccessFile file = new RandomAccessFile(path.resolve("raw-0.dat").toFile(), "rw")) {
+			file.setLength(file.length() - 3);
+		}
+		try (ColumnarStore store = ColumnarStore.open(path, options())) {
+			assertEquals(size, store.getSize());
+			assertEquals(1, store.getNumberOfPartitions());
+			assertEquals(2, store.getLatestValue(ESS_SOC).getAsDouble(), 0);
+		}
+	}
+
+	@Test
+	public void testRolloverAndConsolidation() throws IOException {
+		Path path = this.folder.getRoot().toPath();
+		Options options = options() //
+				.setRetentionSeconds(2 * DAY) //
+				.setAggregation(address -> address.equals(METER_POWER) ? Aggregation.MAXIMUM : Aggregation.AVERAGE);
+		try (ColumnarStore store = ColumnarStore.open(path, options)) {
+			// three days of values every 5 minutes
+			for (long timestamp = 0; timestamp < 3 * DAY; timestamp += 300) {
+				Map<ChannelAddress, Double> values = new HashMap<>();
+				values.put(ESS_SOC, (double) (timestamp / 300 % 3));
+				values.put(METER_POWER, (double) timestamp);
+				store.append(timestamp, values);
+			}
+			// one file per day; the last hour is still in memory
+			assertEquals(3, store.getNumberOfRawFiles());
+
+			// the first day was consolidated when the second one was started
+			Series soc = store.queryConsolidated(Arrays.asList(ESS_SOC), 0, DAY - 1).get(ESS_SOC);
+			assertEquals(96, soc.size());
+			assertEquals(900, soc.getTimestamp(1));
+			assertEquals(1, soc.getValue(1), 0);
+			Series power = store.queryConsolidated(Arrays.asList(METER_POWER), 0, DAY - 1).get(METER_POWER);
+			assertEquals(1500, power.getValue(1), 0);
+
+			// values that are not consolidated yet are consolidated on the fly
+			soc = store.queryConsolidated(Arrays.asList(ESS_SOC), 0, Long.MAX_VALUE).get(ESS_SOC);
+			assertEquals(3 * 96, soc.size());
+			assertEquals(3 * DAY - 900, soc.getTimestamp(soc.size() - 1));
+		}
+
+		// time has passed: the first two days are out of the retention period
+		options.setClock(Clock.fixed(Instant.ofEpochSecond(5 * DAY), ZoneOffset.UTC));
+		try (ColumnarStore store = ColumnarStore.open(path, options)) {
+			assertEquals(1, store.getNumberOfRawFiles());
+			assertEquals(2 * DAY, store.getRawFromTimestamp());
+			assertEquals(0, store.query(Arrays.asList(ESS_SOC), 0, 2 * DAY - 1).get(ESS_SOC).size());
+			assertEquals(3 * 96,
+					store.queryConsolidated(Arrays.asList(ESS_SOC), 0, Long.MAX_VALUE).get(ESS_SOC).size());
+			assertEquals(3 * DAY - 300, store.getLatestValue(METER_POWER).getAsDouble(), 0);
+		}
+
+		// consolidated values are deleted after their retention period
+		options.setConsolidatedRolloverSeconds(DAY) //
+				.setConsolidatedRetentionSeconds(DAY) //
+				.setClock(Clock.fixed(Instant.ofEpochSecond(100 * DAY), ZoneOffset.UTC));
+		try (ColumnarStore store = ColumnarStore.open(path, options)) {
+			assertEquals(0, store.getNumberOfConsolidatedFiles());
+		}
+	}
+
+}
@@ -2,17 +2,24 @@ package io.openems.edge.timedata.rrd4j;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URISyntaxException;
 import java.nio.file.Paths;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
@@ -67,8 +74,19 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 
 	private final Logger log = LoggerFactory.getLogger(Rrd4jTimedataImpl.class);
 
+	/**
+	 * Maximum number of databases that are kept open while not in use.
+	 */
+	private static final int MAX_IDLE_DATABASES = 256;
+	/**
+	 * Maximum number of open databases, including the ones currently in use.
+	 */
+	private static final int MAX_OPEN_DATABASES = 512;
+	private static final int QUERY_THREADS = Math.min(4, Runtime.getRuntime().availableProcessors());
+
 	private final RecordWorker worker;
-	private final RrdRandomAccessFileBackendFactory factory;
+	private final RrdDbCache rrdDbCache;
+	private final ExecutorService queryExecutor = Executors.newFixedThreadPool(QUERY_THREADS);
 
 	public Rrd4jTimedataImpl() {
 		super(//
@@ -77,7 +95,8 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 				Rrd4jTimedata.ChannelId.values() //
 		);
 		this.worker = new RecordWorker(this);
-		this.factory = new RrdRandomAccessFileBackendFactory();
+		this.rrdDbCache = new RrdDbCache(new RrdRandomAccessFileBackendFactory(), MAX_IDLE_DATABASES,
+				MAX_OPEN_DATABASES);
 	}
 
 	@Reference
@@ -96,6 +115,8 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 	@Deactivate
 	protected void deactivate() {
 		this.worker.deactivate();
+		this.queryExecutor.shutdownNow();
+		this.rrdDbCache.clear();
 		super.deactivate();
 	}
 
@@ -106,50 +127,28 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 		ZoneId timezone = fromDate.getZone();
 		SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> table = new TreeMap<>();
 
-		RrdDb database = null;
-		try {
-			long fromTimestamp = fromDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
-			long toTimeStamp = toDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
-
-			for (ChannelAddress channelAddress : channels) {
-				Channel<?> channel = this.componentManager.getChannel(channelAddress);
-				database = this.getExistingRrdDb(channel.address());
-				if (database == null) {
-					continue; // not existing -> abort
-				}
+		long fromTimestamp = fromDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
+		long toTimeStamp = toDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
 
-				ChannelDef chDef = this.getDsDefForChannel(channel.channelDoc().getUnit());
-				FetchRequest request = database.createFetchRequest(chDef.consolFun, fromTimestamp, toTimeStamp,
-						resolution);
-				FetchData data = request.fetchData();
-				database.close();
-
-				for (int i = 0; i < data.getTimestamps().length; i++) {
-					Instant timestampInstant = Instant.ofEpochSecond(data.getTimestamps()[i]);
-					ZonedDateTime dateTime = ZonedDateTime.ofInstant(timestampInstant, ZoneOffset.UTC)
-							.withZoneSameInstant(timezone);
-					SortedMap<ChannelAddress, JsonElement> tableRow = table.get(dateTime);
-					if (tableRow == null) {
-						tableRow = new TreeMap<>();
-					}
-					double value = data.getValues(0)[i];
-					if (Double.isNaN(value)) {
-						tableRow.put(channelAddress, JsonNull.INSTANCE);
-					} else {
-						tableRow.put(channelAddress, new JsonPrimitive(value));
-					}
-					table.put(dateTime, tableRow);
+		Map<ChannelAddress, FetchData> fetchDatas = this.fetchData(channels, fromTimestamp, toTimeStamp, resolution);
+		for (Entry<ChannelAddress, FetchData> entry : fetchDatas.entrySet()) {
+			ChannelAddress channelAddress = entry.getKey();
+			FetchData data = entry.getValue();
+			for (int i = 0; i < data.getTimestamps().length; i++) {
+				Instant timestampInstant = Instant.ofEpochSecond(data.getTimestamps()[i]);
+				ZonedDateTime dateTime = ZonedDateTime.ofInstant(timestampInstant, ZoneOffset.UTC)
+						.withZoneSameInstant(timezone);
+				SortedMap<ChannelAddress, JsonElement> tableRow = table.get(dateTime);
+				if (tableRow == null) {
+					tableRow = new TreeMap<>();
 				}
-			}
-		} catch (IOException | IllegalArgumentException e) {
-			throw new OpenemsException("Unable to read historic data: " + e.getMessage());
-		} finally {
-			if (database != null && !database.isClosed()) {
-				try {
-					database.close();
-				} catch (IOException e) {
-					this.logWarn(this.log, "Unable to close database: " + e.getMessage());
+				double value = data.getValues(0)[i];
+				if (Double.isNaN(value)) {
+					tableRow.put(channelAddress, JsonNull.INSTANCE);
+				} else {
+					tableRow.put(channelAddress, new JsonPrimitive(value));
 				}
+				table.put(dateTime, tableRow);
 			}
 		}
 		return table;
@@ -162,54 +161,89 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 		long fromTimestamp = fromDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
 		long toTimeStamp = toDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
 
-		RrdDb database = null;
-		try {
-			for (ChannelAddress channelAddress : channels) {
-				Channel<?> channel = this.componentManager.getChannel(channelAddress);
-				database = this.getExistingRrdDb(channel.address());
-				if (database == null) {
-					continue; // not existing -> abort
+		Map<ChannelAddress, FetchData> fetchDatas = this.fetchData(channels, fromTimestamp, toTimeStamp, null);
+		for (Entry<ChannelAddress, FetchData> entry : fetchDatas.entrySet()) {
+			// Find first and last energy value != null
+			double first = Double.NaN;
+			double last = Double.NaN;
+			for (Double tmp : entry.getValue().getValues(0)) {
+				if (Double.isNaN(first) && !Double.isNaN(tmp)) {
+					first = tmp;
 				}
-
-				ChannelDef chDef = this.getDsDefForChannel(channel.channelDoc().getUnit());
-				FetchRequest request = database.createFetchRequest(chDef.consolFun, fromTimestamp, toTimeStamp);
-				FetchData data = request.fetchData();
-				database.close();
-
-				// Find first and last energy value != null
-				double first = Double.NaN;
-				double last = Double.NaN;
-				for (Double tmp : data.getValues(0)) {
-					if (Double.isNaN(first) && !Double.isNaN(tmp)) {
-						first = tmp;
-					}
-					if (!Double.isNaN(tmp)) {
-						last = tmp;
-					}
+				if (!Double.isNaN(tmp)) {
+					last = tmp;
 				}
+			}
 
-				// Calculate difference between last and first value
-				double value = last - first;
-
-				if (Double.isNaN(value)) {
-					table.put(channelAddress, JsonNull.INSTANCE);
-				} else {
-					table.put(channelAddress, new JsonPrimitive(value));
-				}
+			// Calculate difference between last and first value
+			double value = last - first;
 
+			if (Double.isNaN(value)) {
+				table.put(entry.getKey(), JsonNull.INSTANCE);
+			} else {
+				table.put(entry.getKey(), new JsonPrimitive(value));
 			}
-		} catch (IOException | IllegalArgumentException e) {
-			throw new OpenemsException("Unable to read historic data: " + e.getMessage());
-		} finally {
-			if (database != null && !database.isClosed()) {
+		}
+		return table;
+	}
+
+	/**
+	 * Fetches the data of multiple Channels in parallel.
+	 * 
+	 * @param channels      the Channel-Addresses
+	 * @param fromTimestamp the start timestamp in epoch seconds
+	 * @param toTimestamp   the end timestamp in epoch seconds
+	 * @param resolution    the resolution in seconds; null for the best available
+	 *                      resolution
+	 * @return a map of Channel-Address and {@link FetchData}; Channels without
+	 *         existing database are skipped
+	 * @throws OpenemsNamedException on error
+	 */
+	private Map<ChannelAddress, FetchData> fetchData(Set<ChannelAddress> channels, long fromTimestamp,
+			long toTimestamp, Integer resolution) throws OpenemsNamedException {
+		// Start all requests
+		Map<ChannelAddress, CompletableFuture<FetchData>> futures = new LinkedHashMap<>();
+		for (ChannelAddress channelAddress : channels) {
+			Channel<?> channel = this.componentManager.getChannel(channelAddress);
+			ChannelDef chDef = this.getDsDefForChannel(channel.channelDoc().getUnit());
+			futures.put(channelAddress, CompletableFuture.supplyAsync(() -> {
+				RrdDb database = this.getExistingRrdDb(channelAddress);
+				if (database == null) {
+					return null; // not existing -> skip
+				}
 				try {
-					database.close();
+					FetchRequest request;
+					if (resolution == null) {
+						request = database.createFetchRequest(chDef.consolFun, fromTimestamp, toTimestamp);
+					} else {
+						request = database.createFetchRequest(chDef.consolFun, fromTimestamp, toTimestamp,
+								resolution);
+					}
+					return request.fetchData();
 				} catch (IOException e) {
-					this.logWarn(this.log, "Unable to close database: " + e.getMessage());
+					throw new UncheckedIOException(e);
+				} finally {
+					this.closeRrdDb(channelAddress, database);
+				}
+			}, this.queryExecutor));
+		}
+
+		// Collect the results
+		Map<ChannelAddress, FetchData> result = new LinkedHashMap<>();
+		try {
+			for (Entry<ChannelAddress, CompletableFuture<FetchData>> entry : futures.entrySet()) {
+				FetchData data = entry.getValue().get();
+				if (data != null) {
+					result.put(entry.getKey(), data);
 				}
 			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OpenemsException("Interrupted while reading historic data");
+		} catch (ExecutionException e) {
+			throw new OpenemsException("Unable to read historic data: " + e.getCause().getMessage());
 		}
-		return table;
+		return result;
 	}
 
 	@Override
@@ -258,19 +292,16 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 			RrdDb database = this.getExistingRrdDb(channelAddress);
 			if (database == null) {
 				result.complete(Optional.empty());
+				return;
 			}
 			try {
 				result.complete(Optional.of(database.getLastDatasourceValues()[0]));
 			} catch (IOException | ArrayIndexOutOfBoundsException e) {
 				result.complete(Optional.empty());
 			} finally {
-				try {
-					database.close();
-				} catch (IOException e) {
-					this.logWarn(this.log, "Unable to close Database for [" + channelAddress + "]: " + e.getMessage());
-				}
+				this.closeRrdDb(channelAddress, database);
 			}
-		});
+		}, this.queryExecutor);
 
 		return result;
 	}
@@ -318,39 +349,46 @@ public class Rrd4jTimedataImpl extends AbstractOpenemsComponent
 			// hourly values for a very long time
 			rrdDef.addArchive(channelDef.consolFun, 0.5, 60, 87_600); // 60 steps (1 hour), 87600 rows (10 years)
 
-			return RrdDb.getBuilder() //
-					.setBackendFactory(this.factory) //
-					.usePool() //
-					.setRrdDef(rrdDef) //
-					.build();
+			return this.rrdDbCache.create(rrdDef);
 		}
 	}
 
 	/**
-	 * Gets an existing RrdDb.
+	 * Gets an existing RrdDb. The RrdDb is kept open in the {@link RrdDbCache};
+	 * {@link RrdDb#close()} has to be called after use.
 	 * 
 	 * @param channelAddress the ChannelAddress
 	 * @return the RrdDb or null
-	 * @throws IOException        on error
-	 * @throws URISyntaxException on error
 	 */
-	protected synchronized RrdDb getExistingRrdDb(ChannelAddress channelAddress) {
+	protected RrdDb getExistingRrdDb(ChannelAddress channelAddress) {
 		File file = this.getDbFile(channelAddress);
 		if (!file.exists()) {
 			return null;
 		}
 		try {
-			return RrdDb.getBuilder() //
-					.setBackendFactory(this.factory) //
-					.usePool() //
-					.setPath(file.toURI()) //
-					.build();
+			return this.rrdDbCache.open(file.toURI());
 		} catch (IOException e) {
 			this.logError(this.log, "Unable to open existing RrdDb: " + e.getMessage());
 			return null;
 		}
 	}
 
+	/**
+	 * Releases a RrdDb that was acquired via
+	 * {@link #getRrdDb(ChannelAddress, Unit, long)} or
+	 * {@link #getExistingRrdDb(ChannelAddress)}.
+	 * 
+	 * @param channelAddress the ChannelAddress
+	 * @param database       the RrdDb
+	 */
+	protected void closeRrdDb(ChannelAddress channelAddress, RrdDb database) {
+		try {
+			database.close();
+		} catch (IOException e) {
+			this.logWarn(this.log, "Unable to close Database for [" + channelAddress + "]: " + e.getMessage());
+		}
+	}
+
 	private File getDbFile(ChannelAddress channelAddress) {
 		File file = Paths.get(//
 				OpenemsConstants.getOpenemsDataDir(), //
@@ -0,0 +1,149 @@
+package io.openems.edge.timedata.rrd4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.rrd4j.core.RrdBackendFactory;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdDbPool;
+import org.rrd4j.core.RrdDef;
+
+/**
+ * Keeps recently used {@link RrdDb}s open.
+ *
+ * <p>
+ * Handles are reference counted by a {@link RrdDbPool}: every
+ * {@link #open(URI)} or {@link #create(RrdDef)} has to be followed by
+ * {@link RrdDb#close()}, which releases the handle to the pool. The pool would
+ * close the file as soon as the last handle is released; this cache holds one
+ * additional reference for the {@link #maxIdle} least recently used databases,
+ * so that frequently used files are not reopened on every write or query.
+ */
+public class RrdDbCache {
+
+	private final RrdDbPool pool;
+	private final int maxIdle;
+	private final LinkedHashMap<URI, RrdDb> idle = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * Builds a {@link RrdDbCache}.
+	 *
+	 * @param factory the {@link RrdBackendFactory}
+	 * @param maxIdle the maximum number of databases that are kept open while not
+	 *                in use
+	 * @param maxOpen the maximum number of open databases; requests block if this
+	 *                limit is reached
+	 */
+	public RrdDbCache(RrdBackendFactory factory, int maxIdle, int maxOpen) {
+		this.pool = new RrdDbPool(factory);
+		this.pool.setCapacity(maxOpen);
+		this.maxIdle = maxIdle;
+	}
+
+	/**
+	 * Opens an existing {@link RrdDb}. The caller has to close it after use.
+	 *
+	 * @param uri the {@link URI} of the database
+	 * @return the {@link RrdDb}
+	 * @throws IOException on error
+	 */
+	public RrdDb open(URI uri) throws IOException {
+		return this.keep(RrdDb.getBuilder() //
+				.setPool(this.pool) //
+				.setPath(uri) //
+				.build());
+	}
+
+	/**
+	 * Creates a new {@link RrdDb}. The caller has to close it after use.
+	 *
+	 * @param rrdDef the {@link RrdDef}
+	 * @return the {@link RrdDb}
+	 * @throws IOException on error
+	 */
+	public RrdDb create(RrdDef rrdDef) throws IOException {
+		return this.keep(RrdDb.getBuilder() //
+				.setPool(this.pool) //
+				.setRrdDef(rrdDef) //
+				.build());
+	}
+
+	/**
+	 * Gets the number of currently open databases.
+	 *
+	 * @return the number of open databases
+	 */
+	public int getOpenCount() {
+		return this.pool.getOpenFileCount();
+	}
+
+	/**
+	 * Releases all idle databases.
+	 */
+	public void clear() {
+		List<RrdDb> released;
+		synchronized (this.idle) {
+			released = new ArrayList<>(this.idle.values());
+			this.idle.clear();
+		}
+		for (RrdDb database : released) {
+			this.release(database);
+		}
+	}
+
+	/**
+	 * Takes an additional reference on first use and evicts the least recently
+	 * used database if there are too many.
+	 *
+	 * @param database the {@link RrdDb} requested by the caller
+	 * @return the same {@link RrdDb}
+	 * @throws IOException on error
+	 */
+	private RrdDb keep(RrdDb database) throws IOException {
+		URI uri = database.getUri();
+		RrdDb evicted = null;
+		boolean isNew = false;
+		synchronized (this.idle) {
+			if (this.idle.get(uri) == null) {
+				isNew = true;
+				if (this.idle.size() >= this.maxIdle) {
+					Entry<URI, RrdDb> eldest = this.idle.entrySet().iterator().next();
+					evicted = eldest.getValue();
+					this.idle.remove(eldest.getKey());
+				}
+			}
+		}
+		if (evicted != null) {
+			this.release(evicted);
+		}
+		if (isNew) {
+			// request a second handle that is owned by this cache
+			RrdDb kept = RrdDb.getBuilder() //
+					.setPool(this.pool) //
+					.setPath(uri) //
+					.build();
+			RrdDb previous;
+			synchronized (this.idle) {
+				previous = this.idle.put(uri, kept);
+			}
+			if (previous != null) {
+				// added concurrently by another thread
+				this.release(previous);
+			}
+		}
+		return database;
+	}
+
+	private void release(RrdDb database) {
+		try {
+			database.close();
+		} catch (IOException e) {
+			// ignore; the database is not used anymore anyway
+		}
+	}
+
+}